@@ -0,0 +1,207 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.Application;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.Hire;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.enums.AnalyticsDimension;
+import com.shaper.server.repository.CompanyDepartmentRepository;
+import com.shaper.server.repository.CompanyRepository;
+import com.shaper.server.repository.HireRepository;
+import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.service.ProgressAnalyticsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the columnar analytics scan with the JPA path at 1M todos, and the sequential scan
+ * with the parallel one on both sides of the partition's parallel threshold.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec}; pass JMH options with
+ * {@code -Djmh.args="ProgressAnalyticsBenchmark.columnarScan -p rows=1000000"}. The JPA state
+ * boots the application against the in-memory H2 of the test profile unless
+ * {@code spring.datasource.*} system properties point it elsewhere.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ProgressAnalyticsBenchmark {
+
+    private static final ProgressAnalyticsFilter NO_FILTER = new ProgressAnalyticsFilter();
+
+    /**
+     * Synthetic partition of one company with a realistic number of distinct dimension values
+     */
+    @State(Scope.Benchmark)
+    public static class ScanState {
+
+        @Param({"10000", "50000", "200000", "1000000"})
+        int rows;
+
+        @Param({"true", "false"})
+        boolean parallel;
+
+        ProgressColumnarPartition partition;
+        LocalDate today = LocalDate.now();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            UUID[] hrIds = new UUID[20];
+            for (int i = 0; i < hrIds.length; i++) {
+                hrIds[i] = UUID.randomUUID();
+            }
+            List<ProgressFactDto> facts = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                int total = 10;
+                int completed = random.nextInt(total + 1);
+                facts.add(new ProgressFactDto(i, UUID.randomUUID(), 1, random.nextInt(40), random.nextInt(200),
+                    hrIds[random.nextInt(hrIds.length)], completed * 100.0 / total, completed, total,
+                    LocalDateTime.now().minusDays(random.nextInt(180))));
+            }
+            partition = new ProgressColumnarPartition(facts, parallel ? 0 : Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 100k progress rows of 10 tasks each (1M todos) for one company in a running application
+     */
+    @State(Scope.Benchmark)
+    public static class ApplicationState {
+
+        static final int HIRES = 1_000;
+        static final int TEMPLATES = 100;
+        static final int TASKS_PER_TEMPLATE = 10;
+
+        ConfigurableApplicationContext context;
+        ProgressAnalyticsService progressAnalyticsService;
+        ProgressColumnarPartition snapshot;
+        Integer companyId;
+        LocalDate today = LocalDate.now();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false",
+                    "logging.level.root=WARN",
+                    "logging.level.org.hibernate.SQL=WARN",
+                    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                    "analytics.columnar.enabled=false")
+                .run();
+            progressAnalyticsService = context.getBean(ProgressAnalyticsService.class);
+            companyId = seed();
+            snapshot = new ProgressColumnarPartition(
+                context.getBean(ProgressRepository.class).findFactsByCompanyId(companyId));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+
+        private Integer seed() {
+            Company company = new Company();
+            company.setName("Benchmark Company");
+            company = context.getBean(CompanyRepository.class).save(company);
+
+            List<HrUser> hrUsers = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                HrUser hrUser = new HrUser();
+                hrUser.setEmail("hr" + i + "@benchmark.test");
+                hrUser.setPassword("password123");
+                hrUser.setFirstName("HR");
+                hrUser.setLastName("Manager " + i);
+                hrUser.setCompany(company);
+                hrUsers.add(hrUser);
+            }
+            hrUsers = context.getBean(HrUserRepository.class).saveAll(hrUsers);
+
+            List<CompanyDepartment> departments = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                CompanyDepartment department = new CompanyDepartment();
+                department.setName("Department " + i);
+                department.setCompany(company);
+                department.setCreatedByHr(hrUsers.get(i));
+                departments.add(department);
+            }
+            departments = context.getBean(CompanyDepartmentRepository.class).saveAll(departments);
+
+            List<Hire> hires = new ArrayList<>();
+            for (int i = 0; i < HIRES; i++) {
+                Hire hire = new Hire();
+                hire.setEmail("hire" + i + "@benchmark.test");
+                hire.setPassword("password123");
+                hire.setFirstName("Hire");
+                hire.setLastName(String.valueOf(i));
+                hire.setRegisteredByHr(hrUsers.get(i % hrUsers.size()));
+                hire.setDepartment(departments.get(i % departments.size()));
+                hires.add(hire);
+            }
+            hires = context.getBean(HireRepository.class).saveAll(hires);
+
+            List<Template> templates = new ArrayList<>();
+            for (int i = 0; i < TEMPLATES; i++) {
+                Template template = new Template();
+                template.setTitle("Template " + i);
+                template.setCreatedByHr(hrUsers.get(i % hrUsers.size()));
+                templates.add(template);
+            }
+            templates = context.getBean(TemplateRepository.class).saveAll(templates);
+
+            // Progress rows carry their task counts, which is all the analytics read of the todos
+            Random random = new Random(42);
+            List<Object[]> rows = new ArrayList<>(HIRES * TEMPLATES);
+            int progressId = 1_000_000;
+            for (Hire hire : hires) {
+                for (Template template : templates) {
+                    int completed = random.nextInt(TASKS_PER_TEMPLATE + 1);
+                    Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(180)));
+                    rows.add(new Object[]{progressId++, hire.getId(), template.getId(), TASKS_PER_TEMPLATE, completed,
+                        completed * 100.0 / TASKS_PER_TEMPLATE, createdAt, createdAt, false});
+                }
+            }
+            context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO progress (progress_id, hire_id, template_id, " +
+                "total_tasks, completed_tasks, completion_percentage, last_updated, created_at, at_risk) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            return company.getId();
+        }
+    }
+
+    @Benchmark
+    public List<ProgressGroupDto> columnarScan(ScanState state) {
+        return state.partition.groupBy(AnalyticsDimension.DEPARTMENT, NO_FILTER, state.today);
+    }
+
+    @Benchmark
+    public List<ProgressGroupDto> snapshotGroupBy(ApplicationState state) {
+        return state.snapshot.groupBy(AnalyticsDimension.DEPARTMENT, NO_FILTER, state.today);
+    }
+
+    @Benchmark
+    public List<ProgressGroupDto> jpaGroupBy(ApplicationState state) {
+        return state.progressAnalyticsService.groupBy(state.companyId, AnalyticsDimension.DEPARTMENT, NO_FILTER);
+    }
+}
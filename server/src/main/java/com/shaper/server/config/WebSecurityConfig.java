@@ -42,6 +42,7 @@ public class WebSecurityConfig {
                         // HR Manager endpoints
                         .requestMatchers("/api/templates/**", "/api/departments/**", "/api/notifications/**").hasRole("HR_MANAGER")
                         .requestMatchers("/api/users/hires", "/api/users/hr/**").hasRole("HR_MANAGER")
+                        .requestMatchers("/api/webhooks/**").hasRole("HR_MANAGER")
                         // New Hire endpoints
                         .requestMatchers("/api/todos/**", "/api/progress/hire/**").hasAnyRole("NEW_HIRE", "HR_MANAGER")
                         // Shared endpoints
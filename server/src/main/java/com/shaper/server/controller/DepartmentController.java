@@ -1,8 +1,13 @@
 package com.shaper.server.controller;
 
-import com.shaper.server.model.entity.CompanyDepartment;
-import com.shaper.server.model.entity.Hire;
-import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.dto.CompanyDepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.HireSummaryDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
 import com.shaper.server.service.DepartmentService;
 import com.shaper.server.system.Result;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +32,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getAllDepartments() {
         try {
-            List<CompanyDepartment> departments = departmentService.getAllDepartments();
+            List<DepartmentDto> departments = departmentService.getAllDepartments();
             Result result = new Result(200, true, "Departments retrieved successfully!", departments);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -40,7 +45,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentById(@PathVariable Integer departmentId) {
         try {
-            CompanyDepartment department = departmentService.getDepartmentById(departmentId)
+            DepartmentDto department = departmentService.getDepartmentById(departmentId)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
             Result result = new Result(200, true, "Department retrieved successfully!", department);
             return ResponseEntity.ok(result);
@@ -54,7 +59,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentsByCompany(@PathVariable Integer companyId) {
         try {
-            List<CompanyDepartment> departments = departmentService.getDepartmentsByCompany(companyId);
+            List<DepartmentDto> departments = departmentService.getDepartmentsByCompany(companyId);
             Result result = new Result(200, true, "Company departments retrieved successfully!", departments);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -67,7 +72,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentsByHrUser(@PathVariable UUID hrUserId) {
         try {
-            List<CompanyDepartment> departments = departmentService.getDepartmentsByHrUser(hrUserId);
+            List<DepartmentDto> departments = departmentService.getDepartmentsByHrUser(hrUserId);
             Result result = new Result(200, true, "HR user departments retrieved successfully!", departments);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -84,7 +89,7 @@ public class DepartmentController {
             Integer companyId = Integer.valueOf(request.get("companyId").toString());
             UUID hrUserId = UUID.fromString(request.get("hrUserId").toString());
             
-            CompanyDepartment department = departmentService.createDepartment(name, companyId, hrUserId);
+            DepartmentDto department = departmentService.createDepartment(name, companyId, hrUserId);
             Result result = new Result(201, true, "Department created successfully!", department);
             return ResponseEntity.status(201).body(result);
         } catch (Exception e) {
@@ -99,7 +104,7 @@ public class DepartmentController {
                                                  @RequestBody Map<String, Object> request) {
         try {
             String name = (String) request.get("name");
-            CompanyDepartment department = departmentService.updateDepartment(departmentId, name);
+            DepartmentDto department = departmentService.updateDepartment(departmentId, name);
             Result result = new Result(200, true, "Department updated successfully!", department);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -125,10 +130,10 @@ public class DepartmentController {
     
     @PostMapping("/{departmentId}/templates/{templateId}")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<Result> assignTemplateToD epartment(@PathVariable Integer departmentId,
+    public ResponseEntity<Result> assignTemplateToDepartment(@PathVariable Integer departmentId,
                                                             @PathVariable Integer templateId) {
         try {
-            CompanyDepartment department = departmentService.assignTemplateToD epartment(departmentId, templateId);
+            DepartmentDto department = departmentService.assignTemplateToDepartment(departmentId, templateId);
             Result result = new Result(200, true, "Template assigned to department successfully!", department);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -142,7 +147,7 @@ public class DepartmentController {
     public ResponseEntity<Result> removeTemplateFromDepartment(@PathVariable Integer departmentId,
                                                              @PathVariable Integer templateId) {
         try {
-            CompanyDepartment department = departmentService.removeTemplateFromDepartment(departmentId, templateId);
+            DepartmentDto department = departmentService.removeTemplateFromDepartment(departmentId, templateId);
             Result result = new Result(200, true, "Template removed from department successfully!", department);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -155,7 +160,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getTemplatesByDepartment(@PathVariable Integer departmentId) {
         try {
-            List<Template> templates = departmentService.getTemplatesByDepartment(departmentId);
+            List<TemplateSummaryDto> templates = departmentService.getTemplatesByDepartment(departmentId);
             Result result = new Result(200, true, "Department templates retrieved successfully!", templates);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -168,7 +173,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentsByTemplate(@PathVariable Integer templateId) {
         try {
-            List<CompanyDepartment> departments = departmentService.getDepartmentsByTemplate(templateId);
+            List<DepartmentDto> departments = departmentService.getDepartmentsByTemplate(templateId);
             Result result = new Result(200, true, "Template departments retrieved successfully!", departments);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -210,7 +215,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getHiresByDepartment(@PathVariable Integer departmentId) {
         try {
-            List<Hire> hires = departmentService.getHiresByDepartment(departmentId);
+            List<HireSummaryDto> hires = departmentService.getHiresByDepartment(departmentId);
             Result result = new Result(200, true, "Department hires retrieved successfully!", hires);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -225,7 +230,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentAnalytics(@PathVariable Integer departmentId) {
         try {
-            Map<String, Object> analytics = departmentService.getDepartmentAnalytics(departmentId);
+            DepartmentAnalyticsDto analytics = departmentService.getDepartmentAnalytics(departmentId);
             Result result = new Result(200, true, "Department analytics retrieved successfully!", analytics);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -234,11 +239,25 @@ public class DepartmentController {
         }
     }
     
+    @GetMapping("/{departmentId}/analytics/breakdown")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Result> getDepartmentProgressBreakdown(@PathVariable Integer departmentId,
+                                                                 @RequestParam(defaultValue = "TEMPLATE") AnalyticsDimension groupBy) {
+        try {
+            List<ProgressGroupDto> breakdown = departmentService.getDepartmentProgressBreakdown(departmentId, groupBy);
+            Result result = new Result(200, true, "Department progress breakdown retrieved successfully!", breakdown);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Result result = new Result(500, false, "Error retrieving department progress breakdown: " + e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+    
     @GetMapping("/company/{companyId}/analytics")
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getCompanyDepartmentAnalytics(@PathVariable Integer companyId) {
         try {
-            Map<String, Object> analytics = departmentService.getCompanyDepartmentAnalytics(companyId);
+            CompanyDepartmentAnalyticsDto analytics = departmentService.getCompanyDepartmentAnalytics(companyId);
             Result result = new Result(200, true, "Company department analytics retrieved successfully!", analytics);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -251,7 +270,7 @@ public class DepartmentController {
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
     public ResponseEntity<Result> getDepartmentProgressSummary(@PathVariable Integer companyId) {
         try {
-            List<Map<String, Object>> summary = departmentService.getDepartmentProgressSummary(companyId);
+            List<DepartmentProgressSummaryDto> summary = departmentService.getDepartmentProgressSummary(companyId);
             Result result = new Result(200, true, "Department progress summary retrieved successfully!", summary);
             return ResponseEntity.ok(result);
         } catch (Exception e) {
@@ -1,18 +1,28 @@
 package com.shaper.server.controller;
 
+import com.shaper.server.model.dto.DigestPreferenceDto;
 import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.dto.NotificationFeedDto;
+import com.shaper.server.model.dto.NotificationFeedFilter;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.User;
+import com.shaper.server.model.enums.DigestFrequency;
 import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.service.NotificationDigestService;
+import com.shaper.server.service.NotificationPushService;
 import com.shaper.server.service.NotificationService;
 import com.shaper.server.service.TaskService;
 import com.shaper.server.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +35,8 @@ public class NotificationController {
     private final NotificationService notificationService;
     private final TaskService taskService;
     private final UserService userService;
+    private final NotificationPushService notificationPushService;
+    private final NotificationDigestService notificationDigestService;
     
     @PostMapping
     public ResponseEntity<NotificationDto> createNotification(
@@ -79,6 +91,33 @@ public class NotificationController {
         }
     }
     
+    @PutMapping("/user/{userId}/read")
+    public ResponseEntity<Integer> markAsRead(@PathVariable UUID userId, @RequestBody List<Integer> notificationIds) {
+        try {
+            return ResponseEntity.ok(notificationService.markAsRead(userId, notificationIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PutMapping("/user/{userId}/read-by-type")
+    public ResponseEntity<Integer> markAsReadByType(@PathVariable UUID userId, @RequestParam NotificationType type) {
+        try {
+            return ResponseEntity.ok(notificationService.markAsReadByType(userId, type));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PutMapping("/user/{userId}/read-by-task")
+    public ResponseEntity<Integer> markAsReadByTask(@PathVariable UUID userId, @RequestParam Integer taskId) {
+        try {
+            return ResponseEntity.ok(notificationService.markAsReadByTask(userId, taskId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/user/{userId}/unread-count")
     public ResponseEntity<Long> getUnreadCount(@PathVariable UUID userId) {
         try {
@@ -89,6 +128,28 @@ public class NotificationController {
         }
     }
     
+    @GetMapping("/user/{userId}/digest-preference")
+    public ResponseEntity<DigestPreferenceDto> getDigestPreference(@PathVariable UUID userId) {
+        try {
+            return ResponseEntity.ok(notificationDigestService.getPreference(userId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @PutMapping("/user/{userId}/digest-preference")
+    public ResponseEntity<DigestPreferenceDto> updateDigestPreference(
+            @PathVariable UUID userId,
+            @RequestParam DigestFrequency frequency) {
+        try {
+            return ResponseEntity.ok(notificationDigestService.updatePreference(userId, frequency));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     // NEW ENDPOINTS FOR TASK 9
     
     /**
@@ -163,17 +224,7 @@ public class NotificationController {
             @RequestParam Integer taskId,
             @RequestParam(required = false) String customMessage) {
         try {
-            Task task = taskService.getTaskById(taskId);
-            
-            for (UUID userId : userIds) {
-                User user = userService.findById(userId);
-                if (customMessage != null && !customMessage.trim().isEmpty()) {
-                    notificationService.createNotification(
-                        userId, customMessage, taskId, NotificationType.REMINDER);
-                } else {
-                    notificationService.createReminderNotification(user, task);
-                }
-            }
+            notificationService.sendBulkReminders(userIds, taskId, customMessage);
             return ResponseEntity.status(HttpStatus.CREATED).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -189,10 +240,7 @@ public class NotificationController {
             @RequestParam(required = false) String type) {
         try {
             long unreadCount = notificationService.getUnreadCount(userId);
-            List<NotificationDto> recentNotifications = notificationService.getUnreadNotificationsByUserId(userId)
-                .stream()
-                .limit(5)
-                .toList();
+            List<NotificationDto> recentNotifications = notificationService.getRecentUnreadNotifications(userId);
             
             NotificationBadgeDto badge = new NotificationBadgeDto();
             badge.setUnreadCount(unreadCount);
@@ -208,18 +256,48 @@ public class NotificationController {
     }
     
     /**
-     * HR Dashboard: Get all notifications for HR management
+     * Live badge count and recent notifications; replaces polling the badge-count endpoint
+     */
+    @GetMapping(value = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @PathVariable UUID userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationPushService.subscribe(userId, lastEventId);
+    }
+    
+    /**
+     * HR Dashboard: cursor-paginated notifications of an HR user
      */
     @GetMapping("/hr/dashboard")
     @PreAuthorize("hasRole('HR')")
-    public ResponseEntity<List<NotificationDto>> getHRDashboardNotifications(
-            @RequestParam(required = false, defaultValue = "0") int page,
+    public ResponseEntity<NotificationFeedDto> getHRDashboardNotifications(
+            @RequestParam UUID hrId,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        return getFeed(hrId, type, read, from, to, cursor, size);
+    }
+    
+    /**
+     * Notification feed of a user, newest first, filtered by type, read state and time range
+     */
+    @GetMapping("/user/{userId}/feed")
+    public ResponseEntity<NotificationFeedDto> getFeed(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) NotificationType type,
+            @RequestParam(required = false) Boolean read,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "20") int size) {
         try {
-            // This would typically involve pagination, but for simplicity we'll return recent notifications
-            // In a real implementation, you'd want to add pagination support to the service layer
-            List<NotificationDto> notifications = notificationService.getNotificationsByUserId(null); // Get all notifications for HR
-            return ResponseEntity.ok(notifications);
+            NotificationFeedFilter filter = new NotificationFeedFilter(type, read, from, to);
+            return ResponseEntity.ok(notificationService.getFeed(userId, filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
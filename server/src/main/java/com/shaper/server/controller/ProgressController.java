@@ -1,12 +1,31 @@
 package com.shaper.server.controller;
 
-import com.shaper.server.model.entity.Progress;
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.dto.ProgressRankingDto;
+import com.shaper.server.model.dto.ProgressTrendPointDto;
+import com.shaper.server.model.entity.ProgressSnapshot;
+import com.shaper.server.model.enums.AnalyticsDimension;
+import com.shaper.server.model.enums.RankingOrder;
+import com.shaper.server.model.enums.SnapshotResolution;
+import com.shaper.server.service.ProgressAnalyticsService;
+import com.shaper.server.service.ProgressBoardService;
+import com.shaper.server.service.ProgressRankingService;
 import com.shaper.server.service.ProgressService;
+import com.shaper.server.service.ProgressSnapshotService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,11 +36,15 @@ import java.util.UUID;
 public class ProgressController {
     
     private final ProgressService progressService;
+    private final ProgressAnalyticsService progressAnalyticsService;
+    private final ProgressSnapshotService progressSnapshotService;
+    private final ProgressRankingService progressRankingService;
+    private final ProgressBoardService progressBoardService;
     
     @GetMapping("/hire/{hireId}/template/{templateId}")
-    public ResponseEntity<Progress> getProgress(@PathVariable UUID hireId, @PathVariable Integer templateId) {
+    public ResponseEntity<ProgressDto> getProgress(@PathVariable UUID hireId, @PathVariable Integer templateId) {
         try {
-            Progress progress = progressService.getProgress(hireId, templateId);
+            ProgressDto progress = progressService.getProgress(hireId, templateId);
             return ResponseEntity.ok(progress);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -29,9 +52,9 @@ public class ProgressController {
     }
     
     @GetMapping("/hire/{hireId}")
-    public ResponseEntity<List<Progress>> getProgressByHire(@PathVariable UUID hireId) {
+    public ResponseEntity<List<ProgressDto>> getProgressByHire(@PathVariable UUID hireId) {
         try {
-            List<Progress> progressList = progressService.getProgressByHire(hireId);
+            List<ProgressDto> progressList = progressService.getProgressByHire(hireId);
             return ResponseEntity.ok(progressList);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -39,9 +62,9 @@ public class ProgressController {
     }
     
     @GetMapping("/hr/{hrId}")
-    public ResponseEntity<List<Progress>> getProgressByHrUser(@PathVariable UUID hrId) {
+    public ResponseEntity<List<ProgressDto>> getProgressByHrUser(@PathVariable UUID hrId) {
         try {
-            List<Progress> progressList = progressService.getProgressByHrUser(hrId);
+            List<ProgressDto> progressList = progressService.getProgressByHrUser(hrId);
             return ResponseEntity.ok(progressList);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -49,19 +72,94 @@ public class ProgressController {
     }
     
     @GetMapping("/company/{companyId}")
-    public ResponseEntity<List<Progress>> getProgressByCompany(@PathVariable Integer companyId) {
+    public ResponseEntity<List<ProgressDto>> getProgressByCompany(@PathVariable Integer companyId) {
         try {
-            List<Progress> progressList = progressService.getProgressByCompany(companyId);
+            List<ProgressDto> progressList = progressService.getProgressByCompany(companyId);
             return ResponseEntity.ok(progressList);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    @GetMapping("/company/{companyId}/analytics")
+    public ResponseEntity<List<ProgressGroupDto>> getProgressAnalytics(
+            @PathVariable Integer companyId,
+            @RequestParam(defaultValue = "DEPARTMENT") AnalyticsDimension groupBy,
+            @RequestParam(required = false) Integer departmentId,
+            @RequestParam(required = false) Integer templateId,
+            @RequestParam(required = false) UUID hrId,
+            @RequestParam(required = false) Integer minAgeDays) {
+        try {
+            ProgressAnalyticsFilter filter = new ProgressAnalyticsFilter(departmentId, templateId, hrId, minAgeDays);
+            return ResponseEntity.ok(progressAnalyticsService.groupBy(companyId, groupBy, filter));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/company/{companyId}/rankings")
+    public ResponseEntity<List<ProgressRankingDto>> getProgressRankings(
+            @PathVariable Integer companyId,
+            @RequestParam(defaultValue = "SLOWEST") RankingOrder order,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) Integer departmentId) {
+        try {
+            return ResponseEntity.ok(progressRankingService.getTopN(companyId, departmentId, order, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/company/{companyId}/trend")
+    public ResponseEntity<List<ProgressTrendPointDto>> getCompanyTrend(
+            @PathVariable Integer companyId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAILY") SnapshotResolution resolution) {
+        try {
+            return ResponseEntity.ok(progressSnapshotService.getCompanyTrend(companyId, from, to, resolution));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/department/{departmentId}/trend")
+    public ResponseEntity<List<ProgressTrendPointDto>> getDepartmentTrend(
+            @PathVariable Integer departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAILY") SnapshotResolution resolution) {
+        try {
+            return ResponseEntity.ok(progressSnapshotService.getDepartmentTrend(departmentId, from, to, resolution));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/hire/{hireId}/trend")
+    public ResponseEntity<List<ProgressSnapshot>> getHireTrend(
+            @PathVariable UUID hireId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return ResponseEntity.ok(progressSnapshotService.getHireTrend(hireId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     @GetMapping("/department/{departmentId}")
-    public ResponseEntity<List<Progress>> getProgressByDepartment(@PathVariable Integer departmentId) {
+    public ResponseEntity<List<ProgressDto>> getProgressByDepartment(@PathVariable Integer departmentId) {
         try {
-            List<Progress> progressList = progressService.getProgressByDepartment(departmentId);
+            List<ProgressDto> progressList = progressService.getProgressByDepartment(departmentId);
             return ResponseEntity.ok(progressList);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -98,20 +196,33 @@ public class ProgressController {
         }
     }
     
+    @GetMapping(value = "/hr/{hrId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgressBoard(@PathVariable UUID hrId) {
+        return progressBoardService.subscribe(hrId);
+    }
+    
     @GetMapping("/hr/{hrId}/at-risk")
-    public ResponseEntity<List<Progress>> getAtRiskProgress(@PathVariable UUID hrId) {
+    public ResponseEntity<Page<AtRiskProgressDto>> getAtRiskProgress(
+            @PathVariable UUID hrId,
+            @RequestParam(required = false) Double threshold,
+            @RequestParam(required = false) Integer minAgeDays,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<Progress> atRiskProgress = progressService.getAtRiskProgress(hrId);
+            Page<AtRiskProgressDto> atRiskProgress = progressService.getAtRiskProgress(
+                hrId, threshold, minAgeDays, PageRequest.of(page, size));
             return ResponseEntity.ok(atRiskProgress);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     @PostMapping("/hire/{hireId}/template/{templateId}/recalculate")
-    public ResponseEntity<Progress> recalculateProgress(@PathVariable UUID hireId, @PathVariable Integer templateId) {
+    public ResponseEntity<ProgressDto> recalculateProgress(@PathVariable UUID hireId, @PathVariable Integer templateId) {
         try {
-            Progress progress = progressService.recalculateProgress(hireId, templateId);
+            ProgressDto progress = progressService.recalculateProgress(hireId, templateId);
             return ResponseEntity.ok(progress);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -12,7 +12,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -83,8 +82,7 @@ public class TaskController {
     @GetMapping("/templates/{templateId}")
     public ResponseEntity<Result> getTasksByTemplateId(@PathVariable Integer templateId) {
         log.debug("Getting tasks for template ID: {}", templateId);
-        List<Task> tasks = taskService.getTasksByTemplateId(templateId);
-        List<TaskDTO> taskDtos = tasks.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<TaskDTO> taskDtos = taskService.getTasksByTemplateId(templateId);
         return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Tasks retrieved successfully", taskDtos));
     }
     
@@ -1,15 +1,23 @@
 package com.shaper.server.controller;
 
 import com.shaper.server.model.dto.*;
+import com.shaper.server.service.TemplateCacheService;
+import com.shaper.server.service.TemplatePropagationService;
 import com.shaper.server.service.TemplateService;
+import com.shaper.server.service.TemplateTransferService;
 import com.shaper.server.system.Result;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,6 +29,9 @@ import java.util.UUID;
 public class TemplateController {
     
     private final TemplateService templateService;
+    private final TemplateCacheService templateCacheService;
+    private final TemplateTransferService templateTransferService;
+    private final TemplatePropagationService templatePropagationService;
     
     /**
      * Get all templates
@@ -107,6 +118,40 @@ public class TemplateController {
         return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Templates retrieved successfully", templates));
     }
     
+    /**
+     * Stream a company's templates with their tasks and department names as JSON
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTemplates(@RequestParam Integer companyId,
+                                                                 @RequestParam(required = false) List<Integer> templateIds) {
+        log.debug("Exporting templates of company ID: {}", companyId);
+        StreamingResponseBody body = out -> templateTransferService.exportTemplates(companyId, templateIds, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"templates-" + companyId + ".json\"")
+            .body(body);
+    }
+    
+    /**
+     * Create draft templates for an HR user from an export, reading the request body as a stream
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Result> importTemplates(@RequestParam UUID hrId, InputStream body) throws IOException {
+        log.debug("Importing templates for HR ID: {}", hrId);
+        TemplateImportResultDto result = templateTransferService.importTemplates(hrId, body);
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(new Result(HttpStatus.CREATED.value(), true, "Templates imported successfully", result));
+    }
+    
+    /**
+     * Hit and miss counters of the template snapshot cache
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Result> getTemplateCacheStats() {
+        TemplateCacheStatsDto stats = templateCacheService.getStats();
+        return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Template cache statistics retrieved successfully", stats));
+    }
+    
     /**
      * Delete a template
      */
@@ -117,6 +162,45 @@ public class TemplateController {
         return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Template deleted successfully"));
     }
     
+    /**
+     * Publish the current draft of a template as a new version
+     */
+    @PostMapping("/{templateId}/publish")
+    public ResponseEntity<Result> publishTemplate(@PathVariable Integer templateId) {
+        log.debug("Publishing template ID: {}", templateId);
+        TemplateVersionDto version = templateService.publishTemplate(templateId);
+        return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Template published successfully", version));
+    }
+    
+    /**
+     * Get the published versions of a template, newest first
+     */
+    @GetMapping("/{templateId}/versions")
+    public ResponseEntity<Result> getTemplateVersions(@PathVariable Integer templateId) {
+        List<TemplateVersionDto> versions = templateService.getTemplateVersions(templateId);
+        return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Template versions retrieved successfully", versions));
+    }
+    
+    /**
+     * Move hires assigned from older versions to the current version in the background
+     */
+    @PostMapping("/{templateId}/propagate")
+    public ResponseEntity<Result> propagateTemplate(@PathVariable Integer templateId) {
+        log.debug("Propagating template ID: {}", templateId);
+        TemplatePropagationDto propagation = templatePropagationService.startPropagation(templateId);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .body(new Result(HttpStatus.ACCEPTED.value(), true, "Template propagation started", propagation));
+    }
+    
+    /**
+     * Get the progress of the latest propagation of a template
+     */
+    @GetMapping("/{templateId}/propagation")
+    public ResponseEntity<Result> getPropagationStatus(@PathVariable Integer templateId) {
+        TemplatePropagationDto propagation = templatePropagationService.getStatus(templateId);
+        return ResponseEntity.ok(new Result(HttpStatus.OK.value(), true, "Template propagation retrieved successfully", propagation));
+    }
+    
     /**
      * Assign template to a single hire
      */
@@ -1,7 +1,9 @@
 package com.shaper.server.controller;
 
+import com.shaper.server.model.dto.CompletionTimeStatsDto;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.service.TaskCompletionStatsService;
 import com.shaper.server.service.TodoService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class TodoController {
     
     private final TodoService todoService;
+    private final TaskCompletionStatsService taskCompletionStatsService;
     
     @GetMapping("/{id}")
     public ResponseEntity<TodoDto> getTodoById(@PathVariable Integer id) {
@@ -182,4 +185,34 @@ public class TodoController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
+    
+    @GetMapping("/analytics/tasks/{taskId}/completion-time")
+    public ResponseEntity<CompletionTimeStatsDto> getTaskCompletionTime(@PathVariable Integer taskId) {
+        try {
+            return ResponseEntity.ok(taskCompletionStatsService.getTaskCompletionTime(taskId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/analytics/templates/{templateId}/completion-time")
+    public ResponseEntity<CompletionTimeStatsDto> getTemplateCompletionTime(@PathVariable Integer templateId) {
+        try {
+            return ResponseEntity.ok(taskCompletionStatsService.getTemplateCompletionTime(templateId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    @GetMapping("/analytics/templates/{templateId}/slowest-tasks")
+    public ResponseEntity<List<CompletionTimeStatsDto>> getSlowestTasks(@PathVariable Integer templateId,
+                                                                        @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(taskCompletionStatsService.getSlowestTasks(templateId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.shaper.server.controller;
+
+import com.shaper.server.CustomUserDetails;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.WebhookDeadLetterDto;
+import com.shaper.server.model.dto.WebhookEndpointDto;
+import com.shaper.server.model.dto.WebhookEndpointRequest;
+import com.shaper.server.service.WebhookService;
+import com.shaper.server.system.Result;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/webhooks")
+@RequiredArgsConstructor
+public class WebhookController {
+    
+    private final WebhookService webhookService;
+    
+    @PostMapping
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Result> createEndpoint(@AuthenticationPrincipal CustomUserDetails principal,
+                                                 @Valid @RequestBody WebhookEndpointRequest request) {
+        try {
+            WebhookEndpointDto endpoint = webhookService.createEndpoint(principal.getUser().getId(), request);
+            Result result = new Result(201, true, "Webhook endpoint created successfully!", endpoint);
+            return ResponseEntity.status(201).body(result);
+        } catch (DataNotFoundException e) {
+            Result result = new Result(404, false, e.getMessage());
+            return ResponseEntity.status(404).body(result);
+        } catch (Exception e) {
+            Result result = new Result(400, false, "Error creating webhook endpoint: " + e.getMessage());
+            return ResponseEntity.status(400).body(result);
+        }
+    }
+    
+    @GetMapping("/company/{companyId}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Result> getEndpointsByCompany(@AuthenticationPrincipal CustomUserDetails principal,
+                                                        @PathVariable Integer companyId) {
+        try {
+            List<WebhookEndpointDto> endpoints = webhookService.getEndpointsByCompany(principal.getUser().getId(), companyId);
+            Result result = new Result(200, true, "Webhook endpoints retrieved successfully!", endpoints);
+            return ResponseEntity.ok(result);
+        } catch (DataNotFoundException e) {
+            Result result = new Result(404, false, e.getMessage());
+            return ResponseEntity.status(404).body(result);
+        } catch (Exception e) {
+            Result result = new Result(500, false, "Error retrieving webhook endpoints: " + e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+    
+    @DeleteMapping("/{endpointId}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Result> deleteEndpoint(@AuthenticationPrincipal CustomUserDetails principal,
+                                                 @PathVariable Integer endpointId) {
+        try {
+            webhookService.deleteEndpoint(principal.getUser().getId(), endpointId);
+            Result result = new Result(200, true, "Webhook endpoint deleted successfully!");
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            Result result = new Result(404, false, "Error deleting webhook endpoint: " + e.getMessage());
+            return ResponseEntity.status(404).body(result);
+        }
+    }
+    
+    @GetMapping("/{endpointId}/dead-letters")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<Result> getDeadLetters(@AuthenticationPrincipal CustomUserDetails principal,
+                                                 @PathVariable Integer endpointId) {
+        try {
+            List<WebhookDeadLetterDto> deadLetters = webhookService.getDeadLetters(principal.getUser().getId(), endpointId);
+            Result result = new Result(200, true, "Dead letters retrieved successfully!", deadLetters);
+            return ResponseEntity.ok(result);
+        } catch (DataNotFoundException e) {
+            Result result = new Result(404, false, e.getMessage());
+            return ResponseEntity.status(404).body(result);
+        } catch (Exception e) {
+            Result result = new Result(500, false, "Error retrieving dead letters: " + e.getMessage());
+            return ResponseEntity.status(500).body(result);
+        }
+    }
+}
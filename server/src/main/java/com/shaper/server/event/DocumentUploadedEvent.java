@@ -0,0 +1,17 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the document service for every stored upload. The todo is null for task-level uploads.
+ */
+@Getter
+@AllArgsConstructor
+public class DocumentUploadedEvent {
+    private final Integer documentId;
+    private final Integer taskId;
+    private final Integer templateId;
+    private final Integer todoId;
+    private final String documentName;
+}
@@ -0,0 +1,14 @@
+package com.shaper.server.event;
+
+import com.shaper.server.model.dto.NotificationDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published for every notification written, after the row has been saved.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationCreatedEvent {
+    private final NotificationDto notification;
+}
@@ -0,0 +1,25 @@
+package com.shaper.server.event;
+
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Asks for a notification to be written once the publishing transaction commits. The dispatcher
+ * queues it and writes it in a later batch, outside the business transaction.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationRequestedEvent {
+    private final UUID userId;
+    private final Integer relatedTaskId;
+    private final NotificationType type;
+    private final NotificationContent content;
+    
+    public NotificationRequestedEvent(UUID userId, Integer relatedTaskId, NotificationType type, String message) {
+        this(userId, relatedTaskId, type, NotificationContent.text(message));
+    }
+}
@@ -0,0 +1,19 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when unread notifications of a user are marked as read. Set-based updates do not
+ * know which rows they touched, in which case the IDs are null and only the count is known.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationsReadEvent {
+    private final UUID userId;
+    private final List<Integer> notificationIds;
+    private final int readCount;
+}
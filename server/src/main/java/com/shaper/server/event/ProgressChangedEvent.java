@@ -0,0 +1,17 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published whenever progress of a hire changes. A null template means every
+ * progress record of the hire may have changed, e.g. after a department move.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgressChangedEvent {
+    private final UUID hireId;
+    private final Integer templateId;
+}
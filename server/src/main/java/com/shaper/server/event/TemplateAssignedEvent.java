@@ -0,0 +1,16 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published by the template service after a template's todos were created for a hire.
+ */
+@Getter
+@AllArgsConstructor
+public class TemplateAssignedEvent {
+    private final Integer templateId;
+    private final UUID hireId;
+}
@@ -0,0 +1,14 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a template or one of its tasks was written; cached snapshots of the
+ * template are dropped once the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class TemplateChangedEvent {
+    private final Integer templateId;
+}
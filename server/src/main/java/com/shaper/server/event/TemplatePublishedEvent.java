@@ -0,0 +1,14 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a draft was frozen into a new template version
+ */
+@Getter
+@AllArgsConstructor
+public class TemplatePublishedEvent {
+    private final Integer templateId;
+    private final Integer versionId;
+}
@@ -0,0 +1,24 @@
+package com.shaper.server.event;
+
+import com.shaper.server.model.enums.TodoStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by the todo service for every status transition of a todo.
+ */
+@Getter
+@AllArgsConstructor
+public class TodoStatusChangedEvent {
+    private final Integer todoId;
+    private final Integer taskId;
+    private final Integer templateId;
+    private final UUID hireId;
+    private final TodoStatus previousStatus;
+    private final TodoStatus newStatus;
+    private final LocalDateTime todoCreatedAt;
+    private final LocalDateTime occurredAt;
+}
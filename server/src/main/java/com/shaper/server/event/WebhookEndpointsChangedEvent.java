@@ -0,0 +1,14 @@
+package com.shaper.server.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a webhook endpoint of a company was created, changed or removed; the dispatcher
+ * reloads the company's endpoints once the surrounding transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class WebhookEndpointsChangedEvent {
+    private final Integer companyId;
+}
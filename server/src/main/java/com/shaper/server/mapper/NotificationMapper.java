@@ -0,0 +1,62 @@
+package com.shaper.server.mapper;
+
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.enums.NotificationType;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class NotificationMapper {
+
+    private static final String PARAM_SEPARATOR = "\u001F";
+
+    // Notification entity to NotificationDto, with the message already rendered
+
+    public static NotificationDto notificationToDto(Notification notification, String message) {
+        return notificationToDto(notification, notification.getNotificationType(), message);
+    }
+
+    public static NotificationDto notificationToDto(Notification notification, NotificationType type, String message) {
+        NotificationDto dto = new NotificationDto();
+        dto.setId(notification.getId());
+        dto.setUserId(notification.getUser().getId());
+        dto.setUserName(notification.getUser().getFirstName() + " " + notification.getUser().getLastName());
+        dto.setMessage(message);
+        dto.setRead(notification.isRead());
+        dto.setCreatedAt(notification.getCreatedAt());
+        dto.setNotificationType(type.name());
+        
+        if (notification.getRelatedTask() != null) {
+            dto.setRelatedTaskId(notification.getRelatedTask().getId());
+            dto.setRelatedTaskTitle(notification.getRelatedTask().getTitle());
+        }
+        
+        return dto;
+    }
+
+    // NotificationContent onto the Notification entity columns and back
+
+    public static void applyContent(Notification notification, NotificationContent content) {
+        if (content.getTemplate() != null) {
+            notification.setMessage(null);
+            notification.setTemplateCode(content.getTemplate());
+            notification.setMessageParams(String.join(PARAM_SEPARATOR, content.getParams()));
+        } else {
+            notification.setMessage(content.getMessage());
+            notification.setTemplateCode(null);
+            notification.setMessageParams(null);
+        }
+    }
+
+    public static NotificationContent contentOf(Notification notification) {
+        if (notification.getTemplateCode() == null) {
+            return NotificationContent.text(notification.getMessage());
+        }
+        List<String> params = notification.getMessageParams() == null || notification.getMessageParams().isEmpty()
+            ? List.of()
+            : Arrays.asList(notification.getMessageParams().split(PARAM_SEPARATOR, -1));
+        return new NotificationContent(null, notification.getTemplateCode(), params);
+    }
+}
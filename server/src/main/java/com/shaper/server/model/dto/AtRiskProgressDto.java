@@ -0,0 +1,26 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtRiskProgressDto {
+    private Integer progressId;
+    private UUID hireId;
+    private String hireFirstName;
+    private String hireLastName;
+    private String hireEmail;
+    private Integer templateId;
+    private String templateTitle;
+    private Integer completedTasks;
+    private Integer totalTasks;
+    private Double completionPercentage;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdated;
+}
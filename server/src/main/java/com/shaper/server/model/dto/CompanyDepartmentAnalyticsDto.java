@@ -0,0 +1,19 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyDepartmentAnalyticsDto {
+    private Integer companyId;
+    private int totalDepartments;
+    private long totalHires;
+    private long totalActiveHires;
+    private double overallAverageCompletion;
+    private List<DepartmentProgressSummaryDto> departmentBreakdown;
+}
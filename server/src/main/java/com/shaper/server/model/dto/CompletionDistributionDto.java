@@ -0,0 +1,16 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionDistributionDto {
+    private long notStarted;     // below 25%
+    private long started;        // 25% - 50%
+    private long inProgress;     // 50% - 75%
+    private long nearCompletion; // 75% - 100%
+    private long completed;      // 100%
+}
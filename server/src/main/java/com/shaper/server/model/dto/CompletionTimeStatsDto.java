@@ -0,0 +1,17 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompletionTimeStatsDto {
+    private Integer taskId;
+    private Integer templateId;
+    private long sampleCount;
+    private Double p50Hours;
+    private Double p90Hours;
+    private Double p99Hours;
+}
@@ -0,0 +1,18 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentAnalyticsDto {
+    private Integer departmentId;
+    private String departmentName;
+    private long totalHires;
+    private long activeHires;
+    private long assignedTemplates;
+    private double averageCompletion;
+    private CompletionDistributionDto completionDistribution;
+}
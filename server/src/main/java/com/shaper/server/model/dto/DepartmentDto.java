@@ -0,0 +1,33 @@
+package com.shaper.server.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Flat view of a department with its hire and template counts instead of the collections.
+ */
+@Data
+@NoArgsConstructor
+public class DepartmentDto {
+    private Integer departmentId;
+    private String name;
+    private Integer companyId;
+    private UUID createdByHrId;
+    private long hireCount;
+    private long templateCount;
+
+    /**
+     * Used by the JPQL constructor expression in CompanyDepartmentRepository.
+     */
+    public DepartmentDto(Integer departmentId, String name, Integer companyId, UUID createdByHrId,
+                         Long hireCount, Long templateCount) {
+        this.departmentId = departmentId;
+        this.name = name;
+        this.companyId = companyId;
+        this.createdByHrId = createdByHrId;
+        this.hireCount = hireCount != null ? hireCount : 0L;
+        this.templateCount = templateCount != null ? templateCount : 0L;
+    }
+}
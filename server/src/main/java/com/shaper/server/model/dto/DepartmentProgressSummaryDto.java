@@ -0,0 +1,40 @@
+package com.shaper.server.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class DepartmentProgressSummaryDto {
+    private Integer departmentId;
+    private String departmentName;
+    private long totalHires;
+    private long activeHires;
+    private long completedHires;
+    private double averageCompletion;
+    private double completionRate;
+    private CompletionDistributionDto completionDistribution;
+
+    /**
+     * Used by the grouped JPQL constructor expression in CompanyDepartmentRepository.
+     */
+    public DepartmentProgressSummaryDto(Integer departmentId, String departmentName, Long totalHires,
+                                        Long trackedProgress, Double averageCompletion,
+                                        Long notStarted, Long started, Long inProgress,
+                                        Long nearCompletion, Long completed) {
+        long tracked = trackedProgress != null ? trackedProgress : 0L;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+        this.totalHires = totalHires != null ? totalHires : 0L;
+        this.completionDistribution = new CompletionDistributionDto(
+            valueOf(notStarted), valueOf(started), valueOf(inProgress), valueOf(nearCompletion), valueOf(completed));
+        this.completedHires = completionDistribution.getCompleted();
+        this.activeHires = tracked - completedHires;
+        this.averageCompletion = averageCompletion != null ? averageCompletion : 0.0;
+        this.completionRate = tracked == 0 ? 0.0 : (double) completedHires / tracked * 100.0;
+    }
+
+    private static long valueOf(Long count) {
+        return count != null ? count : 0L;
+    }
+}
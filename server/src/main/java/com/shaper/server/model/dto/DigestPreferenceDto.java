@@ -0,0 +1,16 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.DigestFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DigestPreferenceDto {
+    private UUID userId;
+    private DigestFrequency frequency;
+}
@@ -0,0 +1,22 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HireSummaryDto {
+    private UUID hireId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String title;
+    private String pictureUrl;
+    private Integer departmentId;
+    private LocalDateTime createdAt;
+}
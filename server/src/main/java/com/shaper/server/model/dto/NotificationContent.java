@@ -0,0 +1,29 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.NotificationMessageTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * What a notification says: either free text, or a template with its parameters that is
+ * rendered when the notification is read.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationContent {
+    private String message;
+    private NotificationMessageTemplate template;
+    private List<String> params;
+    
+    public static NotificationContent text(String message) {
+        return new NotificationContent(message, null, List.of());
+    }
+    
+    public static NotificationContent template(NotificationMessageTemplate template, String... params) {
+        return new NotificationContent(null, template, List.of(params));
+    }
+}
@@ -0,0 +1,22 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload of the notification stream. A snapshot carries the absolute badge state; created and
+ * read events carry only what changed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDeltaDto {
+    private Long unreadCount;
+    private Long unreadDelta;
+    private NotificationDto notification;
+    private List<Integer> readNotificationIds;
+    private List<NotificationDto> recentNotifications;
+}
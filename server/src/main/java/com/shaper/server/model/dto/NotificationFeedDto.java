@@ -0,0 +1,19 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the notification feed, newest first. Pass {@code nextCursor} back to continue;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedDto {
+    private List<NotificationDto> items;
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFeedFilter {
+    private NotificationType type;
+    private Boolean read;
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -0,0 +1,17 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressAnalyticsFilter {
+    private Integer departmentId;
+    private Integer templateId;
+    private UUID hrId;
+    private Integer minAgeDays;
+}
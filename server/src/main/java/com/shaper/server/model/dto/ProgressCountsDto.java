@@ -0,0 +1,15 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressCountsDto {
+    private Integer completedTasks;
+    private Integer totalTasks;
+    private Integer departmentId;
+    private Integer companyId;
+}
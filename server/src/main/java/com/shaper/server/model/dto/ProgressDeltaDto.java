@@ -0,0 +1,19 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressDeltaDto {
+    private UUID hireId;
+    private Integer templateId;
+    private Integer departmentId;
+    private Double completionPercentage;
+    private Integer completedTasks;
+    private Integer totalTasks;
+}
@@ -0,0 +1,31 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat view of a progress row. Hire and template are reduced to their ids and display names
+ * so responses never serialize the entity graph behind them.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressDto {
+    private Integer progressId;
+    private UUID hireId;
+    private String hireFirstName;
+    private String hireLastName;
+    private Integer departmentId;
+    private Integer templateId;
+    private String templateTitle;
+    private Integer completedTasks;
+    private Integer totalTasks;
+    private Double completionPercentage;
+    private boolean atRisk;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastUpdated;
+}
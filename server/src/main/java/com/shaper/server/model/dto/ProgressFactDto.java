@@ -0,0 +1,27 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection of a progress row with the dimensions the analytics snapshot groups by.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressFactDto {
+    private Integer progressId;
+    private UUID hireId;
+    private Integer companyId;
+    private Integer departmentId;
+    private Integer templateId;
+    private UUID hrId;
+    private Double completionPercentage;
+    private Integer completedTasks;
+    private Integer totalTasks;
+    private LocalDateTime createdAt;
+}
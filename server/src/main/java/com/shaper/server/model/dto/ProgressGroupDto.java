@@ -0,0 +1,17 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressGroupDto {
+    private String key;
+    private long progressCount;
+    private long completedCount;
+    private double averageCompletion;
+    private long completedTasks;
+    private long totalTasks;
+}
@@ -0,0 +1,34 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressRankingDto {
+    private int rank;
+    private Integer progressId;
+    private UUID hireId;
+    private String hireFirstName;
+    private String hireLastName;
+    private Integer departmentId;
+    private Integer templateId;
+    private String templateTitle;
+    private Double completionPercentage;
+    private LocalDateTime createdAt;
+
+    /**
+     * Used by the JPQL constructor expression in ProgressRepository; the rank is assigned afterwards.
+     */
+    public ProgressRankingDto(Integer progressId, UUID hireId, String hireFirstName, String hireLastName,
+                              Integer departmentId, Integer templateId, String templateTitle,
+                              Double completionPercentage, LocalDateTime createdAt) {
+        this(0, progressId, hireId, hireFirstName, hireLastName, departmentId, templateId, templateTitle,
+            completionPercentage, createdAt);
+    }
+}
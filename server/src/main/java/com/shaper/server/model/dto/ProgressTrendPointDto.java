@@ -0,0 +1,18 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressTrendPointDto {
+    private LocalDate date;
+    private Long hireCount;
+    private Long activeCount;
+    private Long completedCount;
+    private Double averageCompletion;
+}
@@ -0,0 +1,45 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.TaskPriority;
+import com.shaper.server.model.enums.TaskType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task fields carried by the JSON export, validated with the same limits as CreateTaskRequest on import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTransferDto {
+    @NotBlank(message = "Task title is required")
+    @Size(min = 2, max = 255, message = "Task title must be between 2 and 255 characters")
+    private String title;
+
+    @Size(max = 1000, message = "Task description cannot exceed 1000 characters")
+    private String description;
+
+    @NotNull(message = "Task type is required")
+    private TaskType taskType;
+
+    private boolean requiresSignature;
+
+    @Size(max = 500, message = "Resource URL cannot exceed 500 characters")
+    private String resourceUrl;
+
+    private LocalDateTime eventDate;
+
+    private LocalDateTime dueDate;
+
+    private TaskPriority priority;
+
+    @PositiveOrZero(message = "Estimated hours cannot be negative")
+    private Double estimatedHours;
+}
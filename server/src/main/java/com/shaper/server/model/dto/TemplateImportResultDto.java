@@ -0,0 +1,17 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateImportResultDto {
+    private List<Integer> templateIds;
+    private int taskCount;
+    private List<String> unmatchedDepartments;
+    private long durationMs;
+}
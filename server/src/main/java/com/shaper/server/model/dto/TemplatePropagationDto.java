@@ -0,0 +1,25 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.PropagationState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplatePropagationDto {
+    private Integer templateId;
+    private Integer targetVersionId;
+    private PropagationState state;
+    private long totalHires;
+    private long processedHires;
+    private long todosAdded;
+    private long todosRemoved;
+    private long todosUpdated;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
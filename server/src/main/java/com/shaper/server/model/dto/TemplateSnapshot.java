@@ -0,0 +1,78 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.enums.TaskPriority;
+import com.shaper.server.model.enums.TaskStatus;
+import com.shaper.server.model.enums.TaskType;
+import com.shaper.server.model.enums.TemplateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a template with its tasks in rank order and its department IDs,
+ * safe to share between requests from the template cache.
+ */
+@Getter
+public final class TemplateSnapshot {
+
+    private final Integer id;
+    private final String title;
+    private final String description;
+    private final TemplateStatus status;
+    private final UUID hrId;
+    private final String hrName;
+    private final LocalDateTime createdDate;
+    private final LocalDateTime updatedDate;
+    private final List<TaskSnapshot> tasks;
+    private final List<Integer> departmentIds;
+
+    public TemplateSnapshot(Template template, List<Task> orderedTasks, Collection<CompanyDepartment> departments) {
+        this.id = template.getId();
+        this.title = template.getTitle();
+        this.description = template.getDescription();
+        this.status = template.getStatus();
+        this.hrId = template.getCreatedByHr().getId();
+        this.hrName = template.getCreatedByHr().getFirstName() + " " + template.getCreatedByHr().getLastName();
+        this.createdDate = template.getCreatedDate();
+        this.updatedDate = template.getUpdatedDate();
+        this.tasks = orderedTasks.stream().map(TaskSnapshot::new).toList();
+        this.departmentIds = departments == null ? List.of()
+            : departments.stream().map(CompanyDepartment::getId).sorted().toList();
+    }
+
+    public List<Integer> getTaskIds() {
+        return tasks.stream().map(TaskSnapshot::getId).toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class TaskSnapshot {
+        private final Integer id;
+        private final String title;
+        private final String description;
+        private final TaskType taskType;
+        private final TaskStatus status;
+        private final TaskPriority priority;
+        private final Double estimatedHours;
+        private final boolean requiresSignature;
+        private final String resourceUrl;
+        private final LocalDateTime eventDate;
+        private final LocalDateTime dueDate;
+        private final String rankKey;
+        private final LocalDateTime createdAt;
+        private final Integer lineageId;
+
+        public TaskSnapshot(Task task) {
+            this(task.getId(), task.getTitle(), task.getDescription(), task.getTaskType(), task.getStatus(),
+                task.getPriority(), task.getEstimatedHours(), task.isRequiresSignature(), task.getResourceUrl(),
+                task.getEventDate(), task.getDueDate(), task.getRankKey(), task.getCreatedAt(), task.getLineageId());
+        }
+    }
+}
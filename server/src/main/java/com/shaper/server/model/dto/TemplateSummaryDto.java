@@ -0,0 +1,20 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.TemplateStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateSummaryDto {
+    private Integer templateId;
+    private String title;
+    private String description;
+    private TemplateStatus status;
+    private LocalDateTime createdDate;
+    private LocalDateTime updatedDate;
+}
@@ -0,0 +1,24 @@
+package com.shaper.server.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Template fields carried by the JSON export; the id is only used to page through the source company.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateTransferDto {
+    private Integer id;
+
+    @NotBlank(message = "Template title is required")
+    @Size(min = 2, max = 255, message = "Template title must be between 2 and 255 characters")
+    private String title;
+
+    @Size(max = 1000, message = "Template description cannot exceed 1000 characters")
+    private String description;
+}
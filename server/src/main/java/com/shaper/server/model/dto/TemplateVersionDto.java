@@ -0,0 +1,21 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateVersionDto {
+    private Integer id;
+    private Integer templateId;
+    private int versionNumber;
+    private String title;
+    private String description;
+    private List<Integer> taskIds;
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,37 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.entity.TemplateVersion;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a published template version. Versions never change, so snapshots
+ * are cached for the lifetime of the process.
+ */
+@Getter
+public final class TemplateVersionSnapshot {
+
+    private final Integer id;
+    private final Integer templateId;
+    private final int versionNumber;
+    private final String title;
+    private final String description;
+    private final LocalDateTime publishedAt;
+    private final List<TemplateSnapshot.TaskSnapshot> tasks;
+
+    public TemplateVersionSnapshot(TemplateVersion version) {
+        this.id = version.getId();
+        this.templateId = version.getTemplateId();
+        this.versionNumber = version.getVersionNumber();
+        this.title = version.getTitle();
+        this.description = version.getDescription();
+        this.publishedAt = version.getPublishedAt();
+        this.tasks = version.getTasks().stream().map(TemplateSnapshot.TaskSnapshot::new).toList();
+    }
+
+    public List<Integer> getTaskIds() {
+        return tasks.stream().map(TemplateSnapshot.TaskSnapshot::getId).toList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCompletionSampleDto {
+    private Integer taskId;
+    private Integer templateId;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
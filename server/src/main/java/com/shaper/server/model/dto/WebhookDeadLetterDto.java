@@ -0,0 +1,19 @@
+package com.shaper.server.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookDeadLetterDto {
+    private Long id;
+    private Integer endpointId;
+    private String payload;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime failedAt;
+}
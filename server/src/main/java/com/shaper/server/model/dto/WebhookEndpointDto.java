@@ -0,0 +1,23 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.WebhookEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEndpointDto {
+    private Integer id;
+    private Integer companyId;
+    private String url;
+    private Set<WebhookEventType> eventTypes;
+    private boolean active;
+    // Only filled in on creation; receivers need it to verify signatures
+    private String secret;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.WebhookEventType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEndpointRequest {
+    
+    // Defaults to the company of the registering HR user; any other company is rejected
+    private Integer companyId;
+    
+    @NotBlank(message = "URL is required")
+    private String url;
+    
+    @NotEmpty(message = "At least one event type is required")
+    private Set<WebhookEventType> eventTypes;
+}
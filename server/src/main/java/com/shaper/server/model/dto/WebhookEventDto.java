@@ -0,0 +1,21 @@
+package com.shaper.server.model.dto;
+
+import com.shaper.server.model.enums.WebhookEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WebhookEventDto {
+    private UUID id;
+    private WebhookEventType type;
+    private Integer companyId;
+    private LocalDateTime occurredAt;
+    private Map<String, Object> data;
+}
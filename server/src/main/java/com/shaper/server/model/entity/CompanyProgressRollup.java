@@ -0,0 +1,18 @@
+package com.shaper.server.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "company_progress_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CompanyProgressRollup extends ProgressRollup {
+
+    @Id
+    @Column(name = "company_id", updatable = false, nullable = false)
+    private Integer companyId;
+}
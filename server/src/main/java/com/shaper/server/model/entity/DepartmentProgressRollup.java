@@ -0,0 +1,21 @@
+package com.shaper.server.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "department_progress_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DepartmentProgressRollup extends ProgressRollup {
+
+    @Id
+    @Column(name = "department_id", updatable = false, nullable = false)
+    private Integer departmentId;
+
+    @Column(name = "company_id", nullable = false)
+    private Integer companyId;
+}
@@ -0,0 +1,48 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDate;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Daily copy of a department progress rollup, used for trend charts.
+ */
+@Entity
+@Table(name = "department_progress_snapshots")
+@IdClass(DepartmentProgressSnapshotId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DepartmentProgressSnapshot {
+
+    @Id
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Id
+    @Column(name = "department_id", nullable = false)
+    private Integer departmentId;
+
+    @Column(name = "company_id", nullable = false)
+    private Integer companyId;
+
+    @Column(name = "hire_count", nullable = false)
+    private long hireCount;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "average_completion", nullable = false)
+    private double averageCompletion;
+
+    @Column(name = "week_start", nullable = false)
+    private boolean weekStart;
+
+    @Column(name = "month_start", nullable = false)
+    private boolean monthStart;
+}
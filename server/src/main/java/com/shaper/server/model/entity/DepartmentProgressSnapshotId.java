@@ -0,0 +1,16 @@
+package com.shaper.server.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentProgressSnapshotId implements Serializable {
+    private LocalDate snapshotDate;
+    private Integer departmentId;
+}
@@ -1,7 +1,9 @@
 package com.shaper.server.model.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+import com.shaper.server.model.enums.NotificationMessageTemplate;
 import com.shaper.server.model.enums.NotificationType;
 
 import jakarta.persistence.*;
@@ -27,9 +29,18 @@ public class Notification {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
-    @Column(name = "message", nullable = false)
+    // Free text only; templated notifications leave this empty and are rendered on read
+    @Column(name = "message")
     private String message;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "template_code", length = 50)
+    private NotificationMessageTemplate templateCode;
+    
+    // Template parameters separated by the unit separator character (U+001F)
+    @Column(name = "message_params", length = 1000)
+    private String messageParams;
+    
     @Column(name = "is_read", nullable = false)
     private boolean isRead;
     
@@ -40,14 +51,17 @@ public class Notification {
     @JoinColumn(name = "related_task_id")
     private Task relatedTask;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 50)
+    private NotificationType notificationType = NotificationType.GENERAL;
+    
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Match the database's microsecond precision so feed cursors built from cached entities stay exact
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         isRead = false;
-    }
-
-    public void setNotificationType(NotificationType reminder) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'setNotificationType'");
+        if (notificationType == null) {
+            notificationType = NotificationType.GENERAL;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import com.shaper.server.model.enums.DigestFrequency;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * How often a user wants high-volume notifications delivered. Users without a row get them
+ * immediately.
+ */
+@Entity
+@Table(name = "notification_digest_preferences")
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationDigestPreference {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 20)
+    private DigestFrequency frequency = DigestFrequency.IMMEDIATE;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Current wording of a notification template. Rows are read into memory and re-read
+ * periodically, never joined per notification.
+ */
+@Entity
+@Table(name = "notification_templates")
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationTemplate {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "code", updatable = false, nullable = false, length = 50)
+    private NotificationMessageTemplate code;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
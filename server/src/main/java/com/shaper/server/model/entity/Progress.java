@@ -43,6 +43,9 @@ public class Progress {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
+    @Column(name = "at_risk", nullable = false)
+    private boolean atRisk;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
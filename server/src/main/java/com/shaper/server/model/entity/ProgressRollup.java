@@ -0,0 +1,49 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Counters shared by the department and company progress rollups. Writers only ever
+ * shift these through the repository delta updates; the nightly verifier repairs drift.
+ */
+@MappedSuperclass
+@Getter
+@Setter
+public abstract class ProgressRollup {
+
+    @Column(name = "hire_count", nullable = false)
+    private long hireCount;
+
+    @Column(name = "active_count", nullable = false)
+    private long activeCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Column(name = "completion_sum", nullable = false)
+    private double completionSum;
+
+    @Column(name = "not_started_count", nullable = false)
+    private long notStartedCount;
+
+    @Column(name = "started_count", nullable = false)
+    private long startedCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "near_completion_count", nullable = false)
+    private long nearCompletionCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
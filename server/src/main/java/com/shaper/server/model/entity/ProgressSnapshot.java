@@ -0,0 +1,50 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Daily, append-only progress of one hire across all of their templates.
+ * Keyed by date first so the table can be range partitioned by month.
+ */
+@Entity
+@Table(name = "progress_snapshots")
+@IdClass(ProgressSnapshotId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProgressSnapshot {
+
+    @Id
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Id
+    @Column(name = "hire_id", nullable = false)
+    private UUID hireId;
+
+    @Column(name = "department_id")
+    private Integer departmentId;
+
+    @Column(name = "company_id", nullable = false)
+    private Integer companyId;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "completion_percentage", nullable = false)
+    private double completionPercentage;
+
+    @Column(name = "week_start", nullable = false)
+    private boolean weekStart;
+
+    @Column(name = "month_start", nullable = false)
+    private boolean monthStart;
+}
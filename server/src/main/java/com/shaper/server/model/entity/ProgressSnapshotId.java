@@ -0,0 +1,17 @@
+package com.shaper.server.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressSnapshotId implements Serializable {
+    private LocalDate snapshotDate;
+    private UUID hireId;
+}
@@ -2,6 +2,7 @@ package com.shaper.server.model.entity;
 
 import java.time.LocalDateTime;
 import java.util.Set;
+import com.shaper.server.system.RankKeys;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -54,23 +55,48 @@ public class Task {
     @Column(name = "estimated_hours")
     private Double estimatedHours;
     
+    // Position shown to clients; renumbered in the background after moves, rankKey is the real order.
+    // Both only order the draft and may change on frozen rows; versions keep their own positions.
     @Column(name = "order_index")
     private Integer orderIndex;
+    
+    @Column(name = "rank_key", nullable = false, length = 64)
+    private String rankKey;
 
     @ManyToOne
     @JoinColumn(name = "template_id", nullable = false)
     private Template template;
     
+    // Part of a published version; content edits copy the row instead of changing it
+    @Column(name = "frozen", nullable = false)
+    private boolean frozen;
+    
+    // No longer in the draft, kept only for the versions and todos that reference it
+    @Column(name = "retired", nullable = false)
+    private boolean retired;
+    
+    // First row of the chain this row was copied from on edit; null for rows that are not copies.
+    // Todos follow a task across versions by its lineage, see getLineageId()
+    @Column(name = "origin_task_id", updatable = false)
+    private Integer originTaskId;
+    
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
     private Set<Document> documents;
 
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
+    public Integer getLineageId() {
+        return originTaskId != null ? originTaskId : id;
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         status = com.shaper.server.model.enums.TaskStatus.PENDING;
+        if (rankKey == null) {
+            rankKey = RankKeys.forIndex(orderIndex != null && orderIndex > 0 ? orderIndex : 1);
+        }
     }
 
 
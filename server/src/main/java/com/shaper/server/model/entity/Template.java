@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -36,7 +37,8 @@ public class Template {
     private HrUser createdByHr;
     
     @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, orphanRemoval = true)
-    @OrderBy("orderIndex ASC")
+    @OrderBy("rankKey ASC")
+    @SQLRestriction("retired = false")
     private Set<Task> tasks;
     
     @ManyToMany(mappedBy = "assignedTemplates")
@@ -0,0 +1,55 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Immutable, published state of a template. The task list references task rows directly, so
+ * tasks left unchanged between two versions are shared rather than copied; those rows are
+ * frozen and edits to them create new rows for the draft.
+ */
+@Entity
+@Table(name = "template_versions",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"template_id", "version_number"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class TemplateVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Integer id;
+
+    @Column(name = "template_id", nullable = false, updatable = false)
+    private Integer templateId;
+
+    @Column(name = "version_number", nullable = false, updatable = false)
+    private int versionNumber;
+
+    @Column(name = "title", nullable = false, updatable = false)
+    private String title;
+
+    @Column(name = "description", updatable = false)
+    private String description;
+
+    @ManyToMany
+    @JoinTable(name = "template_version_tasks",
+        joinColumns = @JoinColumn(name = "version_id"),
+        inverseJoinColumns = @JoinColumn(name = "task_id"))
+    @OrderColumn(name = "position")
+    private List<Task> tasks = new ArrayList<>();
+
+    @Column(name = "published_at", nullable = false, updatable = false)
+    private LocalDateTime publishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        publishedAt = LocalDateTime.now();
+    }
+}
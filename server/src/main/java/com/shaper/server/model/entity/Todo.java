@@ -32,6 +32,11 @@ public class Todo {
     @JoinColumn(name = "template_id", nullable = false)
     private Template template;
     
+    // Published version the todo was created from; null for todos that predate versioning
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_version_id")
+    private TemplateVersion templateVersion;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private com.shaper.server.model.enums.TodoStatus status;
@@ -0,0 +1,49 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import com.shaper.server.model.enums.TodoStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only record of a todo status change. Rows are written in JDBC batches by
+ * TodoTransitionRecorder and never updated.
+ */
+@Entity
+@Table(name = "todo_transitions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class TodoTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "todo_id", nullable = false, updatable = false)
+    private Integer todoId;
+
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Integer taskId;
+
+    @Column(name = "template_id", nullable = false, updatable = false)
+    private Integer templateId;
+
+    @Column(name = "hire_id", nullable = false, updatable = false)
+    private UUID hireId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", updatable = false)
+    private TodoStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, updatable = false)
+    private TodoStatus toStatus;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,39 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A webhook batch that could not be delivered after every retry, kept with its exact payload
+ * for inspection or manual replay.
+ */
+@Entity
+@Table(name = "webhook_dead_letters")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WebhookDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "endpoint_id", nullable = false, updatable = false)
+    private Integer endpointId;
+
+    @Column(name = "payload", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false, updatable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000, updatable = false)
+    private String lastError;
+
+    @Column(name = "failed_at", nullable = false, updatable = false)
+    private LocalDateTime failedAt;
+}
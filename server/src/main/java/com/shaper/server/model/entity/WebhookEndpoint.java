@@ -0,0 +1,47 @@
+package com.shaper.server.model.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A company's receiver for outbound webhook deliveries. Payloads are signed with the secret;
+ * event types are stored as a comma-separated list of WebhookEventType names.
+ */
+@Entity
+@Table(name = "webhook_endpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WebhookEndpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Integer id;
+
+    @Column(name = "company_id", nullable = false, updatable = false)
+    private Integer companyId;
+
+    @Column(name = "url", nullable = false, length = 2048)
+    private String url;
+
+    @Column(name = "secret", nullable = false, length = 128)
+    private String secret;
+
+    @Column(name = "event_types", nullable = false)
+    private String eventTypes;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,8 @@
+package com.shaper.server.model.enums;
+
+public enum AnalyticsDimension {
+    DEPARTMENT,
+    TEMPLATE,
+    HR,
+    AGE
+}
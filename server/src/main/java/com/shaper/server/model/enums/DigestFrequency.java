@@ -0,0 +1,19 @@
+package com.shaper.server.model.enums;
+
+import java.time.Duration;
+
+public enum DigestFrequency {
+    IMMEDIATE(Duration.ZERO),
+    HOURLY(Duration.ofHours(1)),
+    DAILY(Duration.ofDays(1));
+
+    private final Duration window;
+
+    DigestFrequency(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+}
@@ -0,0 +1,26 @@
+package com.shaper.server.model.enums;
+
+/**
+ * Built-in notification wordings, stored on each row by name. {0}, {1}... are replaced with the
+ * row's parameters when it is read. Bodies in the notification_templates table take precedence,
+ * so wording can change without rewriting rows.
+ */
+public enum NotificationMessageTemplate {
+    TASK_COMPLETED("Task '{0}' has been completed by {1}"),
+    DOCUMENT_SIGNED("Document for task '{0}' has been signed and requires your review"),
+    SIGNATURE_REQUEST("Please review and sign the document for task '{0}'"),
+    OVERDUE_TASK("Task '{0}' is overdue. Please complete it as soon as possible."),
+    REMINDER("Reminder: Task '{0}' is due soon. Please complete it."),
+    ONBOARDING_STARTED("Onboarding has started for {0}"),
+    ONBOARDING_COMPLETED("Onboarding has been completed by {0}");
+
+    private final String defaultBody;
+
+    NotificationMessageTemplate(String defaultBody) {
+        this.defaultBody = defaultBody;
+    }
+
+    public String getDefaultBody() {
+        return defaultBody;
+    }
+}
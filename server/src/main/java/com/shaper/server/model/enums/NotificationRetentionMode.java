@@ -0,0 +1,6 @@
+package com.shaper.server.model.enums;
+
+public enum NotificationRetentionMode {
+    ARCHIVE,
+    DROP
+}
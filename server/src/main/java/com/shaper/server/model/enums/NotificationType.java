@@ -8,6 +8,7 @@ public enum NotificationType {
     OVERDUE_TASK("Overdue Task"),
     ONBOARDING_STARTED("Onboarding Started"),
     ONBOARDING_COMPLETED("Onboarding Completed"),
+    DIGEST("Digest"),
     GENERAL("General");
 
     private final String displayName;
@@ -0,0 +1,7 @@
+package com.shaper.server.model.enums;
+
+public enum PropagationState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.shaper.server.model.enums;
+
+public enum SnapshotResolution {
+    DAILY,
+    WEEKLY,
+    MONTHLY
+}
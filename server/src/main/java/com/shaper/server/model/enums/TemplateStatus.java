@@ -2,5 +2,6 @@ package com.shaper.server.model.enums;
 public enum TemplateStatus {
     PENDING,
     IN_PROGRESS,
-    COMPLETED
+    COMPLETED,
+    ARCHIVED
 }
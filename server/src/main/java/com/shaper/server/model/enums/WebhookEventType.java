@@ -0,0 +1,8 @@
+package com.shaper.server.model.enums;
+
+public enum WebhookEventType {
+    TODO_COMPLETED,
+    TEMPLATE_ASSIGNED,
+    DOCUMENT_UPLOADED,
+    ONBOARDING_COMPLETED
+}
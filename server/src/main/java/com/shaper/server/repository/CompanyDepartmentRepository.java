@@ -1,5 +1,8 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
 import com.shaper.server.model.entity.CompanyDepartment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -15,15 +18,68 @@ public interface CompanyDepartmentRepository extends JpaRepository<CompanyDepart
     
     List<CompanyDepartment> findByCompany_Id(Integer companyId);
     
-    List<CompanyDepartment> findByCreatedByHr_Id(UUID hrId);
-    
     Optional<CompanyDepartment> findByNameAndCompany_Id(String name, Integer companyId);
     
     boolean existsByNameAndCompany_Id(String name, Integer companyId);
     
-    @Query("SELECT d FROM CompanyDepartment d JOIN d.assignedTemplates t WHERE t.id = :templateId")
-    List<CompanyDepartment> findByTemplateId(@Param("templateId") Integer templateId);
+    @Query("SELECT d.company.id FROM CompanyDepartment d WHERE d.id = :departmentId")
+    Optional<Integer> findCompanyIdById(@Param("departmentId") Integer departmentId);
+    
+    String DEPARTMENT_DTO_SELECT = "SELECT new com.shaper.server.model.dto.DepartmentDto(" +
+        "d.id, d.name, d.company.id, d.createdByHr.id, " +
+        "(SELECT COUNT(h) FROM Hire h WHERE h.department.id = d.id), " +
+        "(SELECT COUNT(t) FROM CompanyDepartment d2 JOIN d2.assignedTemplates t WHERE d2.id = d.id)) " +
+        "FROM CompanyDepartment d ";
+    
+    /**
+     * Department responses carry counts instead of the hire and template collections,
+     * projected in one query regardless of how many departments match.
+     */
+    @Query(DEPARTMENT_DTO_SELECT + "WHERE d.id = :departmentId")
+    Optional<DepartmentDto> findDtoById(@Param("departmentId") Integer departmentId);
+    
+    @Query(DEPARTMENT_DTO_SELECT + "ORDER BY d.name")
+    List<DepartmentDto> findAllDtos();
+    
+    @Query(DEPARTMENT_DTO_SELECT + "WHERE d.company.id = :companyId ORDER BY d.name")
+    List<DepartmentDto> findDtosByCompanyId(@Param("companyId") Integer companyId);
+    
+    @Query(DEPARTMENT_DTO_SELECT + "WHERE d.createdByHr.id = :hrId ORDER BY d.name")
+    List<DepartmentDto> findDtosByHrId(@Param("hrId") UUID hrId);
+    
+    @Query(DEPARTMENT_DTO_SELECT + "WHERE EXISTS (SELECT 1 FROM CompanyDepartment d3 JOIN d3.assignedTemplates t3 " +
+           "WHERE d3.id = d.id AND t3.id = :templateId) ORDER BY d.name")
+    List<DepartmentDto> findDtosByTemplateId(@Param("templateId") Integer templateId);
+    
+    @Query("SELECT new com.shaper.server.model.dto.TemplateSummaryDto(" +
+           "t.id, t.title, t.description, t.status, t.createdDate, t.updatedDate) " +
+           "FROM CompanyDepartment d JOIN d.assignedTemplates t WHERE d.id = :departmentId ORDER BY t.title")
+    List<TemplateSummaryDto> findTemplateSummariesByDepartmentId(@Param("departmentId") Integer departmentId);
+    
+    @Query("SELECT d.name FROM CompanyDepartment d JOIN d.assignedTemplates t WHERE t.id = :templateId ORDER BY d.name")
+    List<String> findNamesByTemplateId(@Param("templateId") Integer templateId);
     
     @Query("SELECT COUNT(d) FROM CompanyDepartment d WHERE d.company.id = :companyId")
     long countByCompanyId(@Param("companyId") Integer companyId);
-}
+    
+    @Query("SELECT COUNT(t) FROM CompanyDepartment d JOIN d.assignedTemplates t WHERE d.id = :departmentId")
+    long countAssignedTemplates(@Param("departmentId") Integer departmentId);
+    
+    String PROGRESS_SUMMARY_SELECT = "SELECT new com.shaper.server.model.dto.DepartmentProgressSummaryDto(" +
+        "d.id, d.name, COUNT(DISTINCT h.id), COUNT(p.id), AVG(p.completionPercentage), " +
+        "SUM(CASE WHEN p.completionPercentage < 25.0 THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN p.completionPercentage >= 25.0 AND p.completionPercentage < 50.0 THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN p.completionPercentage >= 50.0 AND p.completionPercentage < 75.0 THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN p.completionPercentage >= 75.0 AND p.completionPercentage < 100.0 THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN p.completionPercentage >= 100.0 THEN 1 ELSE 0 END)) " +
+        "FROM CompanyDepartment d LEFT JOIN d.hires h LEFT JOIN h.progressItems p ";
+    
+    /**
+     * Per-department hire counts, completion average and completion buckets for a whole company in one query.
+     */
+    @Query(PROGRESS_SUMMARY_SELECT + "WHERE d.company.id = :companyId GROUP BY d.id, d.name ORDER BY d.name")
+    List<DepartmentProgressSummaryDto> summarizeProgressByCompanyId(@Param("companyId") Integer companyId);
+    
+    @Query(PROGRESS_SUMMARY_SELECT + "WHERE d.id = :departmentId GROUP BY d.id, d.name")
+    Optional<DepartmentProgressSummaryDto> summarizeProgressByDepartmentId(@Param("departmentId") Integer departmentId);
+}
\ No newline at end of file
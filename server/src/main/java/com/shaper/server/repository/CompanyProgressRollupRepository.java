@@ -0,0 +1,40 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.CompanyProgressRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CompanyProgressRollupRepository extends JpaRepository<CompanyProgressRollup, Integer> {
+    
+    @Query("SELECT r.companyId FROM CompanyProgressRollup r")
+    List<Integer> findCompanyIds();
+    
+    @Modifying
+    @Query("UPDATE CompanyProgressRollup r SET r.hireCount = r.hireCount + :hireDelta, " +
+           "r.activeCount = r.activeCount + :activeDelta, " +
+           "r.completedCount = r.completedCount + :completedDelta, " +
+           "r.completionSum = r.completionSum + :completionSumDelta, " +
+           "r.notStartedCount = r.notStartedCount + :notStartedDelta, " +
+           "r.startedCount = r.startedCount + :startedDelta, " +
+           "r.inProgressCount = r.inProgressCount + :inProgressDelta, " +
+           "r.nearCompletionCount = r.nearCompletionCount + :nearCompletionDelta, " +
+           "r.updatedAt = :now " +
+           "WHERE r.companyId = :companyId")
+    int applyDelta(@Param("companyId") Integer companyId,
+                   @Param("hireDelta") long hireDelta,
+                   @Param("activeDelta") long activeDelta,
+                   @Param("completedDelta") long completedDelta,
+                   @Param("completionSumDelta") double completionSumDelta,
+                   @Param("notStartedDelta") long notStartedDelta,
+                   @Param("startedDelta") long startedDelta,
+                   @Param("inProgressDelta") long inProgressDelta,
+                   @Param("nearCompletionDelta") long nearCompletionDelta,
+                   @Param("now") LocalDateTime now);
+}
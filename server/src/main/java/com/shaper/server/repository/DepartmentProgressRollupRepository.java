@@ -0,0 +1,63 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.entity.DepartmentProgressRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DepartmentProgressRollupRepository extends JpaRepository<DepartmentProgressRollup, Integer> {
+    
+    List<DepartmentProgressRollup> findByCompanyId(Integer companyId);
+    
+    @Modifying
+    @Query("UPDATE DepartmentProgressRollup r SET r.hireCount = r.hireCount + :hireDelta, " +
+           "r.activeCount = r.activeCount + :activeDelta, " +
+           "r.completedCount = r.completedCount + :completedDelta, " +
+           "r.completionSum = r.completionSum + :completionSumDelta, " +
+           "r.notStartedCount = r.notStartedCount + :notStartedDelta, " +
+           "r.startedCount = r.startedCount + :startedDelta, " +
+           "r.inProgressCount = r.inProgressCount + :inProgressDelta, " +
+           "r.nearCompletionCount = r.nearCompletionCount + :nearCompletionDelta, " +
+           "r.updatedAt = :now " +
+           "WHERE r.departmentId = :departmentId")
+    int applyDelta(@Param("departmentId") Integer departmentId,
+                   @Param("hireDelta") long hireDelta,
+                   @Param("activeDelta") long activeDelta,
+                   @Param("completedDelta") long completedDelta,
+                   @Param("completionSumDelta") double completionSumDelta,
+                   @Param("notStartedDelta") long notStartedDelta,
+                   @Param("startedDelta") long startedDelta,
+                   @Param("inProgressDelta") long inProgressDelta,
+                   @Param("nearCompletionDelta") long nearCompletionDelta,
+                   @Param("now") LocalDateTime now);
+    
+    String SUMMARY_SELECT = "SELECT new com.shaper.server.model.dto.DepartmentProgressSummaryDto(" +
+        "d.id, d.name, r.hireCount, r.activeCount + r.completedCount, " +
+        "CASE WHEN r.activeCount + r.completedCount > 0 " +
+        "THEN r.completionSum / (r.activeCount + r.completedCount) ELSE 0.0 END, " +
+        "r.notStartedCount, r.startedCount, r.inProgressCount, r.nearCompletionCount, r.completedCount) " +
+        "FROM CompanyDepartment d LEFT JOIN DepartmentProgressRollup r ON r.departmentId = d.id ";
+    
+    @Query(SUMMARY_SELECT + "WHERE d.company.id = :companyId ORDER BY d.name")
+    List<DepartmentProgressSummaryDto> findSummariesByCompanyId(@Param("companyId") Integer companyId);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.id = :departmentId")
+    Optional<DepartmentProgressSummaryDto> findSummaryByDepartmentId(@Param("departmentId") Integer departmentId);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentProgressRollup r WHERE r.companyId = :companyId AND r.departmentId NOT IN :departmentIds")
+    int deleteStaleRollups(@Param("companyId") Integer companyId, @Param("departmentIds") Collection<Integer> departmentIds);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentProgressRollup r WHERE r.companyId = :companyId")
+    int deleteByCompanyId(@Param("companyId") Integer companyId);
+}
@@ -0,0 +1,77 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.dto.ProgressTrendPointDto;
+import com.shaper.server.model.entity.DepartmentProgressSnapshot;
+import com.shaper.server.model.entity.DepartmentProgressSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DepartmentProgressSnapshotRepository 
+        extends JpaRepository<DepartmentProgressSnapshot, DepartmentProgressSnapshotId> {
+    
+    String RESOLUTION_FILTER = "AND (:weeklyOnly = false OR s.weekStart = true) " +
+                               "AND (:monthlyOnly = false OR s.monthStart = true) ";
+    
+    /**
+     * Company trend, combining the department rows of each day with a hire-weighted average.
+     */
+    @Query("SELECT new com.shaper.server.model.dto.ProgressTrendPointDto(s.snapshotDate, SUM(s.hireCount), " +
+           "SUM(s.activeCount), SUM(s.completedCount), " +
+           "CASE WHEN SUM(s.activeCount + s.completedCount) > 0 " +
+           "THEN SUM(s.averageCompletion * (s.activeCount + s.completedCount)) / SUM(s.activeCount + s.completedCount) " +
+           "ELSE 0.0 END) " +
+           "FROM DepartmentProgressSnapshot s WHERE s.companyId = :companyId " +
+           "AND s.snapshotDate BETWEEN :from AND :to " + RESOLUTION_FILTER +
+           "GROUP BY s.snapshotDate ORDER BY s.snapshotDate")
+    List<ProgressTrendPointDto> findCompanyTrend(@Param("companyId") Integer companyId,
+                                                 @Param("from") LocalDate from,
+                                                 @Param("to") LocalDate to,
+                                                 @Param("weeklyOnly") boolean weeklyOnly,
+                                                 @Param("monthlyOnly") boolean monthlyOnly);
+    
+    @Query("SELECT new com.shaper.server.model.dto.ProgressTrendPointDto(s.snapshotDate, s.hireCount, " +
+           "s.activeCount, s.completedCount, s.averageCompletion) " +
+           "FROM DepartmentProgressSnapshot s WHERE s.departmentId = :departmentId " +
+           "AND s.snapshotDate BETWEEN :from AND :to " + RESOLUTION_FILTER +
+           "ORDER BY s.snapshotDate")
+    List<ProgressTrendPointDto> findDepartmentTrend(@Param("departmentId") Integer departmentId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("weeklyOnly") boolean weeklyOnly,
+                                                    @Param("monthlyOnly") boolean monthlyOnly);
+    
+    /**
+     * Copy today's department rollups of a company into the snapshot table.
+     */
+    @Modifying
+    @Query("INSERT INTO DepartmentProgressSnapshot (snapshotDate, departmentId, companyId, hireCount, " +
+           "activeCount, completedCount, averageCompletion, weekStart, monthStart) " +
+           "SELECT :date, r.departmentId, r.companyId, r.hireCount, r.activeCount, r.completedCount, " +
+           "CASE WHEN r.activeCount + r.completedCount > 0 " +
+           "THEN r.completionSum / (r.activeCount + r.completedCount) ELSE 0.0 END, :weekStart, :monthStart " +
+           "FROM DepartmentProgressRollup r WHERE r.companyId = :companyId")
+    int captureCompany(@Param("companyId") Integer companyId,
+                       @Param("date") LocalDate date,
+                       @Param("weekStart") boolean weekStart,
+                       @Param("monthStart") boolean monthStart);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentProgressSnapshot s WHERE s.companyId = :companyId AND s.snapshotDate = :date")
+    int deleteByCompanyIdAndDate(@Param("companyId") Integer companyId, @Param("date") LocalDate date);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentProgressSnapshot s WHERE s.snapshotDate < :before " +
+           "AND s.weekStart = false AND s.monthStart = false")
+    int deleteDailyBefore(@Param("before") LocalDate before);
+    
+    @Modifying
+    @Query("DELETE FROM DepartmentProgressSnapshot s WHERE s.snapshotDate < :before AND s.monthStart = false")
+    int deleteWeeklyBefore(@Param("before") LocalDate before);
+}
@@ -1,5 +1,6 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.HireSummaryDto;
 import com.shaper.server.model.entity.Hire;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -14,6 +15,11 @@ public interface HireRepository extends JpaRepository<Hire, UUID> {
     
     List<Hire> findByDepartment_Id(Integer departmentId);
     
+    @Query("SELECT new com.shaper.server.model.dto.HireSummaryDto(" +
+           "h.id, h.firstName, h.lastName, h.email, h.title, h.pictureUrl, h.department.id, h.createdAt) " +
+           "FROM Hire h WHERE h.department.id = :departmentId ORDER BY h.lastName, h.firstName")
+    List<HireSummaryDto> findSummariesByDepartmentId(@Param("departmentId") Integer departmentId);
+    
     List<Hire> findByDepartment_Company_Id(Integer companyId);
     
     List<Hire> findByRegisteredByHr_Id(UUID hrId);
@@ -22,6 +22,10 @@ public interface HrUserRepository extends JpaRepository<HrUser, UUID> {
     @Query("SELECT hr FROM HrUser hr WHERE hr.company.id = :companyId AND hr.email = :email")
     Optional<HrUser> findByCompanyIdAndEmail(@Param("companyId") Integer companyId, @Param("email") String email);
     
+    @Query("SELECT hr FROM HrUser hr WHERE hr.company.id = " +
+           "(SELECT tmpl.createdByHr.company.id FROM Task t JOIN t.template tmpl WHERE t.id = :taskId)")
+    List<HrUser> findCompanyHrUsersByTaskId(@Param("taskId") Integer taskId);
+    
     @Query("SELECT COUNT(hr) FROM HrUser hr WHERE hr.company.id = :companyId")
     long countByCompanyId(@Param("companyId") Integer companyId);
 }
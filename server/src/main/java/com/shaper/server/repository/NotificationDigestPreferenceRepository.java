@@ -0,0 +1,11 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.NotificationDigestPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface NotificationDigestPreferenceRepository extends JpaRepository<NotificationDigestPreference, UUID> {
+}
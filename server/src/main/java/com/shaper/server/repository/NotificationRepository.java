@@ -1,20 +1,52 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.UserUnreadCountDto;
 import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.enums.NotificationType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Integer> {
+public interface NotificationRepository extends JpaRepository<Notification, Integer>, JpaSpecificationExecutor<Notification> {
     
     List<Notification> findByUser_IdOrderByCreatedAtDesc(UUID userId);
     
     List<Notification> findByUser_IdAndIsReadOrderByCreatedAtDesc(UUID userId, boolean isRead);
     
+    List<Notification> findTop5ByUser_IdAndIsReadOrderByCreatedAtDesc(UUID userId, boolean isRead);
+    
     List<Notification> findByRelatedTask_Id(Integer taskId);
     
     long countByUser_IdAndIsRead(UUID userId, boolean isRead);
+    
+    @Query("SELECT new com.shaper.server.model.dto.UserUnreadCountDto(n.user.id, COUNT(n)) " +
+           "FROM Notification n WHERE n.isRead = false AND n.user.id IN :userIds GROUP BY n.user.id")
+    List<UserUnreadCountDto> countUnreadByUserIds(@Param("userIds") Collection<UUID> userIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllReadByUserId(@Param("userId") UUID userId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.isRead = false AND n.id IN :ids")
+    int markReadByIds(@Param("userId") UUID userId, @Param("ids") Collection<Integer> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.isRead = false AND n.relatedTask.id = :taskId")
+    int markReadByRelatedTaskId(@Param("userId") UUID userId, @Param("taskId") Integer taskId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.isRead = false AND n.notificationType = :type")
+    int markReadByType(@Param("userId") UUID userId, @Param("type") NotificationType type);
 }
\ No newline at end of file
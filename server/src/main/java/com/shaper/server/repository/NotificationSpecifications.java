@@ -0,0 +1,54 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.enums.NotificationType;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Building blocks for the notification feed. Only the filters actually requested end up in the
+ * SQL, so every combination can use the (recipient, type, created_at, id) indexes.
+ */
+public final class NotificationSpecifications {
+    
+    private NotificationSpecifications() {
+    }
+    
+    public static Specification<Notification> forUser(UUID userId) {
+        return (root, query, cb) -> {
+            if (Notification.class.equals(query.getResultType())) {
+                root.fetch("user");
+                root.fetch("relatedTask", JoinType.LEFT);
+            }
+            return cb.equal(root.get("user").get("id"), userId);
+        };
+    }
+    
+    public static Specification<Notification> hasType(NotificationType type) {
+        return (root, query, cb) -> cb.equal(root.get("notificationType"), type);
+    }
+    
+    public static Specification<Notification> isRead(boolean read) {
+        return (root, query, cb) -> cb.equal(root.get("isRead"), read);
+    }
+    
+    public static Specification<Notification> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+    
+    public static Specification<Notification> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+    
+    /**
+     * Rows strictly after the cursor in (created_at DESC, id DESC) order.
+     */
+    public static Specification<Notification> after(LocalDateTime createdAt, Integer id) {
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("createdAt"), createdAt),
+            cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+}
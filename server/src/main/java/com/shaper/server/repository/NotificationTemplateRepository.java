@@ -0,0 +1,10 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.NotificationTemplate;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationTemplateRepository extends JpaRepository<NotificationTemplate, NotificationMessageTemplate> {
+}
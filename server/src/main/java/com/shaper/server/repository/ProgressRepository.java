@@ -1,11 +1,21 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.ProgressCountsDto;
+import com.shaper.server.model.dto.ProgressDto;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressRankingDto;
 import com.shaper.server.model.entity.Progress;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,18 +30,188 @@ public interface ProgressRepository extends JpaRepository<Progress, Integer> {
     @Query("SELECT p FROM Progress p WHERE p.hire.id = :hireId AND p.template.id = :templateId")
     Optional<Progress> findByHireIdAndTemplateId(@Param("hireId") UUID hireId, @Param("templateId") Integer templateId);
     
-    @Query("SELECT p FROM Progress p WHERE p.hire.registeredByHr.id = :hrId")
-    List<Progress> findByHrId(@Param("hrId") UUID hrId);
+    String PROGRESS_DTO_SELECT = "SELECT new com.shaper.server.model.dto.ProgressDto(" +
+        "p.id, h.id, h.firstName, h.lastName, d.id, t.id, t.title, " +
+        "p.completedTasks, p.totalTasks, p.completionPercentage, p.atRisk, p.createdAt, p.lastUpdated) " +
+        "FROM Progress p JOIN p.hire h JOIN p.template t LEFT JOIN h.department d ";
     
-    @Query("SELECT p FROM Progress p WHERE p.hire.department.company.id = :companyId")
-    List<Progress> findByCompanyId(@Param("companyId") Integer companyId);
+    String PROGRESS_DTO_ORDER = "ORDER BY h.lastName, h.firstName, t.title";
     
-    @Query("SELECT p FROM Progress p WHERE p.hire.department.id = :departmentId")
-    List<Progress> findByDepartmentId(@Param("departmentId") Integer departmentId);
+    /**
+     * Progress responses are projected in a single query so serialization never walks
+     * into the hire, template or company graph.
+     */
+    @Query(PROGRESS_DTO_SELECT + "WHERE h.id = :hireId AND t.id = :templateId")
+    Optional<ProgressDto> findDtoByHireIdAndTemplateId(@Param("hireId") UUID hireId, 
+                                                      @Param("templateId") Integer templateId);
+    
+    @Query(PROGRESS_DTO_SELECT + "WHERE h.id = :hireId ORDER BY t.title")
+    List<ProgressDto> findDtosByHireId(@Param("hireId") UUID hireId);
+    
+    @Query(PROGRESS_DTO_SELECT + "WHERE h.registeredByHr.id = :hrId " + PROGRESS_DTO_ORDER)
+    List<ProgressDto> findDtosByHrId(@Param("hrId") UUID hrId);
+    
+    @Query(PROGRESS_DTO_SELECT + "WHERE d.company.id = :companyId " + PROGRESS_DTO_ORDER)
+    List<ProgressDto> findDtosByCompanyId(@Param("companyId") Integer companyId);
+    
+    @Query(PROGRESS_DTO_SELECT + "WHERE d.id = :departmentId " + PROGRESS_DTO_ORDER)
+    List<ProgressDto> findDtosByDepartmentId(@Param("departmentId") Integer departmentId);
+    
+    @Query("SELECT COUNT(p) FROM Progress p WHERE p.hire.department.id = :departmentId AND p.completionPercentage < 100.0")
+    long countActiveByDepartmentId(@Param("departmentId") Integer departmentId);
+    
+    @Query("SELECT AVG(p.completionPercentage) FROM Progress p WHERE p.hire.department.id = :departmentId")
+    Double getAverageCompletionByDepartmentId(@Param("departmentId") Integer departmentId);
     
     @Query("SELECT AVG(p.completionPercentage) FROM Progress p WHERE p.hire.registeredByHr.id = :hrId")
     Double getAverageCompletionByHrId(@Param("hrId") UUID hrId);
     
     @Query("SELECT COUNT(p) FROM Progress p WHERE p.hire.registeredByHr.id = :hrId AND p.completionPercentage = 100.0")
     long countCompletedByHrId(@Param("hrId") UUID hrId);
-}
\ No newline at end of file
+    
+    /**
+     * Atomically shift the task counters of a progress row and derive the completion
+     * percentage in the same statement, so concurrent todo transitions never lose updates.
+     * The persistence context is left alone since callers keep working with the todo they locked;
+     * a Progress entity loaded earlier in the transaction has to be refreshed before it is read.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Progress p SET p.completedTasks = p.completedTasks + :completedDelta, " +
+           "p.totalTasks = p.totalTasks + :totalDelta, " +
+           "p.completionPercentage = CASE WHEN p.totalTasks + :totalDelta > 0 " +
+           "THEN (p.completedTasks + :completedDelta) * 100.0 / (p.totalTasks + :totalDelta) ELSE 0.0 END, " +
+           "p.lastUpdated = :now " +
+           "WHERE p.hire.id = :hireId AND p.template.id = :templateId")
+    int applyTaskCountDelta(@Param("hireId") UUID hireId,
+                            @Param("templateId") Integer templateId,
+                            @Param("completedDelta") int completedDelta,
+                            @Param("totalDelta") int totalDelta,
+                            @Param("now") LocalDateTime now);
+    
+    @Query("SELECT new com.shaper.server.model.dto.ProgressCountsDto(p.completedTasks, p.totalTasks, d.id, c.id) " +
+           "FROM Progress p JOIN p.hire h LEFT JOIN h.department d LEFT JOIN d.company c " +
+           "WHERE h.id = :hireId AND p.template.id = :templateId")
+    Optional<ProgressCountsDto> findCountsByHireIdAndTemplateId(@Param("hireId") UUID hireId, 
+                                                               @Param("templateId") Integer templateId);
+    
+    @Query("SELECT p.completionPercentage FROM Progress p WHERE p.hire.id = :hireId")
+    List<Double> findCompletionPercentagesByHireId(@Param("hireId") UUID hireId);
+    
+    String AT_RISK_SELECT = "SELECT new com.shaper.server.model.dto.AtRiskProgressDto(" +
+        "p.id, h.id, h.firstName, h.lastName, h.email, t.id, t.title, " +
+        "p.completedTasks, p.totalTasks, p.completionPercentage, p.createdAt, p.lastUpdated) " +
+        "FROM Progress p JOIN p.hire h JOIN p.template t ";
+    
+    String AT_RISK_ORDER = "ORDER BY p.completionPercentage ASC, p.createdAt ASC";
+    
+    /**
+     * Incomplete progress of an HR user's hires that is older than the cutoff and still below the
+     * threshold, worst first. Served by the partial index on incomplete progress by created_at.
+     */
+    @Query(value = AT_RISK_SELECT +
+           "WHERE h.registeredByHr.id = :hrId AND p.completionPercentage < :threshold " +
+           "AND p.createdAt < :createdBefore " + AT_RISK_ORDER,
+           countQuery = "SELECT COUNT(p) FROM Progress p WHERE p.hire.registeredByHr.id = :hrId " +
+           "AND p.completionPercentage < :threshold AND p.createdAt < :createdBefore")
+    Page<AtRiskProgressDto> findAtRiskByHrId(@Param("hrId") UUID hrId,
+                                             @Param("threshold") double threshold,
+                                             @Param("createdBefore") LocalDateTime createdBefore,
+                                             Pageable pageable);
+    
+    @Query(value = AT_RISK_SELECT + "WHERE h.registeredByHr.id = :hrId AND p.atRisk = true " + AT_RISK_ORDER,
+           countQuery = "SELECT COUNT(p) FROM Progress p WHERE p.hire.registeredByHr.id = :hrId AND p.atRisk = true")
+    Page<AtRiskProgressDto> findFlaggedAtRiskByHrId(@Param("hrId") UUID hrId, Pageable pageable);
+    
+    /**
+     * Re-derive the at-risk flag of a single progress row after its counters changed.
+     * Like {@link #applyTaskCountDelta}, this does not clear the persistence context.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Progress p SET p.atRisk = CASE WHEN p.completionPercentage < :threshold " +
+           "AND p.createdAt < :createdBefore THEN true ELSE false END " +
+           "WHERE p.hire.id = :hireId AND p.template.id = :templateId")
+    int updateAtRiskFlag(@Param("hireId") UUID hireId,
+                         @Param("templateId") Integer templateId,
+                         @Param("threshold") double threshold,
+                         @Param("createdBefore") LocalDateTime createdBefore);
+    
+    /**
+     * Flag rows that aged past the cutoff without reaching the threshold.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Progress p SET p.atRisk = true WHERE p.atRisk = false " +
+           "AND p.completionPercentage < :threshold AND p.createdAt < :createdBefore")
+    int markAtRisk(@Param("threshold") double threshold, @Param("createdBefore") LocalDateTime createdBefore);
+    
+    /**
+     * Clear the flag of rows that no longer match, e.g. after the thresholds were changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Progress p SET p.atRisk = false WHERE p.atRisk = true " +
+           "AND (p.completionPercentage >= :threshold OR p.createdAt >= :createdBefore)")
+    int clearAtRisk(@Param("threshold") double threshold, @Param("createdBefore") LocalDateTime createdBefore);
+    
+    String FACT_SELECT = "SELECT new com.shaper.server.model.dto.ProgressFactDto(" +
+        "p.id, h.id, c.id, d.id, p.template.id, hr.id, p.completionPercentage, p.completedTasks, p.totalTasks, p.createdAt) " +
+        "FROM Progress p JOIN p.hire h JOIN h.registeredByHr hr JOIN hr.company c LEFT JOIN h.department d ";
+    
+    @Query(FACT_SELECT + "WHERE c.id = :companyId")
+    List<ProgressFactDto> findFactsByCompanyId(@Param("companyId") Integer companyId);
+    
+    /**
+     * Facts of one company restricted to the analytics filter; null parameters match every row.
+     */
+    @Query(FACT_SELECT + "WHERE c.id = :companyId " +
+           "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+           "AND (:templateId IS NULL OR p.template.id = :templateId) " +
+           "AND (:hrId IS NULL OR hr.id = :hrId) " +
+           "AND (:createdBefore IS NULL OR p.createdAt < :createdBefore)")
+    List<ProgressFactDto> findFactsByCompanyIdMatching(@Param("companyId") Integer companyId,
+                                                       @Param("departmentId") Integer departmentId,
+                                                       @Param("templateId") Integer templateId,
+                                                       @Param("hrId") UUID hrId,
+                                                       @Param("createdBefore") LocalDateTime createdBefore);
+    
+    @Query(FACT_SELECT + "WHERE h.id = :hireId")
+    List<ProgressFactDto> findFactsByHireId(@Param("hireId") UUID hireId);
+    
+    @Query(FACT_SELECT)
+    List<ProgressFactDto> findAllFacts();
+    
+    @Query("SELECT new com.shaper.server.model.dto.ProgressRankingDto(p.id, h.id, h.firstName, h.lastName, " +
+           "d.id, t.id, t.title, p.completionPercentage, p.createdAt) " +
+           "FROM Progress p JOIN p.hire h JOIN p.template t LEFT JOIN h.department d WHERE p.id IN :ids")
+    List<ProgressRankingDto> findRankingsByIds(@Param("ids") Collection<Integer> ids);
+    
+    /**
+     * Recount the progress rows of a chunk of hires from their todos after the todos of a template
+     * changed in bulk. The percentage repeats the counts because SET expressions see the old row.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Progress p SET " +
+           "p.totalTasks = (SELECT COUNT(t) FROM Todo t WHERE t.hire = p.hire AND t.template = p.template), " +
+           "p.completedTasks = (SELECT COUNT(t) FROM Todo t WHERE t.hire = p.hire AND t.template = p.template " +
+           "AND t.status = com.shaper.server.model.enums.TodoStatus.COMPLETED), " +
+           "p.completionPercentage = CASE WHEN (SELECT COUNT(t) FROM Todo t WHERE t.hire = p.hire " +
+           "AND t.template = p.template) > 0 THEN (SELECT COUNT(t) FROM Todo t WHERE t.hire = p.hire " +
+           "AND t.template = p.template AND t.status = com.shaper.server.model.enums.TodoStatus.COMPLETED) * 100.0 " +
+           "/ (SELECT COUNT(t) FROM Todo t WHERE t.hire = p.hire AND t.template = p.template) ELSE 0.0 END, " +
+           "p.lastUpdated = :now " +
+           "WHERE p.template.id = :templateId AND p.hire.id IN :hireIds")
+    int recountFromTodos(@Param("templateId") Integer templateId,
+                         @Param("hireIds") Collection<UUID> hireIds,
+                         @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Progress p SET p.atRisk = CASE WHEN p.completionPercentage < :threshold " +
+           "AND p.createdAt < :createdBefore THEN true ELSE false END " +
+           "WHERE p.template.id = :templateId AND p.hire.id IN :hireIds")
+    int updateAtRiskFlags(@Param("templateId") Integer templateId,
+                          @Param("hireIds") Collection<UUID> hireIds,
+                          @Param("threshold") double threshold,
+                          @Param("createdBefore") LocalDateTime createdBefore);
+    
+    @Query("SELECT DISTINCT c.id FROM Progress p JOIN p.hire h JOIN h.department d JOIN d.company c " +
+           "WHERE p.template.id = :templateId")
+    List<Integer> findCompanyIdsByTemplateId(@Param("templateId") Integer templateId);
+}
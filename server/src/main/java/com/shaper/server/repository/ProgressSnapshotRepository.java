@@ -0,0 +1,55 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.ProgressSnapshot;
+import com.shaper.server.model.entity.ProgressSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ProgressSnapshotRepository extends JpaRepository<ProgressSnapshot, ProgressSnapshotId> {
+    
+    @Query("SELECT s FROM ProgressSnapshot s WHERE s.hireId = :hireId " +
+           "AND s.snapshotDate BETWEEN :from AND :to ORDER BY s.snapshotDate")
+    List<ProgressSnapshot> findByHireIdBetween(@Param("hireId") UUID hireId,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+    
+    /**
+     * Append one row per hire of the company, aggregated over all templates, in a single statement.
+     */
+    @Modifying
+    @Query("INSERT INTO ProgressSnapshot (snapshotDate, hireId, departmentId, companyId, completedTasks, " +
+           "totalTasks, completionPercentage, weekStart, monthStart) " +
+           "SELECT :date, h.id, d.id, c.id, SUM(p.completedTasks), SUM(p.totalTasks), " +
+           "AVG(p.completionPercentage), :weekStart, :monthStart " +
+           "FROM Progress p JOIN p.hire h JOIN h.registeredByHr hr JOIN hr.company c LEFT JOIN h.department d " +
+           "WHERE c.id = :companyId GROUP BY h.id, d.id, c.id")
+    int captureCompany(@Param("companyId") Integer companyId,
+                       @Param("date") LocalDate date,
+                       @Param("weekStart") boolean weekStart,
+                       @Param("monthStart") boolean monthStart);
+    
+    @Modifying
+    @Query("DELETE FROM ProgressSnapshot s WHERE s.companyId = :companyId AND s.snapshotDate = :date")
+    int deleteByCompanyIdAndDate(@Param("companyId") Integer companyId, @Param("date") LocalDate date);
+    
+    @Modifying
+    @Query("DELETE FROM ProgressSnapshot s WHERE s.snapshotDate < :before " +
+           "AND s.weekStart = false AND s.monthStart = false")
+    int deleteDailyBefore(@Param("before") LocalDate before);
+    
+    @Modifying
+    @Query("DELETE FROM ProgressSnapshot s WHERE s.snapshotDate < :before AND s.monthStart = false")
+    int deleteWeeklyBefore(@Param("before") LocalDate before);
+    
+    @Modifying
+    @Query("DELETE FROM ProgressSnapshot s WHERE s.snapshotDate < :before")
+    int deleteAllBefore(@Param("before") LocalDate before);
+}
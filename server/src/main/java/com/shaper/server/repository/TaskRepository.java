@@ -1,12 +1,19 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.TaskTransferDto;
 import com.shaper.server.model.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
@@ -22,12 +29,45 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     @Query("SELECT t FROM Task t WHERE t.template.id = :templateId ORDER BY t.orderIndex ASC")
     List<Task> findByTemplateIdOrderedByIndex(@Param("templateId") Integer templateId);
     
+    // Draft tasks only; retired rows are kept for published versions but no longer edited or ordered
+    
+    List<Task> findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(Integer templateId);
+    
+    List<Task> findTop2ByTemplate_IdAndRetiredFalseAndRankKeyLessThanOrderByRankKeyDesc(Integer templateId, String rankKey);
+    
+    List<Task> findTop2ByTemplate_IdAndRetiredFalseAndRankKeyGreaterThanOrderByRankKeyAsc(Integer templateId, String rankKey);
+    
+    @Query("SELECT t.template.id FROM Task t WHERE t.id = :taskId")
+    Optional<Integer> findTemplateIdById(@Param("taskId") Integer taskId);
+    
+    @Query("SELECT MAX(t.rankKey) FROM Task t WHERE t.template.id = :templateId AND t.retired = false")
+    String findMaxRankKeyByTemplateId(@Param("templateId") Integer templateId);
+    
+    @Query("SELECT DISTINCT t.template.id FROM Task t WHERE t.retired = false AND LENGTH(t.rankKey) > :maxLength")
+    List<Integer> findTemplateIdsWithRankKeysLongerThan(@Param("maxLength") int maxLength);
+    
+    @Modifying
+    @Query("UPDATE Task t SET t.frozen = true WHERE t.id IN :taskIds AND t.frozen = false")
+    int freezeAll(@Param("taskIds") java.util.Collection<Integer> taskIds);
+    
+    List<Task> findByTemplate_IdAndRetiredTrue(Integer templateId);
+    
     @Query("SELECT t FROM Task t WHERE t.template.createdByHr.id = :hrId")
     List<Task> findByHrId(@Param("hrId") java.util.UUID hrId);
     
-    @Query("SELECT MAX(t.orderIndex) FROM Task t WHERE t.template.id = :templateId")
+    @Query("SELECT MAX(t.orderIndex) FROM Task t WHERE t.template.id = :templateId AND t.retired = false")
     Integer findMaxOrderIndexByTemplateId(@Param("templateId") Integer templateId);
     
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.template.id = :templateId")
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.template.id = :templateId AND t.retired = false")
     long countByTemplateId(@Param("templateId") Integer templateId);
-}
\ No newline at end of file
+    
+    /**
+     * Draft tasks of a template in rank order for the JSON export. Rows are fetched in chunks and
+     * consumed one at a time, so the caller has to iterate inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    @Query("SELECT new com.shaper.server.model.dto.TaskTransferDto(t.title, t.description, t.taskType, " +
+           "t.requiresSignature, t.resourceUrl, t.eventDate, t.dueDate, t.priority, t.estimatedHours) " +
+           "FROM Task t WHERE t.template.id = :templateId AND t.retired = false ORDER BY t.rankKey")
+    Stream<TaskTransferDto> streamTransferRowsByTemplateId(@Param("templateId") Integer templateId);
+}
@@ -1,12 +1,18 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.TemplateTransferDto;
 import com.shaper.server.model.entity.Template;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TemplateRepository extends JpaRepository<Template, Integer> {
@@ -20,4 +26,27 @@ public interface TemplateRepository extends JpaRepository<Template, Integer> {
     
     @Query("SELECT t FROM Template t JOIN t.departments d WHERE d.company.id = :companyId")
     List<Template> findByCompanyId(@Param("companyId") Integer companyId);
-}
\ No newline at end of file
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Template t WHERE t.id = :templateId")
+    Optional<Template> findByIdForUpdate(@Param("templateId") Integer templateId);
+    
+    @Query("SELECT t.createdByHr.company.id FROM Template t WHERE t.id = :templateId")
+    Optional<Integer> findCompanyIdById(@Param("templateId") Integer templateId);
+    
+    String TRANSFER_SELECT = "SELECT new com.shaper.server.model.dto.TemplateTransferDto(t.id, t.title, t.description) " +
+        "FROM Template t WHERE t.createdByHr.company.id = :companyId " +
+        "AND t.status <> com.shaper.server.model.enums.TemplateStatus.ARCHIVED ";
+    
+    /**
+     * Next page of a company's templates after the given id, for exports that page by key instead of offset.
+     */
+    @Query(TRANSFER_SELECT + "AND t.id > :afterId ORDER BY t.id")
+    List<TemplateTransferDto> findTransferPageByCompanyId(@Param("companyId") Integer companyId,
+                                                          @Param("afterId") Integer afterId,
+                                                          Pageable pageable);
+    
+    @Query(TRANSFER_SELECT + "AND t.id IN :templateIds ORDER BY t.id")
+    List<TemplateTransferDto> findTransferRowsByIds(@Param("companyId") Integer companyId,
+                                                    @Param("templateIds") Collection<Integer> templateIds);
+}
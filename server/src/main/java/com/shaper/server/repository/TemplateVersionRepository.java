@@ -0,0 +1,27 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.TemplateVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TemplateVersionRepository extends JpaRepository<TemplateVersion, Integer> {
+    
+    List<TemplateVersion> findByTemplateIdOrderByVersionNumberDesc(Integer templateId);
+    
+    @Query("SELECT v.id FROM TemplateVersion v WHERE v.templateId = :templateId ORDER BY v.versionNumber DESC LIMIT 1")
+    Optional<Integer> findLatestIdByTemplateId(@Param("templateId") Integer templateId);
+    
+    @Query("SELECT v FROM TemplateVersion v LEFT JOIN FETCH v.tasks WHERE v.id = :id")
+    Optional<TemplateVersion> findWithTasksById(@Param("id") Integer id);
+    
+    @Query("SELECT COALESCE(MAX(v.versionNumber), 0) FROM TemplateVersion v WHERE v.templateId = :templateId")
+    int findMaxVersionNumberByTemplateId(@Param("templateId") Integer templateId);
+    
+    void deleteByTemplateId(Integer templateId);
+}
@@ -1,15 +1,24 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.TodoCompletionSampleDto;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.TemplateVersion;
 import com.shaper.server.model.entity.Todo;
 import com.shaper.server.model.enums.TodoStatus;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -17,6 +26,14 @@ public interface TodoRepository extends JpaRepository<Todo, Integer> {
     
     List<Todo> findByHire_IdOrderByCreatedAtAsc(UUID hireId);
     
+    /**
+     * Status changes read the current status under a row lock, so concurrent transitions of the same
+     * todo are applied one after the other and each progress delta is counted once.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Todo t WHERE t.id = :id")
+    Optional<Todo> findByIdForUpdate(@Param("id") Integer id);
+    
     List<Todo> findByHire_IdAndStatusOrderByDueDateAsc(UUID hireId, com.shaper.server.model.enums.TodoStatus status);
     
     List<Todo> findByTemplate_Id(Integer templateId);
@@ -32,6 +49,14 @@ public interface TodoRepository extends JpaRepository<Todo, Integer> {
     @Query("SELECT COUNT(t) FROM Todo t WHERE t.hire.id = :hireId")
     long countByHireId(@Param("hireId") UUID hireId);
     
+    @Query("SELECT COUNT(t) FROM Todo t WHERE t.hire.id = :hireId AND t.template.id = :templateId")
+    long countByHireIdAndTemplateId(@Param("hireId") UUID hireId, @Param("templateId") Integer templateId);
+    
+    @Query("SELECT COUNT(t) FROM Todo t WHERE t.hire.id = :hireId AND t.template.id = :templateId AND t.status = :status")
+    long countByHireIdAndTemplateIdAndStatus(@Param("hireId") UUID hireId, 
+                                             @Param("templateId") Integer templateId, 
+                                             @Param("status") TodoStatus status);
+    
     @Query("SELECT t FROM Todo t WHERE t.status = :status AND t.dueDate < :currentDate")
     List<Todo> findOverdueTodos(@Param("status") com.shaper.server.model.enums.TodoStatus status, @Param("currentDate") LocalDateTime currentDate);
     
@@ -44,4 +69,64 @@ public interface TodoRepository extends JpaRepository<Todo, Integer> {
     List<Todo> findByStatusAndDueDateBetween(@Param("status") TodoStatus status, 
                                            @Param("startDate") LocalDateTime startDate, 
                                            @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    @Query("SELECT new com.shaper.server.model.dto.TodoCompletionSampleDto(t.task.id, t.template.id, t.createdAt, t.completedAt) " +
+           "FROM Todo t WHERE t.status = com.shaper.server.model.enums.TodoStatus.COMPLETED AND t.completedAt >= :since")
+    List<TodoCompletionSampleDto> findCompletionSamplesSince(@Param("since") LocalDateTime since);
+    
+    // Version propagation: hires are moved chunk by chunk from older versions of a template to the current one
+    
+    @Query("SELECT DISTINCT t.templateVersion.id FROM Todo t " +
+           "WHERE t.template.id = :templateId AND t.templateVersion.id <> :versionId")
+    List<Integer> findOtherVersionIdsByTemplateId(@Param("templateId") Integer templateId,
+                                                  @Param("versionId") Integer versionId);
+    
+    @Query("SELECT COUNT(DISTINCT t.hire.id) FROM Todo t " +
+           "WHERE t.template.id = :templateId AND t.templateVersion.id <> :versionId")
+    long countHiresOnOtherVersions(@Param("templateId") Integer templateId, @Param("versionId") Integer versionId);
+    
+    @Query("SELECT DISTINCT t.hire.id FROM Todo t WHERE t.template.id = :templateId AND t.templateVersion.id = :versionId")
+    List<UUID> findHireIdsByTemplateVersion(@Param("templateId") Integer templateId,
+                                            @Param("versionId") Integer versionId,
+                                            Pageable pageable);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.task = :task, t.updatedAt = :now " +
+           "WHERE t.template.id = :templateId AND t.hire.id IN :hireIds AND t.task.id = :previousTaskId")
+    int replaceTask(@Param("templateId") Integer templateId,
+                    @Param("hireIds") Collection<UUID> hireIds,
+                    @Param("previousTaskId") Integer previousTaskId,
+                    @Param("task") Task task,
+                    @Param("now") LocalDateTime now);
+    
+    /**
+     * Move the due date of open todos of a task; completed todos keep the date they were done against.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.dueDate = :dueDate, t.updatedAt = :now " +
+           "WHERE t.template.id = :templateId AND t.hire.id IN :hireIds AND t.task.id = :taskId " +
+           "AND t.status <> com.shaper.server.model.enums.TodoStatus.COMPLETED")
+    int updateOpenDueDates(@Param("templateId") Integer templateId,
+                           @Param("hireIds") Collection<UUID> hireIds,
+                           @Param("taskId") Integer taskId,
+                           @Param("dueDate") LocalDateTime dueDate,
+                           @Param("now") LocalDateTime now);
+    
+    /**
+     * Remove open todos of tasks that left the template. Completed todos and todos with uploaded
+     * documents are kept as the hire's record.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Todo t WHERE t.template.id = :templateId AND t.hire.id IN :hireIds " +
+           "AND t.task.id IN :taskIds AND t.status <> com.shaper.server.model.enums.TodoStatus.COMPLETED " +
+           "AND NOT EXISTS (SELECT d.id FROM Document d WHERE d.todo = t)")
+    int deleteOpenByTaskIds(@Param("templateId") Integer templateId,
+                            @Param("hireIds") Collection<UUID> hireIds,
+                            @Param("taskIds") Collection<Integer> taskIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Todo t SET t.templateVersion = :version WHERE t.template.id = :templateId AND t.hire.id IN :hireIds")
+    int assignVersion(@Param("templateId") Integer templateId,
+                      @Param("hireIds") Collection<UUID> hireIds,
+                      @Param("version") TemplateVersion version);
+}
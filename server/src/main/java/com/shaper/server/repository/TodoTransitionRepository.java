@@ -0,0 +1,13 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.TodoTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoTransitionRepository extends JpaRepository<TodoTransition, Long> {
+    
+    List<TodoTransition> findByTodoIdOrderByOccurredAtAsc(Integer todoId);
+}
@@ -0,0 +1,15 @@
+package com.shaper.server.repository;
+
+import com.shaper.server.model.entity.WebhookEndpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WebhookEndpointRepository extends JpaRepository<WebhookEndpoint, Integer> {
+    
+    List<WebhookEndpoint> findByCompanyIdOrderByIdAsc(Integer companyId);
+    
+    List<WebhookEndpoint> findByCompanyIdAndActiveTrue(Integer companyId);
+}
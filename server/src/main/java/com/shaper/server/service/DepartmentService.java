@@ -1,43 +1,48 @@
 package com.shaper.server.service;
 
-import com.shaper.server.model.entity.CompanyDepartment;
-import com.shaper.server.model.entity.Hire;
-import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.dto.CompanyDepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.HireSummaryDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
 
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface DepartmentService {
     
     // CRUD Operations
-    CompanyDepartment createDepartment(String name, Integer companyId, UUID hrUserId);
-    Optional<CompanyDepartment> getDepartmentById(Integer departmentId);
-    List<CompanyDepartment> getAllDepartments();
-    List<CompanyDepartment> getDepartmentsByCompany(Integer companyId);
-    List<CompanyDepartment> getDepartmentsByHrUser(UUID hrUserId);
-    CompanyDepartment updateDepartment(Integer departmentId, String name);
+    DepartmentDto createDepartment(String name, Integer companyId, UUID hrUserId);
+    Optional<DepartmentDto> getDepartmentById(Integer departmentId);
+    List<DepartmentDto> getAllDepartments();
+    List<DepartmentDto> getDepartmentsByCompany(Integer companyId);
+    List<DepartmentDto> getDepartmentsByHrUser(UUID hrUserId);
+    DepartmentDto updateDepartment(Integer departmentId, String name);
     void deleteDepartment(Integer departmentId);
     
     // Department-Template Association
-    CompanyDepartment assignTemplateToDepartment(Integer departmentId, Integer templateId);
-    CompanyDepartment removeTemplateFromDepartment(Integer departmentId, Integer templateId);
-    List<Template> getTemplatesByDepartment(Integer departmentId);
-    List<CompanyDepartment> getDepartmentsByTemplate(Integer templateId);
+    DepartmentDto assignTemplateToDepartment(Integer departmentId, Integer templateId);
+    DepartmentDto removeTemplateFromDepartment(Integer departmentId, Integer templateId);
+    List<TemplateSummaryDto> getTemplatesByDepartment(Integer departmentId);
+    List<DepartmentDto> getDepartmentsByTemplate(Integer templateId);
     
     // Hire Assignment
     void assignHireToDepartment(UUID hireId, Integer departmentId);
     void removeHireFromDepartment(UUID hireId);
-    List<Hire> getHiresByDepartment(Integer departmentId);
+    List<HireSummaryDto> getHiresByDepartment(Integer departmentId);
     
     // Analytics and Reporting
-    Map<String, Object> getDepartmentAnalytics(Integer departmentId);
-    Map<String, Object> getCompanyDepartmentAnalytics(Integer companyId);
+    DepartmentAnalyticsDto getDepartmentAnalytics(Integer departmentId);
+    CompanyDepartmentAnalyticsDto getCompanyDepartmentAnalytics(Integer companyId);
     long getTotalHiresByDepartment(Integer departmentId);
     long getActiveHiresByDepartment(Integer departmentId);
     double getAverageCompletionByDepartment(Integer departmentId);
-    List<Map<String, Object>> getDepartmentProgressSummary(Integer companyId);
+    List<DepartmentProgressSummaryDto> getDepartmentProgressSummary(Integer companyId);
+    List<ProgressGroupDto> getDepartmentProgressBreakdown(Integer departmentId, AnalyticsDimension dimension);
     
     // Validation
     boolean departmentExistsInCompany(String name, Integer companyId);
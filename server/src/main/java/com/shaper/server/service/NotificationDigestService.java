@@ -0,0 +1,32 @@
+package com.shaper.server.service;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.dto.DigestPreferenceDto;
+import com.shaper.server.model.enums.DigestFrequency;
+
+import java.util.UUID;
+
+public interface NotificationDigestService {
+    
+    /**
+     * Digest preference of a user, IMMEDIATE when none was saved
+     */
+    DigestPreferenceDto getPreference(UUID userId);
+    
+    /**
+     * Save the preference; switching to IMMEDIATE writes out anything still buffered
+     */
+    DigestPreferenceDto updatePreference(UUID userId, DigestFrequency frequency);
+    
+    /**
+     * Buffer the request when its recipient takes digests for its type
+     *
+     * @return true when the request was buffered and must not be written on its own
+     */
+    boolean absorb(NotificationRequestedEvent request);
+    
+    /**
+     * Write a summary notification for every buffer whose window has elapsed
+     */
+    int flushDue();
+}
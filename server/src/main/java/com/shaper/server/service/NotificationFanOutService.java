@@ -0,0 +1,41 @@
+package com.shaper.server.service;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.User;
+import com.shaper.server.model.enums.NotificationType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface NotificationFanOutService {
+    
+    /**
+     * Write the same notification for every recipient in JDBC batches, reusing the loaded task
+     */
+    int fanOut(Collection<? extends User> recipients, Task task, NotificationContent content, NotificationType type);
+    
+    /**
+     * Resolve recipients with a single query and write their notifications in batches
+     */
+    int fanOutToUsers(List<UUID> userIds, Integer taskId, NotificationContent content, NotificationType type);
+    
+    /**
+     * Same as {@link #fanOutToUsers} on a background thread, for large recipient lists
+     */
+    CompletableFuture<Integer> fanOutToUsersAsync(List<UUID> userIds, Integer taskId, NotificationContent content, NotificationType type);
+    
+    /**
+     * Write queued notification requests, each with its own recipient, task and type, in batches.
+     * Requests whose user or task no longer exists are skipped.
+     */
+    int writeAll(List<NotificationRequestedEvent> requests);
+    
+    /**
+     * Recipient count above which callers should prefer the asynchronous variant
+     */
+    boolean shouldRunAsync(int recipientCount);
+}
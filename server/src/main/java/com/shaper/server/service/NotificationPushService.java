@@ -0,0 +1,14 @@
+package com.shaper.server.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface NotificationPushService {
+    
+    /**
+     * Open a notification stream for a user. With a last event ID the missed deltas are replayed
+     * when still buffered, otherwise the stream starts with a fresh badge snapshot.
+     */
+    SseEmitter subscribe(UUID userId, String lastEventId);
+}
@@ -1,6 +1,8 @@
 package com.shaper.server.service;
 
 import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.dto.NotificationFeedDto;
+import com.shaper.server.model.dto.NotificationFeedFilter;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.User;
 import com.shaper.server.model.enums.NotificationType;
@@ -14,13 +16,28 @@ public interface NotificationService {
     
     NotificationDto createNotification(UUID userId, String message, Integer relatedTaskId, NotificationType type);
     
+    /**
+     * Queue a notification to be written in the background once the current transaction commits
+     */
+    void queueNotification(UUID userId, String message, Integer relatedTaskId, NotificationType type);
+    
     List<NotificationDto> getNotificationsByUserId(UUID userId);
     
     List<NotificationDto> getUnreadNotificationsByUserId(UUID userId);
     
+    List<NotificationDto> getRecentUnreadNotifications(UUID userId);
+    
+    NotificationFeedDto getFeed(UUID userId, NotificationFeedFilter filter, String cursor, int size);
+    
     NotificationDto markAsRead(Integer id);
     
-    void markAllAsRead(UUID userId);
+    int markAllAsRead(UUID userId);
+    
+    int markAsRead(UUID userId, List<Integer> notificationIds);
+    
+    int markAsReadByType(UUID userId, NotificationType type);
+    
+    int markAsReadByTask(UUID userId, Integer taskId);
     
     long getUnreadCount(UUID userId);
     
@@ -36,6 +53,8 @@ public interface NotificationService {
     
     void notifyHRManagersForTask(Task task, String message, NotificationType type);
     
+    void sendBulkReminders(List<UUID> userIds, Integer taskId, String customMessage);
+    
     void createOnboardingStartedNotification(User hire, User hrManager);
     
     void createOnboardingCompletedNotification(User hire, User hrManager);
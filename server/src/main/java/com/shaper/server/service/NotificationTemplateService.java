@@ -0,0 +1,22 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.Notification;
+
+public interface NotificationTemplateService {
+    
+    /**
+     * Text of the content, filling template parameters from the cached template bodies
+     */
+    String render(NotificationContent content);
+    
+    /**
+     * Text of a stored notification, whether it holds free text or a template reference
+     */
+    String render(Notification notification);
+    
+    /**
+     * Re-read template bodies from the database
+     */
+    int refresh();
+}
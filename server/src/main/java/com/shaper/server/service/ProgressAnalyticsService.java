@@ -0,0 +1,20 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
+
+import java.util.List;
+
+public interface ProgressAnalyticsService {
+    
+    /**
+     * Group the progress of a company by a dimension, optionally filtered
+     */
+    List<ProgressGroupDto> groupBy(Integer companyId, AnalyticsDimension dimension, ProgressAnalyticsFilter filter);
+    
+    /**
+     * Drop the cached snapshot of a company so the next query reloads it
+     */
+    void evictCompany(Integer companyId);
+}
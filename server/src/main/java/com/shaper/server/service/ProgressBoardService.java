@@ -0,0 +1,18 @@
+package com.shaper.server.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface ProgressBoardService {
+    
+    /**
+     * Open a live stream of progress deltas for the hires registered by an HR user
+     */
+    SseEmitter subscribe(UUID hrId);
+    
+    /**
+     * Number of open streams for an HR user
+     */
+    int getSubscriberCount(UUID hrId);
+}
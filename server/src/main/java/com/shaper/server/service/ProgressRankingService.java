@@ -0,0 +1,19 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.ProgressRankingDto;
+import com.shaper.server.model.enums.RankingOrder;
+
+import java.util.List;
+
+public interface ProgressRankingService {
+    
+    /**
+     * Get the N slowest or fastest onboardings of a company, optionally within one department
+     */
+    List<ProgressRankingDto> getTopN(Integer companyId, Integer departmentId, RankingOrder order, int limit);
+    
+    /**
+     * Rebuild every company index from the database
+     */
+    void rebuild();
+}
@@ -0,0 +1,64 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.CompanyProgressRollup;
+import com.shaper.server.model.entity.Hire;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProgressRollupService {
+    
+    /**
+     * Create the empty rollup row for a newly created department
+     */
+    void initializeDepartment(CompanyDepartment department);
+    
+    /**
+     * Drop the rollup row of a deleted department
+     */
+    void removeDepartment(Integer departmentId);
+    
+    /**
+     * Account for a newly initialized progress record of a hire
+     */
+    void onProgressCreated(Hire hire, double completionPercentage);
+    
+    /**
+     * Account for a progress record whose task counters were just shifted in the database
+     */
+    void onProgressCountsChanged(UUID hireId, Integer templateId, int completedDelta, int totalDelta);
+    
+    /**
+     * Account for a progress record whose completion changed outside the counter path (repairs)
+     */
+    void onProgressPercentageChanged(Hire hire, double previousPercentage, double newPercentage);
+    
+    /**
+     * Move a hire and all of its progress between department rollups
+     */
+    void onHireDepartmentChanged(UUID hireId, CompanyDepartment previousDepartment, CompanyDepartment newDepartment);
+    
+    /**
+     * Read the per-department rollups of a company
+     */
+    List<DepartmentProgressSummaryDto> getDepartmentSummaries(Integer companyId);
+    
+    /**
+     * Read the rollup of a single department
+     */
+    Optional<DepartmentProgressSummaryDto> getDepartmentSummary(Integer departmentId);
+    
+    /**
+     * Read the company-wide rollup, or an empty one if nothing has been recorded yet
+     */
+    CompanyProgressRollup getCompanyRollup(Integer companyId);
+    
+    /**
+     * Recompute the rollups of a company from the progress table and repair any drift.
+     * Returns the number of rollup rows that had to be corrected.
+     */
+    int rebuildCompany(Integer companyId);
+}
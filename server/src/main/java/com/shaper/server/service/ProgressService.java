@@ -1,6 +1,12 @@
 package com.shaper.server.service;
 
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.ProgressDto;
 import com.shaper.server.model.entity.Progress;
+import com.shaper.server.model.enums.TodoStatus;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.UUID;
@@ -13,39 +19,40 @@ public interface ProgressService {
     Progress initializeProgress(UUID hireId, Integer templateId);
     
     /**
-     * Update progress when a todo is completed
+     * Update progress counters in place when a todo moves between statuses
      */
-    Progress updateProgressOnTodoCompletion(Integer todoId);
+    void updateProgressOnTodoStatusChange(UUID hireId, Integer templateId, 
+                                          TodoStatus previousStatus, TodoStatus newStatus);
     
     /**
-     * Recalculate progress for a specific hire and template
+     * Rebuild progress for a specific hire and template from its todos (repair only)
      */
-    Progress recalculateProgress(UUID hireId, Integer templateId);
+    ProgressDto recalculateProgress(UUID hireId, Integer templateId);
     
     /**
      * Get progress for a specific hire and template
      */
-    Progress getProgress(UUID hireId, Integer templateId);
+    ProgressDto getProgress(UUID hireId, Integer templateId);
     
     /**
      * Get all progress records for a hire
      */
-    List<Progress> getProgressByHire(UUID hireId);
+    List<ProgressDto> getProgressByHire(UUID hireId);
     
     /**
      * Get all progress records for hires managed by an HR user
      */
-    List<Progress> getProgressByHrUser(UUID hrId);
+    List<ProgressDto> getProgressByHrUser(UUID hrId);
     
     /**
      * Get progress summary for a company
      */
-    List<Progress> getProgressByCompany(Integer companyId);
+    List<ProgressDto> getProgressByCompany(Integer companyId);
     
     /**
      * Get progress summary for a department
      */
-    List<Progress> getProgressByDepartment(Integer departmentId);
+    List<ProgressDto> getProgressByDepartment(Integer departmentId);
     
     /**
      * Calculate overall completion percentage for a hire across all templates
@@ -63,7 +70,14 @@ public interface ProgressService {
     long countCompletedOnboardingByHrUser(UUID hrId);
     
     /**
-     * Get progress records that are overdue or at risk
+     * Get a page of progress records that are lagging behind, worst first.
+     * Null thresholds fall back to the configured defaults.
+     */
+    Page<AtRiskProgressDto> getAtRiskProgress(UUID hrId, Double completionThreshold, Integer minAgeDays, 
+                                              Pageable pageable);
+    
+    /**
+     * Bring the precomputed at-risk flags in line with the configured thresholds
      */
-    List<Progress> getAtRiskProgress(UUID hrId);
+    int refreshAtRiskFlags();
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.ProgressTrendPointDto;
+import com.shaper.server.model.entity.ProgressSnapshot;
+import com.shaper.server.model.enums.SnapshotResolution;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProgressSnapshotService {
+    
+    /**
+     * Write the per-hire and per-department snapshots of a company for a day, replacing any earlier run
+     */
+    int captureCompany(Integer companyId, LocalDate date);
+    
+    /**
+     * Downsample and expire old snapshots. Returns the number of deleted rows.
+     */
+    int applyRetention(LocalDate today);
+    
+    /**
+     * Get the daily, weekly or monthly progress trend of a company
+     */
+    List<ProgressTrendPointDto> getCompanyTrend(Integer companyId, LocalDate from, LocalDate to, 
+                                                SnapshotResolution resolution);
+    
+    /**
+     * Get the progress trend of a single department
+     */
+    List<ProgressTrendPointDto> getDepartmentTrend(Integer departmentId, LocalDate from, LocalDate to, 
+                                                   SnapshotResolution resolution);
+    
+    /**
+     * Get the daily snapshots of a hire
+     */
+    List<ProgressSnapshot> getHireTrend(UUID hireId, LocalDate from, LocalDate to);
+}
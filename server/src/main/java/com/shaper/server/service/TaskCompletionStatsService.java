@@ -0,0 +1,28 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.CompletionTimeStatsDto;
+
+import java.util.List;
+
+public interface TaskCompletionStatsService {
+    
+    /**
+     * Get p50/p90/p99 time to complete a task, measured from todo creation
+     */
+    CompletionTimeStatsDto getTaskCompletionTime(Integer taskId);
+    
+    /**
+     * Get p50/p90/p99 time to complete any task of a template
+     */
+    CompletionTimeStatsDto getTemplateCompletionTime(Integer templateId);
+    
+    /**
+     * Get the tasks of a template with the longest p90 completion time
+     */
+    List<CompletionTimeStatsDto> getSlowestTasks(Integer templateId, int limit);
+    
+    /**
+     * Rebuild all sketches from the completed todos
+     */
+    void rebuild();
+}
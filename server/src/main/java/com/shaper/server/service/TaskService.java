@@ -1,5 +1,6 @@
 package com.shaper.server.service;
 
+import com.shaper.server.model.dto.TaskDTO;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.enums.TaskType;
 
@@ -26,9 +27,9 @@ public interface TaskService {
     Task getTaskById(Integer taskId);
     
     /**
-     * Get all tasks for a template ordered by index
+     * Get all tasks for a template in order, read from the template cache
      */
-    List<Task> getTasksByTemplateId(Integer templateId);
+    List<TaskDTO> getTasksByTemplateId(Integer templateId);
     
     /**
      * Delete a task from template
@@ -0,0 +1,21 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.TemplateCacheStatsDto;
+import com.shaper.server.model.dto.TemplateSnapshot;
+
+public interface TemplateCacheService {
+    
+    /**
+     * Snapshot of the template, loaded on a miss
+     *
+     * @throws com.shaper.server.exception.DataNotFoundException if the template does not exist
+     */
+    TemplateSnapshot getTemplate(Integer templateId);
+    
+    /**
+     * Drop the local snapshot of the template, e.g. on a message from another instance
+     */
+    void evict(Integer templateId);
+    
+    TemplateCacheStatsDto getStats();
+}
@@ -0,0 +1,11 @@
+package com.shaper.server.service;
+
+/**
+ * Extension point for clustered deployments: told about every committed template change so it
+ * can forward the template ID to the other instances, which call
+ * {@link TemplateCacheService#evict(Integer)} on receipt. No implementation is needed on a single node.
+ */
+public interface TemplateInvalidationBroadcaster {
+    
+    void broadcast(Integer templateId);
+}
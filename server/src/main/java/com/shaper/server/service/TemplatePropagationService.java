@@ -0,0 +1,19 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.TemplatePropagationDto;
+
+public interface TemplatePropagationService {
+    
+    /**
+     * Start moving every hire assigned from an older version of the template to its current version,
+     * adding, removing and re-dating their todos and recounting their progress in the background
+     *
+     * @throws IllegalStateException if a propagation of the template is still running
+     */
+    TemplatePropagationDto startPropagation(Integer templateId);
+    
+    /**
+     * Progress of the latest propagation of the template started on this instance
+     */
+    TemplatePropagationDto getStatus(Integer templateId);
+}
@@ -1,6 +1,7 @@
 package com.shaper.server.service;
 
 import com.shaper.server.model.dto.TemplateDTO;
+import com.shaper.server.model.dto.TemplateVersionDto;
 import com.shaper.server.model.entity.Template;
 
 import java.util.List;
@@ -26,5 +27,12 @@ public interface TemplateService {
     
     void assignTemplateToHire(Integer templateId, UUID hireId);
     
+    /**
+     * Freeze the current draft of the template as a new immutable version
+     */
+    TemplateVersionDto publishTemplate(Integer templateId);
+    
+    List<TemplateVersionDto> getTemplateVersions(Integer templateId);
+    
     Template getTemplateEntityById(Integer id);
 }
\ No newline at end of file
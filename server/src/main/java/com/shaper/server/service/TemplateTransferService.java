@@ -0,0 +1,28 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.TemplateImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+
+public interface TemplateTransferService {
+
+    /**
+     * Write the company's templates with their draft tasks and department names as JSON.
+     * Null or empty template ids export every template that is not archived.
+     *
+     * @throws com.shaper.server.exception.DataNotFoundException if a requested template is not in the company
+     */
+    void exportTemplates(Integer companyId, List<Integer> templateIds, OutputStream out) throws IOException;
+
+    /**
+     * Create new draft templates for the HR user from an export. Each template is written in its own
+     * transaction; departments are matched by name within the HR user's company.
+     *
+     * @throws IllegalArgumentException if the document is malformed or a template or task is invalid
+     */
+    TemplateImportResultDto importTemplates(UUID hrId, InputStream in) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.TemplateVersionDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+
+import java.util.List;
+
+public interface TemplateVersionService {
+    
+    /**
+     * Freeze the current draft as a new version; returns the latest version if the draft is unchanged
+     */
+    TemplateVersionDto publish(Integer templateId);
+    
+    /**
+     * Version new assignments use: the latest published one, publishing the draft if there is none
+     */
+    TemplateVersionSnapshot getCurrentVersion(Integer templateId);
+    
+    TemplateVersionSnapshot getVersion(Integer versionId);
+    
+    List<TemplateVersionDto> getVersions(Integer templateId);
+}
@@ -0,0 +1,16 @@
+package com.shaper.server.service;
+
+import java.util.UUID;
+
+public interface UnreadCountService {
+    
+    /**
+     * Unread notifications of a user, served from memory after the first lookup
+     */
+    long getUnreadCount(UUID userId);
+    
+    /**
+     * Re-count every cached user against the database and correct drift
+     */
+    int reconcile();
+}
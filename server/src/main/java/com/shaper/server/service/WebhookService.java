@@ -0,0 +1,29 @@
+package com.shaper.server.service;
+
+import com.shaper.server.model.dto.WebhookDeadLetterDto;
+import com.shaper.server.model.dto.WebhookEndpointDto;
+import com.shaper.server.model.dto.WebhookEndpointRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Webhook endpoints are managed by the HR users of their company. Endpoints and companies the
+ * calling HR user does not belong to are reported as not found.
+ */
+public interface WebhookService {
+    
+    /**
+     * Register an endpoint with a freshly generated signing secret, returned only here
+     */
+    WebhookEndpointDto createEndpoint(UUID hrId, WebhookEndpointRequest request);
+    
+    List<WebhookEndpointDto> getEndpointsByCompany(UUID hrId, Integer companyId);
+    
+    void deleteEndpoint(UUID hrId, Integer endpointId);
+    
+    /**
+     * Batches that exhausted their retries, newest first
+     */
+    List<WebhookDeadLetterDto> getDeadLetters(UUID hrId, Integer endpointId);
+}
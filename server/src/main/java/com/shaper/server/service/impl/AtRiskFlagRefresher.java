@@ -0,0 +1,27 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.service.ProgressService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress becomes at risk by aging alone, which no write path observes, so the
+ * precomputed flags are swept periodically in addition to the per-row updates.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AtRiskFlagRefresher {
+    
+    private final ProgressService progressService;
+    
+    @Scheduled(cron = "${progress.at-risk.refresh-cron:0 0 * * * *}")
+    public void refresh() {
+        int changed = progressService.refreshAtRiskFlags();
+        if (changed > 0) {
+            log.info("Updated at-risk flag on {} progress records", changed);
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.ProgressChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.CompanyDepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentAnalyticsDto;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.HireSummaryDto;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
 import com.shaper.server.model.entity.*;
+import com.shaper.server.model.enums.AnalyticsDimension;
 import com.shaper.server.repository.*;
 import com.shaper.server.service.DepartmentService;
+import com.shaper.server.service.ProgressAnalyticsService;
+import com.shaper.server.service.ProgressRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,10 +35,13 @@ public class DepartmentServiceImpl implements DepartmentService {
     private final TemplateRepository templateRepository;
     private final HireRepository hireRepository;
     private final ProgressRepository progressRepository;
+    private final ProgressRollupService progressRollupService;
+    private final ProgressAnalyticsService progressAnalyticsService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
-    public CompanyDepartment createDepartment(String name, Integer companyId, UUID hrUserId) {
+    public DepartmentDto createDepartment(String name, Integer companyId, UUID hrUserId) {
         log.info("Creating department '{}' for company {} by HR user {}", name, companyId, hrUserId);
         
         // Validate company exists
@@ -54,34 +69,35 @@ public class DepartmentServiceImpl implements DepartmentService {
         department.setHires(new HashSet<>());
         
         CompanyDepartment savedDepartment = departmentRepository.save(department);
+        progressRollupService.initializeDepartment(savedDepartment);
         log.info("Department created successfully with id: {}", savedDepartment.getId());
         
-        return savedDepartment;
+        return toDto(savedDepartment.getId());
     }
     
     @Override
-    public Optional<CompanyDepartment> getDepartmentById(Integer departmentId) {
-        return departmentRepository.findById(departmentId);
+    public Optional<DepartmentDto> getDepartmentById(Integer departmentId) {
+        return departmentRepository.findDtoById(departmentId);
     }
     
     @Override
-    public List<CompanyDepartment> getAllDepartments() {
-        return departmentRepository.findAll();
+    public List<DepartmentDto> getAllDepartments() {
+        return departmentRepository.findAllDtos();
     }
     
     @Override
-    public List<CompanyDepartment> getDepartmentsByCompany(Integer companyId) {
-        return departmentRepository.findByCompany_Id(companyId);
+    public List<DepartmentDto> getDepartmentsByCompany(Integer companyId) {
+        return departmentRepository.findDtosByCompanyId(companyId);
     }
     
     @Override
-    public List<CompanyDepartment> getDepartmentsByHrUser(UUID hrUserId) {
-        return departmentRepository.findByCreatedByHr_Id(hrUserId);
+    public List<DepartmentDto> getDepartmentsByHrUser(UUID hrUserId) {
+        return departmentRepository.findDtosByHrId(hrUserId);
     }
     
     @Override
     @Transactional
-    public CompanyDepartment updateDepartment(Integer departmentId, String name) {
+    public DepartmentDto updateDepartment(Integer departmentId, String name) {
         log.info("Updating department {} with new name: {}", departmentId, name);
         
         CompanyDepartment department = departmentRepository.findById(departmentId)
@@ -94,10 +110,10 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
         
         department.setName(name);
-        CompanyDepartment updatedDepartment = departmentRepository.save(department);
+        departmentRepository.save(department);
         
         log.info("Department updated successfully");
-        return updatedDepartment;
+        return toDto(departmentId);
     }
     
     @Override
@@ -119,12 +135,13 @@ public class DepartmentServiceImpl implements DepartmentService {
         
         // Delete department
         departmentRepository.delete(department);
+        progressRollupService.removeDepartment(departmentId);
         log.info("Department deleted successfully");
     }
     
     @Override
     @Transactional
-    public CompanyDepartment assignTemplateToD epartment(Integer departmentId, Integer templateId) {
+    public DepartmentDto assignTemplateToDepartment(Integer departmentId, Integer templateId) {
         log.info("Assigning template {} to department {}", templateId, departmentId);
         
         CompanyDepartment department = departmentRepository.findById(departmentId)
@@ -139,15 +156,15 @@ public class DepartmentServiceImpl implements DepartmentService {
         }
         
         department.getAssignedTemplates().add(template);
-        CompanyDepartment updatedDepartment = departmentRepository.save(department);
+        departmentRepository.save(department);
         
         log.info("Template assigned to department successfully");
-        return updatedDepartment;
+        return toDto(departmentId);
     }
     
     @Override
     @Transactional
-    public CompanyDepartment removeTemplateFromDepartment(Integer departmentId, Integer templateId) {
+    public DepartmentDto removeTemplateFromDepartment(Integer departmentId, Integer templateId) {
         log.info("Removing template {} from department {}", templateId, departmentId);
         
         CompanyDepartment department = departmentRepository.findById(departmentId)
@@ -157,23 +174,24 @@ public class DepartmentServiceImpl implements DepartmentService {
             .orElseThrow(() -> new DataNotFoundException("Template not found with id: " + templateId));
         
         department.getAssignedTemplates().remove(template);
-        CompanyDepartment updatedDepartment = departmentRepository.save(department);
+        departmentRepository.save(department);
         
         log.info("Template removed from department successfully");
-        return updatedDepartment;
+        return toDto(departmentId);
     }
     
     @Override
-    public List<Template> getTemplatesByDepartment(Integer departmentId) {
-        CompanyDepartment department = departmentRepository.findById(departmentId)
-            .orElseThrow(() -> new DataNotFoundException("Department not found with id: " + departmentId));
+    public List<TemplateSummaryDto> getTemplatesByDepartment(Integer departmentId) {
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new DataNotFoundException("Department not found with id: " + departmentId);
+        }
         
-        return new ArrayList<>(department.getAssignedTemplates());
+        return departmentRepository.findTemplateSummariesByDepartmentId(departmentId);
     }
     
     @Override
-    public List<CompanyDepartment> getDepartmentsByTemplate(Integer templateId) {
-        return departmentRepository.findByTemplateId(templateId);
+    public List<DepartmentDto> getDepartmentsByTemplate(Integer templateId) {
+        return departmentRepository.findDtosByTemplateId(templateId);
     }
     
     @Override
@@ -192,8 +210,11 @@ public class DepartmentServiceImpl implements DepartmentService {
             throw new IllegalArgumentException("Hire does not belong to the same company as the department");
         }
         
+        CompanyDepartment previousDepartment = hire.getDepartment();
         hire.setDepartment(department);
         hireRepository.save(hire);
+        progressRollupService.onHireDepartmentChanged(hireId, previousDepartment, department);
+        eventPublisher.publishEvent(new ProgressChangedEvent(hireId, null));
         
         log.info("Hire assigned to department successfully");
     }
@@ -206,90 +227,52 @@ public class DepartmentServiceImpl implements DepartmentService {
         Hire hire = hireRepository.findById(hireId)
             .orElseThrow(() -> new DataNotFoundException("Hire not found with id: " + hireId));
         
+        CompanyDepartment previousDepartment = hire.getDepartment();
         hire.setDepartment(null);
         hireRepository.save(hire);
+        progressRollupService.onHireDepartmentChanged(hireId, previousDepartment, null);
+        eventPublisher.publishEvent(new ProgressChangedEvent(hireId, null));
         
         log.info("Hire removed from department successfully");
     }
     
     @Override
-    public List<Hire> getHiresByDepartment(Integer departmentId) {
-        return hireRepository.findByDepartment_Id(departmentId);
+    public List<HireSummaryDto> getHiresByDepartment(Integer departmentId) {
+        return hireRepository.findSummariesByDepartmentId(departmentId);
     }
     
     @Override
-    public Map<String, Object> getDepartmentAnalytics(Integer departmentId) {
-        CompanyDepartment department = departmentRepository.findById(departmentId)
+    public DepartmentAnalyticsDto getDepartmentAnalytics(Integer departmentId) {
+        DepartmentProgressSummaryDto summary = progressRollupService.getDepartmentSummary(departmentId)
             .orElseThrow(() -> new DataNotFoundException("Department not found with id: " + departmentId));
         
-        List<Hire> hires = getHiresByDepartment(departmentId);
-        List<Progress> departmentProgress = progressRepository.findByDepartmentId(departmentId);
-        
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("departmentId", departmentId);
-        analytics.put("departmentName", department.getName());
-        analytics.put("totalHires", hires.size());
-        analytics.put("activeHires", getActiveHiresByDepartment(departmentId));
-        analytics.put("assignedTemplates", department.getAssignedTemplates().size());
-        analytics.put("averageCompletion", getAverageCompletionByDepartment(departmentId));
-        
-        // Calculate completion distribution
-        Map<String, Long> completionDistribution = departmentProgress.stream()
-            .collect(Collectors.groupingBy(
-                progress -> {
-                    double completion = progress.getCompletionPercentage();
-                    if (completion == 100.0) return "completed";
-                    else if (completion >= 75.0) return "near_completion";
-                    else if (completion >= 50.0) return "in_progress";
-                    else if (completion >= 25.0) return "started";
-                    else return "not_started";
-                },
-                Collectors.counting()
-            ));
-        
-        analytics.put("completionDistribution", completionDistribution);
+        DepartmentAnalyticsDto analytics = new DepartmentAnalyticsDto();
+        analytics.setDepartmentId(summary.getDepartmentId());
+        analytics.setDepartmentName(summary.getDepartmentName());
+        analytics.setTotalHires(summary.getTotalHires());
+        analytics.setActiveHires(summary.getActiveHires());
+        analytics.setAssignedTemplates(departmentRepository.countAssignedTemplates(departmentId));
+        analytics.setAverageCompletion(summary.getAverageCompletion());
+        analytics.setCompletionDistribution(summary.getCompletionDistribution());
         
         return analytics;
     }
     
     @Override
-    public Map<String, Object> getCompanyDepartmentAnalytics(Integer companyId) {
-        List<CompanyDepartment> departments = getDepartmentsByCompany(companyId);
-        
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("companyId", companyId);
-        analytics.put("totalDepartments", departments.size());
-        
-        long totalHires = departments.stream()
-            .mapToLong(dept -> getTotalHiresByDepartment(dept.getId()))
-            .sum();
-        
-        long totalActiveHires = departments.stream()
-            .mapToLong(dept -> getActiveHiresByDepartment(dept.getId()))
-            .sum();
-        
-        double overallAverageCompletion = departments.stream()
-            .mapToDouble(dept -> getAverageCompletionByDepartment(dept.getId()))
+    public CompanyDepartmentAnalyticsDto getCompanyDepartmentAnalytics(Integer companyId) {
+        List<DepartmentProgressSummaryDto> departments = getDepartmentProgressSummary(companyId);
+        CompanyProgressRollup companyRollup = progressRollupService.getCompanyRollup(companyId);
+        
+        CompanyDepartmentAnalyticsDto analytics = new CompanyDepartmentAnalyticsDto();
+        analytics.setCompanyId(companyId);
+        analytics.setTotalDepartments(departments.size());
+        analytics.setTotalHires(companyRollup.getHireCount());
+        analytics.setTotalActiveHires(companyRollup.getActiveCount());
+        analytics.setOverallAverageCompletion(departments.stream()
+            .mapToDouble(DepartmentProgressSummaryDto::getAverageCompletion)
             .average()
-            .orElse(0.0);
-        
-        analytics.put("totalHires", totalHires);
-        analytics.put("totalActiveHires", totalActiveHires);
-        analytics.put("overallAverageCompletion", overallAverageCompletion);
-        
-        // Department breakdown
-        List<Map<String, Object>> departmentBreakdown = departments.stream()
-            .map(dept -> {
-                Map<String, Object> deptData = new HashMap<>();
-                deptData.put("departmentId", dept.getId());
-                deptData.put("departmentName", dept.getName());
-                deptData.put("hireCount", getTotalHiresByDepartment(dept.getId()));
-                deptData.put("averageCompletion", getAverageCompletionByDepartment(dept.getId()));
-                return deptData;
-            })
-            .collect(Collectors.toList());
-        
-        analytics.put("departmentBreakdown", departmentBreakdown);
+            .orElse(0.0));
+        analytics.setDepartmentBreakdown(departments);
         
         return analytics;
     }
@@ -302,47 +285,28 @@ public class DepartmentServiceImpl implements DepartmentService {
     @Override
     public long getActiveHiresByDepartment(Integer departmentId) {
         // Assuming active hires are those with incomplete onboarding
-        List<Progress> departmentProgress = progressRepository.findByDepartmentId(departmentId);
-        return departmentProgress.stream()
-            .filter(progress -> progress.getCompletionPercentage() < 100.0)
-            .count();
+        return progressRepository.countActiveByDepartmentId(departmentId);
     }
     
     @Override
     public double getAverageCompletionByDepartment(Integer departmentId) {
-        List<Progress> departmentProgress = progressRepository.findByDepartmentId(departmentId);
-        
-        return departmentProgress.stream()
-            .mapToDouble(Progress::getCompletionPercentage)
-            .average()
-            .orElse(0.0);
+        Double average = progressRepository.getAverageCompletionByDepartmentId(departmentId);
+        return average != null ? average : 0.0;
     }
     
     @Override
-    public List<Map<String, Object>> getDepartmentProgressSummary(Integer companyId) {
-        List<CompanyDepartment> departments = getDepartmentsByCompany(companyId);
-        
-        return departments.stream()
-            .map(dept -> {
-                Map<String, Object> summary = new HashMap<>();
-                summary.put("departmentId", dept.getId());
-                summary.put("departmentName", dept.getName());
-                summary.put("totalHires", getTotalHiresByDepartment(dept.getId()));
-                summary.put("activeHires", getActiveHiresByDepartment(dept.getId()));
-                summary.put("averageCompletion", getAverageCompletionByDepartment(dept.getId()));
-                
-                List<Progress> progress = progressRepository.findByDepartmentId(dept.getId());
-                long completedCount = progress.stream()
-                    .filter(p -> p.getCompletionPercentage() == 100.0)
-                    .count();
-                
-                summary.put("completedHires", completedCount);
-                summary.put("completionRate", progress.isEmpty() ? 0.0 : 
-                    (double) completedCount / progress.size() * 100.0);
-                
-                return summary;
-            })
-            .collect(Collectors.toList());
+    public List<DepartmentProgressSummaryDto> getDepartmentProgressSummary(Integer companyId) {
+        return progressRollupService.getDepartmentSummaries(companyId);
+    }
+    
+    @Override
+    public List<ProgressGroupDto> getDepartmentProgressBreakdown(Integer departmentId, AnalyticsDimension dimension) {
+        Integer companyId = departmentRepository.findCompanyIdById(departmentId)
+            .orElseThrow(() -> new DataNotFoundException("Department not found with id: " + departmentId));
+        
+        ProgressAnalyticsFilter filter = new ProgressAnalyticsFilter();
+        filter.setDepartmentId(departmentId);
+        return progressAnalyticsService.groupBy(companyId, dimension, filter);
     }
     
     @Override
@@ -354,18 +318,9 @@ public class DepartmentServiceImpl implements DepartmentService {
     public boolean isDepartmentEmpty(Integer departmentId) {
         return getTotalHiresByDepartment(departmentId) == 0;
     }
-
-    @Override
-    public CompanyDepartment assignTemplateToDepartment(Integer departmentId, Integer templateId) {
-        CompanyDepartment department = departmentRepository.findById(departmentId)
+    
+    private DepartmentDto toDto(Integer departmentId) {
+        return departmentRepository.findDtoById(departmentId)
             .orElseThrow(() -> new DataNotFoundException("Department not found with id: " + departmentId));
-        
-        Template template = templateRepository.findById(templateId)
-            .orElseThrow(() -> new DataNotFoundException("Template not found with id: " + templateId));
-        
-        department.getAssignedTemplates().add(template);
-        departmentRepository.save(department);
-        
-        return department;
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.DocumentUploadedEvent;
 import com.shaper.server.model.dto.DocumentDto;
+import com.shaper.server.model.dto.TemplateSnapshot;
 import com.shaper.server.model.entity.Document;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.Todo;
@@ -8,7 +10,9 @@ import com.shaper.server.repository.DocumentRepository;
 import com.shaper.server.repository.TaskRepository;
 import com.shaper.server.repository.TodoRepository;
 import com.shaper.server.service.DocumentService;
+import com.shaper.server.service.TemplateCacheService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -34,6 +38,8 @@ public class DocumentServiceImpl implements DocumentService {
     private final DocumentRepository documentRepository;
     private final TaskRepository taskRepository;
     private final TodoRepository todoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TemplateCacheService templateCacheService;
     
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -87,7 +93,7 @@ public class DocumentServiceImpl implements DocumentService {
         validateFile(file);
         
         // For template uploads, associate with the first task of the template
-        Task firstTask = taskRepository.findByTemplate_IdOrderByOrderIndexAsc(templateId).stream()
+        TemplateSnapshot.TaskSnapshot firstTask = templateCacheService.getTemplate(templateId).getTasks().stream()
             .findFirst()
             .orElseThrow(() -> new RuntimeException("Template has no tasks to associate document with"));
         
@@ -174,6 +180,9 @@ public class DocumentServiceImpl implements DocumentService {
             
             // Save document to database
             Document savedDocument = documentRepository.save(document);
+            eventPublisher.publishEvent(new DocumentUploadedEvent(savedDocument.getId(), task.getId(),
+                task.getTemplate() != null ? task.getTemplate().getId() : null,
+                todo != null ? todo.getId() : null, savedDocument.getName()));
             
             log.info("Document saved successfully with ID: {} for task: {} and todo: {}", 
                     savedDocument.getId(), task.getId(), todo != null ? todo.getId() : "none");
@@ -0,0 +1,255 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.dto.DigestPreferenceDto;
+import com.shaper.server.model.entity.NotificationDigestPreference;
+import com.shaper.server.model.enums.DigestFrequency;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.repository.NotificationDigestPreferenceRepository;
+import com.shaper.server.service.NotificationDigestService;
+import com.shaper.server.service.NotificationFanOutService;
+import com.shaper.server.service.NotificationTemplateService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Collects high-volume notifications for users on HOURLY or DAILY digests in memory, keyed by
+ * recipient, and writes one summary row per user when the window closes: counts per type plus
+ * the latest few messages. Buffers only change inside {@link ConcurrentHashMap#compute}, so a
+ * buffer removed for writing can no longer be appended to; if the write fails the buffer is merged
+ * back and retried on the next check. Buffers live in memory only: they are written on a graceful
+ * shutdown, but a crash loses whatever arrived in the current window. That is accepted for these
+ * summary types, which have their own records (todos, documents) to fall back on. Preferences are
+ * kept in a bounded LRU cache of {@code notifications.digest.preference-cache-size} users and kept
+ * current by {@link #updatePreference}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationDigestServiceImpl implements NotificationDigestService {
+    
+    private static final int MAX_ITEM_LENGTH = 80;
+    
+    private final NotificationDigestPreferenceRepository preferenceRepository;
+    private final NotificationFanOutService notificationFanOutService;
+    private final NotificationTemplateService notificationTemplateService;
+    private final Map<UUID, DigestFrequency> preferences = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, Digest> buffers = new ConcurrentHashMap<>();
+    
+    @Value("${notifications.digest.types:TASK_COMPLETED,DOCUMENT_SIGNED}")
+    private Set<NotificationType> digestTypes = EnumSet.of(NotificationType.TASK_COMPLETED, NotificationType.DOCUMENT_SIGNED);
+    
+    @Value("${notifications.digest.top-items:3}")
+    private int topItems = 3;
+    
+    @Value("${notifications.digest.preference-cache-size:10000}")
+    private int preferenceCacheSize = 10_000;
+    
+    @Override
+    public DigestPreferenceDto getPreference(UUID userId) {
+        return new DigestPreferenceDto(userId, frequencyOf(userId));
+    }
+    
+    @Override
+    @Transactional
+    public DigestPreferenceDto updatePreference(UUID userId, DigestFrequency frequency) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Digest frequency is required");
+        }
+        NotificationDigestPreference preference = preferenceRepository.findById(userId)
+            .orElseGet(() -> {
+                NotificationDigestPreference created = new NotificationDigestPreference();
+                created.setUserId(userId);
+                return created;
+            });
+        preference.setFrequency(frequency);
+        preferenceRepository.save(preference);
+        cachePreference(userId, frequency, true);
+        
+        if (frequency == DigestFrequency.IMMEDIATE) {
+            Digest pending = buffers.remove(userId);
+            if (pending != null) {
+                try {
+                    notificationFanOutService.writeAll(List.of(pending.toRequest(userId)));
+                } catch (RuntimeException e) {
+                    restore(userId, pending);
+                    throw e;
+                }
+            }
+        }
+        log.info("Set notification digest frequency of user {} to {}", userId, frequency);
+        return new DigestPreferenceDto(userId, frequency);
+    }
+    
+    @Override
+    public boolean absorb(NotificationRequestedEvent request) {
+        if (!digestTypes.contains(request.getType())) {
+            return false;
+        }
+        DigestFrequency frequency = frequencyOf(request.getUserId());
+        if (frequency == DigestFrequency.IMMEDIATE) {
+            return false;
+        }
+        buffers.compute(request.getUserId(), (userId, digest) -> {
+            Digest target = digest != null ? digest : new Digest(Instant.now().plus(frequency.getWindow()));
+            target.add(request);
+            return target;
+        });
+        return true;
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.digest.check-interval-ms:60000}")
+    public int flushDue() {
+        return flush(Instant.now());
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(Instant.MAX);
+    }
+    
+    int getBufferedUserCount() {
+        return buffers.size();
+    }
+    
+    int getCachedPreferenceCount() {
+        synchronized (preferences) {
+            return preferences.size();
+        }
+    }
+    
+    private int flush(Instant now) {
+        Map<UUID, Digest> due = new LinkedHashMap<>();
+        for (Map.Entry<UUID, Digest> entry : buffers.entrySet()) {
+            Digest digest = entry.getValue();
+            if (!digest.dueAt.isAfter(now) && buffers.remove(entry.getKey(), digest)) {
+                due.put(entry.getKey(), digest);
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<NotificationRequestedEvent> summaries = new ArrayList<>(due.size());
+        due.forEach((userId, digest) -> summaries.add(digest.toRequest(userId)));
+        try {
+            int written = notificationFanOutService.writeAll(summaries);
+            log.info("Wrote {} notification digests", written);
+            return written;
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} notification digests, keeping them for the next check", due.size(), e);
+            due.forEach(this::restore);
+            return 0;
+        }
+    }
+    
+    /**
+     * Puts a digest whose write failed back, merged with anything buffered for the user since.
+     */
+    private void restore(UUID userId, Digest digest) {
+        buffers.merge(userId, digest, (newer, restored) -> restored.absorb(newer));
+    }
+    
+    private DigestFrequency frequencyOf(UUID userId) {
+        synchronized (preferences) {
+            DigestFrequency cached = preferences.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DigestFrequency loaded = preferenceRepository.findById(userId)
+            .map(NotificationDigestPreference::getFrequency)
+            .orElse(DigestFrequency.IMMEDIATE);
+        // An update that raced with the lookup wins over the value read before it
+        return cachePreference(userId, loaded, false);
+    }
+    
+    private DigestFrequency cachePreference(UUID userId, DigestFrequency frequency, boolean replace) {
+        synchronized (preferences) {
+            DigestFrequency current = replace ? null : preferences.get(userId);
+            if (current != null) {
+                return current;
+            }
+            preferences.put(userId, frequency);
+            Iterator<UUID> eldest = preferences.keySet().iterator();
+            while (preferences.size() > preferenceCacheSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return frequency;
+        }
+    }
+    
+    private final class Digest {
+        private final Instant dueAt;
+        private final Map<NotificationType, Integer> counts = new EnumMap<>(NotificationType.class);
+        private final Deque<String> latest = new ArrayDeque<>();
+        private NotificationRequestedEvent first;
+        private int total;
+        
+        private Digest(Instant dueAt) {
+            this.dueAt = dueAt;
+        }
+        
+        private void add(NotificationRequestedEvent request) {
+            if (first == null) {
+                first = request;
+            }
+            total++;
+            counts.merge(request.getType(), 1, Integer::sum);
+            latest.addFirst(abbreviate(notificationTemplateService.render(request.getContent())));
+            if (latest.size() > topItems) {
+                latest.removeLast();
+            }
+        }
+        
+        /**
+         * Adds the items of a digest started after this one; this one keeps its earlier due time.
+         */
+        private Digest absorb(Digest newer) {
+            total += newer.total;
+            newer.counts.forEach((type, count) -> counts.merge(type, count, Integer::sum));
+            Iterator<String> older = latest.iterator();
+            Deque<String> merged = new ArrayDeque<>(newer.latest);
+            while (merged.size() < topItems && older.hasNext()) {
+                merged.addLast(older.next());
+            }
+            latest.clear();
+            latest.addAll(merged);
+            return this;
+        }
+        
+        private NotificationRequestedEvent toRequest(UUID userId) {
+            // A single buffered item reads better as itself than as a digest of one
+            if (total == 1) {
+                return first;
+            }
+            String breakdown = counts.entrySet().stream()
+                .map(count -> count.getKey().getDisplayName() + " (" + count.getValue() + ")")
+                .collect(Collectors.joining(", "));
+            String message = String.format("%d new notifications: %s. Latest: %s",
+                total, breakdown, String.join("; ", latest));
+            return new NotificationRequestedEvent(userId, null, NotificationType.DIGEST, message);
+        }
+        
+        private String abbreviate(String message) {
+            if (message == null) {
+                return "";
+            }
+            if (message.length() <= MAX_ITEM_LENGTH) {
+                return message;
+            }
+            return message.substring(0, MAX_ITEM_LENGTH - 3) + "...";
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.service.NotificationDigestService;
+import com.shaper.server.service.NotificationFanOutService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queues committed notification requests and writes them in batches, so business transactions
+ * never wait on notification inserts. Reminders and overdue notices for the same (user, task)
+ * are collapsed while one is queued and for {@code notifications.dispatch.coalesce-window-ms}
+ * after it was written; other types are never collapsed since each one reports a separate
+ * event. When the queue reaches {@code notifications.dispatch.capacity} an early flush is
+ * scheduled on the scheduler thread; the publishing thread runs after its transaction committed,
+ * so anything it wrote would join that finished transaction and never be committed.
+ * A batch whose write fails goes back to the front of the queue and is retried by the next
+ * flush, up to {@code notifications.dispatch.max-attempts} times. Pending requests are written
+ * on shutdown. Requests taken by {@link NotificationDigestService} for users on periodic
+ * digests never enter the queue.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDispatcher {
+    
+    private static final Set<NotificationType> COALESCED_TYPES = 
+        EnumSet.of(NotificationType.REMINDER, NotificationType.OVERDUE_TASK);
+    
+    private final NotificationFanOutService notificationFanOutService;
+    private final NotificationDigestService notificationDigestService;
+    private final TaskScheduler taskScheduler;
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final Deque<Pending> pending = new ArrayDeque<>();
+    private final Set<Key> pendingKeys = new HashSet<>();
+    private final Map<Key, Long> recentlyAccepted = new HashMap<>();
+    
+    @Value("${notifications.dispatch.capacity:10000}")
+    private int capacity = 10_000;
+    
+    @Value("${notifications.dispatch.batch-size:200}")
+    private int batchSize = 200;
+    
+    @Value("${notifications.dispatch.coalesce-window-ms:600000}")
+    private long coalesceWindowMs = 600_000L;
+    
+    @Value("${notifications.dispatch.max-attempts:3}")
+    private int maxAttempts = 3;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationRequested(NotificationRequestedEvent event) {
+        if (notificationDigestService.absorb(event)) {
+            return;
+        }
+        enqueue(event);
+    }
+    
+    /**
+     * @return false when the request was coalesced into an earlier one
+     */
+    boolean enqueue(NotificationRequestedEvent event) {
+        Key key = COALESCED_TYPES.contains(event.getType()) && event.getRelatedTaskId() != null
+            ? new Key(event.getUserId(), event.getRelatedTaskId(), event.getType()) : null;
+        boolean full;
+        synchronized (this) {
+            if (key != null && isDuplicate(key)) {
+                log.debug("Coalesced duplicate {} notification for user {} and task {}",
+                    event.getType(), event.getUserId(), event.getRelatedTaskId());
+                return false;
+            }
+            add(new Pending(key, event));
+            full = pending.size() >= capacity;
+        }
+        if (full && earlyFlushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flushEarly, Instant.now());
+        }
+        return true;
+    }
+    
+    private void flushEarly() {
+        earlyFlushScheduled.set(false);
+        flush();
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.dispatch.flush-interval-ms:1000}")
+    public void flushScheduled() {
+        flush();
+        pruneWindow();
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    int flush() {
+        int written = 0;
+        List<Pending> batch;
+        while (!(batch = nextBatch()).isEmpty()) {
+            List<NotificationRequestedEvent> events = batch.stream().map(Pending::event).toList();
+            try {
+                written += notificationFanOutService.writeAll(events);
+                accepted(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} queued notifications", batch.size(), e);
+                // Retried by the next flush rather than in a tight loop against a failing database
+                requeue(batch);
+                break;
+            }
+        }
+        return written;
+    }
+    
+    synchronized int getPendingCount() {
+        return pending.size();
+    }
+    
+    private boolean isDuplicate(Key key) {
+        if (pendingKeys.contains(key)) {
+            return true;
+        }
+        Long acceptedAt = recentlyAccepted.get(key);
+        return acceptedAt != null && System.currentTimeMillis() - acceptedAt < coalesceWindowMs;
+    }
+    
+    private void add(Pending request) {
+        pending.addLast(request);
+        if (request.key() != null) {
+            pendingKeys.add(request.key());
+        }
+    }
+    
+    /**
+     * Takes the next batch off the queue. Its keys stay in {@code pendingKeys} until the write
+     * succeeded or was given up, so duplicates arriving meanwhile are still coalesced.
+     */
+    private synchronized List<Pending> nextBatch() {
+        List<Pending> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        while (batch.size() < batchSize && !pending.isEmpty()) {
+            batch.add(pending.pollFirst());
+        }
+        return batch;
+    }
+    
+    private synchronized void accepted(List<Pending> batch) {
+        long now = System.currentTimeMillis();
+        for (Pending request : batch) {
+            if (request.key() != null) {
+                pendingKeys.remove(request.key());
+                recentlyAccepted.put(request.key(), now);
+            }
+        }
+    }
+    
+    private synchronized void requeue(List<Pending> batch) {
+        int dropped = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            Pending request = batch.get(i).retried();
+            if (request.attempts() < maxAttempts) {
+                pending.addFirst(request);
+            } else {
+                if (request.key() != null) {
+                    pendingKeys.remove(request.key());
+                }
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            log.error("Dropped {} notifications after {} failed attempts", dropped, maxAttempts);
+        }
+    }
+    
+    private synchronized void pruneWindow() {
+        long cutoff = System.currentTimeMillis() - coalesceWindowMs;
+        recentlyAccepted.values().removeIf(acceptedAt -> acceptedAt < cutoff);
+    }
+    
+    private record Key(UUID userId, Integer taskId, NotificationType type) {
+    }
+    
+    private record Pending(Key key, NotificationRequestedEvent event, int attempts) {
+        
+        Pending(Key key, NotificationRequestedEvent event) {
+            this(key, event, 0);
+        }
+        
+        Pending retried() {
+            return new Pending(key, event, attempts + 1);
+        }
+    }
+}
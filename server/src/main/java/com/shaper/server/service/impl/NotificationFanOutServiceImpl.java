@@ -0,0 +1,163 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.mapper.NotificationMapper;
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.User;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.repository.NotificationRepository;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.UserRepository;
+import com.shaper.server.service.NotificationFanOutService;
+import com.shaper.server.service.NotificationTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes one notification per recipient without per-row lookups. Rows are flushed in chunks of
+ * {@code notifications.fan-out.batch-size} so Hibernate sends them as JDBC batches
+ * (see {@code hibernate.jdbc.batch_size}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationFanOutServiceImpl implements NotificationFanOutService {
+    
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationTemplateService notificationTemplateService;
+    
+    @Value("${notifications.fan-out.batch-size:100}")
+    private int batchSize = 100;
+    
+    @Value("${notifications.fan-out.async-threshold:500}")
+    private int asyncThreshold = 500;
+    
+    @Override
+    @Transactional
+    public int fanOut(Collection<? extends User> recipients, Task task, NotificationContent content, NotificationType type) {
+        List<Notification> chunk = new ArrayList<>(Math.min(batchSize, recipients.size()));
+        int written = 0;
+        for (User recipient : recipients) {
+            Notification notification = new Notification();
+            notification.setUser(recipient);
+            NotificationMapper.applyContent(notification, content);
+            notification.setRead(false);
+            notification.setRelatedTask(task);
+            notification.setNotificationType(type);
+            chunk.add(notification);
+            
+            if (chunk.size() == batchSize) {
+                written += writeChunk(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += writeChunk(chunk);
+        }
+        
+        log.info("Fanned out {} notifications with type {} for task {}", written, type,
+            task != null ? task.getId() : null);
+        return written;
+    }
+    
+    @Override
+    @Transactional
+    public int fanOutToUsers(List<UUID> userIds, Integer taskId, NotificationContent content, NotificationType type) {
+        return fanOut(loadRecipients(userIds), loadTask(taskId), content, type);
+    }
+    
+    @Override
+    @Async
+    @Transactional
+    public CompletableFuture<Integer> fanOutToUsersAsync(List<UUID> userIds, Integer taskId, NotificationContent content, NotificationType type) {
+        return CompletableFuture.completedFuture(fanOutToUsers(userIds, taskId, content, type));
+    }
+    
+    @Override
+    @Transactional
+    public int writeAll(List<NotificationRequestedEvent> requests) {
+        Set<UUID> userIds = requests.stream().map(NotificationRequestedEvent::getUserId).collect(Collectors.toSet());
+        Set<Integer> taskIds = requests.stream().map(NotificationRequestedEvent::getRelatedTaskId)
+            .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Task> tasks = taskIds.isEmpty() ? Map.of() : taskRepository.findAllById(taskIds).stream()
+            .collect(Collectors.toMap(Task::getId, Function.identity()));
+        
+        List<Notification> chunk = new ArrayList<>(Math.min(batchSize, requests.size()));
+        int written = 0;
+        for (NotificationRequestedEvent request : requests) {
+            User user = users.get(request.getUserId());
+            Task task = request.getRelatedTaskId() != null ? tasks.get(request.getRelatedTaskId()) : null;
+            if (user == null || (request.getRelatedTaskId() != null && task == null)) {
+                log.warn("Skipping queued {} notification for missing user {} or task {}",
+                    request.getType(), request.getUserId(), request.getRelatedTaskId());
+                continue;
+            }
+            Notification notification = new Notification();
+            notification.setUser(user);
+            NotificationMapper.applyContent(notification, request.getContent());
+            notification.setRead(false);
+            notification.setRelatedTask(task);
+            notification.setNotificationType(request.getType());
+            chunk.add(notification);
+            
+            if (chunk.size() == batchSize) {
+                written += writeChunk(chunk);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            written += writeChunk(chunk);
+        }
+        return written;
+    }
+    
+    @Override
+    public boolean shouldRunAsync(int recipientCount) {
+        return recipientCount > asyncThreshold;
+    }
+    
+    private int writeChunk(List<Notification> chunk) {
+        notificationRepository.saveAllAndFlush(chunk);
+        chunk.forEach(notification -> eventPublisher.publishEvent(
+            new NotificationCreatedEvent(NotificationMapper.notificationToDto(notification,
+                notificationTemplateService.render(notification)))));
+        return chunk.size();
+    }
+    
+    private List<User> loadRecipients(List<UUID> userIds) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(userIds);
+        List<User> users = userRepository.findAllById(distinctIds);
+        if (users.size() != distinctIds.size()) {
+            throw new DataNotFoundException("Some recipients were not found: requested " + distinctIds.size()
+                + ", found " + users.size());
+        }
+        return users;
+    }
+    
+    private Task loadTask(Integer taskId) {
+        if (taskId == null) {
+            return null;
+        }
+        return taskRepository.findById(taskId)
+            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+    }
+}
@@ -0,0 +1,112 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.enums.NotificationRetentionMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Nightly maintenance of the monthly notification partitions: creates next month's partition
+ * ahead of time and retires months older than {@code notifications.retention.read-age-days}
+ * by detaching the whole partition. Unread rows of a retired month are put back through the
+ * parent (they land in the default partition); the read rows are either attached to
+ * notifications_archive or dropped with the table. Each month is retired in one transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationPartitionJob {
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String PARTITION_PREFIX = "notifications_";
+    private static final String LIST_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = 'notifications' AND c.relname ~ '^notifications_[0-9]{4}_[0-9]{2}$'";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${notifications.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+    
+    @Value("${notifications.retention.read-age-days:180}")
+    private int readAgeDays = 180;
+    
+    @Value("${notifications.retention.mode:ARCHIVE}")
+    private NotificationRetentionMode retentionMode = NotificationRetentionMode.ARCHIVE;
+    
+    @Scheduled(cron = "${notifications.partitioning.cron:0 45 0 * * *}")
+    public void run() {
+        if (!partitioningEnabled) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        ensureMonthlyPartition(YearMonth.from(today).plusMonths(1));
+        
+        int retired = 0;
+        for (YearMonth month : findExpiredPartitions(today.minusDays(readAgeDays))) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> retire(month));
+                retired++;
+            } catch (RuntimeException e) {
+                log.error("Failed to retire notification partition {}", partitionName(month), e);
+            }
+        }
+        if (retired > 0) {
+            log.info("Retired {} notification partitions ({})", retired, retentionMode);
+        }
+    }
+    
+    /**
+     * Monthly partitions whose whole range ends on or before the cutoff date.
+     */
+    List<YearMonth> findExpiredPartitions(LocalDate cutoff) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+            .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+            .filter(month -> !month.plusMonths(1).atDay(1).isAfter(cutoff))
+            .sorted()
+            .toList();
+    }
+    
+    private void retire(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+        // No partition covers that month any more, so these rows route to the default partition
+        int keptUnread = jdbcTemplate.update("INSERT INTO notifications SELECT * FROM " + partition + " WHERE is_read = FALSE");
+        
+        if (retentionMode == NotificationRetentionMode.DROP) {
+            jdbcTemplate.execute("DROP TABLE " + partition);
+        } else {
+            jdbcTemplate.update("DELETE FROM " + partition + " WHERE is_read = FALSE");
+            String archived = "notifications_archive_" + month.format(PARTITION_SUFFIX);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " RENAME TO " + archived);
+            jdbcTemplate.execute("ALTER TABLE notifications_archive ATTACH PARTITION " + archived +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        log.info("Retired notification partition {} keeping {} unread rows", partition, keptUnread);
+    }
+    
+    private void ensureMonthlyPartition(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF notifications " +
+                "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        } catch (RuntimeException e) {
+            // Rows for that month already landed in the default partition; they stay queryable there
+            log.warn("Could not create notification partition {}: {}", partition, e.getMessage());
+        }
+    }
+    
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
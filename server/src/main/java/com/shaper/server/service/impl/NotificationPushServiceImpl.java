@@ -0,0 +1,185 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.model.dto.NotificationDeltaDto;
+import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.service.NotificationPushService;
+import com.shaper.server.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes badge and recent-list deltas to each user's notification stream once the writing
+ * transaction has committed. Event IDs are {@code <node epoch>-<sequence>}; the last
+ * {@code notifications.push.replay-size} deltas are kept so a reconnecting client can resume
+ * from its Last-Event-ID instead of reloading. IDs from another node start or older than the
+ * buffer fall back to a snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationPushServiceImpl implements NotificationPushService {
+    
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String CREATED_EVENT = "created";
+    static final String READ_EVENT = "read";
+    
+    private final NotificationService notificationService;
+    private final SseHub<UUID> hub = new SseHub<>("notification");
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong sequence = new AtomicLong();
+    
+    @Value("${notifications.push.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1_800_000L;
+    
+    @Value("${notifications.push.subscriber-buffer:128}")
+    private int subscriberBuffer = 128;
+    
+    @Value("${notifications.push.replay-size:50}")
+    private int replaySize = 50;
+    
+    @Value("${notifications.push.replay-ttl-ms:600000}")
+    private long replayTtlMs = 600_000L;
+    
+    @Override
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(userId, emitter, lastEventId);
+        return emitter;
+    }
+    
+    SseHub.Subscriber<UUID> register(UUID userId, SseEmitter emitter, String lastEventId) {
+        Channel channel = channels.compute(userId, (id, existing) -> {
+            Channel current = existing != null ? existing : new Channel();
+            current.lastActive = System.currentTimeMillis();
+            return current;
+        });
+        
+        synchronized (channel) {
+            SseHub.Subscriber<UUID> subscriber = hub.register(userId, emitter, subscriberBuffer);
+            List<SseHub.Message> missed = channel.since(lastEventId);
+            if (missed != null) {
+                missed.forEach(message -> hub.send(subscriber, message));
+            } else {
+                hub.send(subscriber, new SseHub.Message(channel.lastId(), SNAPSHOT_EVENT, snapshot(userId)));
+            }
+            return subscriber;
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        NotificationDto notification = event.getNotification();
+        publish(notification.getUserId(), CREATED_EVENT,
+            new NotificationDeltaDto(null, notification.isRead() ? 0L : 1L, notification, null, null));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (event.getReadCount() == 0) {
+            return;
+        }
+        if (event.getNotificationIds() == null) {
+            // A set-based update does not say which rows it touched, so resend the badge state
+            publish(event.getUserId(), SNAPSHOT_EVENT, snapshot(event.getUserId()));
+            return;
+        }
+        publish(event.getUserId(), READ_EVENT, new NotificationDeltaDto(
+            null, -(long) event.getReadCount(), null, event.getNotificationIds(), null));
+    }
+    
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-ms:30000}")
+    public void heartbeat() {
+        hub.heartbeat();
+        long cutoff = System.currentTimeMillis() - replayTtlMs;
+        channels.keySet().forEach(userId -> channels.computeIfPresent(userId, (id, channel) ->
+            !hub.hasSubscribers(id) && channel.lastActive < cutoff ? null : channel));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+    
+    private NotificationDeltaDto snapshot(UUID userId) {
+        return new NotificationDeltaDto(notificationService.getUnreadCount(userId), null, null, null,
+            notificationService.getRecentUnreadNotifications(userId));
+    }
+    
+    private void publish(UUID userId, String name, NotificationDeltaDto delta) {
+        // Nobody has streamed for this user on this node, nothing to deliver or replay
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            SseHub.Message message = channel.append(name, delta);
+            hub.publish(userId, message);
+        }
+    }
+    
+    /**
+     * Per-user replay buffer, guarded by its own monitor. Sequences come from one node-wide
+     * counter so a channel recreated after pruning can never hand out an ID a client already saw.
+     */
+    private final class Channel {
+        private final Deque<Buffered> recent = new ArrayDeque<>();
+        private long floor = sequence.get();
+        private long lastSequence = floor;
+        private volatile long lastActive;
+        
+        SseHub.Message append(String name, NotificationDeltaDto delta) {
+            lastSequence = sequence.incrementAndGet();
+            SseHub.Message message = new SseHub.Message(epoch + "-" + lastSequence, name, delta);
+            recent.addLast(new Buffered(lastSequence, message));
+            if (recent.size() > replaySize) {
+                floor = recent.removeFirst().sequence();
+            }
+            lastActive = System.currentTimeMillis();
+            return message;
+        }
+        
+        String lastId() {
+            return epoch + "-" + lastSequence;
+        }
+        
+        /**
+         * Deltas after the given event ID, or null when the client has to start from a snapshot.
+         */
+        List<SseHub.Message> since(String lastEventId) {
+            if (lastEventId == null) {
+                return null;
+            }
+            String[] parts = lastEventId.split("-", 2);
+            long seen;
+            try {
+                if (parts.length != 2 || Long.parseLong(parts[0]) != epoch) {
+                    return null;
+                }
+                seen = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (seen < floor || seen > sequence.get()) {
+                return null;
+            }
+            return recent.stream()
+                .filter(buffered -> buffered.sequence() > seen)
+                .map(Buffered::message)
+                .toList();
+        }
+    }
+    
+    private record Buffered(long sequence, SseHub.Message message) {
+    }
+}
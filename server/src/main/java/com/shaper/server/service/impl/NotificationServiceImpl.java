@@ -1,21 +1,39 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.mapper.NotificationMapper;
+import com.shaper.server.model.dto.NotificationContent;
 import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.dto.NotificationFeedDto;
+import com.shaper.server.model.dto.NotificationFeedFilter;
 import com.shaper.server.model.entity.Notification;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.User;
 import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
 import com.shaper.server.model.enums.NotificationType;
 import com.shaper.server.repository.NotificationRepository;
 import com.shaper.server.repository.UserRepository;
 import com.shaper.server.repository.TaskRepository;
 import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.NotificationSpecifications;
+import com.shaper.server.service.NotificationFanOutService;
 import com.shaper.server.service.NotificationService;
+import com.shaper.server.service.NotificationTemplateService;
+import com.shaper.server.service.UnreadCountService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,10 +43,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
     
+    private static final int MAX_FEED_SIZE = 100;
+    private static final Sort FEED_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+    
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final HrUserRepository hrUserRepository;
+    private final NotificationFanOutService notificationFanOutService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCountService unreadCountService;
+    private final NotificationTemplateService notificationTemplateService;
     
     @Override
     @Transactional
@@ -46,6 +71,7 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setUser(user);
         notification.setMessage(message);
         notification.setRead(false);
+        notification.setNotificationType(type);
         
         if (relatedTaskId != null) {
             Task task = taskRepository.findById(relatedTaskId)
@@ -55,7 +81,14 @@ public class NotificationServiceImpl implements NotificationService {
         
         Notification savedNotification = notificationRepository.save(notification);
         log.info("Created notification for user {} with type {}: {}", userId, type, message);
-        return convertToDto(savedNotification, type);
+        NotificationDto dto = convertToDto(savedNotification, type);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(dto));
+        return dto;
+    }
+    
+    @Override
+    public void queueNotification(UUID userId, String message, Integer relatedTaskId, NotificationType type) {
+        queue(userId, NotificationContent.text(message), relatedTaskId, type);
     }
     
     @Override
@@ -70,145 +103,248 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications.stream().map(this::convertToDto).collect(Collectors.toList());
     }
     
+    @Override
+    public List<NotificationDto> getRecentUnreadNotifications(UUID userId) {
+        List<Notification> notifications = notificationRepository.findTop5ByUser_IdAndIsReadOrderByCreatedAtDesc(userId, false);
+        return notifications.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+    
+    @Override
+    public NotificationFeedDto getFeed(UUID userId, NotificationFeedFilter filter, String cursor, int size) {
+        if (size < 1 || size > MAX_FEED_SIZE) {
+            throw new IllegalArgumentException("Feed size must be between 1 and " + MAX_FEED_SIZE);
+        }
+        
+        Specification<Notification> spec = NotificationSpecifications.forUser(userId);
+        if (filter != null) {
+            if (filter.getType() != null) {
+                spec = spec.and(NotificationSpecifications.hasType(filter.getType()));
+            }
+            if (filter.getRead() != null) {
+                spec = spec.and(NotificationSpecifications.isRead(filter.getRead()));
+            }
+            if (filter.getFrom() != null) {
+                spec = spec.and(NotificationSpecifications.createdFrom(filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                spec = spec.and(NotificationSpecifications.createdBefore(filter.getTo()));
+            }
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = decodeCursor(cursor);
+            spec = spec.and(NotificationSpecifications.after(LocalDateTime.parse(position[0]), Integer.valueOf(position[1])));
+        }
+        
+        // Fetch one extra row to know whether another page exists without counting
+        List<Notification> rows = notificationRepository.findBy(spec, query -> query.sortBy(FEED_ORDER).limit(size + 1).all());
+        boolean hasMore = rows.size() > size;
+        List<Notification> page = hasMore ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Notification last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new NotificationFeedDto(page.stream().map(this::convertToDto).toList(), nextCursor);
+    }
+    
     @Override
     @Transactional
     public NotificationDto markAsRead(Integer id) {
         Notification notification = notificationRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Notification not found with ID: " + id));
         
+        boolean wasUnread = !notification.isRead();
         notification.setRead(true);
         Notification savedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(notification.getUser().getId(), List.of(id), 1));
+        }
         log.info("Marked notification {} as read for user {}", id, notification.getUser().getId());
         return convertToDto(savedNotification);
     }
     
     @Override
     @Transactional
-    public void markAllAsRead(UUID userId) {
-        List<Notification> unreadNotifications = notificationRepository.findByUser_IdAndIsReadOrderByCreatedAtDesc(userId, false);
-        unreadNotifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
-        log.info("Marked {} notifications as read for user {}", unreadNotifications.size(), userId);
+    public int markAllAsRead(UUID userId) {
+        int updated = notificationRepository.markAllReadByUserId(userId);
+        publishRead(userId, null, updated);
+        log.info("Marked {} notifications as read for user {}", updated, userId);
+        return updated;
+    }
+    
+    @Override
+    @Transactional
+    public int markAsRead(UUID userId, List<Integer> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        int updated = notificationRepository.markReadByIds(userId, notificationIds);
+        publishRead(userId, List.copyOf(notificationIds), updated);
+        log.info("Marked {} of {} requested notifications as read for user {}", updated, notificationIds.size(), userId);
+        return updated;
+    }
+    
+    @Override
+    @Transactional
+    public int markAsReadByType(UUID userId, NotificationType type) {
+        int updated = notificationRepository.markReadByType(userId, type);
+        publishRead(userId, null, updated);
+        log.info("Marked {} {} notifications as read for user {}", updated, type, userId);
+        return updated;
+    }
+    
+    @Override
+    @Transactional
+    public int markAsReadByTask(UUID userId, Integer taskId) {
+        int updated = notificationRepository.markReadByRelatedTaskId(userId, taskId);
+        publishRead(userId, null, updated);
+        log.info("Marked {} notifications for task {} as read for user {}", updated, taskId, userId);
+        return updated;
     }
     
     @Override
     public long getUnreadCount(UUID userId) {
-        return notificationRepository.countByUser_IdAndIsRead(userId, false);
+        return unreadCountService.getUnreadCount(userId);
     }
     
     @Override
     @Transactional
     public void createTaskCompletedNotification(User hire, Task task) {
-        String message = String.format("Task '%s' has been completed by %s %s", 
-            task.getTitle(), hire.getFirstName(), hire.getLastName());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.TASK_COMPLETED,
+            task.getTitle(), fullName(hire));
         
-        // Notify HR managers about task completion
-        notifyHRManagersForTask(task, message, NotificationType.TASK_COMPLETED);
-        log.info("Created task completed notification for task {} by user {}", task.getId(), hire.getId());
+        // Queued per HR manager so managers on digests get these folded into their summary
+        List<HrUser> hrUsers = hrUserRepository.findCompanyHrUsersByTaskId(task.getId());
+        for (HrUser hrUser : hrUsers) {
+            queue(hrUser.getId(), content, task.getId(), NotificationType.TASK_COMPLETED);
+        }
+        log.info("Queued task completed notification for task {} by user {} to {} HR managers",
+            task.getId(), hire.getId(), hrUsers.size());
     }
     
     @Override
     @Transactional
     public void createDocumentSignedNotification(User hr, Task task) {
-        String message = String.format("Document for task '%s' has been signed and requires your review", task.getTitle());
-        createNotification(hr.getId(), message, task.getId(), NotificationType.DOCUMENT_SIGNED);
-        log.info("Created document signed notification for task {} to HR user {}", task.getId(), hr.getId());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.DOCUMENT_SIGNED, task.getTitle());
+        queue(hr.getId(), content, task.getId(), NotificationType.DOCUMENT_SIGNED);
+        log.info("Queued document signed notification for task {} to HR user {}", task.getId(), hr.getId());
     }
     
     @Override
     @Transactional
     public void createReminderNotification(User hire, Task task) {
-        String message = String.format("Reminder: Task '%s' is due soon. Please complete it.", task.getTitle());
-        createNotification(hire.getId(), message, task.getId(), NotificationType.REMINDER);
-        log.info("Created reminder notification for task {} to user {}", task.getId(), hire.getId());
+        queue(hire.getId(), reminderContent(task), task.getId(), NotificationType.REMINDER);
+        log.info("Queued reminder notification for task {} to user {}", task.getId(), hire.getId());
     }
     
     @Override
     @Transactional
     public void createSignatureRequestNotification(User hire, Task task) {
-        String message = String.format("Please review and sign the document for task '%s'", task.getTitle());
-        createNotification(hire.getId(), message, task.getId(), NotificationType.SIGNATURE_REQUEST);
-        log.info("Created signature request notification for task {} to user {}", task.getId(), hire.getId());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.SIGNATURE_REQUEST, task.getTitle());
+        queue(hire.getId(), content, task.getId(), NotificationType.SIGNATURE_REQUEST);
+        log.info("Queued signature request notification for task {} to user {}", task.getId(), hire.getId());
     }
     
     @Override
     @Transactional
     public void createOverdueTaskNotification(User hire, Task task) {
-        String message = String.format("Task '%s' is overdue. Please complete it as soon as possible.", task.getTitle());
-        createNotification(hire.getId(), message, task.getId(), NotificationType.OVERDUE_TASK);
-        log.info("Created overdue task notification for task {} to user {}", task.getId(), hire.getId());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.OVERDUE_TASK, task.getTitle());
+        queue(hire.getId(), content, task.getId(), NotificationType.OVERDUE_TASK);
+        log.info("Queued overdue task notification for task {} to user {}", task.getId(), hire.getId());
     }
     
     @Override
     @Transactional
     public void notifyHRManagersForTask(Task task, String message, NotificationType type) {
-        // Find all HR users in the same department or company
-        List<HrUser> hrUsers = hrUserRepository.findAll();
-        
-        for (HrUser hrUser : hrUsers) {
-            createNotification(hrUser.getId(), message, task.getId(), type);
-        }
+        // Only the HR users of the company that owns the task's template
+        List<HrUser> hrUsers = hrUserRepository.findCompanyHrUsersByTaskId(task.getId());
+        notificationFanOutService.fanOut(hrUsers, task, NotificationContent.text(message), type);
         
         log.info("Notified {} HR managers about task {} with type {}", hrUsers.size(), task.getId(), type);
     }
     
+    @Override
+    @Transactional
+    public void sendBulkReminders(List<UUID> userIds, Integer taskId, String customMessage) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new RuntimeException("Task not found with ID: " + taskId));
+        NotificationContent content = customMessage != null && !customMessage.trim().isEmpty()
+            ? NotificationContent.text(customMessage)
+            : reminderContent(task);
+        
+        if (notificationFanOutService.shouldRunAsync(userIds.size())) {
+            notificationFanOutService.fanOutToUsersAsync(userIds, taskId, content, NotificationType.REMINDER)
+                .whenComplete((written, error) -> {
+                    if (error != null) {
+                        log.error("Bulk reminder fan-out for task {} failed", taskId, error);
+                    }
+                });
+            log.info("Queued bulk reminders for {} users on task {}", userIds.size(), taskId);
+        } else {
+            notificationFanOutService.fanOutToUsers(userIds, taskId, content, NotificationType.REMINDER);
+        }
+    }
+    
     @Override
     @Transactional
     public void createOnboardingStartedNotification(User hire, User hrManager) {
-        String message = String.format("Onboarding has started for %s %s", 
-            hire.getFirstName(), hire.getLastName());
-        createNotification(hrManager.getId(), message, null, NotificationType.ONBOARDING_STARTED);
-        log.info("Created onboarding started notification for hire {} to HR {}", hire.getId(), hrManager.getId());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.ONBOARDING_STARTED, fullName(hire));
+        queue(hrManager.getId(), content, null, NotificationType.ONBOARDING_STARTED);
+        log.info("Queued onboarding started notification for hire {} to HR {}", hire.getId(), hrManager.getId());
     }
     
     @Override
     @Transactional
     public void createOnboardingCompletedNotification(User hire, User hrManager) {
-        String message = String.format("Onboarding has been completed by %s %s", 
-            hire.getFirstName(), hire.getLastName());
-        createNotification(hrManager.getId(), message, null, NotificationType.ONBOARDING_COMPLETED);
-        log.info("Created onboarding completed notification for hire {} to HR {}", hire.getId(), hrManager.getId());
+        NotificationContent content = NotificationContent.template(NotificationMessageTemplate.ONBOARDING_COMPLETED, fullName(hire));
+        queue(hrManager.getId(), content, null, NotificationType.ONBOARDING_COMPLETED);
+        log.info("Queued onboarding completed notification for hire {} to HR {}", hire.getId(), hrManager.getId());
     }
     
-    private NotificationDto convertToDto(Notification notification) {
-        return convertToDto(notification, determineNotificationType(notification.getMessage()));
+    private String encodeCursor(LocalDateTime createdAt, Integer id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
     
-    private NotificationDto convertToDto(Notification notification, NotificationType type) {
-        NotificationDto dto = new NotificationDto();
-        dto.setId(notification.getId());
-        dto.setUserId(notification.getUser().getId());
-        dto.setUserName(notification.getUser().getFirstName() + " " + notification.getUser().getLastName());
-        dto.setMessage(notification.getMessage());
-        dto.setRead(notification.isRead());
-        dto.setCreatedAt(notification.getCreatedAt());
-        dto.setNotificationType(type.name());
-        
-        if (notification.getRelatedTask() != null) {
-            dto.setRelatedTaskId(notification.getRelatedTask().getId());
-            dto.setRelatedTaskTitle(notification.getRelatedTask().getTitle());
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid feed cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            Integer.parseInt(parts[1]);
+            return parts;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor", e);
         }
-        
-        return dto;
     }
     
-    private NotificationType determineNotificationType(String message) {
-        if (message.contains("completed")) {
-            return NotificationType.TASK_COMPLETED;
-        } else if (message.contains("signed")) {
-            return NotificationType.DOCUMENT_SIGNED;
-        } else if (message.contains("Reminder")) {
-            return NotificationType.REMINDER;
-        } else if (message.contains("overdue")) {
-            return NotificationType.OVERDUE_TASK;
-        } else if (message.contains("sign the document")) {
-            return NotificationType.SIGNATURE_REQUEST;
-        } else if (message.contains("Onboarding has started")) {
-            return NotificationType.ONBOARDING_STARTED;
-        } else if (message.contains("Onboarding has been completed")) {
-            return NotificationType.ONBOARDING_COMPLETED;
-        } else {
-            return NotificationType.GENERAL;
+    private void publishRead(UUID userId, List<Integer> notificationIds, int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(new NotificationsReadEvent(userId, notificationIds, updated));
         }
     }
+    
+    private void queue(UUID userId, NotificationContent content, Integer relatedTaskId, NotificationType type) {
+        eventPublisher.publishEvent(new NotificationRequestedEvent(userId, relatedTaskId, type, content));
+    }
+    
+    private NotificationContent reminderContent(Task task) {
+        return NotificationContent.template(NotificationMessageTemplate.REMINDER, task.getTitle());
+    }
+    
+    private String fullName(User user) {
+        return user.getFirstName() + " " + user.getLastName();
+    }
+    
+    private NotificationDto convertToDto(Notification notification) {
+        return NotificationMapper.notificationToDto(notification, notificationTemplateService.render(notification));
+    }
+    
+    private NotificationDto convertToDto(Notification notification, NotificationType type) {
+        return NotificationMapper.notificationToDto(notification, type, notificationTemplateService.render(notification));
+    }
 }
\ No newline at end of file
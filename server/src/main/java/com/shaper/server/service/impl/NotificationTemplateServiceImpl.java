@@ -0,0 +1,93 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.mapper.NotificationMapper;
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.entity.NotificationTemplate;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
+import com.shaper.server.repository.NotificationTemplateRepository;
+import com.shaper.server.service.NotificationTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders notifications from template bodies held in memory. The table is read on first use and
+ * again every {@code notifications.templates.refresh-interval-ms}; templates without a row fall
+ * back to the wording built into {@link NotificationMessageTemplate}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationTemplateServiceImpl implements NotificationTemplateService {
+    
+    private final NotificationTemplateRepository notificationTemplateRepository;
+    private volatile Map<NotificationMessageTemplate, String> bodies;
+    
+    @Override
+    public String render(NotificationContent content) {
+        if (content.getTemplate() == null) {
+            return content.getMessage();
+        }
+        return fill(bodyOf(content.getTemplate()), content.getParams());
+    }
+    
+    @Override
+    public String render(Notification notification) {
+        if (notification.getTemplateCode() == null) {
+            return notification.getMessage();
+        }
+        return render(NotificationMapper.contentOf(notification));
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.templates.refresh-interval-ms:300000}")
+    public int refresh() {
+        Map<NotificationMessageTemplate, String> loaded = new EnumMap<>(NotificationMessageTemplate.class);
+        for (NotificationTemplate template : notificationTemplateRepository.findAll()) {
+            loaded.put(template.getCode(), template.getBody());
+        }
+        bodies = loaded;
+        log.debug("Loaded {} notification templates", loaded.size());
+        return loaded.size();
+    }
+    
+    private String bodyOf(NotificationMessageTemplate template) {
+        Map<NotificationMessageTemplate, String> current = bodies;
+        if (current == null) {
+            refresh();
+            current = bodies;
+        }
+        return current.getOrDefault(template, template.getDefaultBody());
+    }
+    
+    private String fill(String body, List<String> params) {
+        // Plain {n} substitution; MessageFormat would treat the apostrophes in the bodies as quoting
+        StringBuilder text = new StringBuilder(body.length() + 32);
+        int position = 0;
+        while (position < body.length()) {
+            int open = body.indexOf('{', position);
+            int close = open < 0 ? -1 : body.indexOf('}', open);
+            if (close < 0) {
+                text.append(body, position, body.length());
+                break;
+            }
+            text.append(body, position, open);
+            String placeholder = body.substring(open + 1, close);
+            int index = placeholder.chars().allMatch(Character::isDigit) && !placeholder.isEmpty()
+                ? Integer.parseInt(placeholder) : -1;
+            if (index >= 0 && index < params.size()) {
+                text.append(params.get(index));
+            } else {
+                text.append(body, open, close + 1);
+            }
+            position = close + 1;
+        }
+        return text.toString();
+    }
+}
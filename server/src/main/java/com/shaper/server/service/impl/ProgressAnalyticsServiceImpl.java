@@ -0,0 +1,88 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.service.ProgressAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers progress group-by queries from a per-company columnar snapshot. With the snapshot
+ * disabled every query builds a throwaway partition from only the rows its filter matches,
+ * so results are identical either way and only the retention differs.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressAnalyticsServiceImpl implements ProgressAnalyticsService {
+    
+    private final ProgressRepository progressRepository;
+    private final Map<Integer, ProgressColumnarPartition> partitions = new ConcurrentHashMap<>();
+    
+    @Value("${analytics.columnar.enabled:false}")
+    private boolean snapshotEnabled;
+    
+    @Override
+    public List<ProgressGroupDto> groupBy(Integer companyId, AnalyticsDimension dimension, 
+                                          ProgressAnalyticsFilter filter) {
+        ProgressAnalyticsFilter effectiveFilter = filter != null ? filter : new ProgressAnalyticsFilter();
+        LocalDate today = LocalDate.now();
+        ProgressColumnarPartition partition = snapshotEnabled
+            ? partitions.computeIfAbsent(companyId, this::loadPartition)
+            : loadMatching(companyId, effectiveFilter, today);
+        return partition.groupBy(dimension, effectiveFilter, today);
+    }
+    
+    @Override
+    public void evictCompany(Integer companyId) {
+        partitions.remove(companyId);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressChanged(ProgressChangedEvent event) {
+        if (!snapshotEnabled || partitions.isEmpty()) {
+            return;
+        }
+        // Every retained partition is reconciled, so rows of deleted progress records are dropped too
+        Map<Integer, List<ProgressFactDto>> factsByCompany = new HashMap<>();
+        for (ProgressFactDto fact : progressRepository.findFactsByHireId(event.getHireId())) {
+            if (event.getTemplateId() == null || event.getTemplateId().equals(fact.getTemplateId())) {
+                factsByCompany.computeIfAbsent(fact.getCompanyId(), key -> new ArrayList<>()).add(fact);
+            }
+        }
+        partitions.forEach((companyId, partition) -> partition.replaceHire(event.getHireId(), event.getTemplateId(),
+            factsByCompany.getOrDefault(companyId, List.of())));
+    }
+    
+    private ProgressColumnarPartition loadMatching(Integer companyId, ProgressAnalyticsFilter filter, LocalDate today) {
+        // The partition keeps rows created on or before today minus the minimum age
+        LocalDateTime createdBefore = filter.getMinAgeDays() != null
+            ? today.minusDays(filter.getMinAgeDays() - 1L).atStartOfDay() : null;
+        return new ProgressColumnarPartition(progressRepository.findFactsByCompanyIdMatching(companyId,
+            filter.getDepartmentId(), filter.getTemplateId(), filter.getHrId(), createdBefore));
+    }
+    
+    private ProgressColumnarPartition loadPartition(Integer companyId) {
+        long start = System.nanoTime();
+        ProgressColumnarPartition partition = 
+            new ProgressColumnarPartition(progressRepository.findFactsByCompanyId(companyId));
+        log.debug("Loaded {} progress rows for company {} into columnar snapshot in {} ms", 
+                 partition.size(), companyId, (System.nanoTime() - start) / 1_000_000);
+        return partition;
+    }
+}
@@ -0,0 +1,98 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressDeltaDto;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.service.ProgressBoardService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams progress deltas to HR dashboards. Changes are coalesced per hire and flushed on a
+ * short window, so a burst of todo completions for one hire becomes a single delta per
+ * progress record. Delivery and slow-client handling live in {@link SseHub}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProgressBoardServiceImpl implements ProgressBoardService {
+    
+    static final String PROGRESS_EVENT = "progress";
+    
+    private final ProgressRepository progressRepository;
+    private final SseHub<UUID> hub = new SseHub<>("progress board");
+    private final Set<UUID> dirtyHires = ConcurrentHashMap.newKeySet();
+    
+    @Value("${progress-board.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs = 1_800_000L;
+    
+    @Value("${progress-board.subscriber-buffer:256}")
+    private int subscriberBuffer = 256;
+    
+    @Override
+    public SseEmitter subscribe(UUID hrId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        register(hrId, emitter);
+        return emitter;
+    }
+    
+    @Override
+    public int getSubscriberCount(UUID hrId) {
+        return hub.getSubscriberCount(hrId);
+    }
+    
+    SseHub.Subscriber<UUID> register(UUID hrId, SseEmitter emitter) {
+        return hub.register(hrId, emitter, subscriberBuffer);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressChanged(ProgressChangedEvent event) {
+        if (!hub.isEmpty()) {
+            dirtyHires.add(event.getHireId());
+        }
+    }
+    
+    /**
+     * Publish one delta per changed progress record, however many events hit the hire in the window.
+     */
+    @Scheduled(fixedDelayString = "${progress-board.coalesce-window-ms:500}")
+    public void flush() {
+        if (dirtyHires.isEmpty()) {
+            return;
+        }
+        List<UUID> hires = new ArrayList<>(dirtyHires);
+        dirtyHires.removeAll(hires);
+        
+        for (UUID hireId : hires) {
+            for (ProgressFactDto fact : progressRepository.findFactsByHireId(hireId)) {
+                if (!hub.hasSubscribers(fact.getHrId())) {
+                    continue;
+                }
+                ProgressDeltaDto delta = new ProgressDeltaDto(hireId, fact.getTemplateId(), fact.getDepartmentId(),
+                    fact.getCompletionPercentage(), fact.getCompletedTasks(), fact.getTotalTasks());
+                hub.publish(fact.getHrId(), new SseHub.Message(null, PROGRESS_EVENT, delta));
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${progress-board.heartbeat-ms:30000}")
+    public void heartbeat() {
+        hub.heartbeat();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        hub.shutdown();
+    }
+}
@@ -0,0 +1,293 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar snapshot of the progress rows of one company. Every attribute lives in its own
+ * primitive array and the grouping dimensions are dictionary encoded, so a group-by is a
+ * tight loop over int codes that splits cleanly across cores.
+ */
+class ProgressColumnarPartition {
+    
+    static final String UNASSIGNED = "unassigned";
+    static final String[] AGE_BUCKETS = {"0-7", "8-30", "31-90", "90+"};
+    
+    private static final int INITIAL_CAPACITY = 1024;
+    // Below this a scan takes well under a millisecond and fork/join overhead outweighs the split;
+    // see ProgressAnalyticsBenchmark (mvn -Pjmh)
+    private static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int NONE = -1;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Integer> rowByProgressId = new HashMap<>();
+    private final Map<UUID, Set<Integer>> progressIdsByHire = new HashMap<>();
+    private final Dictionary departments = new Dictionary();
+    private final Dictionary templates = new Dictionary();
+    private final Dictionary hrUsers = new Dictionary();
+    private final int parallelThreshold;
+    
+    private int size;
+    private int[] progressIds = new int[INITIAL_CAPACITY];
+    private int[] departmentCodes = new int[INITIAL_CAPACITY];
+    private int[] templateCodes = new int[INITIAL_CAPACITY];
+    private int[] hrCodes = new int[INITIAL_CAPACITY];
+    private double[] completion = new double[INITIAL_CAPACITY];
+    private int[] completedTasks = new int[INITIAL_CAPACITY];
+    private int[] totalTasks = new int[INITIAL_CAPACITY];
+    private long[] createdEpochDay = new long[INITIAL_CAPACITY];
+    
+    ProgressColumnarPartition(Collection<ProgressFactDto> facts) {
+        this(facts, PARALLEL_THRESHOLD);
+    }
+    
+    ProgressColumnarPartition(Collection<ProgressFactDto> facts, int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        facts.forEach(this::write);
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the rows of one hire by its current facts. Rows of the hire that are missing from
+     * {@code facts} belong to deleted progress records and are dropped; with a template ID only
+     * the rows of that template are considered.
+     */
+    void replaceHire(UUID hireId, Integer templateId, Collection<ProgressFactDto> facts) {
+        lock.writeLock().lock();
+        try {
+            Set<Integer> current = new HashSet<>();
+            facts.forEach(fact -> current.add(fact.getProgressId()));
+            int templateCode = templateId != null ? templates.find(templateId) : NONE;
+            for (Integer progressId : List.copyOf(progressIdsByHire.getOrDefault(hireId, Set.of()))) {
+                int row = rowByProgressId.get(progressId);
+                if (!current.contains(progressId) && (templateId == null || templateCodes[row] == templateCode)) {
+                    remove(hireId, progressId, row);
+                }
+            }
+            facts.forEach(this::write);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    List<ProgressGroupDto> groupBy(AnalyticsDimension dimension, ProgressAnalyticsFilter filter, LocalDate today) {
+        lock.readLock().lock();
+        try {
+            int departmentFilter = filter.getDepartmentId() != null ? departments.find(filter.getDepartmentId()) : NONE;
+            int templateFilter = filter.getTemplateId() != null ? templates.find(filter.getTemplateId()) : NONE;
+            int hrFilter = filter.getHrId() != null ? hrUsers.find(filter.getHrId()) : NONE;
+            if ((filter.getDepartmentId() != null && departmentFilter == NONE)
+                || (filter.getTemplateId() != null && templateFilter == NONE)
+                || (filter.getHrId() != null && hrFilter == NONE)) {
+                return List.of();
+            }
+            long maxCreatedDay = filter.getMinAgeDays() != null 
+                ? today.toEpochDay() - filter.getMinAgeDays() : Long.MAX_VALUE;
+            
+            int groups = switch (dimension) {
+                case DEPARTMENT -> departments.size();
+                case TEMPLATE -> templates.size();
+                case HR -> hrUsers.size();
+                case AGE -> AGE_BUCKETS.length;
+            };
+            long todayEpochDay = today.toEpochDay();
+            
+            int chunks = size < parallelThreshold ? 1 : Runtime.getRuntime().availableProcessors();
+            int chunkSize = (size + chunks - 1) / chunks;
+            IntStream chunkStream = IntStream.range(0, chunks);
+            if (chunks > 1) {
+                chunkStream = chunkStream.parallel();
+            }
+            Accumulator total = chunkStream
+                .mapToObj(chunk -> {
+                    Accumulator acc = new Accumulator(groups);
+                    int end = Math.min(size, (chunk + 1) * chunkSize);
+                    for (int row = chunk * chunkSize; row < end; row++) {
+                        if ((departmentFilter != NONE && departmentCodes[row] != departmentFilter)
+                            || (templateFilter != NONE && templateCodes[row] != templateFilter)
+                            || (hrFilter != NONE && hrCodes[row] != hrFilter)
+                            || createdEpochDay[row] > maxCreatedDay) {
+                            continue;
+                        }
+                        int group = switch (dimension) {
+                            case DEPARTMENT -> departmentCodes[row];
+                            case TEMPLATE -> templateCodes[row];
+                            case HR -> hrCodes[row];
+                            case AGE -> ageBucket(todayEpochDay - createdEpochDay[row]);
+                        };
+                        acc.add(group, completion[row], completedTasks[row], totalTasks[row]);
+                    }
+                    return acc;
+                })
+                .reduce(Accumulator::merge)
+                .orElseGet(() -> new Accumulator(groups));
+            
+            List<ProgressGroupDto> result = new ArrayList<>();
+            for (int group = 0; group < groups; group++) {
+                if (total.count[group] == 0) {
+                    continue;
+                }
+                String key = switch (dimension) {
+                    case DEPARTMENT -> departments.label(group);
+                    case TEMPLATE -> templates.label(group);
+                    case HR -> hrUsers.label(group);
+                    case AGE -> AGE_BUCKETS[group];
+                };
+                result.add(new ProgressGroupDto(key, total.count[group], total.completed[group],
+                    total.completionSum[group] / total.count[group],
+                    total.completedTasks[group], total.totalTasks[group]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void write(ProgressFactDto fact) {
+        Integer row = rowByProgressId.get(fact.getProgressId());
+        if (row == null) {
+            ensureCapacity(size + 1);
+            row = size++;
+            rowByProgressId.put(fact.getProgressId(), row);
+            progressIds[row] = fact.getProgressId();
+            progressIdsByHire.computeIfAbsent(fact.getHireId(), key -> new HashSet<>()).add(fact.getProgressId());
+        }
+        departmentCodes[row] = departments.encode(fact.getDepartmentId());
+        templateCodes[row] = templates.encode(fact.getTemplateId());
+        hrCodes[row] = hrUsers.encode(fact.getHrId());
+        completion[row] = fact.getCompletionPercentage() != null ? fact.getCompletionPercentage() : 0.0;
+        completedTasks[row] = fact.getCompletedTasks() != null ? fact.getCompletedTasks() : 0;
+        totalTasks[row] = fact.getTotalTasks() != null ? fact.getTotalTasks() : 0;
+        createdEpochDay[row] = fact.getCreatedAt() != null ? fact.getCreatedAt().toLocalDate().toEpochDay() : 0L;
+    }
+    
+    /**
+     * Moves the last row into the freed slot so the columns stay dense.
+     */
+    private void remove(UUID hireId, int progressId, int row) {
+        int last = --size;
+        if (row != last) {
+            progressIds[row] = progressIds[last];
+            departmentCodes[row] = departmentCodes[last];
+            templateCodes[row] = templateCodes[last];
+            hrCodes[row] = hrCodes[last];
+            completion[row] = completion[last];
+            completedTasks[row] = completedTasks[last];
+            totalTasks[row] = totalTasks[last];
+            createdEpochDay[row] = createdEpochDay[last];
+            rowByProgressId.put(progressIds[row], row);
+        }
+        rowByProgressId.remove(progressId);
+        Set<Integer> hireRows = progressIdsByHire.get(hireId);
+        hireRows.remove(progressId);
+        if (hireRows.isEmpty()) {
+            progressIdsByHire.remove(hireId);
+        }
+    }
+    
+    private void ensureCapacity(int required) {
+        if (required <= completion.length) {
+            return;
+        }
+        int capacity = Math.max(required, completion.length * 2);
+        progressIds = Arrays.copyOf(progressIds, capacity);
+        departmentCodes = Arrays.copyOf(departmentCodes, capacity);
+        templateCodes = Arrays.copyOf(templateCodes, capacity);
+        hrCodes = Arrays.copyOf(hrCodes, capacity);
+        completion = Arrays.copyOf(completion, capacity);
+        completedTasks = Arrays.copyOf(completedTasks, capacity);
+        totalTasks = Arrays.copyOf(totalTasks, capacity);
+        createdEpochDay = Arrays.copyOf(createdEpochDay, capacity);
+    }
+    
+    private static int ageBucket(long ageDays) {
+        if (ageDays <= 7) {
+            return 0;
+        }
+        if (ageDays <= 30) {
+            return 1;
+        }
+        return ageDays <= 90 ? 2 : 3;
+    }
+    
+    /**
+     * Maps dimension values to dense int codes; null is encoded like any other value.
+     */
+    private static final class Dictionary {
+        private final Map<Object, Integer> codes = new HashMap<>();
+        private final List<Object> values = new ArrayList<>();
+        
+        int encode(Object value) {
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+        
+        int find(Object value) {
+            return codes.getOrDefault(value, NONE);
+        }
+        
+        int size() {
+            return values.size();
+        }
+        
+        String label(int code) {
+            Object value = values.get(code);
+            return value != null ? value.toString() : UNASSIGNED;
+        }
+    }
+    
+    private static final class Accumulator {
+        private final long[] count;
+        private final long[] completed;
+        private final double[] completionSum;
+        private final long[] completedTasks;
+        private final long[] totalTasks;
+        
+        Accumulator(int groups) {
+            count = new long[groups];
+            completed = new long[groups];
+            completionSum = new double[groups];
+            completedTasks = new long[groups];
+            totalTasks = new long[groups];
+        }
+        
+        void add(int group, double completion, int completedTaskCount, int totalTaskCount) {
+            count[group]++;
+            if (completion >= 100.0) {
+                completed[group]++;
+            }
+            completionSum[group] += completion;
+            completedTasks[group] += completedTaskCount;
+            totalTasks[group] += totalTaskCount;
+        }
+        
+        Accumulator merge(Accumulator other) {
+            for (int group = 0; group < count.length; group++) {
+                count[group] += other.count[group];
+                completed[group] += other.completed[group];
+                completionSum[group] += other.completionSum[group];
+                completedTasks[group] += other.completedTasks[group];
+                totalTasks[group] += other.totalTasks[group];
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressRankingDto;
+import com.shaper.server.model.enums.RankingOrder;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.service.ProgressRankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the progress of each company in skip lists ordered by completion and then age, so the
+ * slowest onboardings are at the head and the fastest at the tail. A top-N read is a seek plus
+ * N steps; only the N winners are then loaded from the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressRankingServiceImpl implements ProgressRankingService {
+    
+    static final int MAX_LIMIT = 100;
+    
+    private final ProgressRepository progressRepository;
+    private final Map<Integer, CompanyIndex> companies = new ConcurrentHashMap<>();
+    
+    @Value("${ranking.warm-on-startup:true}")
+    private boolean warmOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmOnStartup) {
+            rebuild();
+        }
+    }
+    
+    @Override
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<Integer, CompanyIndex> rebuilt = new HashMap<>();
+        List<ProgressFactDto> facts = progressRepository.findAllFacts();
+        for (ProgressFactDto fact : facts) {
+            rebuilt.computeIfAbsent(fact.getCompanyId(), id -> new CompanyIndex()).upsert(fact);
+        }
+        companies.putAll(rebuilt);
+        companies.keySet().retainAll(rebuilt.keySet());
+        log.info("Rebuilt progress ranking index for {} companies ({} rows) in {} ms",
+                 rebuilt.size(), facts.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    @Override
+    public List<ProgressRankingDto> getTopN(Integer companyId, Integer departmentId, RankingOrder order, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        CompanyIndex index = companies.computeIfAbsent(companyId, this::loadCompany);
+        List<Integer> progressIds = index.top(departmentId, order, limit);
+        if (progressIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Integer, ProgressRankingDto> rows = progressRepository.findRankingsByIds(progressIds).stream()
+            .collect(Collectors.toMap(ProgressRankingDto::getProgressId, Function.identity()));
+        List<ProgressRankingDto> ranking = new ArrayList<>(progressIds.size());
+        for (Integer progressId : progressIds) {
+            ProgressRankingDto row = rows.get(progressId);
+            if (row != null) {
+                row.setRank(ranking.size() + 1);
+                ranking.add(row);
+            }
+        }
+        return ranking;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProgressChanged(ProgressChangedEvent event) {
+        if (companies.isEmpty()) {
+            return;
+        }
+        for (ProgressFactDto fact : progressRepository.findFactsByHireId(event.getHireId())) {
+            CompanyIndex index = companies.get(fact.getCompanyId());
+            if (index != null) {
+                index.upsert(fact);
+            }
+        }
+    }
+    
+    private CompanyIndex loadCompany(Integer companyId) {
+        CompanyIndex index = new CompanyIndex();
+        progressRepository.findFactsByCompanyId(companyId).forEach(index::upsert);
+        return index;
+    }
+    
+    private record RankEntry(double completion, long createdAt, int progressId, Integer departmentId) {
+        
+        static final Comparator<RankEntry> ORDER = Comparator
+            .comparingDouble(RankEntry::completion)
+            .thenComparingLong(RankEntry::createdAt)
+            .thenComparingInt(RankEntry::progressId);
+        
+        static RankEntry of(ProgressFactDto fact) {
+            double completion = fact.getCompletionPercentage() != null ? fact.getCompletionPercentage() : 0.0;
+            long createdAt = fact.getCreatedAt() != null ? fact.getCreatedAt().toEpochSecond(ZoneOffset.UTC) : 0L;
+            return new RankEntry(completion, createdAt, fact.getProgressId(), fact.getDepartmentId());
+        }
+    }
+    
+    /**
+     * Ordered indexes of one company, overall and per department.
+     */
+    static final class CompanyIndex {
+        private final ConcurrentSkipListSet<RankEntry> all = new ConcurrentSkipListSet<>(RankEntry.ORDER);
+        private final Map<Integer, ConcurrentSkipListSet<RankEntry>> byDepartment = new ConcurrentHashMap<>();
+        private final Map<Integer, RankEntry> byProgress = new ConcurrentHashMap<>();
+        
+        void upsert(ProgressFactDto fact) {
+            RankEntry entry = RankEntry.of(fact);
+            byProgress.compute(entry.progressId(), (id, previous) -> {
+                if (previous != null) {
+                    all.remove(previous);
+                    if (previous.departmentId() != null) {
+                        byDepartment.get(previous.departmentId()).remove(previous);
+                    }
+                }
+                all.add(entry);
+                if (entry.departmentId() != null) {
+                    byDepartment.computeIfAbsent(entry.departmentId(), 
+                        departmentId -> new ConcurrentSkipListSet<>(RankEntry.ORDER)).add(entry);
+                }
+                return entry;
+            });
+        }
+        
+        List<Integer> top(Integer departmentId, RankingOrder order, int limit) {
+            NavigableSet<RankEntry> source = departmentId != null
+                ? byDepartment.getOrDefault(departmentId, new ConcurrentSkipListSet<>(RankEntry.ORDER))
+                : all;
+            Iterator<RankEntry> iterator = order == RankingOrder.SLOWEST 
+                ? source.iterator() : source.descendingIterator();
+            
+            List<Integer> progressIds = new ArrayList<>(limit);
+            while (iterator.hasNext() && progressIds.size() < limit) {
+                progressIds.add(iterator.next().progressId());
+            }
+            return progressIds;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.CompletionDistributionDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.ProgressCountsDto;
+import com.shaper.server.model.entity.*;
+import com.shaper.server.repository.CompanyDepartmentRepository;
+import com.shaper.server.repository.CompanyProgressRollupRepository;
+import com.shaper.server.repository.DepartmentProgressRollupRepository;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.service.ProgressRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressRollupServiceImpl implements ProgressRollupService {
+    
+    private static final double COMPLETION_SUM_TOLERANCE = 0.01;
+    
+    private final DepartmentProgressRollupRepository departmentRollupRepository;
+    private final CompanyProgressRollupRepository companyRollupRepository;
+    private final CompanyDepartmentRepository departmentRepository;
+    private final ProgressRepository progressRepository;
+    
+    @Override
+    @Transactional
+    public void initializeDepartment(CompanyDepartment department) {
+        if (departmentRollupRepository.existsById(department.getId())) {
+            return;
+        }
+        DepartmentProgressRollup rollup = new DepartmentProgressRollup();
+        rollup.setDepartmentId(department.getId());
+        rollup.setCompanyId(department.getCompany().getId());
+        departmentRollupRepository.save(rollup);
+    }
+    
+    @Override
+    @Transactional
+    public void removeDepartment(Integer departmentId) {
+        if (departmentRollupRepository.existsById(departmentId)) {
+            departmentRollupRepository.deleteById(departmentId);
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void onProgressCreated(Hire hire, double completionPercentage) {
+        CompanyDepartment department = hire.getDepartment();
+        if (department == null) {
+            return;
+        }
+        applyToDepartmentAndCompany(department.getId(), department.getCompany().getId(),
+            RollupDelta.ofProgress(completionPercentage));
+    }
+    
+    @Override
+    @Transactional
+    public void onProgressCountsChanged(UUID hireId, Integer templateId, int completedDelta, int totalDelta) {
+        Optional<ProgressCountsDto> counts = progressRepository.findCountsByHireIdAndTemplateId(hireId, templateId);
+        if (counts.isEmpty() || counts.get().getDepartmentId() == null) {
+            return;
+        }
+        
+        // The counter update holds the row lock, so the values read here are exactly its result
+        ProgressCountsDto current = counts.get();
+        double newPercentage = percentage(current.getCompletedTasks(), current.getTotalTasks());
+        double previousPercentage = percentage(current.getCompletedTasks() - completedDelta, 
+                                               current.getTotalTasks() - totalDelta);
+        
+        RollupDelta delta = RollupDelta.ofProgress(newPercentage).minus(RollupDelta.ofProgress(previousPercentage));
+        applyToDepartmentAndCompany(current.getDepartmentId(), current.getCompanyId(), delta);
+    }
+    
+    @Override
+    @Transactional
+    public void onProgressPercentageChanged(Hire hire, double previousPercentage, double newPercentage) {
+        CompanyDepartment department = hire.getDepartment();
+        if (department == null || previousPercentage == newPercentage) {
+            return;
+        }
+        RollupDelta delta = RollupDelta.ofProgress(newPercentage).minus(RollupDelta.ofProgress(previousPercentage));
+        applyToDepartmentAndCompany(department.getId(), department.getCompany().getId(), delta);
+    }
+    
+    @Override
+    @Transactional
+    public void onHireDepartmentChanged(UUID hireId, CompanyDepartment previousDepartment, 
+                                        CompanyDepartment newDepartment) {
+        Integer previousId = previousDepartment != null ? previousDepartment.getId() : null;
+        Integer newId = newDepartment != null ? newDepartment.getId() : null;
+        if (Objects.equals(previousId, newId)) {
+            return;
+        }
+        
+        RollupDelta hireDelta = RollupDelta.ofHire();
+        for (Double completion : progressRepository.findCompletionPercentagesByHireId(hireId)) {
+            hireDelta = hireDelta.plus(RollupDelta.ofProgress(completion));
+        }
+        
+        Integer previousCompanyId = previousDepartment != null ? previousDepartment.getCompany().getId() : null;
+        Integer newCompanyId = newDepartment != null ? newDepartment.getCompany().getId() : null;
+        boolean sameCompany = Objects.equals(previousCompanyId, newCompanyId);
+        
+        // A rebuild recounts the whole company from the source tables, so the move is already in it
+        boolean previousRebuilt = false;
+        if (previousDepartment != null) {
+            previousRebuilt = applyToDepartment(previousId, previousCompanyId, hireDelta.negate());
+            if (!sameCompany && !previousRebuilt) {
+                applyToCompany(previousCompanyId, hireDelta.negate());
+            }
+        }
+        if (newDepartment != null && !(sameCompany && previousRebuilt)) {
+            boolean newRebuilt = applyToDepartment(newId, newCompanyId, hireDelta);
+            if (!sameCompany && !newRebuilt) {
+                applyToCompany(newCompanyId, hireDelta);
+            }
+        }
+        log.debug("Moved rollups of hire {} from department {} to {}", hireId, previousId, newId);
+    }
+    
+    @Override
+    public List<DepartmentProgressSummaryDto> getDepartmentSummaries(Integer companyId) {
+        return departmentRollupRepository.findSummariesByCompanyId(companyId);
+    }
+    
+    @Override
+    public Optional<DepartmentProgressSummaryDto> getDepartmentSummary(Integer departmentId) {
+        return departmentRollupRepository.findSummaryByDepartmentId(departmentId);
+    }
+    
+    @Override
+    public CompanyProgressRollup getCompanyRollup(Integer companyId) {
+        return companyRollupRepository.findById(companyId).orElseGet(() -> {
+            CompanyProgressRollup empty = new CompanyProgressRollup();
+            empty.setCompanyId(companyId);
+            return empty;
+        });
+    }
+    
+    @Override
+    @Transactional
+    public int rebuildCompany(Integer companyId) {
+        List<DepartmentProgressSummaryDto> actual = departmentRepository.summarizeProgressByCompanyId(companyId);
+        Map<Integer, DepartmentProgressRollup> existing = new HashMap<>();
+        departmentRollupRepository.findByCompanyId(companyId)
+            .forEach(rollup -> existing.put(rollup.getDepartmentId(), rollup));
+        
+        int repaired = 0;
+        CompanyProgressRollup companyTotals = new CompanyProgressRollup();
+        companyTotals.setCompanyId(companyId);
+        
+        for (DepartmentProgressSummaryDto summary : actual) {
+            DepartmentProgressRollup expected = new DepartmentProgressRollup();
+            expected.setDepartmentId(summary.getDepartmentId());
+            expected.setCompanyId(companyId);
+            copyCounters(summary, expected);
+            addCounters(companyTotals, expected);
+            
+            DepartmentProgressRollup current = existing.get(summary.getDepartmentId());
+            if (current == null || !countersMatch(current, expected)) {
+                departmentRollupRepository.save(expected);
+                repaired++;
+            }
+        }
+        
+        Set<Integer> departmentIds = new HashSet<>();
+        actual.forEach(summary -> departmentIds.add(summary.getDepartmentId()));
+        // NOT IN with an empty list is not portable SQL, and every row is stale anyway
+        repaired += departmentIds.isEmpty()
+            ? departmentRollupRepository.deleteByCompanyId(companyId)
+            : departmentRollupRepository.deleteStaleRollups(companyId, departmentIds);
+        
+        Optional<CompanyProgressRollup> currentCompany = companyRollupRepository.findById(companyId);
+        if (currentCompany.isEmpty() || !countersMatch(currentCompany.get(), companyTotals)) {
+            companyRollupRepository.save(companyTotals);
+            repaired++;
+        }
+        
+        if (repaired > 0) {
+            log.info("Repaired {} progress rollup rows for company {}", repaired, companyId);
+        }
+        return repaired;
+    }
+    
+    private void applyToDepartmentAndCompany(Integer departmentId, Integer companyId, RollupDelta delta) {
+        if (!applyToDepartment(departmentId, companyId, delta)) {
+            applyToCompany(companyId, delta);
+        }
+    }
+    
+    /**
+     * @return true if the department row was missing and the company was rebuilt instead
+     */
+    private boolean applyToDepartment(Integer departmentId, Integer companyId, RollupDelta delta) {
+        if (delta.isEmpty()) {
+            return false;
+        }
+        int updated = departmentRollupRepository.applyDelta(departmentId, delta.hires, delta.active, delta.completed,
+            delta.completionSum, delta.notStarted, delta.started, delta.inProgress, delta.nearCompletion,
+            LocalDateTime.now());
+        if (updated == 0) {
+            // No row yet: rebuild from the source tables, which already include this change
+            log.debug("Missing rollup for department {}, rebuilding company {}", departmentId, companyId);
+            rebuildCompany(companyId);
+            return true;
+        }
+        return false;
+    }
+    
+    private void applyToCompany(Integer companyId, RollupDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        int updated = companyRollupRepository.applyDelta(companyId, delta.hires, delta.active, delta.completed,
+            delta.completionSum, delta.notStarted, delta.started, delta.inProgress, delta.nearCompletion,
+            LocalDateTime.now());
+        if (updated == 0) {
+            log.debug("Missing rollup for company {}, rebuilding", companyId);
+            rebuildCompany(companyId);
+        }
+    }
+    
+    private static double percentage(int completedTasks, int totalTasks) {
+        return totalTasks > 0 ? (completedTasks * 100.0) / totalTasks : 0.0;
+    }
+    
+    private static void copyCounters(DepartmentProgressSummaryDto summary, ProgressRollup target) {
+        CompletionDistributionDto distribution = summary.getCompletionDistribution();
+        long tracked = summary.getActiveHires() + summary.getCompletedHires();
+        target.setHireCount(summary.getTotalHires());
+        target.setActiveCount(summary.getActiveHires());
+        target.setCompletedCount(summary.getCompletedHires());
+        target.setCompletionSum(summary.getAverageCompletion() * tracked);
+        target.setNotStartedCount(distribution.getNotStarted());
+        target.setStartedCount(distribution.getStarted());
+        target.setInProgressCount(distribution.getInProgress());
+        target.setNearCompletionCount(distribution.getNearCompletion());
+    }
+    
+    private static void addCounters(ProgressRollup target, ProgressRollup source) {
+        target.setHireCount(target.getHireCount() + source.getHireCount());
+        target.setActiveCount(target.getActiveCount() + source.getActiveCount());
+        target.setCompletedCount(target.getCompletedCount() + source.getCompletedCount());
+        target.setCompletionSum(target.getCompletionSum() + source.getCompletionSum());
+        target.setNotStartedCount(target.getNotStartedCount() + source.getNotStartedCount());
+        target.setStartedCount(target.getStartedCount() + source.getStartedCount());
+        target.setInProgressCount(target.getInProgressCount() + source.getInProgressCount());
+        target.setNearCompletionCount(target.getNearCompletionCount() + source.getNearCompletionCount());
+    }
+    
+    private static boolean countersMatch(ProgressRollup current, ProgressRollup expected) {
+        return current.getHireCount() == expected.getHireCount()
+            && current.getActiveCount() == expected.getActiveCount()
+            && current.getCompletedCount() == expected.getCompletedCount()
+            && current.getNotStartedCount() == expected.getNotStartedCount()
+            && current.getStartedCount() == expected.getStartedCount()
+            && current.getInProgressCount() == expected.getInProgressCount()
+            && current.getNearCompletionCount() == expected.getNearCompletionCount()
+            && Math.abs(current.getCompletionSum() - expected.getCompletionSum()) < COMPLETION_SUM_TOLERANCE;
+    }
+    
+    /**
+     * Signed change to every rollup counter, built from the contribution of single hires and progress records.
+     */
+    static final class RollupDelta {
+        private final long hires;
+        private final long active;
+        private final long completed;
+        private final double completionSum;
+        private final long notStarted;
+        private final long started;
+        private final long inProgress;
+        private final long nearCompletion;
+        
+        private RollupDelta(long hires, long active, long completed, double completionSum,
+                            long notStarted, long started, long inProgress, long nearCompletion) {
+            this.hires = hires;
+            this.active = active;
+            this.completed = completed;
+            this.completionSum = completionSum;
+            this.notStarted = notStarted;
+            this.started = started;
+            this.inProgress = inProgress;
+            this.nearCompletion = nearCompletion;
+        }
+        
+        static RollupDelta ofHire() {
+            return new RollupDelta(1, 0, 0, 0.0, 0, 0, 0, 0);
+        }
+        
+        static RollupDelta ofProgress(double completion) {
+            boolean done = completion >= 100.0;
+            return new RollupDelta(0, done ? 0 : 1, done ? 1 : 0, completion,
+                completion < 25.0 ? 1 : 0,
+                completion >= 25.0 && completion < 50.0 ? 1 : 0,
+                completion >= 50.0 && completion < 75.0 ? 1 : 0,
+                completion >= 75.0 && completion < 100.0 ? 1 : 0);
+        }
+        
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(hires + other.hires, active + other.active, completed + other.completed,
+                completionSum + other.completionSum, notStarted + other.notStarted, started + other.started,
+                inProgress + other.inProgress, nearCompletion + other.nearCompletion);
+        }
+        
+        RollupDelta negate() {
+            return new RollupDelta(-hires, -active, -completed, -completionSum,
+                -notStarted, -started, -inProgress, -nearCompletion);
+        }
+        
+        RollupDelta minus(RollupDelta other) {
+            return plus(other.negate());
+        }
+        
+        boolean isEmpty() {
+            return hires == 0 && active == 0 && completed == 0 && completionSum == 0.0
+                && notStarted == 0 && started == 0 && inProgress == 0 && nearCompletion == 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.repository.CompanyProgressRollupRepository;
+import com.shaper.server.repository.CompanyRepository;
+import com.shaper.server.service.ProgressRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Recomputes the progress rollups from the progress table and repairs any drift left by
+ * failed or out-of-band writes. Runs nightly, and optionally once at startup. Companies without
+ * a rollup row yet, such as those created before the rollup tables existed, are always built at
+ * startup since deltas are only applied to existing rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressRollupVerifier {
+    
+    private final CompanyRepository companyRepository;
+    private final CompanyProgressRollupRepository companyRollupRepository;
+    private final ProgressRollupService progressRollupService;
+    
+    @Value("${rollup.verify.on-startup:false}")
+    private boolean verifyOnStartup;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (verifyOnStartup) {
+            verifyAll();
+        } else {
+            buildMissing();
+        }
+    }
+    
+    void buildMissing() {
+        Set<Integer> built = new HashSet<>(companyRollupRepository.findCompanyIds());
+        int repaired = 0;
+        for (Company company : companyRepository.findAll()) {
+            if (built.contains(company.getId())) {
+                continue;
+            }
+            try {
+                repaired += progressRollupService.rebuildCompany(company.getId());
+            } catch (RuntimeException e) {
+                log.error("Failed to build progress rollups for company {}", company.getId(), e);
+            }
+        }
+        if (repaired > 0) {
+            log.info("Built missing progress rollups, {} rows written", repaired);
+        }
+    }
+    
+    @Scheduled(cron = "${rollup.verify.cron:0 30 2 * * *}")
+    public void verifyAll() {
+        int repaired = 0;
+        for (Company company : companyRepository.findAll()) {
+            try {
+                repaired += progressRollupService.rebuildCompany(company.getId());
+            } catch (RuntimeException e) {
+                log.error("Failed to verify progress rollups for company {}", company.getId(), e);
+            }
+        }
+        log.info("Progress rollup verification finished, {} rows repaired", repaired);
+    }
+}
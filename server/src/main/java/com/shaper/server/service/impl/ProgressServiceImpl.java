@@ -1,18 +1,25 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.ProgressChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.ProgressDto;
 import com.shaper.server.model.entity.Hire;
 import com.shaper.server.model.entity.Progress;
 import com.shaper.server.model.entity.Template;
-import com.shaper.server.model.entity.Todo;
 import com.shaper.server.model.enums.TodoStatus;
 import com.shaper.server.repository.HireRepository;
 import com.shaper.server.repository.ProgressRepository;
 import com.shaper.server.repository.TemplateRepository;
 import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.ProgressRollupService;
 import com.shaper.server.service.ProgressService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +37,17 @@ public class ProgressServiceImpl implements ProgressService {
     private final TodoRepository todoRepository;
     private final HireRepository hireRepository;
     private final TemplateRepository templateRepository;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${progress.at-risk.completion-threshold:50.0}")
+    private double atRiskCompletionThreshold = 50.0;
+    
+    @Value("${progress.at-risk.min-age-days:7}")
+    private int atRiskMinAgeDays = 7;
+    
+    @Value("${progress.at-risk.use-flag:false}")
+    private boolean useAtRiskFlag;
     
     @Override
     @Transactional
@@ -49,8 +67,8 @@ public class ProgressServiceImpl implements ProgressService {
         Template template = templateRepository.findById(templateId)
             .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
         
-        // Count total tasks in the template
-        long totalTasks = template.getTasks() != null ? template.getTasks().size() : 0;
+        // Count the tasks of the assigned version; its todos were created just before
+        long totalTasks = todoRepository.countByHireIdAndTemplateId(hireId, templateId);
         
         Progress progress = new Progress();
         progress.setHire(hire);
@@ -61,6 +79,8 @@ public class ProgressServiceImpl implements ProgressService {
         progress.setLastUpdated(LocalDateTime.now());
         
         Progress savedProgress = progressRepository.save(progress);
+        progressRollupService.onProgressCreated(hire, 0.0);
+        eventPublisher.publishEvent(new ProgressChangedEvent(hireId, templateId));
         log.debug("Initialized progress with ID: {} for hire ID: {} and template ID: {}", 
                  savedProgress.getId(), hireId, templateId);
         
@@ -69,80 +89,92 @@ public class ProgressServiceImpl implements ProgressService {
     
     @Override
     @Transactional
-    public Progress updateProgressOnTodoCompletion(Integer todoId) {
-        log.debug("Updating progress for todo ID: {}", todoId);
+    public void updateProgressOnTodoStatusChange(UUID hireId, Integer templateId, 
+                                                 TodoStatus previousStatus, TodoStatus newStatus) {
+        int completedDelta = (newStatus == TodoStatus.COMPLETED ? 1 : 0) 
+            - (previousStatus == TodoStatus.COMPLETED ? 1 : 0);
+        if (completedDelta == 0) {
+            return;
+        }
         
-        Todo todo = todoRepository.findById(todoId)
-            .orElseThrow(() -> new DataNotFoundException("Todo not found with ID: " + todoId));
+        log.debug("Applying completed delta {} to progress for hire ID: {} and template ID: {}", 
+                 completedDelta, hireId, templateId);
         
-        return recalculateProgress(todo.getHire().getId(), todo.getTemplate().getId());
+        int updated = progressRepository.applyTaskCountDelta(hireId, templateId, completedDelta, 0, LocalDateTime.now());
+        if (updated == 0) {
+            throw new DataNotFoundException(
+                "Progress not found for hire ID: " + hireId + " and template ID: " + templateId);
+        }
+        progressRepository.updateAtRiskFlag(hireId, templateId, atRiskCompletionThreshold, atRiskCutoff(atRiskMinAgeDays));
+        progressRollupService.onProgressCountsChanged(hireId, templateId, completedDelta, 0);
+        eventPublisher.publishEvent(new ProgressChangedEvent(hireId, templateId));
     }
     
     @Override
     @Transactional
-    public Progress recalculateProgress(UUID hireId, Integer templateId) {
+    public ProgressDto recalculateProgress(UUID hireId, Integer templateId) {
         log.debug("Recalculating progress for hire ID: {} and template ID: {}", hireId, templateId);
         
         Progress progress = progressRepository.findByHireIdAndTemplateId(hireId, templateId)
             .orElseThrow(() -> new DataNotFoundException(
                 "Progress not found for hire ID: " + hireId + " and template ID: " + templateId));
         
-        // Count completed todos for this hire and template
-        long completedTodos = todoRepository.countByHireIdAndStatus(hireId, TodoStatus.COMPLETED);
-        List<Todo> allTodos = todoRepository.findByHireIdAndTemplateId(hireId, templateId);
-        
-        // Filter completed todos for this specific template
-        long completedTodosForTemplate = allTodos.stream()
-            .mapToLong(todo -> todo.getStatus() == TodoStatus.COMPLETED ? 1 : 0)
-            .sum();
-        
-        int totalTasks = allTodos.size();
+        // Rebuild the counters from the todos of this hire and template
+        int totalTasks = (int) todoRepository.countByHireIdAndTemplateId(hireId, templateId);
+        int completedTasks = (int) todoRepository.countByHireIdAndTemplateIdAndStatus(
+            hireId, templateId, TodoStatus.COMPLETED);
         double completionPercentage = totalTasks > 0 ? 
-            (completedTodosForTemplate * 100.0) / totalTasks : 0.0;
+            (completedTasks * 100.0) / totalTasks : 0.0;
+        double previousPercentage = progress.getCompletionPercentage() != null ? 
+            progress.getCompletionPercentage() : 0.0;
         
         progress.setTotalTasks(totalTasks);
-        progress.setCompletedTasks((int) completedTodosForTemplate);
+        progress.setCompletedTasks(completedTasks);
         progress.setCompletionPercentage(completionPercentage);
         progress.setLastUpdated(LocalDateTime.now());
-        
-        Progress updatedProgress = progressRepository.save(progress);
-        log.debug("Updated progress: {}/{} tasks completed ({}%) for hire ID: {} and template ID: {}", 
-                 completedTodosForTemplate, totalTasks, String.format("%.1f", completionPercentage), 
+        progress.setAtRisk(completionPercentage < atRiskCompletionThreshold 
+            && progress.getCreatedAt() != null && progress.getCreatedAt().isBefore(atRiskCutoff(atRiskMinAgeDays)));
+        
+        progressRepository.save(progress);
+        progressRollupService.onProgressPercentageChanged(progress.getHire(), previousPercentage, completionPercentage);
+        eventPublisher.publishEvent(new ProgressChangedEvent(hireId, templateId));
+        log.debug("Recalculated progress: {}/{} tasks completed ({}%) for hire ID: {} and template ID: {}", 
+                 completedTasks, totalTasks, String.format("%.1f", completionPercentage), 
                  hireId, templateId);
         
-        return updatedProgress;
+        return getProgress(hireId, templateId);
     }
     
     @Override
-    public Progress getProgress(UUID hireId, Integer templateId) {
-        return progressRepository.findByHireIdAndTemplateId(hireId, templateId)
+    public ProgressDto getProgress(UUID hireId, Integer templateId) {
+        return progressRepository.findDtoByHireIdAndTemplateId(hireId, templateId)
             .orElseThrow(() -> new DataNotFoundException(
                 "Progress not found for hire ID: " + hireId + " and template ID: " + templateId));
     }
     
     @Override
-    public List<Progress> getProgressByHire(UUID hireId) {
-        return progressRepository.findByHire_Id(hireId);
+    public List<ProgressDto> getProgressByHire(UUID hireId) {
+        return progressRepository.findDtosByHireId(hireId);
     }
     
     @Override
-    public List<Progress> getProgressByHrUser(UUID hrId) {
-        return progressRepository.findByHrId(hrId);
+    public List<ProgressDto> getProgressByHrUser(UUID hrId) {
+        return progressRepository.findDtosByHrId(hrId);
     }
     
     @Override
-    public List<Progress> getProgressByCompany(Integer companyId) {
-        return progressRepository.findByCompanyId(companyId);
+    public List<ProgressDto> getProgressByCompany(Integer companyId) {
+        return progressRepository.findDtosByCompanyId(companyId);
     }
     
     @Override
-    public List<Progress> getProgressByDepartment(Integer departmentId) {
-        return progressRepository.findByDepartmentId(departmentId);
+    public List<ProgressDto> getProgressByDepartment(Integer departmentId) {
+        return progressRepository.findDtosByDepartmentId(departmentId);
     }
     
     @Override
     public Double calculateOverallCompletionPercentage(UUID hireId) {
-        List<Progress> progressList = progressRepository.findByHire_Id(hireId);
+        List<ProgressDto> progressList = progressRepository.findDtosByHireId(hireId);
         
         if (progressList.isEmpty()) {
             return 0.0;
@@ -153,7 +185,7 @@ public class ProgressServiceImpl implements ProgressService {
             .sum();
         
         int totalTasks = progressList.stream()
-            .mapToInt(Progress::getTotalTasks)
+            .mapToInt(ProgressDto::getTotalTasks)
             .sum();
         
         return totalTasks > 0 ? totalWeightedCompletion / totalTasks : 0.0;
@@ -170,16 +202,36 @@ public class ProgressServiceImpl implements ProgressService {
     }
     
     @Override
-    public List<Progress> getAtRiskProgress(UUID hrId) {
-        // Get all progress records for the HR user
-        List<Progress> allProgress = progressRepository.findByHrId(hrId);
+    public Page<AtRiskProgressDto> getAtRiskProgress(UUID hrId, Double completionThreshold, Integer minAgeDays, 
+                                                     Pageable pageable) {
+        boolean customThresholds = completionThreshold != null || minAgeDays != null;
+        if (useAtRiskFlag && !customThresholds) {
+            return progressRepository.findFlaggedAtRiskByHrId(hrId, pageable);
+        }
         
-        // Filter for at-risk progress (less than 50% completion after 7 days)
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+        double threshold = completionThreshold != null ? completionThreshold : atRiskCompletionThreshold;
+        int ageDays = minAgeDays != null ? minAgeDays : atRiskMinAgeDays;
+        if (threshold < 0 || threshold > 100) {
+            throw new IllegalArgumentException("Completion threshold must be between 0 and 100");
+        }
+        if (ageDays < 0) {
+            throw new IllegalArgumentException("Minimum age in days must not be negative");
+        }
         
-        return allProgress.stream()
-            .filter(progress -> progress.getCompletionPercentage() < 50.0 && 
-                               progress.getCreatedAt().isBefore(sevenDaysAgo))
-            .toList();
+        return progressRepository.findAtRiskByHrId(hrId, threshold, atRiskCutoff(ageDays), pageable);
+    }
+    
+    @Override
+    @Transactional
+    public int refreshAtRiskFlags() {
+        LocalDateTime cutoff = atRiskCutoff(atRiskMinAgeDays);
+        int marked = progressRepository.markAtRisk(atRiskCompletionThreshold, cutoff);
+        int cleared = progressRepository.clearAtRisk(atRiskCompletionThreshold, cutoff);
+        log.debug("Refreshed at-risk flags: {} marked, {} cleared", marked, cleared);
+        return marked + cleared;
+    }
+    
+    private static LocalDateTime atRiskCutoff(int minAgeDays) {
+        return LocalDateTime.now().minusDays(minAgeDays);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,104 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.repository.CompanyRepository;
+import com.shaper.server.service.ProgressSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Nightly batch that appends the progress snapshots of every company, downsamples old ones
+ * and creates the next monthly partition of the hire snapshot table ahead of time. Months of
+ * hire snapshots that are entirely past {@code snapshots.hire-retention-days} are dropped as a
+ * whole partition; row deletes only handle downsampling and the month at the cutoff.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressSnapshotJob {
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final String PARTITION_PREFIX = "progress_snapshots_";
+    private static final String LIST_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = 'progress_snapshots' AND c.relname ~ '^progress_snapshots_[0-9]{4}_[0-9]{2}$'";
+    
+    private final CompanyRepository companyRepository;
+    private final ProgressSnapshotService progressSnapshotService;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${snapshots.partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+    
+    @Value("${snapshots.hire-retention-days:1095}")
+    private int hireRetentionDays = 1095;
+    
+    @Scheduled(cron = "${snapshots.cron:0 15 0 * * *}")
+    public void run() {
+        LocalDate today = LocalDate.now();
+        if (partitioningEnabled) {
+            ensureMonthlyPartition(today.plusMonths(1).withDayOfMonth(1));
+        }
+        
+        int written = 0;
+        for (Company company : companyRepository.findAll()) {
+            try {
+                written += progressSnapshotService.captureCompany(company.getId(), today);
+            } catch (RuntimeException e) {
+                log.error("Failed to capture progress snapshots for company {}", company.getId(), e);
+            }
+        }
+        int dropped = partitioningEnabled ? dropExpiredPartitions(today.minusDays(hireRetentionDays)) : 0;
+        int deleted = progressSnapshotService.applyRetention(today);
+        log.info("Progress snapshot job wrote {} rows, removed {} rows and dropped {} partitions", 
+                 written, deleted, dropped);
+    }
+    
+    /**
+     * Monthly partitions whose whole range ends on or before the cutoff date.
+     */
+    List<YearMonth> findExpiredPartitions(LocalDate cutoff) {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class).stream()
+            .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+            .filter(month -> !month.plusMonths(1).atDay(1).isAfter(cutoff))
+            .sorted()
+            .toList();
+    }
+    
+    private int dropExpiredPartitions(LocalDate cutoff) {
+        int dropped = 0;
+        for (YearMonth month : findExpiredPartitions(cutoff)) {
+            String partition = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+            try {
+                // Detaching first keeps the lock on the parent short; the drop then only touches the old table
+                jdbcTemplate.execute("ALTER TABLE progress_snapshots DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                dropped++;
+            } catch (RuntimeException e) {
+                // Its rows stay attached and are removed by the row-level retention instead
+                log.error("Failed to drop snapshot partition {}", partition, e);
+            }
+        }
+        return dropped;
+    }
+    
+    private void ensureMonthlyPartition(LocalDate monthStart) {
+        String partition = PARTITION_PREFIX + monthStart.format(PARTITION_SUFFIX);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF progress_snapshots " +
+                "FOR VALUES FROM ('" + monthStart + "') TO ('" + monthStart.plusMonths(1) + "')");
+        } catch (RuntimeException e) {
+            // Rows for that month already landed in the default partition; they stay queryable there
+            log.warn("Could not create snapshot partition {}: {}", partition, e.getMessage());
+        }
+    }
+}
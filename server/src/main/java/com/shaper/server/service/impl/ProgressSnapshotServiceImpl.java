@@ -0,0 +1,97 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.ProgressTrendPointDto;
+import com.shaper.server.model.entity.ProgressSnapshot;
+import com.shaper.server.model.enums.SnapshotResolution;
+import com.shaper.server.repository.DepartmentProgressSnapshotRepository;
+import com.shaper.server.repository.ProgressSnapshotRepository;
+import com.shaper.server.service.ProgressSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProgressSnapshotServiceImpl implements ProgressSnapshotService {
+    
+    private final ProgressSnapshotRepository progressSnapshotRepository;
+    private final DepartmentProgressSnapshotRepository departmentSnapshotRepository;
+    
+    @Value("${snapshots.daily-retention-days:90}")
+    private int dailyRetentionDays = 90;
+    
+    @Value("${snapshots.weekly-retention-days:730}")
+    private int weeklyRetentionDays = 730;
+    
+    @Value("${snapshots.hire-retention-days:1095}")
+    private int hireRetentionDays = 1095;
+    
+    @Override
+    @Transactional
+    public int captureCompany(Integer companyId, LocalDate date) {
+        boolean weekStart = date.getDayOfWeek() == DayOfWeek.MONDAY;
+        boolean monthStart = date.getDayOfMonth() == 1;
+        
+        progressSnapshotRepository.deleteByCompanyIdAndDate(companyId, date);
+        departmentSnapshotRepository.deleteByCompanyIdAndDate(companyId, date);
+        int hires = progressSnapshotRepository.captureCompany(companyId, date, weekStart, monthStart);
+        int departments = departmentSnapshotRepository.captureCompany(companyId, date, weekStart, monthStart);
+        
+        log.debug("Captured {} hire and {} department snapshots for company {} on {}", 
+                 hires, departments, companyId, date);
+        return hires + departments;
+    }
+    
+    @Override
+    @Transactional
+    public int applyRetention(LocalDate today) {
+        // Older rows keep only their weekly, then monthly, points; hire rows eventually expire completely
+        LocalDate dailyCutoff = today.minusDays(dailyRetentionDays);
+        LocalDate weeklyCutoff = today.minusDays(weeklyRetentionDays);
+        
+        int deleted = departmentSnapshotRepository.deleteDailyBefore(dailyCutoff)
+            + departmentSnapshotRepository.deleteWeeklyBefore(weeklyCutoff)
+            + progressSnapshotRepository.deleteDailyBefore(dailyCutoff)
+            + progressSnapshotRepository.deleteWeeklyBefore(weeklyCutoff)
+            + progressSnapshotRepository.deleteAllBefore(today.minusDays(hireRetentionDays));
+        
+        log.debug("Snapshot retention removed {} rows", deleted);
+        return deleted;
+    }
+    
+    @Override
+    public List<ProgressTrendPointDto> getCompanyTrend(Integer companyId, LocalDate from, LocalDate to,
+                                                       SnapshotResolution resolution) {
+        validateRange(from, to);
+        return departmentSnapshotRepository.findCompanyTrend(companyId, from, to, 
+            resolution == SnapshotResolution.WEEKLY, resolution == SnapshotResolution.MONTHLY);
+    }
+    
+    @Override
+    public List<ProgressTrendPointDto> getDepartmentTrend(Integer departmentId, LocalDate from, LocalDate to,
+                                                          SnapshotResolution resolution) {
+        validateRange(from, to);
+        return departmentSnapshotRepository.findDepartmentTrend(departmentId, from, to,
+            resolution == SnapshotResolution.WEEKLY, resolution == SnapshotResolution.MONTHLY);
+    }
+    
+    @Override
+    public List<ProgressSnapshot> getHireTrend(UUID hireId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return progressSnapshotRepository.findByHireIdBetween(hireId, from, to);
+    }
+    
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+    }
+}
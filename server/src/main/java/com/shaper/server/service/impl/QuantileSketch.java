@@ -0,0 +1,70 @@
+package com.shaper.server.service.impl;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with bounded relative error, after DDSketch: values fall into
+ * logarithmically sized buckets, so memory grows with the value range, not the sample count,
+ * and two sketches merge by adding bucket counts.
+ */
+class QuantileSketch {
+    
+    private static final double MIN_INDEXABLE_VALUE = 1.0;
+    
+    private final double gamma;
+    private final double logGamma;
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+    
+    QuantileSketch(double relativeAccuracy) {
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+    
+    synchronized void add(double value) {
+        if (value < MIN_INDEXABLE_VALUE) {
+            zeroCount++;
+        } else {
+            buckets.merge((int) Math.ceil(Math.log(value) / logGamma), 1L, Long::sum);
+        }
+        count++;
+    }
+    
+    synchronized void merge(QuantileSketch other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        synchronized (other) {
+            other.buckets.forEach((index, bucketCount) -> buckets.merge(index, bucketCount, Long::sum));
+            zeroCount += other.zeroCount;
+            count += other.count;
+        }
+    }
+    
+    synchronized long getCount() {
+        return count;
+    }
+    
+    /**
+     * Value at quantile q in [0, 1], or null while the sketch is empty.
+     */
+    synchronized Double quantile(double q) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        if (rank < zeroCount) {
+            return 0.0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (seen > rank) {
+                return 2 * Math.pow(gamma, bucket.getKey()) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, buckets.lastKey()) / (gamma + 1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.shaper.server.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keyed registry of SSE subscribers shared by the push services. Every subscriber has a bounded
+ * queue drained on a virtual thread, so publishing never blocks on a socket; a subscriber whose
+ * queue overflows is disconnected and expected to reconnect. Idle streams cost an async request
+ * and an empty queue, no thread.
+ */
+@Slf4j
+final class SseHub<K> {
+    
+    record Message(String id, String name, Object data) {
+    }
+    
+    private final String channel;
+    private final Map<K, Set<Subscriber<K>>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    
+    SseHub(String channel) {
+        this.channel = channel;
+    }
+    
+    Subscriber<K> register(K key, SseEmitter emitter, int bufferSize) {
+        Subscriber<K> subscriber = new Subscriber<>(key, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return subscriber;
+    }
+    
+    boolean isEmpty() {
+        return subscribers.isEmpty();
+    }
+    
+    boolean hasSubscribers(K key) {
+        return subscribers.containsKey(key);
+    }
+    
+    int getSubscriberCount(K key) {
+        return subscribers.getOrDefault(key, Set.of()).size();
+    }
+    
+    void publish(K key, Message message) {
+        Set<Subscriber<K>> targets = subscribers.get(key);
+        if (targets != null) {
+            targets.forEach(subscriber -> send(subscriber, message));
+        }
+    }
+    
+    /**
+     * Queue a message for one subscriber; drops the subscriber if its buffer is full.
+     */
+    void send(Subscriber<K> subscriber, Message message) {
+        if (!subscriber.queue.offer(message)) {
+            log.debug("Dropping slow {} subscriber {}", channel, subscriber.key);
+            remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+    
+    /**
+     * Detect dead connections that never sent a close.
+     */
+    void heartbeat() {
+        subscribers.values().forEach(group -> group.forEach(subscriber -> senders.execute(() -> {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                remove(subscriber);
+            }
+        })));
+    }
+    
+    void shutdown() {
+        subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+    
+    private void drain(Subscriber<K> subscriber) {
+        try {
+            Message message;
+            while ((message = subscriber.queue.poll()) != null) {
+                SseEmitter.SseEventBuilder event = SseEmitter.event().name(message.name()).data(message.data());
+                if (message.id() != null) {
+                    event.id(message.id());
+                }
+                subscriber.emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            remove(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A message may have arrived between the last poll and releasing the flag
+        if (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+    
+    private void remove(Subscriber<K> subscriber) {
+        Set<Subscriber<K>> group = subscribers.get(subscriber.key);
+        if (group != null) {
+            group.remove(subscriber);
+            if (group.isEmpty()) {
+                subscribers.remove(subscriber.key, group);
+            }
+        }
+    }
+    
+    static final class Subscriber<K> {
+        private final K key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        
+        private Subscriber(K key, SseEmitter emitter, BlockingQueue<Message> queue) {
+            this.key = key;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
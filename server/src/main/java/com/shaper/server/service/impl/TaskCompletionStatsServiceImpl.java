@@ -0,0 +1,129 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TodoStatusChangedEvent;
+import com.shaper.server.model.dto.CompletionTimeStatsDto;
+import com.shaper.server.model.dto.TodoCompletionSampleDto;
+import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.TaskCompletionStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams todo completions into per-task quantile sketches, so completion-time percentiles
+ * are answered from memory. Reopened todos are not subtracted; a sketch only ever grows.
+ * Rebuilds only read completions of the last {@code completion-stats.window-days}, so warm-up
+ * cost does not grow with the age of the installation.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskCompletionStatsServiceImpl implements TaskCompletionStatsService {
+    
+    static final double RELATIVE_ACCURACY = 0.01;
+    private static final double SECONDS_PER_HOUR = 3600.0;
+    
+    private final TodoRepository todoRepository;
+    private final Map<Integer, QuantileSketch> taskSketches = new ConcurrentHashMap<>();
+    private final Map<Integer, QuantileSketch> templateSketches = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> tasksByTemplate = new ConcurrentHashMap<>();
+    
+    @Value("${completion-stats.window-days:365}")
+    private int windowDays = 365;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+    
+    @Override
+    public void rebuild() {
+        Map<Integer, QuantileSketch> tasks = new HashMap<>();
+        Map<Integer, Integer> templateOfTask = new HashMap<>();
+        List<TodoCompletionSampleDto> samples = 
+            todoRepository.findCompletionSamplesSince(LocalDateTime.now().minusDays(windowDays));
+        for (TodoCompletionSampleDto sample : samples) {
+            tasks.computeIfAbsent(sample.getTaskId(), id -> new QuantileSketch(RELATIVE_ACCURACY))
+                .add(secondsBetween(sample.getCreatedAt(), sample.getCompletedAt()));
+            templateOfTask.put(sample.getTaskId(), sample.getTemplateId());
+        }
+        
+        // Template sketches are the merge of their task sketches
+        Map<Integer, QuantileSketch> templates = new HashMap<>();
+        Map<Integer, Set<Integer>> grouping = new HashMap<>();
+        tasks.forEach((taskId, sketch) -> {
+            Integer templateId = templateOfTask.get(taskId);
+            templates.computeIfAbsent(templateId, id -> new QuantileSketch(RELATIVE_ACCURACY)).merge(sketch);
+            grouping.computeIfAbsent(templateId, id -> ConcurrentHashMap.newKeySet()).add(taskId);
+        });
+        
+        taskSketches.clear();
+        taskSketches.putAll(tasks);
+        templateSketches.clear();
+        templateSketches.putAll(templates);
+        tasksByTemplate.clear();
+        tasksByTemplate.putAll(grouping);
+        log.info("Built completion time sketches for {} tasks from {} completed todos", tasks.size(), samples.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoStatusChanged(TodoStatusChangedEvent event) {
+        if (event.getNewStatus() != TodoStatus.COMPLETED || event.getPreviousStatus() == TodoStatus.COMPLETED
+            || event.getTodoCreatedAt() == null) {
+            return;
+        }
+        double seconds = secondsBetween(event.getTodoCreatedAt(), event.getOccurredAt());
+        taskSketches.computeIfAbsent(event.getTaskId(), id -> new QuantileSketch(RELATIVE_ACCURACY)).add(seconds);
+        templateSketches.computeIfAbsent(event.getTemplateId(), id -> new QuantileSketch(RELATIVE_ACCURACY)).add(seconds);
+        tasksByTemplate.computeIfAbsent(event.getTemplateId(), id -> ConcurrentHashMap.newKeySet()).add(event.getTaskId());
+    }
+    
+    @Override
+    public CompletionTimeStatsDto getTaskCompletionTime(Integer taskId) {
+        return toStats(taskId, null, taskSketches.get(taskId));
+    }
+    
+    @Override
+    public CompletionTimeStatsDto getTemplateCompletionTime(Integer templateId) {
+        return toStats(null, templateId, templateSketches.get(templateId));
+    }
+    
+    @Override
+    public List<CompletionTimeStatsDto> getSlowestTasks(Integer templateId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        return tasksByTemplate.getOrDefault(templateId, Set.of()).stream()
+            .map(taskId -> toStats(taskId, templateId, taskSketches.get(taskId)))
+            .filter(stats -> stats.getP90Hours() != null)
+            .sorted(Comparator.comparing(CompletionTimeStatsDto::getP90Hours).reversed())
+            .limit(limit)
+            .toList();
+    }
+    
+    private static CompletionTimeStatsDto toStats(Integer taskId, Integer templateId, QuantileSketch sketch) {
+        if (sketch == null) {
+            return new CompletionTimeStatsDto(taskId, templateId, 0, null, null, null);
+        }
+        return new CompletionTimeStatsDto(taskId, templateId, sketch.getCount(),
+            toHours(sketch.quantile(0.5)), toHours(sketch.quantile(0.9)), toHours(sketch.quantile(0.99)));
+    }
+    
+    private static Double toHours(Double seconds) {
+        return seconds != null ? seconds / SECONDS_PER_HOUR : null;
+    }
+    
+    private static double secondsBetween(LocalDateTime start, LocalDateTime end) {
+        return Math.max(0, Duration.between(start, end).toSeconds());
+    }
+}
@@ -0,0 +1,105 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.system.RankKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the denormalized task positions in step with the rank keys. Task moves only write the
+ * moved row and mark the template dirty; dirty templates are renumbered here a few seconds later.
+ * Templates whose keys grew past {@code tasks.ordering.max-key-length} get fresh, evenly spaced
+ * keys in the same pass, as do templates where two tasks share a key. A nightly sweep catches long keys whose template was never marked,
+ * for example after a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskOrderRebalancer {
+    
+    private final TaskRepository taskRepository;
+    private final TemplateRepository templateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Integer> dirtyTemplates = ConcurrentHashMap.newKeySet();
+    
+    @Value("${tasks.ordering.max-key-length:24}")
+    private int maxKeyLength = 24;
+    
+    public void markDirty(Integer templateId) {
+        dirtyTemplates.add(templateId);
+    }
+    
+    public boolean needsRebalance(String rankKey) {
+        return rankKey.length() > maxKeyLength;
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.ordering.rebalance-interval-ms:5000}")
+    public void rebalanceDirty() {
+        for (Integer templateId : dirtyTemplates) {
+            dirtyTemplates.remove(templateId);
+            rebalanceSafely(templateId);
+        }
+    }
+    
+    @Scheduled(cron = "${tasks.ordering.sweep-cron:0 30 3 * * *}")
+    public void sweepLongKeys() {
+        List<Integer> templateIds = taskRepository.findTemplateIdsWithRankKeysLongerThan(maxKeyLength);
+        templateIds.forEach(this::rebalanceSafely);
+        if (!templateIds.isEmpty()) {
+            log.info("Rebalanced rank keys of {} templates", templateIds.size());
+        }
+    }
+    
+    /**
+     * Renumber positions 1..n in rank order and re-key the template if any key is too long or repeated
+     *
+     * @return number of rows changed
+     */
+    int rebalance(Integer templateId) {
+        Integer changed = transactionTemplate.execute(status -> {
+            // Same lock as task moves, so a move cannot land between reading and rewriting the keys
+            if (templateRepository.findByIdForUpdate(templateId).isEmpty()) {
+                return 0;
+            }
+            List<Task> tasks = taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(templateId);
+            boolean rekey = false;
+            for (int i = 0; i < tasks.size() && !rekey; i++) {
+                String key = tasks.get(i).getRankKey();
+                rekey = needsRebalance(key) || (i > 0 && key.equals(tasks.get(i - 1).getRankKey()));
+            }
+            int updates = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                int position = i + 1;
+                String key = rekey ? RankKeys.forIndex(position) : task.getRankKey();
+                if (task.getOrderIndex() == null || task.getOrderIndex() != position || !key.equals(task.getRankKey())) {
+                    task.setOrderIndex(position);
+                    task.setRankKey(key);
+                    updates++;
+                }
+            }
+            return updates;
+        });
+        return changed == null ? 0 : changed;
+    }
+    
+    private void rebalanceSafely(Integer templateId) {
+        try {
+            int changed = rebalance(templateId);
+            log.debug("Rebalanced template {}: {} tasks updated", templateId, changed);
+        } catch (RuntimeException e) {
+            markDirty(templateId);
+            log.warn("Failed to rebalance task order of template {}: {}", templateId, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TemplateChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TaskDTO;
+import com.shaper.server.model.dto.TemplateSnapshot;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.Template;
 import com.shaper.server.model.enums.TaskStatus;
@@ -8,13 +11,16 @@ import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.repository.TaskRepository;
 import com.shaper.server.repository.TemplateRepository;
 import com.shaper.server.service.TaskService;
+import com.shaper.server.service.TemplateCacheService;
+import com.shaper.server.system.RankKeys;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +29,9 @@ public class TaskServiceImpl implements TaskService {
     
     private final TaskRepository taskRepository;
     private final TemplateRepository templateRepository;
+    private final TaskOrderRebalancer taskOrderRebalancer;
+    private final TemplateCacheService templateCacheService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -30,8 +39,7 @@ public class TaskServiceImpl implements TaskService {
                           boolean requiresSignature, String resourceUrl, LocalDateTime eventDate) {
         log.debug("Creating task for template ID: {}", templateId);
         
-        Template template = templateRepository.findById(templateId)
-            .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
+        Template template = lockTemplate(templateId);
         
         Task task = new Task();
         task.setTitle(title);
@@ -43,11 +51,16 @@ public class TaskServiceImpl implements TaskService {
         task.setTemplate(template);
         task.setStatus(TaskStatus.PENDING);
         
-        // Set order index as the next available index
-        Integer nextOrderIndex = getNextOrderIndex(templateId);
-        task.setOrderIndex(nextOrderIndex);
+        // Append after the last task; the displayed position is the next free index
+        String lastKey = taskRepository.findMaxRankKeyByTemplateId(templateId);
+        task.setRankKey(RankKeys.between(lastKey, null));
+        task.setOrderIndex(getNextOrderIndex(templateId));
         
         Task savedTask = taskRepository.save(task);
+        if (taskOrderRebalancer.needsRebalance(savedTask.getRankKey())) {
+            taskOrderRebalancer.markDirty(templateId);
+        }
+        eventPublisher.publishEvent(new TemplateChangedEvent(templateId));
         log.debug("Created task with ID: {} for template ID: {}", savedTask.getId(), templateId);
         
         return savedTask;
@@ -59,8 +72,13 @@ public class TaskServiceImpl implements TaskService {
                           boolean requiresSignature, String resourceUrl, LocalDateTime eventDate) {
         log.debug("Updating task with ID: {}", taskId);
         
-        Task task = taskRepository.findById(taskId)
-            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        Task task = findDraftTask(taskId);
+        if (task.isFrozen()) {
+            // Published versions keep the old row; the draft continues with a copy at the same position
+            task.setRetired(true);
+            taskRepository.save(task);
+            task = copyForDraft(task);
+        }
         
         task.setTitle(title);
         task.setDescription(description);
@@ -70,7 +88,8 @@ public class TaskServiceImpl implements TaskService {
         task.setEventDate(eventDate);
         
         Task updatedTask = taskRepository.save(task);
-        log.debug("Updated task with ID: {}", taskId);
+        eventPublisher.publishEvent(new TemplateChangedEvent(task.getTemplate().getId()));
+        log.debug("Updated task with ID: {} as task ID: {}", taskId, updatedTask.getId());
         
         return updatedTask;
     }
@@ -82,8 +101,16 @@ public class TaskServiceImpl implements TaskService {
     }
     
     @Override
-    public List<Task> getTasksByTemplateId(Integer templateId) {
-        return taskRepository.findByTemplate_IdOrderByOrderIndexAsc(templateId);
+    public List<TaskDTO> getTasksByTemplateId(Integer templateId) {
+        TemplateSnapshot snapshot = templateCacheService.getTemplate(templateId);
+        List<TaskDTO> tasks = new ArrayList<>(snapshot.getTasks().size());
+        for (TemplateSnapshot.TaskSnapshot cached : snapshot.getTasks()) {
+            // Stored indexes are closed up asynchronously after moves; report the position in rank order
+            tasks.add(new TaskDTO(cached.getId(), cached.getTitle(), cached.getDescription(), cached.getTaskType(),
+                cached.getStatus(), cached.isRequiresSignature(), cached.getResourceUrl(), cached.getEventDate(),
+                tasks.size() + 1, snapshot.getId(), cached.getCreatedAt()));
+        }
+        return tasks;
     }
     
     @Override
@@ -91,26 +118,21 @@ public class TaskServiceImpl implements TaskService {
     public void deleteTask(Integer taskId) {
         log.debug("Deleting task with ID: {}", taskId);
         
-        Task task = taskRepository.findById(taskId)
-            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        Task task = findDraftTask(taskId);
         
         Integer templateId = task.getTemplate().getId();
-        Integer deletedOrderIndex = task.getOrderIndex();
-        
-        // Delete the task
-        taskRepository.delete(task);
-        
-        // Reorder remaining tasks to fill the gap
-        List<Task> remainingTasks = taskRepository.findByTemplate_IdOrderByOrderIndexAsc(templateId);
-        for (int i = 0; i < remainingTasks.size(); i++) {
-            Task remainingTask = remainingTasks.get(i);
-            if (remainingTask.getOrderIndex() > deletedOrderIndex) {
-                remainingTask.setOrderIndex(remainingTask.getOrderIndex() - 1);
-                taskRepository.save(remainingTask);
-            }
+        if (task.isFrozen()) {
+            // Still referenced by published versions and their todos
+            task.setRetired(true);
+            taskRepository.save(task);
+        } else {
+            taskRepository.delete(task);
         }
         
-        log.debug("Deleted task with ID: {} and reordered remaining tasks", taskId);
+        // Rank keys of the remaining tasks stay valid; only the displayed positions need closing up
+        taskOrderRebalancer.markDirty(templateId);
+        eventPublisher.publishEvent(new TemplateChangedEvent(templateId));
+        log.debug("Deleted task with ID: {}", taskId);
     }
     
     @Override
@@ -118,27 +140,59 @@ public class TaskServiceImpl implements TaskService {
     public void reorderTasks(Integer templateId, List<Integer> taskIds) {
         log.debug("Reordering tasks for template ID: {}", templateId);
         
-        // Validate that all task IDs belong to the template
-        List<Task> templateTasks = taskRepository.findByTemplate_IdOrderByOrderIndexAsc(templateId);
+        lockTemplate(templateId);
+        List<Task> templateTasks = taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(templateId);
         if (templateTasks.size() != taskIds.size()) {
             throw new IllegalArgumentException("Task count mismatch for reordering");
         }
+        Map<Integer, Integer> currentPositions = new HashMap<>();
+        for (int i = 0; i < templateTasks.size(); i++) {
+            currentPositions.put(templateTasks.get(i).getId(), i);
+        }
         
-        // Update order indices based on the new order
+        // Validate that all task IDs belong to the template
+        Task[] ordered = new Task[taskIds.size()];
+        int[] positions = new int[taskIds.size()];
+        Set<Integer> seen = new HashSet<>();
         for (int i = 0; i < taskIds.size(); i++) {
             Integer taskId = taskIds.get(i);
-            Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
-            
-            if (!task.getTemplate().getId().equals(templateId)) {
+            Integer position = currentPositions.get(taskId);
+            if (position == null) {
+                taskRepository.findById(taskId)
+                    .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
                 throw new IllegalArgumentException("Task " + taskId + " does not belong to template " + templateId);
             }
-            
-            task.setOrderIndex(i + 1);
-            taskRepository.save(task);
+            if (!seen.add(taskId)) {
+                throw new IllegalArgumentException("Task " + taskId + " is listed more than once");
+            }
+            ordered[i] = templateTasks.get(position);
+            positions[i] = position;
+        }
+        
+        // Tasks in the longest run that is already in order keep their keys; only the rest are written
+        boolean[] keep = longestIncreasingRun(positions);
+        List<Task> moved = new ArrayList<>();
+        String previousKey = null;
+        for (int i = 0; i < ordered.length; i++) {
+            if (!keep[i]) {
+                String nextKey = null;
+                for (int j = i + 1; j < ordered.length && nextKey == null; j++) {
+                    if (keep[j]) {
+                        nextKey = ordered[j].getRankKey();
+                    }
+                }
+                ordered[i].setRankKey(RankKeys.between(previousKey, nextKey));
+                moved.add(ordered[i]);
+            }
+            previousKey = ordered[i].getRankKey();
         }
         
-        log.debug("Reordered {} tasks for template ID: {}", taskIds.size(), templateId);
+        if (!moved.isEmpty()) {
+            taskRepository.saveAll(moved);
+            taskOrderRebalancer.markDirty(templateId);
+            eventPublisher.publishEvent(new TemplateChangedEvent(templateId));
+        }
+        log.debug("Reordered tasks for template ID: {} writing {} of {} rows", templateId, moved.size(), taskIds.size());
     }
     
     @Override
@@ -146,32 +200,24 @@ public class TaskServiceImpl implements TaskService {
     public void moveTaskUp(Integer taskId) {
         log.debug("Moving task up with ID: {}", taskId);
         
-        Task task = taskRepository.findById(taskId)
-            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        lockTemplateOf(taskId);
+        Task task = findDraftTask(taskId);
         
-        Integer currentIndex = task.getOrderIndex();
-        if (currentIndex <= 1) {
+        // The task above and the one above that, if any
+        List<Task> above = taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyLessThanOrderByRankKeyDesc(
+            task.getTemplate().getId(), task.getRankKey());
+        if (above.isEmpty()) {
             log.debug("Task with ID: {} is already at the top", taskId);
             return; // Already at the top
         }
         
-        // Find the task above this one
-        List<Task> templateTasks = taskRepository.findByTemplate_IdOrderByOrderIndexAsc(task.getTemplate().getId());
-        Task taskAbove = templateTasks.stream()
-            .filter(t -> t.getOrderIndex().equals(currentIndex - 1))
-            .findFirst()
-            .orElse(null);
-        
-        if (taskAbove != null) {
-            // Swap order indices
-            task.setOrderIndex(currentIndex - 1);
-            taskAbove.setOrderIndex(currentIndex);
-            
-            taskRepository.save(task);
-            taskRepository.save(taskAbove);
-            
-            log.debug("Moved task with ID: {} up from index {} to {}", taskId, currentIndex, currentIndex - 1);
-        }
+        String lowerBound = above.size() > 1 ? above.get(1).getRankKey() : null;
+        task.setRankKey(RankKeys.between(lowerBound, above.get(0).getRankKey()));
+        taskRepository.save(task);
+        taskOrderRebalancer.markDirty(task.getTemplate().getId());
+        eventPublisher.publishEvent(new TemplateChangedEvent(task.getTemplate().getId()));
+        
+        log.debug("Moved task with ID: {} above task {}", taskId, above.get(0).getId());
     }
     
     @Override
@@ -179,34 +225,24 @@ public class TaskServiceImpl implements TaskService {
     public void moveTaskDown(Integer taskId) {
         log.debug("Moving task down with ID: {}", taskId);
         
-        Task task = taskRepository.findById(taskId)
-            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        lockTemplateOf(taskId);
+        Task task = findDraftTask(taskId);
         
-        Integer currentIndex = task.getOrderIndex();
-        long totalTasks = countTasksInTemplate(task.getTemplate().getId());
-        
-        if (currentIndex >= totalTasks) {
+        // The task below and the one below that, if any
+        List<Task> below = taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyGreaterThanOrderByRankKeyAsc(
+            task.getTemplate().getId(), task.getRankKey());
+        if (below.isEmpty()) {
             log.debug("Task with ID: {} is already at the bottom", taskId);
             return; // Already at the bottom
         }
         
-        // Find the task below this one
-        List<Task> templateTasks = taskRepository.findByTemplate_IdOrderByOrderIndexAsc(task.getTemplate().getId());
-        Task taskBelow = templateTasks.stream()
-            .filter(t -> t.getOrderIndex().equals(currentIndex + 1))
-            .findFirst()
-            .orElse(null);
-        
-        if (taskBelow != null) {
-            // Swap order indices
-            task.setOrderIndex(currentIndex + 1);
-            taskBelow.setOrderIndex(currentIndex);
-            
-            taskRepository.save(task);
-            taskRepository.save(taskBelow);
-            
-            log.debug("Moved task with ID: {} down from index {} to {}", taskId, currentIndex, currentIndex + 1);
-        }
+        String upperBound = below.size() > 1 ? below.get(1).getRankKey() : null;
+        task.setRankKey(RankKeys.between(below.get(0).getRankKey(), upperBound));
+        taskRepository.save(task);
+        taskOrderRebalancer.markDirty(task.getTemplate().getId());
+        eventPublisher.publishEvent(new TemplateChangedEvent(task.getTemplate().getId()));
+        
+        log.debug("Moved task with ID: {} below task {}", taskId, below.get(0).getId());
     }
     
     @Override
@@ -219,4 +255,78 @@ public class TaskServiceImpl implements TaskService {
     public long countTasksInTemplate(Integer templateId) {
         return taskRepository.countByTemplateId(templateId);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Serializes key changes within a template, so two concurrent moves or appends never derive
+     * the same key from the same neighbours. Must run before the tasks are read.
+     */
+    private Template lockTemplate(Integer templateId) {
+        return templateRepository.findByIdForUpdate(templateId)
+            .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
+    }
+    
+    private void lockTemplateOf(Integer taskId) {
+        Integer templateId = taskRepository.findTemplateIdById(taskId)
+            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        lockTemplate(templateId);
+    }
+    
+    private Task findDraftTask(Integer taskId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new DataNotFoundException("Task not found with ID: " + taskId));
+        if (task.isRetired()) {
+            throw new IllegalStateException("Task " + taskId + " is no longer part of the template draft");
+        }
+        return task;
+    }
+    
+    private Task copyForDraft(Task frozen) {
+        Task copy = new Task();
+        copy.setTitle(frozen.getTitle());
+        copy.setDescription(frozen.getDescription());
+        copy.setDueDate(frozen.getDueDate());
+        copy.setTaskType(frozen.getTaskType());
+        copy.setRequiresSignature(frozen.isRequiresSignature());
+        copy.setResourceUrl(frozen.getResourceUrl());
+        copy.setEventDate(frozen.getEventDate());
+        copy.setPriority(frozen.getPriority());
+        copy.setEstimatedHours(frozen.getEstimatedHours());
+        copy.setOrderIndex(frozen.getOrderIndex());
+        copy.setRankKey(frozen.getRankKey());
+        copy.setTemplate(frozen.getTemplate());
+        copy.setOriginTaskId(frozen.getLineageId());
+        return copy;
+    }
+    
+    /**
+     * Marks one longest strictly increasing subsequence of the values (patience sorting)
+     */
+    private boolean[] longestIncreasingRun(int[] values) {
+        int n = values.length;
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+}
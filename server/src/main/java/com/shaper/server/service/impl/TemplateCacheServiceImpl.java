@@ -0,0 +1,123 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TemplateChangedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplateCacheStatsDto;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.service.TemplateCacheService;
+import com.shaper.server.service.TemplateInvalidationBroadcaster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of template snapshots. A hit returns the shared immutable snapshot without
+ * touching the database. Writers publish {@link TemplateChangedEvent}; the entry is dropped after
+ * their transaction commits and the change is handed to any {@link TemplateInvalidationBroadcaster}.
+ * A load that overlaps an invalidation is returned to its caller but not stored, so a snapshot
+ * read before a commit can never outlive it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateCacheServiceImpl implements TemplateCacheService {
+    
+    private final TemplateRepository templateRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<TemplateInvalidationBroadcaster> broadcasters;
+    
+    @Value("${templates.cache.max-entries:500}")
+    private int maxEntries = 500;
+    
+    private final Map<Integer, TemplateSnapshot> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong invalidationCount = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    
+    @Override
+    public TemplateSnapshot getTemplate(Integer templateId) {
+        synchronized (snapshots) {
+            TemplateSnapshot cached = snapshots.get(templateId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        
+        long invalidationsBefore = invalidationCount.get();
+        TemplateSnapshot loaded = load(templateId);
+        synchronized (snapshots) {
+            if (invalidationCount.get() == invalidationsBefore) {
+                snapshots.put(templateId, loaded);
+                trimToSize();
+            }
+        }
+        return loaded;
+    }
+    
+    @Override
+    public void evict(Integer templateId) {
+        synchronized (snapshots) {
+            invalidationCount.incrementAndGet();
+            snapshots.remove(templateId);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateChanged(TemplateChangedEvent event) {
+        evict(event.getTemplateId());
+        broadcasters.orderedStream().forEach(broadcaster -> {
+            try {
+                broadcaster.broadcast(event.getTemplateId());
+            } catch (RuntimeException e) {
+                log.warn("Failed to broadcast invalidation of template {}: {}", event.getTemplateId(), e.getMessage());
+            }
+        });
+    }
+    
+    @Override
+    public TemplateCacheStatsDto getStats() {
+        int size;
+        synchronized (snapshots) {
+            size = snapshots.size();
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long lookups = hitCount + missCount;
+        return new TemplateCacheStatsDto(size, maxEntries, hitCount, missCount, evictions.get(),
+            invalidationCount.get(), lookups == 0 ? 0.0 : (double) hitCount / lookups);
+    }
+    
+    private TemplateSnapshot load(Integer templateId) {
+        return transactionTemplate.execute(status -> {
+            Template template = templateRepository.findById(templateId)
+                .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
+            return new TemplateSnapshot(template, taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(templateId),
+                template.getDepartments());
+        });
+    }
+    
+    private void trimToSize() {
+        Iterator<Integer> eldest = snapshots.keySet().iterator();
+        while (snapshots.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
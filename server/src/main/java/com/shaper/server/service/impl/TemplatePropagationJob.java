@@ -0,0 +1,180 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.TemplateSnapshot.TaskSnapshot;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.entity.TemplateVersion;
+import com.shaper.server.model.entity.Todo;
+import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.repository.*;
+import com.shaper.server.service.ProgressRollupService;
+import com.shaper.server.service.TemplateVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Moves the assignments of a template from older published versions to a newer one. Tasks are
+ * matched across versions by lineage: todos of edited tasks are pointed at the new row and open
+ * ones take its date, todos of removed tasks are dropped unless completed or backed by a document,
+ * and added tasks get new todos. Hires are processed in chunks of {@code templates.propagation.chunk-size},
+ * each in its own transaction with one statement per changed task, so locks on todos and progress
+ * rows are held for one chunk only. Rollups are rebuilt per company at the end.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TemplatePropagationJob {
+
+    private final TodoRepository todoRepository;
+    private final ProgressRepository progressRepository;
+    private final TaskRepository taskRepository;
+    private final HireRepository hireRepository;
+    private final TemplateRepository templateRepository;
+    private final TemplateVersionRepository templateVersionRepository;
+    private final TemplateVersionService templateVersionService;
+    private final ProgressRollupService progressRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${templates.propagation.chunk-size:200}")
+    private int chunkSize = 200;
+
+    @Value("${progress.at-risk.completion-threshold:50.0}")
+    private double atRiskCompletionThreshold = 50.0;
+
+    @Value("${progress.at-risk.min-age-days:7}")
+    private int atRiskMinAgeDays = 7;
+
+    @Async
+    public void run(TemplatePropagationRun run) {
+        try {
+            propagate(run);
+            run.complete();
+            log.info("Propagated template {} to version {}: {}", run.getTemplateId(), run.getTargetVersionId(), run.toDto());
+        } catch (RuntimeException e) {
+            run.fail(e.getMessage());
+            log.error("Failed to propagate template {} to version {}", run.getTemplateId(), run.getTargetVersionId(), e);
+        }
+    }
+
+    void propagate(TemplatePropagationRun run) {
+        Integer templateId = run.getTemplateId();
+        TemplateVersionSnapshot target = templateVersionService.getVersion(run.getTargetVersionId());
+
+        for (Integer sourceVersionId : todoRepository.findOtherVersionIdsByTemplateId(templateId, target.getId())) {
+            VersionDiff diff = VersionDiff.between(templateVersionService.getVersion(sourceVersionId), target);
+            // Migrated hires leave the source version, so the first page is always the next chunk
+            List<UUID> hireIds;
+            while (!(hireIds = todoRepository.findHireIdsByTemplateVersion(
+                    templateId, sourceVersionId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                List<UUID> chunk = hireIds;
+                ChunkResult result = transactionTemplate.execute(status -> applyChunk(templateId, chunk, diff, target));
+                if (result != null) {
+                    run.chunkApplied(chunk.size(), result.added(), result.removed(), result.updated());
+                }
+                log.debug("Propagated {} hires of template {} from version {}", chunk.size(), templateId, sourceVersionId);
+            }
+        }
+
+        // Many progress rows changed at once; recounting the rollups is cheaper than one delta per row
+        for (Integer companyId : progressRepository.findCompanyIdsByTemplateId(templateId)) {
+            try {
+                progressRollupService.rebuildCompany(companyId);
+            } catch (RuntimeException e) {
+                // The nightly rollup verification repairs whatever is left
+                log.warn("Could not rebuild progress rollups of company {}: {}", companyId, e.getMessage());
+            }
+        }
+    }
+
+    private ChunkResult applyChunk(Integer templateId, List<UUID> hireIds, VersionDiff diff, TemplateVersionSnapshot target) {
+        LocalDateTime now = LocalDateTime.now();
+
+        int updated = 0;
+        for (Map.Entry<Integer, TaskSnapshot> replaced : diff.replaced().entrySet()) {
+            updated += todoRepository.replaceTask(templateId, hireIds, replaced.getKey(),
+                taskRepository.getReferenceById(replaced.getValue().getId()), now);
+        }
+        for (Map.Entry<Integer, LocalDateTime> moved : diff.dueDates().entrySet()) {
+            todoRepository.updateOpenDueDates(templateId, hireIds, moved.getKey(), moved.getValue(), now);
+        }
+
+        int removed = diff.removedTaskIds().isEmpty() ? 0
+            : todoRepository.deleteOpenByTaskIds(templateId, hireIds, diff.removedTaskIds());
+
+        TemplateVersion version = templateVersionRepository.getReferenceById(target.getId());
+        List<Todo> todos = new ArrayList<>(hireIds.size() * diff.added().size());
+        if (!diff.added().isEmpty()) {
+            Template template = templateRepository.getReferenceById(templateId);
+            for (UUID hireId : hireIds) {
+                for (TaskSnapshot task : diff.added()) {
+                    Todo todo = new Todo();
+                    todo.setHire(hireRepository.getReferenceById(hireId));
+                    todo.setTask(taskRepository.getReferenceById(task.getId()));
+                    todo.setTemplate(template);
+                    todo.setTemplateVersion(version);
+                    todo.setStatus(TodoStatus.PENDING);
+                    todo.setDueDate(TodoServiceImpl.initialDueDate(task, now));
+                    todos.add(todo);
+                }
+            }
+            todoRepository.saveAllAndFlush(todos);
+        }
+
+        todoRepository.assignVersion(templateId, hireIds, version);
+        progressRepository.recountFromTodos(templateId, hireIds, now);
+        progressRepository.updateAtRiskFlags(templateId, hireIds, atRiskCompletionThreshold,
+            now.minusDays(atRiskMinAgeDays));
+        hireIds.forEach(hireId -> eventPublisher.publishEvent(new ProgressChangedEvent(hireId, templateId)));
+
+        return new ChunkResult(todos.size(), removed, updated);
+    }
+
+    private record ChunkResult(int added, int removed, int updated) {
+    }
+
+    /**
+     * Changes between two versions. Replaced maps the source task ID to the row that took its place,
+     * due dates hold the new date of replaced tasks whose event or due date moved.
+     */
+    record VersionDiff(Map<Integer, TaskSnapshot> replaced, Map<Integer, LocalDateTime> dueDates,
+                       List<Integer> removedTaskIds, List<TaskSnapshot> added) {
+
+        static VersionDiff between(TemplateVersionSnapshot source, TemplateVersionSnapshot target) {
+            Map<Integer, TaskSnapshot> sourceByLineage = new LinkedHashMap<>();
+            source.getTasks().forEach(task -> sourceByLineage.put(task.getLineageId(), task));
+
+            Map<Integer, TaskSnapshot> replaced = new LinkedHashMap<>();
+            Map<Integer, LocalDateTime> dueDates = new LinkedHashMap<>();
+            List<TaskSnapshot> added = new ArrayList<>();
+            for (TaskSnapshot task : target.getTasks()) {
+                TaskSnapshot previous = sourceByLineage.remove(task.getLineageId());
+                if (previous == null) {
+                    added.add(task);
+                } else if (!previous.getId().equals(task.getId())) {
+                    replaced.put(previous.getId(), task);
+                    LocalDateTime date = effectiveDate(task);
+                    if (date != null && !date.equals(effectiveDate(previous))) {
+                        dueDates.put(task.getId(), date);
+                    }
+                }
+            }
+            List<Integer> removed = sourceByLineage.values().stream().map(TaskSnapshot::getId).toList();
+            return new VersionDiff(replaced, dueDates, removed, added);
+        }
+
+        private static LocalDateTime effectiveDate(TaskSnapshot task) {
+            return task.getEventDate() != null ? task.getEventDate() : task.getDueDate();
+        }
+    }
+}
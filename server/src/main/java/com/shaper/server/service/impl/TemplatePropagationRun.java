@@ -0,0 +1,60 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.TemplatePropagationDto;
+import com.shaper.server.model.enums.PropagationState;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one propagation, written by the job thread after every chunk and read by status requests
+ */
+class TemplatePropagationRun {
+    
+    @Getter
+    private final Integer templateId;
+    @Getter
+    private final Integer targetVersionId;
+    private final long totalHires;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private PropagationState state = PropagationState.RUNNING;
+    private long processedHires;
+    private long todosAdded;
+    private long todosRemoved;
+    private long todosUpdated;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    TemplatePropagationRun(Integer templateId, Integer targetVersionId, long totalHires) {
+        this.templateId = templateId;
+        this.targetVersionId = targetVersionId;
+        this.totalHires = totalHires;
+    }
+    
+    synchronized boolean isRunning() {
+        return state == PropagationState.RUNNING;
+    }
+    
+    synchronized void chunkApplied(int hires, int added, int removed, int updated) {
+        processedHires += hires;
+        todosAdded += added;
+        todosRemoved += removed;
+        todosUpdated += updated;
+    }
+    
+    synchronized void complete() {
+        state = PropagationState.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+    
+    synchronized void fail(String message) {
+        state = PropagationState.FAILED;
+        finishedAt = LocalDateTime.now();
+        error = message;
+    }
+    
+    synchronized TemplatePropagationDto toDto() {
+        return new TemplatePropagationDto(templateId, targetVersionId, state, totalHires, processedHires,
+            todosAdded, todosRemoved, todosUpdated, startedAt, finishedAt, error);
+    }
+}
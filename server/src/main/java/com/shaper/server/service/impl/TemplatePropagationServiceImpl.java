@@ -0,0 +1,65 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplatePropagationDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.TemplatePropagationService;
+import com.shaper.server.service.TemplateVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starts propagation jobs and keeps their progress in memory, one run per template
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplatePropagationServiceImpl implements TemplatePropagationService {
+    
+    private final TemplateRepository templateRepository;
+    private final TodoRepository todoRepository;
+    private final TemplateVersionService templateVersionService;
+    private final TemplatePropagationJob templatePropagationJob;
+    
+    private final Map<Integer, TemplatePropagationRun> runs = new ConcurrentHashMap<>();
+    
+    @Override
+    public TemplatePropagationDto startPropagation(Integer templateId) {
+        if (!templateRepository.existsById(templateId)) {
+            throw new DataNotFoundException("Template not found with ID: " + templateId);
+        }
+        TemplateVersionSnapshot target = templateVersionService.getCurrentVersion(templateId);
+        long hires = todoRepository.countHiresOnOtherVersions(templateId, target.getId());
+        
+        TemplatePropagationRun run = new TemplatePropagationRun(templateId, target.getId(), hires);
+        runs.compute(templateId, (id, existing) -> {
+            if (existing != null && existing.isRunning()) {
+                throw new IllegalStateException("Propagation of template " + templateId + " is already running");
+            }
+            return run;
+        });
+        
+        if (hires == 0) {
+            run.complete();
+        } else {
+            log.info("Propagating {} hires of template {} to version {}", hires, templateId, target.getId());
+            templatePropagationJob.run(run);
+        }
+        return run.toDto();
+    }
+    
+    @Override
+    public TemplatePropagationDto getStatus(Integer templateId) {
+        TemplatePropagationRun run = runs.get(templateId);
+        if (run == null) {
+            throw new DataNotFoundException("No propagation found for template ID: " + templateId);
+        }
+        return run.toDto();
+    }
+}
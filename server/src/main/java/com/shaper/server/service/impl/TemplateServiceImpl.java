@@ -1,15 +1,23 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TemplateAssignedEvent;
+import com.shaper.server.event.TemplateChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
 import com.shaper.server.model.dto.TemplateDTO;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.dto.TemplateVersionDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.entity.*;
 import com.shaper.server.model.enums.TemplateStatus;
 import com.shaper.server.repository.*;
 import com.shaper.server.service.ProgressService;
+import com.shaper.server.service.TemplateCacheService;
 import com.shaper.server.service.TemplateService;
+import com.shaper.server.service.TemplateVersionService;
 import com.shaper.server.service.TodoService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +38,11 @@ public class TemplateServiceImpl implements TemplateService {
     private final TodoRepository todoRepository;
     private final TodoService todoService;
     private final ProgressService progressService;
+    private final TemplateCacheService templateCacheService;
+    private final TemplateVersionService templateVersionService;
+    private final TemplateVersionRepository templateVersionRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     @Transactional
@@ -107,6 +120,7 @@ public class TemplateServiceImpl implements TemplateService {
         }
         
         Template savedTemplate = templateRepository.save(template);
+        eventPublisher.publishEvent(new TemplateChangedEvent(id));
         log.debug("Updated template with ID: {}", id);
         
         return convertToDto(savedTemplate);
@@ -114,33 +128,51 @@ public class TemplateServiceImpl implements TemplateService {
     
     @Override
     public TemplateDTO getTemplateById(Integer id) {
-        Template template = templateRepository.findById(id)
-            .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + id));
-        return convertToDto(template);
+        TemplateSnapshot snapshot = templateCacheService.getTemplate(id);
+        TemplateDTO dto = new TemplateDTO();
+        dto.setId(snapshot.getId());
+        dto.setTitle(snapshot.getTitle());
+        dto.setDescription(snapshot.getDescription());
+        dto.setStatus(snapshot.getStatus().name());
+        dto.setHrId(snapshot.getHrId().toString());
+        dto.setHrName(snapshot.getHrName());
+        dto.setCreatedDate(snapshot.getCreatedDate());
+        dto.setUpdatedDate(snapshot.getUpdatedDate());
+        dto.setTaskIds(snapshot.getTaskIds());
+        dto.setDepartmentIds(snapshot.getDepartmentIds());
+        return dto;
     }
     
     @Override
     public List<TemplateDTO> getAllTemplates() {
         List<Template> templates = templateRepository.findAll();
-        return templates.stream().map(this::convertToDto).collect(Collectors.toList());
+        return templates.stream()
+            .filter(template -> template.getStatus() != TemplateStatus.ARCHIVED)
+            .map(this::convertToDto).collect(Collectors.toList());
     }
     
     @Override
     public List<TemplateDTO> getTemplatesByDepartmentId(Integer departmentId) {
         List<Template> templates = templateRepository.findByDepartmentId(departmentId);
-        return templates.stream().map(this::convertToDto).collect(Collectors.toList());
+        return templates.stream()
+            .filter(template -> template.getStatus() != TemplateStatus.ARCHIVED)
+            .map(this::convertToDto).collect(Collectors.toList());
     }
     
     @Override
     public List<TemplateDTO> getTemplatesByHrId(UUID hrId) {
         List<Template> templates = templateRepository.findByCreatedByHr_Id(hrId);
-        return templates.stream().map(this::convertToDto).collect(Collectors.toList());
+        return templates.stream()
+            .filter(template -> template.getStatus() != TemplateStatus.ARCHIVED)
+            .map(this::convertToDto).collect(Collectors.toList());
     }
     
     @Override
     public List<TemplateDTO> getTemplatesByCompanyId(Integer companyId) {
         List<Template> templates = templateRepository.findByCompanyId(companyId);
-        return templates.stream().map(this::convertToDto).collect(Collectors.toList());
+        return templates.stream()
+            .filter(template -> template.getStatus() != TemplateStatus.ARCHIVED)
+            .map(this::convertToDto).collect(Collectors.toList());
     }
     
     @Override
@@ -151,14 +183,21 @@ public class TemplateServiceImpl implements TemplateService {
         Template template = templateRepository.findById(id)
             .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + id));
         
-        // Check if template has active assignments (todos)
+        // Assigned templates are archived: their todos keep pointing at the frozen version tasks
         List<Todo> activeTodos = todoRepository.findByTemplate_Id(id);
         if (!activeTodos.isEmpty()) {
-            throw new IllegalStateException("Cannot delete template with active assignments. " +
-                "Template has " + activeTodos.size() + " active todos.");
+            template.setStatus(TemplateStatus.ARCHIVED);
+            templateRepository.save(template);
+            eventPublisher.publishEvent(new TemplateChangedEvent(id));
+            log.debug("Archived template with ID: {} that has {} todos", id, activeTodos.size());
+            return;
         }
         
+        // Never assigned: drop its versions and the task rows only they still referenced
+        templateVersionRepository.deleteByTemplateId(id);
+        taskRepository.deleteAll(taskRepository.findByTemplate_IdAndRetiredTrue(id));
         templateRepository.deleteById(id);
+        eventPublisher.publishEvent(new TemplateChangedEvent(id));
         log.debug("Deleted template with ID: {}", id);
     }
     
@@ -173,11 +212,13 @@ public class TemplateServiceImpl implements TemplateService {
         Hire hire = hireRepository.findById(hireId)
             .orElseThrow(() -> new DataNotFoundException("Hire not found with ID: " + hireId));
         
-        // Validate that the template has tasks
-        if (template.getTasks() == null || template.getTasks().isEmpty()) {
-            throw new IllegalStateException("Cannot assign template without tasks. Template ID: " + templateId);
+        if (template.getStatus() == TemplateStatus.ARCHIVED) {
+            throw new IllegalStateException("Cannot assign archived template. Template ID: " + templateId);
         }
         
+        // Assignments use the latest published version; publishing fails if the template has no tasks
+        TemplateVersionSnapshot version = templateVersionService.getCurrentVersion(templateId);
+        
         // Check if template is already assigned to this hire
         List<Todo> existingTodos = todoRepository.findByHireIdAndTemplateId(hireId, templateId);
         if (!existingTodos.isEmpty()) {
@@ -187,23 +228,36 @@ public class TemplateServiceImpl implements TemplateService {
         
         // Create todos from template tasks
         List<TodoDto> createdTodos = todoService.createTodosFromTemplate(templateId, hireId);
-        log.debug("Created {} todos for hire ID: {} from template ID: {}", 
-                 createdTodos.size(), hireId, templateId);
+        log.debug("Created {} todos for hire ID: {} from version {} of template ID: {}", 
+                 createdTodos.size(), hireId, version.getVersionNumber(), templateId);
         
         // Initialize progress tracking
         progressService.initializeProgress(hireId, templateId);
         log.debug("Initialized progress tracking for hire ID: {} and template ID: {}", hireId, templateId);
+        eventPublisher.publishEvent(new TemplateAssignedEvent(templateId, hireId));
         
         // Update template status to IN_PROGRESS if it was PENDING
         if (template.getStatus() == TemplateStatus.PENDING) {
             template.setStatus(TemplateStatus.IN_PROGRESS);
             templateRepository.save(template);
+            eventPublisher.publishEvent(new TemplateChangedEvent(templateId));
             log.debug("Updated template ID: {} status to IN_PROGRESS", templateId);
         }
         
         log.debug("Successfully assigned template ID: {} to hire ID: {}", templateId, hireId);
     }
     
+    @Override
+    public TemplateVersionDto publishTemplate(Integer templateId) {
+        log.debug("Publishing template ID: {}", templateId);
+        return templateVersionService.publish(templateId);
+    }
+    
+    @Override
+    public List<TemplateVersionDto> getTemplateVersions(Integer templateId) {
+        return templateVersionService.getVersions(templateId);
+    }
+    
     @Override
     public Template getTemplateEntityById(Integer id) {
         return templateRepository.findById(id)
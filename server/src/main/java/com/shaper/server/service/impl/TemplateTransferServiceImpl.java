@@ -0,0 +1,382 @@
+package com.shaper.server.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.TaskTransferDto;
+import com.shaper.server.model.dto.TemplateImportResultDto;
+import com.shaper.server.model.dto.TemplateTransferDto;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.enums.TaskStatus;
+import com.shaper.server.model.enums.TemplateStatus;
+import com.shaper.server.repository.CompanyDepartmentRepository;
+import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.service.TemplateTransferService;
+import com.shaper.server.system.RankKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Copies templates between companies and environments as one JSON document:
+ * <pre>
+ * {"format": "shaper-templates", "version": 1, "templates": [
+ *   {"title": ..., "description": ..., "departments": [names], "tasks": [{...}, ...]}]}
+ * </pre>
+ * Both directions go through the Jackson streaming API. Export pages templates by id and streams their
+ * tasks from the database, import reads one task at a time and writes them in chunks of
+ * {@code templates.transfer.batch-size}, detaching each chunk once written, so neither side holds more
+ * than one template in memory.
+ * Tasks take ids from the pooled task sequence, which lets Hibernate send each chunk as a JDBC batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TemplateTransferServiceImpl implements TemplateTransferService {
+
+    static final String FORMAT = "shaper-templates";
+    static final int FORMAT_VERSION = 1;
+
+    private final TemplateRepository templateRepository;
+    private final TaskRepository taskRepository;
+    private final CompanyDepartmentRepository departmentRepository;
+    private final HrUserRepository hrUserRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${templates.transfer.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${templates.transfer.export-page-size:50}")
+    private int exportPageSize = 50;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTemplates(Integer companyId, List<Integer> templateIds, OutputStream out) throws IOException {
+        // Resolve an explicit selection before the first byte is written, so a bad id still yields an error response
+        List<TemplateTransferDto> selected = null;
+        if (templateIds != null && !templateIds.isEmpty()) {
+            Set<Integer> requested = new HashSet<>(templateIds);
+            selected = templateRepository.findTransferRowsByIds(companyId, requested);
+            if (selected.size() != requested.size()) {
+                throw new DataNotFoundException("One or more templates not found in company " + companyId);
+            }
+        }
+
+        int exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("format", FORMAT);
+            generator.writeNumberField("version", FORMAT_VERSION);
+            generator.writeStringField("exportedAt", LocalDateTime.now().toString());
+            generator.writeArrayFieldStart("templates");
+
+            if (selected != null) {
+                for (TemplateTransferDto template : selected) {
+                    writeTemplate(generator, template);
+                }
+                exported = selected.size();
+            } else {
+                List<TemplateTransferDto> page;
+                int afterId = 0;
+                do {
+                    page = templateRepository.findTransferPageByCompanyId(
+                        companyId, afterId, PageRequest.of(0, exportPageSize));
+                    for (TemplateTransferDto template : page) {
+                        writeTemplate(generator, template);
+                        afterId = template.getId();
+                    }
+                    exported += page.size();
+                } while (page.size() == exportPageSize);
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        log.info("Exported {} templates of company {}", exported, companyId);
+    }
+
+    @Override
+    public TemplateImportResultDto importTemplates(UUID hrId, InputStream in) throws IOException {
+        long started = System.currentTimeMillis();
+        HrUser hrUser = hrUserRepository.findById(hrId)
+            .orElseThrow(() -> new DataNotFoundException("HR User not found with ID: " + hrId));
+        Map<String, Integer> departmentIds = departmentRepository.findDtosByCompanyId(hrUser.getCompany().getId())
+            .stream()
+            .collect(Collectors.toMap(DepartmentDto::getName, DepartmentDto::getDepartmentId, (first, second) -> first));
+        ImportState state = new ImportState(hrUser, departmentIds);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, "an export document");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "version" -> {
+                        if (value != JsonToken.VALUE_NUMBER_INT || parser.getIntValue() != FORMAT_VERSION) {
+                            throw new IllegalArgumentException("Unsupported template export version: " + parser.getText());
+                        }
+                    }
+                    case "templates" -> {
+                        expect(value, JsonToken.START_ARRAY, "a templates array");
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            expect(parser.currentToken(), JsonToken.START_OBJECT, "a template object");
+                            importTemplate(parser, state);
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw malformed(e, state);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        long durationMs = System.currentTimeMillis() - started;
+        log.info("Imported {} templates with {} tasks for HR user {} in {} ms",
+            state.templateIds.size(), state.taskCount, hrId, durationMs);
+        return new TemplateImportResultDto(state.templateIds, state.taskCount,
+            new ArrayList<>(state.unmatchedDepartments), durationMs);
+    }
+
+    private void writeTemplate(JsonGenerator generator, TemplateTransferDto template) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("title", template.getTitle());
+        writeOptional(generator, "description", template.getDescription());
+        generator.writeArrayFieldStart("departments");
+        for (String department : departmentRepository.findNamesByTemplateId(template.getId())) {
+            generator.writeString(department);
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("tasks");
+        try (Stream<TaskTransferDto> tasks = taskRepository.streamTransferRowsByTemplateId(template.getId())) {
+            Iterator<TaskTransferDto> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                writeTask(generator, iterator.next());
+            }
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        // Hand each finished template to the client instead of buffering the whole document
+        generator.flush();
+    }
+
+    private void writeTask(JsonGenerator generator, TaskTransferDto task) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("title", task.getTitle());
+        writeOptional(generator, "description", task.getDescription());
+        writeOptional(generator, "taskType", task.getTaskType());
+        generator.writeBooleanField("requiresSignature", task.isRequiresSignature());
+        writeOptional(generator, "resourceUrl", task.getResourceUrl());
+        writeOptional(generator, "eventDate", task.getEventDate());
+        writeOptional(generator, "dueDate", task.getDueDate());
+        writeOptional(generator, "priority", task.getPriority());
+        if (task.getEstimatedHours() != null) {
+            generator.writeNumberField("estimatedHours", task.getEstimatedHours());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeOptional(JsonGenerator generator, String field, Object value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(field, value.toString());
+        }
+    }
+
+    /**
+     * Read one template object and write it with all of its tasks in a single transaction.
+     * Template fields have to precede the tasks because the template row is created when the tasks start.
+     */
+    private void importTemplate(JsonParser parser, ImportState state) {
+        transactionTemplate.execute(status -> {
+            try {
+                readTemplate(parser, state);
+            } catch (JsonProcessingException e) {
+                throw malformed(e, state);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    private void readTemplate(JsonParser parser, ImportState state) throws IOException {
+        TemplateTransferDto header = new TemplateTransferDto();
+        List<String> departments = new ArrayList<>();
+        Template template = null;
+        int position = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("tasks".equals(field)) {
+                expect(value, JsonToken.START_ARRAY, "a tasks array");
+                if (template == null) {
+                    template = createTemplate(header, departments, state);
+                }
+                position = readTasks(parser, template, position);
+                continue;
+            }
+            if (template != null && ("title".equals(field) || "description".equals(field) || "departments".equals(field))) {
+                throw new IllegalArgumentException("Template fields must come before its tasks: " + field);
+            }
+            switch (field) {
+                case "title" -> header.setTitle(parser.getValueAsString());
+                case "description" -> header.setDescription(parser.getValueAsString());
+                case "departments" -> {
+                    expect(value, JsonToken.START_ARRAY, "a departments array");
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        expect(parser.currentToken(), JsonToken.VALUE_STRING, "a department name");
+                        departments.add(parser.getText());
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (template == null) {
+            template = createTemplate(header, departments, state);
+        }
+
+        state.templateIds.add(template.getId());
+        state.taskCount += position;
+    }
+
+    private Template createTemplate(TemplateTransferDto header, List<String> departments, ImportState state) {
+        validate(header, "Template " + (state.templateIds.size() + 1));
+
+        Template template = new Template();
+        template.setTitle(header.getTitle().trim());
+        template.setDescription(header.getDescription() != null ? header.getDescription().trim() : null);
+        template.setStatus(TemplateStatus.PENDING);
+        template.setCreatedByHr(state.hrUser);
+        template = templateRepository.save(template);
+
+        // Departments own the link table, so the template is added on their side
+        List<Integer> matched = new ArrayList<>();
+        for (String name : departments) {
+            Integer departmentId = state.departmentIds.get(name);
+            if (departmentId != null) {
+                matched.add(departmentId);
+            } else {
+                state.unmatchedDepartments.add(name);
+            }
+        }
+        for (CompanyDepartment department : departmentRepository.findAllById(matched)) {
+            department.getAssignedTemplates().add(template);
+        }
+        return template;
+    }
+
+    private int readTasks(JsonParser parser, Template template, int position) throws IOException {
+        String title = template.getTitle();
+        List<Task> chunk = new ArrayList<>(batchSize);
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            expect(parser.currentToken(), JsonToken.START_OBJECT, "a task object");
+            TaskTransferDto dto = objectMapper.readValue(parser, TaskTransferDto.class);
+            position++;
+            validate(dto, "Task " + position + " of template '" + title + "'");
+            chunk.add(toTask(dto, template, position));
+
+            if (chunk.size() == batchSize) {
+                template = writeChunk(chunk, template);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, template);
+        }
+        return position;
+    }
+
+    /**
+     * Write the chunk and detach it, so the persistence context does not grow with the template.
+     * Everything pending, including the department links, is flushed first; the returned reference
+     * replaces the template for the following tasks.
+     */
+    private Template writeChunk(List<Task> chunk, Template template) {
+        taskRepository.saveAllAndFlush(chunk);
+        entityManager.clear();
+        return templateRepository.getReferenceById(template.getId());
+    }
+
+    private static Task toTask(TaskTransferDto dto, Template template, int position) {
+        Task task = new Task();
+        task.setTitle(dto.getTitle().trim());
+        task.setDescription(dto.getDescription());
+        task.setTaskType(dto.getTaskType());
+        task.setRequiresSignature(dto.isRequiresSignature());
+        task.setResourceUrl(dto.getResourceUrl());
+        task.setEventDate(dto.getEventDate());
+        task.setDueDate(dto.getDueDate());
+        task.setPriority(dto.getPriority());
+        task.setEstimatedHours(dto.getEstimatedHours());
+        task.setStatus(TaskStatus.PENDING);
+        task.setOrderIndex(position);
+        task.setRankKey(RankKeys.forIndex(position));
+        task.setTemplate(template);
+        return task;
+    }
+
+    private <T> void validate(T value, String subject) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(subject + ": " + violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String description) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Malformed template import: expected " + description);
+        }
+    }
+
+    private static IllegalArgumentException malformed(JsonProcessingException e, ImportState state) {
+        return new IllegalArgumentException("Malformed template import after " + state.templateIds.size()
+            + " templates: " + e.getOriginalMessage());
+    }
+
+    private static final class ImportState {
+        private final HrUser hrUser;
+        private final Map<String, Integer> departmentIds;
+        private final List<Integer> templateIds = new ArrayList<>();
+        private final SortedSet<String> unmatchedDepartments = new TreeSet<>();
+        private int taskCount;
+
+        private ImportState(HrUser hrUser, Map<String, Integer> departmentIds) {
+            this.hrUser = hrUser;
+            this.departmentIds = departmentIds;
+        }
+    }
+}
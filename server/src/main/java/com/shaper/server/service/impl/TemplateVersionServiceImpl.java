@@ -0,0 +1,148 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TemplatePublishedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplateVersionDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.entity.TemplateVersion;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.TemplateVersionRepository;
+import com.shaper.server.service.TemplateVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes template drafts as immutable versions and serves them to assignments. Versions never
+ * change after publishing, so their snapshots are cached without invalidation, and the latest
+ * version of a template is looked up without touching the template row. Publishing locks the
+ * template row so two publishers cannot pick the same version number.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateVersionServiceImpl implements TemplateVersionService {
+    
+    private final TemplateVersionRepository templateVersionRepository;
+    private final TemplateRepository templateRepository;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final Map<Integer, TemplateVersionSnapshot> versions = new ConcurrentHashMap<>();
+    // Version IDs only grow, so keeping the larger one never lets a slow reader roll a template back
+    private final Map<Integer, Integer> latestVersionIds = new ConcurrentHashMap<>();
+    
+    @Override
+    @Transactional
+    public TemplateVersionDto publish(Integer templateId) {
+        return convertToDto(publishVersion(templateId));
+    }
+    
+    @Override
+    @Transactional
+    public TemplateVersionSnapshot getCurrentVersion(Integer templateId) {
+        Integer versionId = latestVersionIds.get(templateId);
+        if (versionId == null) {
+            Optional<Integer> latestId = templateVersionRepository.findLatestIdByTemplateId(templateId);
+            if (latestId.isEmpty()) {
+                // Never published: the first assignment publishes the draft as version 1
+                TemplateVersion published = publishVersion(templateId);
+                return cache(new TemplateVersionSnapshot(published));
+            }
+            versionId = latestVersionIds.merge(templateId, latestId.get(), Math::max);
+        }
+        return getVersion(versionId);
+    }
+    
+    @Override
+    public TemplateVersionSnapshot getVersion(Integer versionId) {
+        TemplateVersionSnapshot cached = versions.get(versionId);
+        if (cached != null) {
+            return cached;
+        }
+        TemplateVersion version = templateVersionRepository.findWithTasksById(versionId)
+            .orElseThrow(() -> new DataNotFoundException("Template version not found with ID: " + versionId));
+        return cache(new TemplateVersionSnapshot(version));
+    }
+    
+    @Override
+    @Transactional
+    public List<TemplateVersionDto> getVersions(Integer templateId) {
+        return templateVersionRepository.findByTemplateIdOrderByVersionNumberDesc(templateId).stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplatePublished(TemplatePublishedEvent event) {
+        latestVersionIds.merge(event.getTemplateId(), event.getVersionId(), Math::max);
+    }
+    
+    private TemplateVersion publishVersion(Integer templateId) {
+        Template template = templateRepository.findByIdForUpdate(templateId)
+            .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
+        List<Task> draft = taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(templateId);
+        if (draft.isEmpty()) {
+            throw new IllegalStateException("Cannot publish template without tasks. Template ID: " + templateId);
+        }
+        
+        Optional<TemplateVersion> latest = templateVersionRepository.findLatestIdByTemplateId(templateId)
+            .flatMap(templateVersionRepository::findWithTasksById);
+        if (latest.isPresent() && isUnchanged(latest.get(), template, draft)) {
+            log.debug("Draft of template ID: {} is unchanged since version {}", templateId,
+                     latest.get().getVersionNumber());
+            return latest.get();
+        }
+        
+        TemplateVersion version = new TemplateVersion();
+        version.setTemplateId(templateId);
+        version.setVersionNumber(templateVersionRepository.findMaxVersionNumberByTemplateId(templateId) + 1);
+        version.setTitle(template.getTitle());
+        version.setDescription(template.getDescription());
+        version.setTasks(new ArrayList<>(draft));
+        TemplateVersion saved = templateVersionRepository.save(version);
+        
+        // Rows now shared with the version; later edits copy them instead
+        taskRepository.freezeAll(draft.stream().map(Task::getId).toList());
+        eventPublisher.publishEvent(new TemplatePublishedEvent(templateId, saved.getId()));
+        log.debug("Published version {} of template ID: {} with {} tasks", saved.getVersionNumber(), templateId, draft.size());
+        
+        return saved;
+    }
+    
+    /**
+     * Edits of frozen rows create new rows, so equal task IDs in equal order mean equal task content
+     */
+    private boolean isUnchanged(TemplateVersion version, Template template, List<Task> draft) {
+        return Objects.equals(version.getTitle(), template.getTitle())
+            && Objects.equals(version.getDescription(), template.getDescription())
+            && version.getTasks().stream().map(Task::getId).toList()
+                .equals(draft.stream().map(Task::getId).toList());
+    }
+    
+    private TemplateVersionSnapshot cache(TemplateVersionSnapshot snapshot) {
+        TemplateVersionSnapshot existing = versions.putIfAbsent(snapshot.getId(), snapshot);
+        return existing != null ? existing : snapshot;
+    }
+    
+    private TemplateVersionDto convertToDto(TemplateVersion version) {
+        return new TemplateVersionDto(version.getId(), version.getTemplateId(), version.getVersionNumber(),
+            version.getTitle(), version.getDescription(),
+            version.getTasks().stream().map(Task::getId).collect(Collectors.toList()),
+            version.getPublishedAt());
+    }
+}
@@ -1,15 +1,20 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TodoStatusChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.entity.*;
 import com.shaper.server.model.enums.TodoStatus;
 import com.shaper.server.repository.*;
 import com.shaper.server.service.NotificationService;
 import com.shaper.server.service.ProgressService;
+import com.shaper.server.service.TemplateVersionService;
 import com.shaper.server.service.TodoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +31,13 @@ public class TodoServiceImpl implements TodoService {
     
     private final TodoRepository todoRepository;
     private final TemplateRepository templateRepository;
+    private final TaskRepository taskRepository;
     private final HireRepository hireRepository;
     private final NotificationService notificationService;
     private final ProgressService progressService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TemplateVersionService templateVersionService;
+    private final TemplateVersionRepository templateVersionRepository;
     
     @Override
     public TodoDto getTodoById(Integer id) {
@@ -54,7 +63,7 @@ public class TodoServiceImpl implements TodoService {
     public TodoDto completeTodo(Integer id) {
         log.debug("Completing todo with ID: {}", id);
         
-        Todo todo = todoRepository.findById(id)
+        Todo todo = todoRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new DataNotFoundException("Todo not found with ID: " + id));
         
         if (todo.getStatus() == TodoStatus.COMPLETED) {
@@ -62,6 +71,7 @@ public class TodoServiceImpl implements TodoService {
             return convertToDto(todo);
         }
         
+        TodoStatus previousStatus = todo.getStatus();
         todo.setStatus(TodoStatus.COMPLETED);
         todo.setCompletedAt(LocalDateTime.now());
         
@@ -69,7 +79,9 @@ public class TodoServiceImpl implements TodoService {
         log.debug("Marked todo with ID: {} as completed", id);
         
         // Update progress tracking
-        progressService.updateProgressOnTodoCompletion(id);
+        progressService.updateProgressOnTodoStatusChange(
+            todo.getHire().getId(), todo.getTemplate().getId(), previousStatus, TodoStatus.COMPLETED);
+        publishTransition(savedTodo, previousStatus);
         log.debug("Updated progress for todo completion: {}", id);
         
         // Create notification for HR if task requires signature
@@ -106,38 +118,29 @@ public class TodoServiceImpl implements TodoService {
     public List<TodoDto> createTodosFromTemplate(Integer templateId, UUID hireId) {
         log.debug("Creating todos from template ID: {} for hire ID: {}", templateId, hireId);
         
-        Template template = templateRepository.findById(templateId)
-            .orElseThrow(() -> new DataNotFoundException("Template not found with ID: " + templateId));
+        // Todos point at the frozen tasks of the current version, so later template edits leave them alone
+        TemplateVersionSnapshot version = templateVersionService.getCurrentVersion(templateId);
         
         Hire hire = hireRepository.findById(hireId)
             .orElseThrow(() -> new DataNotFoundException("Hire not found with ID: " + hireId));
         
-        if (template.getTasks() == null || template.getTasks().isEmpty()) {
+        if (version.getTasks().isEmpty()) {
             log.warn("Template ID: {} has no tasks to create todos from", templateId);
             return List.of();
         }
         
-        // Create todos from template tasks, maintaining order
-        List<Todo> todos = template.getTasks().stream()
-            .sorted((t1, t2) -> Integer.compare(t1.getOrderIndex(), t2.getOrderIndex()))
+        // Create todos from template tasks, maintaining order; references avoid reloading the template
+        Template template = templateRepository.getReferenceById(templateId);
+        TemplateVersion templateVersion = templateVersionRepository.getReferenceById(version.getId());
+        List<Todo> todos = version.getTasks().stream()
             .map(task -> {
                 Todo todo = new Todo();
                 todo.setHire(hire);
-                todo.setTask(task);
+                todo.setTask(taskRepository.getReferenceById(task.getId()));
                 todo.setTemplate(template);
+                todo.setTemplateVersion(templateVersion);
                 todo.setStatus(TodoStatus.PENDING);
-                
-                // Set due date based on task type and event date
-                if (task.getEventDate() != null) {
-                    todo.setDueDate(task.getEventDate());
-                } else if (task.getDueDate() != null) {
-                    todo.setDueDate(task.getDueDate());
-                } else {
-                    // Default due date: 7 days from now for documents, 14 days for resources
-                    int daysToAdd = task.isRequiresSignature() ? 7 : 14;
-                    todo.setDueDate(LocalDateTime.now().plusDays(daysToAdd));
-                }
-                
+                todo.setDueDate(initialDueDate(task, LocalDateTime.now()));
                 return todo;
             }).collect(Collectors.toList());
         
@@ -145,7 +148,11 @@ public class TodoServiceImpl implements TodoService {
         log.debug("Created {} todos from template ID: {} for hire ID: {}", 
                  savedTodos.size(), templateId, hireId);
         
-        return savedTodos.stream().map(this::convertToDto).collect(Collectors.toList());
+        List<TodoDto> created = new ArrayList<>(savedTodos.size());
+        for (int i = 0; i < savedTodos.size(); i++) {
+            created.add(convertToDto(savedTodos.get(i), version.getTasks().get(i), templateId, version.getTitle()));
+        }
+        return created;
     }
     
     @Override
@@ -174,6 +181,30 @@ public class TodoServiceImpl implements TodoService {
         return overdueTodos.stream().map(this::convertToDto).collect(Collectors.toList());
     }
     
+    /**
+     * Due date of a new todo: the task's event or due date, otherwise 7 days after assignment for
+     * documents and 14 days for resources. Also used for tasks added to a template after assignment.
+     */
+    static LocalDateTime initialDueDate(TemplateSnapshot.TaskSnapshot task, LocalDateTime assignedAt) {
+        if (task.getEventDate() != null) {
+            return task.getEventDate();
+        }
+        if (task.getDueDate() != null) {
+            return task.getDueDate();
+        }
+        int daysToAdd = task.isRequiresSignature() ? 7 : 14;
+        return assignedAt.plusDays(daysToAdd);
+    }
+    
+    private void publishTransition(Todo todo, TodoStatus previousStatus) {
+        if (previousStatus == todo.getStatus()) {
+            return;
+        }
+        eventPublisher.publishEvent(new TodoStatusChangedEvent(todo.getId(), todo.getTask().getId(), 
+            todo.getTemplate().getId(), todo.getHire().getId(), previousStatus, todo.getStatus(), 
+            todo.getCreatedAt(), LocalDateTime.now()));
+    }
+    
     private TodoDto convertToDto(Todo todo) {
         TodoDto dto = new TodoDto();
         dto.setId(todo.getId());
@@ -209,6 +240,41 @@ public class TodoServiceImpl implements TodoService {
         return dto;
     }
     
+    /**
+     * Same as {@link #convertToDto(Todo)} but takes task and template fields from the version snapshot,
+     * so the task and template references of new todos are never initialized
+     */
+    private TodoDto convertToDto(Todo todo, TemplateSnapshot.TaskSnapshot task, Integer templateId, String templateTitle) {
+        TodoDto dto = new TodoDto();
+        dto.setId(todo.getId());
+        dto.setHireId(todo.getHire().getId());
+        dto.setHireName(todo.getHire().getFirstName() + " " + todo.getHire().getLastName());
+        dto.setTaskId(task.getId());
+        dto.setTaskTitle(task.getTitle());
+        dto.setTaskDescription(task.getDescription());
+        dto.setRequiresSignature(task.isRequiresSignature());
+        dto.setTemplateId(templateId);
+        dto.setTemplateTitle(templateTitle);
+        dto.setStatus(todo.getStatus());
+        dto.setCompletedAt(todo.getCompletedAt());
+        dto.setDueDate(todo.getDueDate());
+        dto.setReminderSentAt(todo.getReminderSentAt());
+        dto.setCreatedAt(todo.getCreatedAt());
+        dto.setUpdatedAt(todo.getUpdatedAt());
+        
+        if (task.getTaskType() != null) {
+            dto.setTaskType(task.getTaskType().name());
+        } else if (task.isRequiresSignature()) {
+            dto.setTaskType("DOCUMENT");
+        } else if (task.getEventDate() != null) {
+            dto.setTaskType("EVENT");
+        } else {
+            dto.setTaskType("RESOURCE");
+        }
+        
+        return dto;
+    }
+    
     @Override
     public List<TodoDto> getTodosByHireIdAndStatus(UUID hireId, TodoStatus status) {
         List<Todo> todos = todoRepository.findByHire_IdAndStatusOrderByDueDateAsc(hireId, status);
@@ -260,12 +326,22 @@ public class TodoServiceImpl implements TodoService {
     public TodoDto markTodoInProgress(Integer id) {
         log.debug("Marking todo with ID: {} as in progress", id);
         
-        Todo todo = todoRepository.findById(id)
+        Todo todo = todoRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new DataNotFoundException("Todo not found with ID: " + id));
         
+        if (todo.getStatus() == TodoStatus.IN_PROGRESS) {
+            log.debug("Todo with ID: {} is already in progress", id);
+            return convertToDto(todo);
+        }
+        
+        TodoStatus previousStatus = todo.getStatus();
         todo.setStatus(TodoStatus.IN_PROGRESS);
         Todo savedTodo = todoRepository.save(todo);
         
+        progressService.updateProgressOnTodoStatusChange(
+            todo.getHire().getId(), todo.getTemplate().getId(), previousStatus, TodoStatus.IN_PROGRESS);
+        publishTransition(savedTodo, previousStatus);
+        
         return convertToDto(savedTodo);
     }
     
@@ -274,12 +350,22 @@ public class TodoServiceImpl implements TodoService {
     public TodoDto markTodoOverdue(Integer id) {
         log.debug("Marking todo with ID: {} as overdue", id);
         
-        Todo todo = todoRepository.findById(id)
+        Todo todo = todoRepository.findByIdForUpdate(id)
             .orElseThrow(() -> new DataNotFoundException("Todo not found with ID: " + id));
         
+        if (todo.getStatus() == TodoStatus.OVERDUE) {
+            log.debug("Todo with ID: {} is already overdue", id);
+            return convertToDto(todo);
+        }
+        
+        TodoStatus previousStatus = todo.getStatus();
         todo.setStatus(TodoStatus.OVERDUE);
         Todo savedTodo = todoRepository.save(todo);
         
+        progressService.updateProgressOnTodoStatusChange(
+            todo.getHire().getId(), todo.getTemplate().getId(), previousStatus, TodoStatus.OVERDUE);
+        publishTransition(savedTodo, previousStatus);
+        
         return convertToDto(savedTodo);
     }
 }
\ No newline at end of file
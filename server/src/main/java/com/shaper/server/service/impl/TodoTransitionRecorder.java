@@ -0,0 +1,96 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TodoStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffers committed todo transitions and appends them to todo_transitions with one JDBC
+ * batch per flush, so status changes never pay for an extra insert round trip. A full batch
+ * schedules an early flush on the scheduler thread instead of writing on the request thread.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TodoTransitionRecorder {
+    
+    private static final String INSERT_SQL = "INSERT INTO todo_transitions " +
+        "(todo_id, task_id, template_id, hire_id, from_status, to_status, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler taskScheduler;
+    private final Queue<TodoStatusChangedEvent> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    
+    @Value("${todo-transitions.batch-size:200}")
+    private int batchSize = 200;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoStatusChanged(TodoStatusChangedEvent event) {
+        buffer.add(event);
+        if (buffered.incrementAndGet() >= batchSize && earlyFlushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flushEarly, Instant.now());
+        }
+    }
+    
+    private void flushEarly() {
+        earlyFlushScheduled.set(false);
+        flush();
+    }
+    
+    @Scheduled(fixedDelayString = "${todo-transitions.flush-interval-ms:2000}")
+    public void flushScheduled() {
+        flush();
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    synchronized int flush() {
+        int written = 0;
+        while (!buffer.isEmpty()) {
+            List<TodoStatusChangedEvent> batch = new ArrayList<>(batchSize);
+            TodoStatusChangedEvent event;
+            while (batch.size() < batchSize && (event = buffer.poll()) != null) {
+                batch.add(event);
+            }
+            buffered.addAndGet(-batch.size());
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, transition) -> {
+                    statement.setInt(1, transition.getTodoId());
+                    statement.setInt(2, transition.getTaskId());
+                    statement.setInt(3, transition.getTemplateId());
+                    statement.setObject(4, transition.getHireId());
+                    statement.setString(5, transition.getPreviousStatus() != null 
+                        ? transition.getPreviousStatus().name() : null);
+                    statement.setString(6, transition.getNewStatus().name());
+                    statement.setTimestamp(7, Timestamp.valueOf(transition.getOccurredAt()));
+                });
+                written += batch.size();
+            } catch (RuntimeException e) {
+                // The log is best effort; losing a batch must not break todo updates
+                log.error("Failed to append {} todo transitions", batch.size(), e);
+            }
+        }
+        return written;
+    }
+}
@@ -0,0 +1,122 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.model.dto.UserUnreadCountDto;
+import com.shaper.server.repository.NotificationRepository;
+import com.shaper.server.service.UnreadCountService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user unread counters kept in step with notification writes after commit. A counter is
+ * loaded from the database on first use; counters that were never loaded ignore writes, since
+ * the load will see them anyway. A write that commits while its user's counter is loading may
+ * be missed, which the periodic reconcile corrects. Counters live in a bounded LRU cache of
+ * {@code notifications.unread-counter.cache-size} users; an evicted counter is loaded again on
+ * next use.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCountServiceImpl implements UnreadCountService {
+    
+    private final NotificationRepository notificationRepository;
+    private final Map<UUID, LongAdder> counters = new LinkedHashMap<>(16, 0.75f, true);
+    
+    @Value("${notifications.unread-counter.reconcile-chunk-size:500}")
+    private int reconcileChunkSize = 500;
+    
+    @Value("${notifications.unread-counter.cache-size:10000}")
+    private int cacheSize = 10_000;
+    
+    @Override
+    public long getUnreadCount(UUID userId) {
+        LongAdder counter = counter(userId);
+        if (counter == null) {
+            LongAdder loaded = new LongAdder();
+            loaded.add(notificationRepository.countByUser_IdAndIsRead(userId, false));
+            counter = cacheCounter(userId, loaded);
+        }
+        return Math.max(0, counter.sum());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        if (!event.getNotification().isRead()) {
+            adjust(event.getNotification().getUserId(), 1);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        adjust(event.getUserId(), -event.getReadCount());
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.unread-counter.reconcile-ms:300000}")
+    public int reconcile() {
+        List<UUID> cached;
+        synchronized (counters) {
+            cached = new ArrayList<>(counters.keySet());
+        }
+        int corrected = 0;
+        for (int from = 0; from < cached.size(); from += reconcileChunkSize) {
+            List<UUID> chunk = cached.subList(from, Math.min(from + reconcileChunkSize, cached.size()));
+            Map<UUID, Long> actual = new HashMap<>();
+            for (UserUnreadCountDto row : notificationRepository.countUnreadByUserIds(chunk)) {
+                actual.put(row.getUserId(), row.getUnreadCount());
+            }
+            for (UUID userId : chunk) {
+                long expected = actual.getOrDefault(userId, 0L);
+                // Visiting users eldest first keeps their relative LRU order
+                LongAdder counter = counter(userId);
+                if (counter != null && counter.sum() != expected) {
+                    counter.add(expected - counter.sum());
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled unread counters for {} of {} users", corrected, cached.size());
+        }
+        return corrected;
+    }
+    
+    private void adjust(UUID userId, long delta) {
+        LongAdder counter = counter(userId);
+        if (counter != null) {
+            counter.add(delta);
+        }
+    }
+    
+    private LongAdder counter(UUID userId) {
+        synchronized (counters) {
+            return counters.get(userId);
+        }
+    }
+    
+    private LongAdder cacheCounter(UUID userId, LongAdder loaded) {
+        synchronized (counters) {
+            // A counter loaded concurrently may already have taken writes; keep that one
+            LongAdder current = counters.get(userId);
+            if (current != null) {
+                return current;
+            }
+            counters.put(userId, loaded);
+            Iterator<UUID> eldest = counters.keySet().iterator();
+            while (counters.size() > cacheSize && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+            return loaded;
+        }
+    }
+}
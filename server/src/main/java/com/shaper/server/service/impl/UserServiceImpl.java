@@ -19,6 +19,7 @@ import com.shaper.server.repository.CompanyRepository;
 import com.shaper.server.repository.HireRepository;
 import com.shaper.server.repository.HrUserRepository;
 import com.shaper.server.repository.UserRepository;
+import com.shaper.server.service.ProgressRollupService;
 import java.security.SecureRandom;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -37,6 +38,7 @@ public class UserServiceImpl implements UserService {
     private final HireRepository hireRepository;
     private final BCryptPasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final ProgressRollupService progressRollupService;
 
     public UserServiceImpl(UserRepository userRepository, 
                           CompanyRepository companyRepository,
@@ -44,7 +46,8 @@ public class UserServiceImpl implements UserService {
                           HrUserRepository hrUserRepository,
                           HireRepository hireRepository,
                           BCryptPasswordEncoder passwordEncoder,
-                          JwtService jwtService) {
+                          JwtService jwtService,
+                          ProgressRollupService progressRollupService) {
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.companyDepartmentRepository = companyDepartmentRepository;
@@ -52,6 +55,7 @@ public class UserServiceImpl implements UserService {
         this.hireRepository = hireRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.progressRollupService = progressRollupService;
     }
 
 
@@ -79,6 +83,11 @@ public class UserServiceImpl implements UserService {
         // Save user
         User savedUser = userRepository.save(user);
         
+        // A hire registered into a department counts towards its rollup like a hire moved there
+        if (savedUser instanceof Hire hire && hire.getDepartment() != null) {
+            progressRollupService.onHireDepartmentChanged(hire.getId(), null, hire.getDepartment());
+        }
+        
         return UserMapper.userToUserDTO(savedUser);
     }
 
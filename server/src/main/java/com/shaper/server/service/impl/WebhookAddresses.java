@@ -0,0 +1,52 @@
+package com.shaper.server.service.impl;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Address checks for webhook targets. The server posts to URLs chosen by customers, so a host
+ * must not lead to loopback, private, link-local or other internal addresses, neither when the
+ * endpoint is registered nor when a batch is sent.
+ */
+final class WebhookAddresses {
+    
+    private WebhookAddresses() {
+    }
+    
+    /**
+     * Resolve the host and fail if any of its addresses is internal
+     *
+     * @return the addresses of the host, all of them public
+     */
+    static InetAddress[] resolvePublic(String host) throws UnknownHostException {
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new InternalAddressException(host, address);
+            }
+        }
+        return addresses;
+    }
+    
+    static boolean isInternal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isAnyLocalAddress() || address.isLinkLocalAddress()
+            || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet6Address) {
+            // Unique local fc00::/7
+            return (bytes[0] & 0xfe) == 0xfc;
+        }
+        // Carrier-grade NAT 100.64.0.0/10
+        return (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+    }
+    
+    static final class InternalAddressException extends IllegalArgumentException {
+        
+        InternalAddressException(String host, InetAddress address) {
+            super("Host " + host + " resolves to internal address " + address.getHostAddress());
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.shaper.server.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shaper.server.event.DocumentUploadedEvent;
+import com.shaper.server.event.TemplateAssignedEvent;
+import com.shaper.server.event.TodoStatusChangedEvent;
+import com.shaper.server.event.WebhookEndpointsChangedEvent;
+import com.shaper.server.model.dto.WebhookEventDto;
+import com.shaper.server.model.entity.WebhookDeadLetter;
+import com.shaper.server.model.entity.WebhookEndpoint;
+import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.model.enums.WebhookEventType;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.WebhookDeadLetterRepository;
+import com.shaper.server.repository.WebhookEndpointRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers onboarding events to company webhook endpoints after the originating transaction
+ * commits. Each endpoint has its own bounded queue; a scheduled flush posts up to
+ * {@code webhooks.batch-size} events per endpoint as one signed request. A failed batch is retried
+ * with exponential backoff and, once {@code webhooks.max-attempts} is reached, written to
+ * webhook_dead_letters. Only one batch per endpoint is in flight at a time, and at most
+ * {@code webhooks.max-in-flight-per-host} requests go to the same host. The host is resolved and
+ * checked for internal addresses before every request, and the request goes to the checked address.
+ * Events still queued at shutdown are written to webhook_dead_letters.
+ *
+ * <p>Receivers verify {@value #SIGNATURE_HEADER}: hex HMAC-SHA256 of "{timestamp}.{body}" with the
+ * endpoint secret, where the timestamp is sent in {@value #TIMESTAMP_HEADER}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebhookDispatcher {
+    
+    static final String SIGNATURE_HEADER = "X-Boardify-Signature";
+    static final String TIMESTAMP_HEADER = "X-Boardify-Timestamp";
+    
+    private final WebhookEndpointRepository webhookEndpointRepository;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final TemplateRepository templateRepository;
+    private final ProgressRepository progressRepository;
+    private final ObjectMapper objectMapper;
+    
+    private final Map<Integer, List<WebhookEndpoint>> endpointsByCompany = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> companyByTemplate = new ConcurrentHashMap<>();
+    private final Map<Integer, EndpointQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    // Requests block on their socket; virtual threads keep that cheap
+    private final ExecutorService deliveryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    @Value("${webhooks.batch-size:50}")
+    private int batchSize = 50;
+    
+    @Value("${webhooks.queue-capacity:10000}")
+    private int queueCapacity = 10_000;
+    
+    @Value("${webhooks.max-attempts:6}")
+    private int maxAttempts = 6;
+    
+    @Value("${webhooks.initial-backoff-ms:1000}")
+    private long initialBackoffMs = 1_000L;
+    
+    @Value("${webhooks.max-backoff-ms:300000}")
+    private long maxBackoffMs = 300_000L;
+    
+    @Value("${webhooks.max-in-flight-per-host:4}")
+    private int maxInFlightPerHost = 4;
+    
+    @Value("${webhooks.connect-timeout-ms:5000}")
+    private int connectTimeoutMs = 5_000;
+    
+    @Value("${webhooks.request-timeout-ms:10000}")
+    private int requestTimeoutMs = 10_000;
+    
+    @Value("${webhooks.allow-private-hosts:false}")
+    private boolean allowPrivateHosts;
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoStatusChanged(TodoStatusChangedEvent event) {
+        if (event.getNewStatus() != TodoStatus.COMPLETED) {
+            return;
+        }
+        Integer companyId = companyOf(event.getTemplateId());
+        if (companyId == null || endpointsFor(companyId).isEmpty()) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("todoId", event.getTodoId());
+        data.put("taskId", event.getTaskId());
+        data.put("templateId", event.getTemplateId());
+        data.put("hireId", event.getHireId());
+        data.put("completedAt", event.getOccurredAt());
+        publish(companyId, WebhookEventType.TODO_COMPLETED, data);
+        
+        // The todo that finishes a template is also the end of that onboarding
+        if (hasSubscribers(companyId, WebhookEventType.ONBOARDING_COMPLETED)) {
+            progressRepository.findByHireIdAndTemplateId(event.getHireId(), event.getTemplateId())
+                .filter(progress -> progress.getTotalTasks() != null && progress.getTotalTasks() > 0
+                    && progress.getCompletedTasks() != null
+                    && progress.getCompletedTasks() >= progress.getTotalTasks())
+                .ifPresent(progress -> publish(companyId, WebhookEventType.ONBOARDING_COMPLETED, Map.of(
+                    "hireId", event.getHireId(),
+                    "templateId", event.getTemplateId(),
+                    "completedTasks", progress.getCompletedTasks())));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTemplateAssigned(TemplateAssignedEvent event) {
+        Integer companyId = companyOf(event.getTemplateId());
+        if (companyId != null) {
+            publish(companyId, WebhookEventType.TEMPLATE_ASSIGNED, Map.of(
+                "templateId", event.getTemplateId(),
+                "hireId", event.getHireId()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentUploaded(DocumentUploadedEvent event) {
+        Integer companyId = companyOf(event.getTemplateId());
+        if (companyId == null) {
+            return;
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("documentId", event.getDocumentId());
+        data.put("documentName", event.getDocumentName());
+        data.put("taskId", event.getTaskId());
+        data.put("templateId", event.getTemplateId());
+        data.put("todoId", event.getTodoId());
+        publish(companyId, WebhookEventType.DOCUMENT_UPLOADED, data);
+    }
+    
+    /**
+     * Queue the event for every active endpoint of the company subscribed to its type
+     */
+    void publish(Integer companyId, WebhookEventType type, Map<String, Object> data) {
+        List<WebhookEndpoint> targets = endpointsFor(companyId).stream()
+            .filter(endpoint -> subscribes(endpoint, type))
+            .toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        WebhookEventDto event = new WebhookEventDto(UUID.randomUUID(), type, companyId, LocalDateTime.now(), data);
+        for (WebhookEndpoint endpoint : targets) {
+            EndpointQueue queue = queues.computeIfAbsent(endpoint.getId(), id -> new EndpointQueue(endpoint));
+            if (!queue.offer(event)) {
+                log.warn("Webhook queue of endpoint {} is full, dead-lettering {} event {}", endpoint.getId(), type, event.getId());
+                deadLetter(endpoint, List.of(event), 0, "Queue full");
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${webhooks.flush-interval-ms:1000}")
+    public void flushScheduled() {
+        flush();
+    }
+    
+    /**
+     * Send one batch for every endpoint that is due and has no request in flight
+     *
+     * @return completes when every request started by this call has been handled
+     */
+    CompletableFuture<Void> flush() {
+        if (deliveryExecutor.isShutdown()) {
+            // Whatever is still queued is dead-lettered by drainOnShutdown
+            return CompletableFuture.completedFuture(null);
+        }
+        long now = System.currentTimeMillis();
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (EndpointQueue queue : queues.values()) {
+            List<WebhookEventDto> batch = queue.takeBatch(now);
+            if (batch == null) {
+                continue;
+            }
+            Semaphore permits = hostPermits.computeIfAbsent(queue.host, host -> new Semaphore(maxInFlightPerHost));
+            if (!permits.tryAcquire()) {
+                // Host saturated: put the batch back untouched and try on the next flush
+                queue.requeue(batch, now);
+                continue;
+            }
+            deliveries.add(deliver(queue, batch).whenComplete((ignored, error) -> permits.release()));
+        }
+        return CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEndpointsChanged(WebhookEndpointsChangedEvent event) {
+        evictEndpoints(event.getCompanyId());
+    }
+    
+    /**
+     * Forget cached endpoints of a company after they were created, changed or removed. Queues
+     * of its endpoints pick up the reloaded URL, secret and event types for their next batch;
+     * queues of endpoints that are no longer active are dropped.
+     */
+    void evictEndpoints(Integer companyId) {
+        endpointsByCompany.remove(companyId);
+        Map<Integer, WebhookEndpoint> current = new HashMap<>();
+        endpointsFor(companyId).forEach(endpoint -> current.put(endpoint.getId(), endpoint));
+        queues.values().removeIf(queue -> companyId.equals(queue.endpoint.getCompanyId())
+            && !current.containsKey(queue.endpoint.getId()));
+        current.forEach((id, endpoint) -> {
+            EndpointQueue queue = queues.get(id);
+            if (queue != null) {
+                queue.update(endpoint);
+            }
+        });
+    }
+    
+    /**
+     * Let requests in flight finish, then move everything still queued to the dead letters so a
+     * deploy does not lose events
+     */
+    @PreDestroy
+    public void drainOnShutdown() {
+        deliveryExecutor.shutdown();
+        try {
+            if (!deliveryExecutor.awaitTermination(connectTimeoutMs + requestTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Webhook requests still in flight at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int drained = 0;
+        for (EndpointQueue queue : queues.values()) {
+            List<WebhookEventDto> remaining;
+            while (!(remaining = queue.drain()).isEmpty()) {
+                deadLetter(queue.endpoint, remaining, 0, "Pending at shutdown");
+                drained += remaining.size();
+            }
+        }
+        if (drained > 0) {
+            log.info("Dead-lettered {} pending webhook events on shutdown", drained);
+        }
+    }
+    
+    int getPendingCount(Integer endpointId) {
+        EndpointQueue queue = queues.get(endpointId);
+        return queue == null ? 0 : queue.size();
+    }
+    
+    static String sign(String secret, String timestamp, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal((timestamp + "." + body).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+    
+    private CompletableFuture<Void> deliver(EndpointQueue queue, List<WebhookEventDto> batch) {
+        // One consistent URL and secret per request, even if the endpoint is refreshed meanwhile
+        WebhookEndpoint endpoint = queue.endpoint;
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Map.of("events", batch));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize webhook batch for endpoint {}", endpoint.getId(), e);
+            deadLetter(endpoint, batch, 0, e.getMessage());
+            queue.complete();
+            return CompletableFuture.completedFuture(null);
+        }
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("Content-Type", "application/json");
+        headers.put(TIMESTAMP_HEADER, timestamp);
+        headers.put(SIGNATURE_HEADER, "sha256=" + sign(endpoint.getSecret(), timestamp, body));
+        
+        return CompletableFuture.runAsync(() -> {
+            String reason;
+            try {
+                URI uri = URI.create(endpoint.getUrl());
+                int status = WebhookTransport.post(resolveTarget(uri.getHost()), uri, headers, body,
+                    connectTimeoutMs, requestTimeoutMs);
+                if (status / 100 == 2) {
+                    queue.complete();
+                    log.debug("Delivered {} webhook events to endpoint {}", batch.size(), endpoint.getId());
+                    return;
+                }
+                reason = "HTTP " + status;
+            } catch (IOException | RuntimeException e) {
+                reason = e.toString();
+            }
+            onFailure(queue, batch, body, reason);
+        }, deliveryExecutor);
+    }
+    
+    /**
+     * Resolve the host now rather than trusting the check made at registration; it may have been
+     * rebound to an internal address since
+     */
+    private InetAddress resolveTarget(String host) throws IOException {
+        InetAddress[] addresses = allowPrivateHosts
+            ? InetAddress.getAllByName(host) : WebhookAddresses.resolvePublic(host);
+        return addresses[0];
+    }
+    
+    private void onFailure(EndpointQueue queue, List<WebhookEventDto> batch, String body, String reason) {
+        int attempts = queue.fail();
+        if (attempts >= maxAttempts) {
+            log.warn("Giving up on {} webhook events for endpoint {} after {} attempts: {}",
+                batch.size(), queue.endpoint.getId(), attempts, reason);
+            deadLetter(queue.endpoint, body, attempts, reason);
+            queue.complete();
+            return;
+        }
+        long backoff = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        log.info("Webhook delivery to endpoint {} failed ({}), retrying in {} ms", queue.endpoint.getId(), reason, backoff);
+        queue.requeue(batch, System.currentTimeMillis() + backoff);
+    }
+    
+    private void deadLetter(WebhookEndpoint endpoint, List<WebhookEventDto> batch, int attempts, String reason) {
+        try {
+            deadLetter(endpoint, objectMapper.writeValueAsString(Map.of("events", batch)), attempts, reason);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize dead-lettered webhook events for endpoint {}", endpoint.getId(), e);
+        }
+    }
+    
+    private void deadLetter(WebhookEndpoint endpoint, String payload, int attempts, String reason) {
+        WebhookDeadLetter deadLetter = new WebhookDeadLetter();
+        deadLetter.setEndpointId(endpoint.getId());
+        deadLetter.setPayload(payload);
+        deadLetter.setAttempts(attempts);
+        deadLetter.setLastError(reason != null && reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+        deadLetter.setFailedAt(LocalDateTime.now());
+        try {
+            webhookDeadLetterRepository.save(deadLetter);
+        } catch (RuntimeException e) {
+            log.error("Could not store dead-lettered webhook batch for endpoint {}", endpoint.getId(), e);
+        }
+    }
+    
+    private List<WebhookEndpoint> endpointsFor(Integer companyId) {
+        return endpointsByCompany.computeIfAbsent(companyId, webhookEndpointRepository::findByCompanyIdAndActiveTrue);
+    }
+    
+    private boolean hasSubscribers(Integer companyId, WebhookEventType type) {
+        return endpointsFor(companyId).stream().anyMatch(endpoint -> subscribes(endpoint, type));
+    }
+    
+    private boolean subscribes(WebhookEndpoint endpoint, WebhookEventType type) {
+        return Arrays.asList(endpoint.getEventTypes().split(",")).contains(type.name());
+    }
+    
+    private Integer companyOf(Integer templateId) {
+        if (templateId == null) {
+            return null;
+        }
+        Integer companyId = companyByTemplate.get(templateId);
+        if (companyId == null) {
+            companyId = templateRepository.findCompanyIdById(templateId).orElse(null);
+            if (companyId != null) {
+                companyByTemplate.put(templateId, companyId);
+            }
+        }
+        return companyId;
+    }
+    
+    private final class EndpointQueue {
+        private volatile WebhookEndpoint endpoint;
+        private volatile String host;
+        private final Deque<WebhookEventDto> pending = new ArrayDeque<>();
+        private boolean inFlight;
+        private int attempts;
+        private long nextAttemptAt;
+        
+        private EndpointQueue(WebhookEndpoint endpoint) {
+            update(endpoint);
+        }
+        
+        private void update(WebhookEndpoint endpoint) {
+            this.host = URI.create(endpoint.getUrl()).getAuthority();
+            this.endpoint = endpoint;
+        }
+        
+        private synchronized boolean offer(WebhookEventDto event) {
+            if (pending.size() >= queueCapacity) {
+                return false;
+            }
+            pending.addLast(event);
+            return true;
+        }
+        
+        private synchronized List<WebhookEventDto> takeBatch(long now) {
+            if (inFlight || pending.isEmpty() || now < nextAttemptAt) {
+                return null;
+            }
+            List<WebhookEventDto> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            while (batch.size() < batchSize && !pending.isEmpty()) {
+                batch.add(pending.pollFirst());
+            }
+            inFlight = true;
+            return batch;
+        }
+        
+        private synchronized void requeue(List<WebhookEventDto> batch, long retryAt) {
+            // Back at the head so the endpoint still sees events in order
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                pending.addFirst(batch.get(i));
+            }
+            nextAttemptAt = retryAt;
+            inFlight = false;
+        }
+        
+        private synchronized int fail() {
+            return ++attempts;
+        }
+        
+        private synchronized void complete() {
+            attempts = 0;
+            nextAttemptAt = 0;
+            inFlight = false;
+        }
+        
+        private synchronized List<WebhookEventDto> drain() {
+            List<WebhookEventDto> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            while (batch.size() < batchSize && !pending.isEmpty()) {
+                batch.add(pending.pollFirst());
+            }
+            return batch;
+        }
+        
+        private synchronized int size() {
+            return pending.size();
+        }
+    }
+}
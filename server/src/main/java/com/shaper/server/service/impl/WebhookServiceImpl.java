@@ -0,0 +1,153 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.WebhookEndpointsChangedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.WebhookDeadLetterDto;
+import com.shaper.server.model.dto.WebhookEndpointDto;
+import com.shaper.server.model.dto.WebhookEndpointRequest;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.WebhookDeadLetter;
+import com.shaper.server.model.entity.WebhookEndpoint;
+import com.shaper.server.model.enums.WebhookEventType;
+import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.WebhookDeadLetterRepository;
+import com.shaper.server.repository.WebhookEndpointRepository;
+import com.shaper.server.service.WebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.security.SecureRandom;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WebhookServiceImpl implements WebhookService {
+    
+    private static final SecureRandom SECRET_RANDOM = new SecureRandom();
+    
+    private final WebhookEndpointRepository webhookEndpointRepository;
+    private final WebhookDeadLetterRepository webhookDeadLetterRepository;
+    private final HrUserRepository hrUserRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Only for local development against receivers on the same machine or network
+    @Value("${webhooks.allow-private-hosts:false}")
+    private boolean allowPrivateHosts;
+    
+    @Override
+    @Transactional
+    public WebhookEndpointDto createEndpoint(UUID hrId, WebhookEndpointRequest request) {
+        Integer companyId = companyOf(hrId);
+        if (request.getCompanyId() != null && !request.getCompanyId().equals(companyId)) {
+            throw new DataNotFoundException("Company not found with ID: " + request.getCompanyId());
+        }
+        validateUrl(request.getUrl());
+        if (request.getEventTypes() == null || request.getEventTypes().isEmpty()) {
+            throw new IllegalArgumentException("At least one event type is required");
+        }
+        
+        byte[] secret = new byte[32];
+        SECRET_RANDOM.nextBytes(secret);
+        
+        WebhookEndpoint endpoint = new WebhookEndpoint();
+        endpoint.setCompanyId(companyId);
+        endpoint.setUrl(request.getUrl());
+        endpoint.setSecret(HexFormat.of().formatHex(secret));
+        endpoint.setEventTypes(request.getEventTypes().stream()
+            .map(WebhookEventType::name)
+            .sorted()
+            .collect(Collectors.joining(",")));
+        WebhookEndpoint saved = webhookEndpointRepository.save(endpoint);
+        eventPublisher.publishEvent(new WebhookEndpointsChangedEvent(saved.getCompanyId()));
+        
+        log.info("Registered webhook endpoint {} for company {}", saved.getId(), saved.getCompanyId());
+        WebhookEndpointDto dto = convertToDto(saved);
+        dto.setSecret(saved.getSecret());
+        return dto;
+    }
+    
+    @Override
+    public List<WebhookEndpointDto> getEndpointsByCompany(UUID hrId, Integer companyId) {
+        if (!companyId.equals(companyOf(hrId))) {
+            throw new DataNotFoundException("Company not found with ID: " + companyId);
+        }
+        return webhookEndpointRepository.findByCompanyIdOrderByIdAsc(companyId).stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional
+    public void deleteEndpoint(UUID hrId, Integer endpointId) {
+        WebhookEndpoint endpoint = findOwnEndpoint(hrId, endpointId);
+        webhookEndpointRepository.delete(endpoint);
+        // Its queue is dropped with the reload, so nothing is sent to it after the commit
+        eventPublisher.publishEvent(new WebhookEndpointsChangedEvent(endpoint.getCompanyId()));
+        log.info("Removed webhook endpoint {} of company {}", endpointId, endpoint.getCompanyId());
+    }
+    
+    @Override
+    public List<WebhookDeadLetterDto> getDeadLetters(UUID hrId, Integer endpointId) {
+        findOwnEndpoint(hrId, endpointId);
+        return webhookDeadLetterRepository.findByEndpointIdOrderByFailedAtDesc(endpointId).stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+    
+    private Integer companyOf(UUID hrId) {
+        HrUser hrUser = hrUserRepository.findById(hrId)
+            .orElseThrow(() -> new DataNotFoundException("HR user not found with ID: " + hrId));
+        return hrUser.getCompany().getId();
+    }
+    
+    private WebhookEndpoint findOwnEndpoint(UUID hrId, Integer endpointId) {
+        return webhookEndpointRepository.findById(endpointId)
+            .filter(endpoint -> endpoint.getCompanyId().equals(companyOf(hrId)))
+            .orElseThrow(() -> new DataNotFoundException("Webhook endpoint not found with ID: " + endpointId));
+    }
+    
+    void validateUrl(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid webhook URL: " + url);
+        }
+        String scheme = uri.getScheme();
+        if (uri.getHost() == null || !("https".equalsIgnoreCase(scheme) || "http".equalsIgnoreCase(scheme))) {
+            throw new IllegalArgumentException("Webhook URL must be an absolute http(s) URL: " + url);
+        }
+        if (allowPrivateHosts) {
+            return;
+        }
+        // Checked again before every delivery, since the host may resolve differently by then
+        try {
+            WebhookAddresses.resolvePublic(uri.getHost());
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Webhook host cannot be resolved: " + uri.getHost());
+        } catch (WebhookAddresses.InternalAddressException e) {
+            throw new IllegalArgumentException("Webhook URL must point to a public host: " + url);
+        }
+    }
+    
+    private WebhookEndpointDto convertToDto(WebhookEndpoint endpoint) {
+        Set<WebhookEventType> eventTypes = Arrays.stream(endpoint.getEventTypes().split(","))
+            .map(WebhookEventType::valueOf)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(WebhookEventType.class)));
+        return new WebhookEndpointDto(endpoint.getId(), endpoint.getCompanyId(), endpoint.getUrl(), eventTypes,
+            endpoint.isActive(), null, endpoint.getCreatedAt());
+    }
+    
+    private WebhookDeadLetterDto convertToDto(WebhookDeadLetter deadLetter) {
+        return new WebhookDeadLetterDto(deadLetter.getId(), deadLetter.getEndpointId(), deadLetter.getPayload(),
+            deadLetter.getAttempts(), deadLetter.getLastError(), deadLetter.getFailedAt());
+    }
+}
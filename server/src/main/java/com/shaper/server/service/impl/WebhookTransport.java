@@ -0,0 +1,94 @@
+package com.shaper.server.service.impl;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Minimal HTTP/1.1 POST over a connection to an address the caller already checked. Connecting to
+ * that address instead of the host name leaves no second lookup that DNS rebinding could point at
+ * an internal service. TLS still uses the host name for SNI and certificate verification.
+ */
+final class WebhookTransport {
+    
+    private static final int MAX_STATUS_LINE = 1024;
+    
+    private WebhookTransport() {
+    }
+    
+    /**
+     * @return the HTTP status code of the response
+     */
+    static int post(InetAddress address, URI uri, Map<String, String> headers, String body,
+                    int connectTimeoutMs, int readTimeoutMs) throws IOException {
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (https ? 443 : 80);
+        String host = uri.getHost();
+        
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(address, port), connectTimeoutMs);
+            socket.setSoTimeout(readTimeoutMs);
+            if (https) {
+                String serverName = host.startsWith("[") ? host.substring(1, host.length() - 1) : host;
+                SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                    .createSocket(socket, serverName, port, true);
+                SSLParameters parameters = tls.getSSLParameters();
+                parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                tls.setSSLParameters(parameters);
+                tls.startHandshake();
+                socket = tls;
+            }
+            
+            byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            StringBuilder head = new StringBuilder()
+                .append("POST ").append(path).append(uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "")
+                .append(" HTTP/1.1\r\n")
+                .append("Host: ").append(host).append(uri.getPort() != -1 ? ":" + port : "").append("\r\n")
+                .append("Content-Length: ").append(payload.length).append("\r\n")
+                .append("Connection: close\r\n");
+            headers.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+            head.append("\r\n");
+            
+            OutputStream out = socket.getOutputStream();
+            out.write(head.toString().getBytes(StandardCharsets.ISO_8859_1));
+            out.write(payload);
+            out.flush();
+            return readStatus(socket.getInputStream());
+        } finally {
+            socket.close();
+        }
+    }
+    
+    private static int readStatus(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (line.size() == MAX_STATUS_LINE) {
+                throw new IOException("Status line too long");
+            }
+            line.write(b);
+        }
+        // "HTTP/1.1 204 No Content"
+        String[] parts = line.toString(StandardCharsets.ISO_8859_1).trim().split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Malformed HTTP response: " + line.toString(StandardCharsets.ISO_8859_1).trim());
+        }
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed HTTP status: " + parts[1]);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.shaper.server.system;
+
+/**
+ * Fractional order keys over the base-36 digits 0-9a-z. A key is read as the fraction
+ * 0.d1d2d3... so plain string comparison gives the order, and a key strictly between any two
+ * others always exists. Keys created here never end in '0', which keeps that true.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int INDEX_WIDTH = 6;
+
+    private RankKeys() {
+    }
+
+    /**
+     * Evenly spaced key for a 1-based position; used for legacy order indices and rebalancing.
+     * The trailing '1' keeps positions like 10 from ending in '0'.
+     */
+    public static String forIndex(int position) {
+        if (position < 1) {
+            throw new IllegalArgumentException("Position must be at least 1: " + position);
+        }
+        String digits = Integer.toString(position);
+        if (digits.length() > INDEX_WIDTH) {
+            throw new IllegalArgumentException("Position too large for a rank key: " + position);
+        }
+        return "0".repeat(INDEX_WIDTH - digits.length()) + digits + "1";
+    }
+
+    /**
+     * Shortest key strictly between the two; a null bound means the start or end of the list
+     */
+    public static String between(String before, String after) {
+        String low = before == null ? "" : before;
+        if (after != null && low.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank keys out of order: " + before + " >= " + after);
+        }
+        StringBuilder key = new StringBuilder();
+        boolean upperOpen = after == null;
+        for (int i = 0; ; i++) {
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi;
+            if (upperOpen) {
+                hi = BASE;
+            } else if (i < after.length()) {
+                hi = digit(after.charAt(i));
+            } else {
+                throw new IllegalArgumentException("No rank key fits between " + before + " and " + after);
+            }
+            if (lo == hi) {
+                key.append(DIGITS.charAt(lo));
+                continue;
+            }
+            int mid = (lo + hi) / 2;
+            if (mid > lo) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+            // Adjacent digits: keep the lower one and split the remaining range above it
+            key.append(DIGITS.charAt(lo));
+            upperOpen = true;
+        }
+    }
+
+    private static int digit(char c) {
+        int value = DIGITS.indexOf(c);
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid rank key character: " + c);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,5 @@
+-- Keyset pagination of the notification feed, newest first, with and without a type filter
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_feed
+    ON notifications(recipient_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_type_feed
+    ON notifications(recipient_id, type, created_at DESC, id DESC);
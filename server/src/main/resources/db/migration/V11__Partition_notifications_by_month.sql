@@ -0,0 +1,58 @@
+-- Rebuild notifications as a table range partitioned by month on created_at.
+-- The primary key has to include the partition key, so it becomes (id, created_at).
+ALTER TABLE notifications RENAME TO notifications_legacy;
+
+CREATE TABLE notifications (
+    id INTEGER NOT NULL DEFAULT nextval('notifications_id_seq'),
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT,
+    is_read BOOLEAN DEFAULT FALSE,
+    recipient_id UUID NOT NULL REFERENCES hr_manager(id),
+    related_todo_id INTEGER REFERENCES todos(id),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+
+-- Catches rows outside every monthly partition, including old unread rows kept back by retention
+CREATE TABLE IF NOT EXISTS notifications_default PARTITION OF notifications DEFAULT;
+
+DO $$
+DECLARE
+    first_month DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '1 month')::DATE;
+    partition_start DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::DATE, date_trunc('month', CURRENT_DATE)::DATE)
+        INTO first_month
+        FROM notifications_legacy;
+    partition_start := first_month;
+    WHILE partition_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+            'notifications_' || to_char(partition_start, 'YYYY_MM'),
+            partition_start,
+            (partition_start + INTERVAL '1 month')::DATE);
+        partition_start := (partition_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, type, title, message, is_read, recipient_id, related_todo_id, created_at)
+SELECT id, type, title, message, is_read, recipient_id, related_todo_id, COALESCE(created_at, CURRENT_TIMESTAMP)
+FROM notifications_legacy;
+
+DROP TABLE notifications_legacy;
+
+-- Created on the parent so every partition, present and future, gets them
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_read ON notifications(recipient_id, is_read);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_feed
+    ON notifications(recipient_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_type_feed
+    ON notifications(recipient_id, type, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_notifications_todo ON notifications(related_todo_id);
+
+-- Read notifications past retention end up here as whole detached partitions, outside the feed
+CREATE TABLE IF NOT EXISTS notifications_archive (LIKE notifications INCLUDING DEFAULTS)
+    PARTITION BY RANGE (created_at);
@@ -0,0 +1,6 @@
+-- Users listed here get task-completed and document-signed notifications as periodic digests
+CREATE TABLE IF NOT EXISTS notification_digest_preferences (
+    user_id UUID PRIMARY KEY REFERENCES users(id),
+    frequency VARCHAR(20) NOT NULL DEFAULT 'IMMEDIATE',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,39 @@
+-- Notifications reference a template plus parameters instead of repeating the formatted sentence
+CREATE TABLE IF NOT EXISTS notification_templates (
+    code VARCHAR(50) PRIMARY KEY,
+    body TEXT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO notification_templates (code, body) VALUES
+    ('TASK_COMPLETED', 'Task ''{0}'' has been completed by {1}'),
+    ('DOCUMENT_SIGNED', 'Document for task ''{0}'' has been signed and requires your review'),
+    ('SIGNATURE_REQUEST', 'Please review and sign the document for task ''{0}'''),
+    ('OVERDUE_TASK', 'Task ''{0}'' is overdue. Please complete it as soon as possible.'),
+    ('REMINDER', 'Reminder: Task ''{0}'' is due soon. Please complete it.'),
+    ('ONBOARDING_STARTED', 'Onboarding has started for {0}'),
+    ('ONBOARDING_COMPLETED', 'Onboarding has been completed by {0}')
+ON CONFLICT (code) DO NOTHING;
+
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS template_code VARCHAR(50);
+-- Parameters joined with the unit separator, chr(31)
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS message_params VARCHAR(1000);
+ALTER TABLE notifications ALTER COLUMN message DROP NOT NULL;
+
+-- Convert rows whose message matches a template exactly; anything else stays free text
+UPDATE notifications SET
+    template_code = t.code,
+    message_params = array_to_string(regexp_match(message, t.pattern), chr(31)),
+    message = NULL
+FROM (VALUES
+    ('TASK_COMPLETED', '^Task ''(.*)'' has been completed by (.*)$'),
+    ('DOCUMENT_SIGNED', '^Document for task ''(.*)'' has been signed and requires your review$'),
+    ('SIGNATURE_REQUEST', '^Please review and sign the document for task ''(.*)''$'),
+    ('OVERDUE_TASK', '^Task ''(.*)'' is overdue\. Please complete it as soon as possible\.$'),
+    ('REMINDER', '^Reminder: Task ''(.*)'' is due soon\. Please complete it\.$'),
+    ('ONBOARDING_STARTED', '^Onboarding has started for (.*)$'),
+    ('ONBOARDING_COMPLETED', '^Onboarding has been completed by (.*)$')
+) AS t(code, pattern)
+WHERE notifications.type = t.code
+  AND notifications.template_code IS NULL
+  AND notifications.message ~ t.pattern;
@@ -0,0 +1,17 @@
+-- Tasks are ordered by a lexicographic rank key so a move rewrites only the moved row.
+-- order_index remains as the displayed position and is renumbered in the background.
+ALTER TABLE tasks ADD COLUMN rank_key VARCHAR(64) COLLATE "C";
+
+WITH ranked AS (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY template_id ORDER BY order_index, id) AS rn
+    FROM tasks
+)
+UPDATE tasks t
+SET rank_key = lpad(ranked.rn::text, 6, '0') || '1',
+    order_index = ranked.rn
+FROM ranked
+WHERE t.id = ranked.id;
+
+ALTER TABLE tasks ALTER COLUMN rank_key SET NOT NULL;
+
+CREATE INDEX idx_tasks_template_rank_key ON tasks(template_id, rank_key);
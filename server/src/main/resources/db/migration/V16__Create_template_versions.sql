@@ -0,0 +1,45 @@
+-- Published template versions. A version lists task rows directly, so unchanged tasks are
+-- shared between versions; those rows are frozen and edits create a new draft row instead.
+ALTER TABLE tasks ADD COLUMN frozen BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE tasks ADD COLUMN retired BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE template_versions (
+    id SERIAL PRIMARY KEY,
+    template_id INTEGER NOT NULL REFERENCES templates(id),
+    version_number INTEGER NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    published_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE (template_id, version_number)
+);
+
+CREATE TABLE template_version_tasks (
+    version_id INTEGER NOT NULL REFERENCES template_versions(id) ON DELETE CASCADE,
+    task_id INTEGER NOT NULL REFERENCES tasks(id),
+    position INTEGER NOT NULL,
+    PRIMARY KEY (version_id, position)
+);
+
+CREATE INDEX idx_template_version_tasks_task ON template_version_tasks(task_id);
+
+ALTER TABLE todos ADD COLUMN template_version_id INTEGER REFERENCES template_versions(id);
+
+-- Templates that are already assigned get version 1 from their current tasks
+INSERT INTO template_versions (template_id, version_number, title, description)
+SELECT t.id, 1, t.title, t.description
+FROM templates t
+WHERE EXISTS (SELECT 1 FROM todos d WHERE d.template_id = t.id);
+
+INSERT INTO template_version_tasks (version_id, task_id, position)
+SELECT v.id, k.id, ROW_NUMBER() OVER (PARTITION BY v.id ORDER BY k.rank_key) - 1
+FROM template_versions v
+JOIN tasks k ON k.template_id = v.template_id;
+
+UPDATE tasks SET frozen = TRUE
+WHERE id IN (SELECT task_id FROM template_version_tasks);
+
+UPDATE todos d SET template_version_id = v.id
+FROM template_versions v
+WHERE v.template_id = d.template_id;
+
+CREATE INDEX idx_tasks_template_draft ON tasks(template_id, rank_key) WHERE NOT retired;
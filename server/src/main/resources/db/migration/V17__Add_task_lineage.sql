@@ -0,0 +1,6 @@
+-- Copies made when a frozen task is edited remember the first row of their chain, so todos
+-- assigned from an older version can be moved to the matching task of a newer one.
+-- Copies made before this migration start a chain of their own.
+ALTER TABLE tasks ADD COLUMN origin_task_id INTEGER REFERENCES tasks(id);
+
+CREATE INDEX idx_todos_template_version ON todos(template_id, template_version_id);
@@ -0,0 +1,2 @@
+-- Completion time stats are rebuilt from the completions of a recent window only
+CREATE INDEX idx_todos_completed_at ON todos(completed_at) WHERE status = 'COMPLETED';
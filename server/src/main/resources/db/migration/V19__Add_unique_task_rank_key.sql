@@ -0,0 +1,28 @@
+-- Two draft tasks of a template must never share a rank key, or their order is undefined.
+-- Templates that already have duplicates are renumbered first.
+WITH duplicated AS (
+    SELECT DISTINCT template_id
+    FROM tasks
+    WHERE NOT retired
+    GROUP BY template_id, rank_key
+    HAVING COUNT(*) > 1
+), ranked AS (
+    SELECT t.id, ROW_NUMBER() OVER (PARTITION BY t.template_id ORDER BY t.rank_key, t.order_index, t.id) AS rn
+    FROM tasks t
+    JOIN duplicated d ON d.template_id = t.template_id
+    WHERE NOT t.retired
+)
+UPDATE tasks t
+SET rank_key = lpad(ranked.rn::text, 6, '0') || '1',
+    order_index = ranked.rn
+FROM ranked
+WHERE t.id = ranked.id;
+
+-- A partial unique index cannot be deferred, and renumbering or copying a frozen task briefly
+-- repeats a key inside one transaction; the equivalent exclusion constraint is checked at commit.
+-- Its index replaces the plain draft index.
+ALTER TABLE tasks ADD CONSTRAINT uq_tasks_template_rank_key
+    EXCLUDE USING btree (template_id WITH =, rank_key WITH =) WHERE (NOT retired)
+    DEFERRABLE INITIALLY DEFERRED;
+
+DROP INDEX idx_tasks_template_draft;
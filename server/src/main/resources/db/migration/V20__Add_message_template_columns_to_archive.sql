@@ -0,0 +1,5 @@
+-- V13 added the template columns to notifications only. A partition can only be attached to
+-- notifications_archive when both tables have the same columns, so retiring a month failed.
+ALTER TABLE notifications_archive ADD COLUMN IF NOT EXISTS template_code VARCHAR(50);
+ALTER TABLE notifications_archive ADD COLUMN IF NOT EXISTS message_params VARCHAR(1000);
+ALTER TABLE notifications_archive ALTER COLUMN message DROP NOT NULL;
@@ -0,0 +1,31 @@
+-- Incrementally maintained progress rollups per department and per company.
+-- Rows are shifted by delta updates on progress transitions and hire moves,
+-- and repaired by the nightly rollup verifier.
+CREATE TABLE IF NOT EXISTS department_progress_rollups (
+    department_id INTEGER PRIMARY KEY REFERENCES departments(id) ON DELETE CASCADE,
+    company_id INTEGER NOT NULL REFERENCES companies(id),
+    hire_count BIGINT NOT NULL DEFAULT 0,
+    active_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    completion_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    not_started_count BIGINT NOT NULL DEFAULT 0,
+    started_count BIGINT NOT NULL DEFAULT 0,
+    in_progress_count BIGINT NOT NULL DEFAULT 0,
+    near_completion_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS company_progress_rollups (
+    company_id INTEGER PRIMARY KEY REFERENCES companies(id) ON DELETE CASCADE,
+    hire_count BIGINT NOT NULL DEFAULT 0,
+    active_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    completion_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    not_started_count BIGINT NOT NULL DEFAULT 0,
+    started_count BIGINT NOT NULL DEFAULT 0,
+    in_progress_count BIGINT NOT NULL DEFAULT 0,
+    near_completion_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_department_progress_rollups_company ON department_progress_rollups(company_id);
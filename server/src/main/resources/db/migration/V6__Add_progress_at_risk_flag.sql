@@ -0,0 +1,12 @@
+-- Precomputed at-risk flag, kept current by the progress write path and the hourly refresher
+ALTER TABLE progress
+ADD COLUMN IF NOT EXISTS at_risk BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- At-risk lookups only ever scan incomplete progress ordered by age
+CREATE INDEX IF NOT EXISTS idx_progress_incomplete_created_at
+    ON progress(created_at, completion_percentage)
+    WHERE completion_percentage < 100;
+
+CREATE INDEX IF NOT EXISTS idx_progress_at_risk
+    ON progress(hire_id)
+    WHERE at_risk;
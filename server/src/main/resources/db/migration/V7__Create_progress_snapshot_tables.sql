@@ -0,0 +1,54 @@
+-- Append-only daily progress per hire, range partitioned by month.
+-- The nightly snapshot job creates each next month's partition ahead of time.
+CREATE TABLE IF NOT EXISTS progress_snapshots (
+    snapshot_date DATE NOT NULL,
+    hire_id UUID NOT NULL,
+    department_id INTEGER,
+    company_id INTEGER NOT NULL,
+    completed_tasks BIGINT NOT NULL,
+    total_tasks BIGINT NOT NULL,
+    completion_percentage DOUBLE PRECISION NOT NULL,
+    week_start BOOLEAN NOT NULL DEFAULT FALSE,
+    month_start BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (snapshot_date, hire_id)
+) PARTITION BY RANGE (snapshot_date);
+
+CREATE TABLE IF NOT EXISTS progress_snapshots_default PARTITION OF progress_snapshots DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE)::DATE;
+    month_offset INTEGER;
+    partition_start DATE;
+BEGIN
+    FOR month_offset IN 0..1 LOOP
+        partition_start := (month_start + make_interval(months => month_offset))::DATE;
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF progress_snapshots FOR VALUES FROM (%L) TO (%L)',
+            'progress_snapshots_' || to_char(partition_start, 'YYYY_MM'),
+            partition_start,
+            (partition_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_progress_snapshots_hire_date ON progress_snapshots(hire_id, snapshot_date);
+CREATE INDEX IF NOT EXISTS idx_progress_snapshots_company_date ON progress_snapshots(company_id, snapshot_date);
+
+-- Daily copy of the department rollups; small enough to stay unpartitioned
+CREATE TABLE IF NOT EXISTS department_progress_snapshots (
+    snapshot_date DATE NOT NULL,
+    department_id INTEGER NOT NULL,
+    company_id INTEGER NOT NULL REFERENCES companies(id),
+    hire_count BIGINT NOT NULL,
+    active_count BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL,
+    average_completion DOUBLE PRECISION NOT NULL,
+    week_start BOOLEAN NOT NULL DEFAULT FALSE,
+    month_start BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (snapshot_date, department_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_department_progress_snapshots_company_date
+    ON department_progress_snapshots(company_id, snapshot_date);
+CREATE INDEX IF NOT EXISTS idx_department_progress_snapshots_department_date
+    ON department_progress_snapshots(department_id, snapshot_date);
@@ -0,0 +1,14 @@
+-- Append-only log of todo status changes, written in batches by the application
+CREATE TABLE IF NOT EXISTS todo_transitions (
+    id BIGSERIAL PRIMARY KEY,
+    todo_id INTEGER NOT NULL,
+    task_id INTEGER NOT NULL,
+    template_id INTEGER NOT NULL,
+    hire_id UUID NOT NULL,
+    from_status VARCHAR(50),
+    to_status VARCHAR(50) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_transitions_todo ON todo_transitions(todo_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_todo_transitions_task ON todo_transitions(task_id, occurred_at);
@@ -0,0 +1,2 @@
+-- Unread counts and unread lists filter on recipient and read state together
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_read ON notifications(recipient_id, is_read);
@@ -264,10 +264,10 @@ public class NotificationControllerIntegrationTest {
     void getHRDashboardNotifications_ShouldReturnNotifications() throws Exception {
         mockMvc.perform(get("/api/notifications/hr/dashboard")
                 .with(csrf())
-                .param("page", "0")
+                .param("hrId", testUser.getId().toString())
                 .param("size", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$.items").isArray());
     }
 
     @Test
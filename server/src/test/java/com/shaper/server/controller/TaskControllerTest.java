@@ -151,7 +151,7 @@ public class TaskControllerTest {
     @Test
     void getTasksByTemplateId_ShouldReturnTasks() {
         Integer templateId = 1;
-        List<Task> tasks = Arrays.asList(testTask);
+        List<TaskDTO> tasks = Arrays.asList(new TaskDTO());
         when(taskService.getTasksByTemplateId(templateId)).thenReturn(tasks);
 
         ResponseEntity<Result> response = taskController.getTasksByTemplateId(templateId);
@@ -3,6 +3,7 @@ package com.shaper.server.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.service.TaskCompletionStatsService;
 import com.shaper.server.service.TodoService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +30,9 @@ class TodoControllerIntegrationTest {
     @MockBean
     private TodoService todoService;
     
+    @MockBean
+    private TaskCompletionStatsService taskCompletionStatsService;
+    
     @Autowired
     private ObjectMapper objectMapper;
     
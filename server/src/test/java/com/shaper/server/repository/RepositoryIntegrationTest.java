@@ -1,17 +1,38 @@
 package com.shaper.server.repository;
 
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.HireSummaryDto;
+import com.shaper.server.model.dto.ProgressDto;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressRankingDto;
+import com.shaper.server.model.dto.ProgressTrendPointDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
+import com.shaper.server.model.dto.TodoCompletionSampleDto;
+import com.shaper.server.model.dto.UserUnreadCountDto;
 import com.shaper.server.model.entity.*;
+import com.shaper.server.model.enums.NotificationType;
 import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.model.enums.TodoStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -19,6 +40,9 @@ import static org.assertj.core.api.Assertions.*;
 @ActiveProfiles("test")
 class RepositoryIntegrationTest {
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     private CompanyRepository companyRepository;
     
@@ -43,6 +67,24 @@ class RepositoryIntegrationTest {
     @Autowired
     private ProgressRepository progressRepository;
 
+    @Autowired
+    private DepartmentProgressRollupRepository departmentRollupRepository;
+
+    @Autowired
+    private ProgressSnapshotRepository progressSnapshotRepository;
+
+    @Autowired
+    private DepartmentProgressSnapshotRepository departmentSnapshotRepository;
+
+    @Autowired
+    private TodoTransitionRepository todoTransitionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TemplateVersionRepository templateVersionRepository;
+
     private Company company;
     private HrUser hrUser;
     private CompanyDepartment department;
@@ -204,6 +246,36 @@ class RepositoryIntegrationTest {
         assertThat(found.get().getCompletedTasks()).isEqualTo(2);
     }
 
+    @Test
+    void shouldApplyTaskCountDeltaAtomically() {
+        // Given
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(4);
+        progress.setCompletedTasks(1);
+        progressRepository.save(progress);
+
+        hire.setTitle("Staff Engineer");
+
+        // When
+        int updated = progressRepository.applyTaskCountDelta(
+                hire.getId(), template.getId(), 1, 0, LocalDateTime.now());
+        progressRepository.updateAtRiskFlag(hire.getId(), template.getId(), 50.0, LocalDateTime.now().minusDays(7));
+
+        // Then - other entities stay managed with their changes; only the progress row is re-read
+        assertThat(entityManager.getEntityManager().contains(hire)).isTrue();
+        assertThat(entityManager.getEntityManager().contains(task)).isTrue();
+        Progress found = entityManager.refresh(
+                progressRepository.findByHireIdAndTemplateId(hire.getId(), template.getId()).orElseThrow());
+        assertThat(updated).isEqualTo(1);
+        entityManager.clear();
+        assertThat(hireRepository.findById(hire.getId()).orElseThrow().getTitle()).isEqualTo("Staff Engineer");
+        assertThat(found.getCompletedTasks()).isEqualTo(2);
+        assertThat(found.getTotalTasks()).isEqualTo(4);
+        assertThat(found.getCompletionPercentage()).isEqualTo(50.0);
+    }
+
     @Test
     void shouldFindDepartmentsByCompany() {
         // Given
@@ -233,6 +305,476 @@ class RepositoryIntegrationTest {
         assertThat(notExists).isFalse();
     }
 
+    @Test
+    void shouldSummarizeDepartmentProgressInOneQuery() {
+        // Given
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(4);
+        progress.setCompletedTasks(3);
+        progress.setCompletionPercentage(75.0);
+        progressRepository.save(progress);
+
+        CompanyDepartment emptyDepartment = new CompanyDepartment();
+        emptyDepartment.setName("Marketing");
+        emptyDepartment.setCompany(company);
+        emptyDepartment.setCreatedByHr(hrUser);
+        departmentRepository.save(emptyDepartment);
+
+        // When
+        List<DepartmentProgressSummaryDto> summary = departmentRepository.summarizeProgressByCompanyId(company.getId());
+
+        // Then
+        assertThat(summary).extracting(DepartmentProgressSummaryDto::getDepartmentName)
+                .containsExactly("Engineering", "Marketing");
+        DepartmentProgressSummaryDto engineering = summary.get(0);
+        assertThat(engineering.getTotalHires()).isEqualTo(1);
+        assertThat(engineering.getActiveHires()).isEqualTo(1);
+        assertThat(engineering.getAverageCompletion()).isEqualTo(75.0);
+        assertThat(engineering.getCompletionDistribution().getNearCompletion()).isEqualTo(1);
+        DepartmentProgressSummaryDto marketing = summary.get(1);
+        assertThat(marketing.getTotalHires()).isZero();
+        assertThat(marketing.getAverageCompletion()).isZero();
+        assertThat(marketing.getCompletionRate()).isZero();
+    }
+
+    @Test
+    void shouldReadDepartmentSummaryFromRollup() {
+        // Given
+        DepartmentProgressRollup rollup = new DepartmentProgressRollup();
+        rollup.setDepartmentId(department.getId());
+        rollup.setCompanyId(company.getId());
+        departmentRollupRepository.save(rollup);
+
+        // When
+        departmentRollupRepository.applyDelta(department.getId(), 1, 1, 0, 60.0, 0, 0, 1, 0, LocalDateTime.now());
+        departmentRollupRepository.applyDelta(department.getId(), 1, 0, 1, 100.0, 0, 0, 0, 0, LocalDateTime.now());
+
+        // Then
+        DepartmentProgressSummaryDto summary = departmentRollupRepository
+                .findSummaryByDepartmentId(department.getId()).orElseThrow();
+        assertThat(summary.getTotalHires()).isEqualTo(2);
+        assertThat(summary.getActiveHires()).isEqualTo(1);
+        assertThat(summary.getCompletedHires()).isEqualTo(1);
+        assertThat(summary.getAverageCompletion()).isEqualTo(80.0);
+        assertThat(summary.getCompletionRate()).isEqualTo(50.0);
+        assertThat(summary.getCompletionDistribution().getInProgress()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFindAtRiskProgressPagedWorstFirst() {
+        // Given
+        Template second = new Template();
+        second.setTitle("Security Training");
+        second.setDescription("Security basics");
+        second.setCreatedByHr(hrUser);
+        second = templateRepository.save(second);
+
+        Progress lagging = new Progress();
+        lagging.setHire(hire);
+        lagging.setTemplate(template);
+        lagging.setTotalTasks(4);
+        lagging.setCompletedTasks(1);
+        lagging.setCompletionPercentage(25.0);
+        progressRepository.save(lagging);
+
+        Progress onTrack = new Progress();
+        onTrack.setHire(hire);
+        onTrack.setTemplate(second);
+        onTrack.setTotalTasks(4);
+        onTrack.setCompletedTasks(3);
+        onTrack.setCompletionPercentage(75.0);
+        progressRepository.save(onTrack);
+
+        // When
+        Page<AtRiskProgressDto> page = progressRepository.findAtRiskByHrId(
+                hrUser.getId(), 50.0, LocalDateTime.now().plusDays(1), PageRequest.of(0, 10));
+
+        // Then
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        AtRiskProgressDto atRisk = page.getContent().get(0);
+        assertThat(atRisk.getHireId()).isEqualTo(hire.getId());
+        assertThat(atRisk.getTemplateTitle()).isEqualTo(template.getTitle());
+        assertThat(atRisk.getCompletionPercentage()).isEqualTo(25.0);
+    }
+
+    @Test
+    void shouldProjectProgressFactsByCompany() {
+        // Given
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(2);
+        progress.setCompletedTasks(1);
+        progress.setCompletionPercentage(50.0);
+        progressRepository.save(progress);
+
+        // When
+        List<ProgressFactDto> facts = progressRepository.findFactsByCompanyId(company.getId());
+
+        // Then
+        assertThat(facts).hasSize(1);
+        ProgressFactDto fact = facts.get(0);
+        assertThat(fact.getDepartmentId()).isEqualTo(department.getId());
+        assertThat(fact.getTemplateId()).isEqualTo(template.getId());
+        assertThat(fact.getHrId()).isEqualTo(hrUser.getId());
+        assertThat(fact.getCompletionPercentage()).isEqualTo(50.0);
+        assertThat(progressRepository.findFactsByHireId(hire.getId())).hasSize(1);
+        assertThat(progressRepository.findFactsByCompanyIdMatching(company.getId(), department.getId(),
+                template.getId(), hrUser.getId(), null)).hasSize(1);
+        assertThat(progressRepository.findFactsByCompanyIdMatching(company.getId(), null, null, null,
+                LocalDateTime.now().minusDays(1))).isEmpty();
+        assertThat(progressRepository.findAllFacts()).hasSize(1);
+        assertThat(progressRepository.findRankingsByIds(List.of(fact.getProgressId())))
+                .extracting(ProgressRankingDto::getTemplateTitle)
+                .containsExactly(template.getTitle());
+    }
+
+    @Test
+    void shouldProjectProgressResponsesWithoutEntityGraph() {
+        // Given
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(4);
+        progress.setCompletedTasks(1);
+        progress.setCompletionPercentage(25.0);
+        progressRepository.save(progress);
+
+        // When
+        Optional<ProgressDto> single = progressRepository.findDtoByHireIdAndTemplateId(hire.getId(), template.getId());
+        List<ProgressDto> byHr = progressRepository.findDtosByHrId(hrUser.getId());
+
+        // Then
+        assertThat(single).isPresent();
+        assertThat(single.get().getHireFirstName()).isEqualTo("John");
+        assertThat(single.get().getDepartmentId()).isEqualTo(department.getId());
+        assertThat(single.get().getTemplateTitle()).isEqualTo(template.getTitle());
+        assertThat(single.get().getCompletedTasks()).isEqualTo(1);
+        assertThat(byHr).containsExactly(single.get());
+        assertThat(progressRepository.findDtosByHireId(hire.getId())).hasSize(1);
+        assertThat(progressRepository.findDtosByCompanyId(company.getId())).hasSize(1);
+        assertThat(progressRepository.findDtosByDepartmentId(department.getId())).hasSize(1);
+    }
+
+    @Test
+    void shouldProjectDepartmentResponsesWithCounts() {
+        // Given
+        department.setAssignedTemplates(new HashSet<>(Set.of(template)));
+        departmentRepository.save(department);
+
+        CompanyDepartment emptyDepartment = new CompanyDepartment();
+        emptyDepartment.setName("Marketing");
+        emptyDepartment.setCompany(company);
+        emptyDepartment.setCreatedByHr(hrUser);
+        departmentRepository.save(emptyDepartment);
+
+        // When
+        List<DepartmentDto> departments = departmentRepository.findDtosByCompanyId(company.getId());
+
+        // Then
+        assertThat(departments).extracting(DepartmentDto::getName).containsExactly("Engineering", "Marketing");
+        DepartmentDto engineering = departments.get(0);
+        assertThat(engineering.getCompanyId()).isEqualTo(company.getId());
+        assertThat(engineering.getCreatedByHrId()).isEqualTo(hrUser.getId());
+        assertThat(engineering.getHireCount()).isEqualTo(1);
+        assertThat(engineering.getTemplateCount()).isEqualTo(1);
+        assertThat(departments.get(1).getHireCount()).isZero();
+        assertThat(departmentRepository.findDtoById(department.getId())).contains(engineering);
+        assertThat(departmentRepository.findDtosByHrId(hrUser.getId())).hasSize(2);
+        assertThat(departmentRepository.findAllDtos()).hasSize(2);
+        assertThat(departmentRepository.findDtosByTemplateId(template.getId())).containsExactly(engineering);
+        assertThat(departmentRepository.findCompanyIdById(department.getId())).contains(company.getId());
+        assertThat(departmentRepository.findTemplateSummariesByDepartmentId(department.getId()))
+                .extracting(TemplateSummaryDto::getTitle)
+                .containsExactly(template.getTitle());
+        assertThat(hireRepository.findSummariesByDepartmentId(department.getId()))
+                .extracting(HireSummaryDto::getEmail)
+                .containsExactly("hire@test.com");
+    }
+
+    @Test
+    void shouldCaptureSnapshotsAndServeTrend() {
+        // Given
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(4);
+        progress.setCompletedTasks(2);
+        progress.setCompletionPercentage(50.0);
+        progressRepository.save(progress);
+
+        DepartmentProgressRollup rollup = new DepartmentProgressRollup();
+        rollup.setDepartmentId(department.getId());
+        rollup.setCompanyId(company.getId());
+        rollup.setHireCount(1);
+        rollup.setActiveCount(1);
+        rollup.setCompletionSum(50.0);
+        departmentRollupRepository.save(rollup);
+
+        LocalDate monday = LocalDate.of(2026, 10, 5);
+
+        // When
+        int hires = progressSnapshotRepository.captureCompany(company.getId(), monday, true, false);
+        int departments = departmentSnapshotRepository.captureCompany(company.getId(), monday, true, false);
+        departmentSnapshotRepository.captureCompany(company.getId(), monday.plusDays(1), false, false);
+
+        // Then
+        assertThat(hires).isEqualTo(1);
+        assertThat(departments).isEqualTo(1);
+        List<ProgressSnapshot> hireTrend = progressSnapshotRepository.findByHireIdBetween(
+                hire.getId(), monday.minusDays(1), monday.plusDays(1));
+        assertThat(hireTrend).hasSize(1);
+        assertThat(hireTrend.get(0).getCompletedTasks()).isEqualTo(2);
+
+        List<ProgressTrendPointDto> daily = departmentSnapshotRepository.findCompanyTrend(
+                company.getId(), monday, monday.plusDays(7), false, false);
+        assertThat(daily).extracting(ProgressTrendPointDto::getDate).containsExactly(monday, monday.plusDays(1));
+        assertThat(daily.get(0).getAverageCompletion()).isEqualTo(50.0);
+
+        List<ProgressTrendPointDto> weekly = departmentSnapshotRepository.findCompanyTrend(
+                company.getId(), monday, monday.plusDays(7), true, false);
+        assertThat(weekly).hasSize(1);
+
+        // A month start that is not a week start survives daily downsampling
+        departmentSnapshotRepository.captureCompany(company.getId(), monday.plusDays(2), false, true);
+        assertThat(departmentSnapshotRepository.deleteDailyBefore(monday.plusDays(7))).isEqualTo(1);
+        assertThat(departmentSnapshotRepository.findCompanyTrend(
+                company.getId(), monday, monday.plusDays(7), false, true)).hasSize(1);
+    }
+
+    @Test
+    void shouldProjectCompletionSamplesAndStoreTransitions() {
+        // Given
+        Todo completed = createTodo(TodoStatus.COMPLETED);
+        completed.setCompletedAt(LocalDateTime.now());
+        completed = todoRepository.save(completed);
+        todoRepository.save(createTodo(TodoStatus.PENDING));
+
+        TodoTransition transition = new TodoTransition();
+        transition.setTodoId(completed.getId());
+        transition.setTaskId(task.getId());
+        transition.setTemplateId(template.getId());
+        transition.setHireId(hire.getId());
+        transition.setFromStatus(TodoStatus.PENDING);
+        transition.setToStatus(TodoStatus.COMPLETED);
+        transition.setOccurredAt(LocalDateTime.now());
+        todoTransitionRepository.save(transition);
+
+        // When
+        List<TodoCompletionSampleDto> samples = todoRepository.findCompletionSamplesSince(LocalDateTime.now().minusDays(1));
+
+        // Then
+        assertThat(samples).hasSize(1);
+        assertThat(todoRepository.findCompletionSamplesSince(LocalDateTime.now().plusMinutes(1))).isEmpty();
+        assertThat(samples.get(0).getTaskId()).isEqualTo(task.getId());
+        assertThat(todoTransitionRepository.findByTodoIdOrderByOccurredAtAsc(completed.getId()))
+                .extracting(TodoTransition::getToStatus)
+                .containsExactly(TodoStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldFindOnlyHrUsersOfTheTaskCompany() {
+        // Given
+        Company otherCompany = new Company();
+        otherCompany.setName("Other Company");
+        otherCompany = companyRepository.save(otherCompany);
+
+        HrUser colleague = new HrUser();
+        colleague.setEmail("hr2@test.com");
+        colleague.setPassword("password123");
+        colleague.setFirstName("Second");
+        colleague.setLastName("Manager");
+        colleague.setCompany(company);
+        hrUserRepository.save(colleague);
+
+        HrUser outsider = new HrUser();
+        outsider.setEmail("hr@other.com");
+        outsider.setPassword("password123");
+        outsider.setFirstName("Other");
+        outsider.setLastName("Manager");
+        outsider.setCompany(otherCompany);
+        hrUserRepository.save(outsider);
+
+        // When
+        List<HrUser> recipients = hrUserRepository.findCompanyHrUsersByTaskId(task.getId());
+
+        // Then
+        assertThat(recipients).extracting(HrUser::getEmail)
+                .containsExactlyInAnyOrder("hr@test.com", "hr2@test.com");
+    }
+
+    @Test
+    void shouldCountUnreadNotificationsPerUser() {
+        // Given
+        notificationRepository.save(createNotification(hrUser, false));
+        notificationRepository.save(createNotification(hrUser, false));
+        Notification read = createNotification(hire, false);
+        read = notificationRepository.save(read);
+        read.setRead(true);
+        notificationRepository.save(read);
+
+        // When
+        List<UserUnreadCountDto> counts = notificationRepository.countUnreadByUserIds(
+                List.of(hrUser.getId(), hire.getId()));
+
+        // Then
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0).getUserId()).isEqualTo(hrUser.getId());
+        assertThat(counts.get(0).getUnreadCount()).isEqualTo(2L);
+    }
+
+    @Test
+    void shouldMarkNotificationsReadInSingleUpdates() {
+        // Given
+        Notification first = notificationRepository.save(createNotification(hrUser, false));
+        Notification second = notificationRepository.save(createNotification(hrUser, false));
+        Notification unrelated = createNotification(hrUser, false);
+        unrelated.setRelatedTask(null);
+        notificationRepository.save(unrelated);
+        notificationRepository.save(createNotification(hire, false));
+
+        // When & Then
+        assertThat(notificationRepository.markReadByIds(hrUser.getId(), List.of(first.getId()))).isEqualTo(1);
+        assertThat(notificationRepository.markReadByIds(hrUser.getId(), List.of(first.getId()))).isZero();
+        assertThat(notificationRepository.markReadByRelatedTaskId(hrUser.getId(), task.getId())).isEqualTo(1);
+        assertThat(notificationRepository.findById(second.getId())).get().extracting(Notification::isRead).isEqualTo(true);
+        assertThat(notificationRepository.markAllReadByUserId(hrUser.getId())).isEqualTo(1);
+        assertThat(notificationRepository.countByUser_IdAndIsRead(hrUser.getId(), false)).isZero();
+        assertThat(notificationRepository.countByUser_IdAndIsRead(hire.getId(), false)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPageNotificationFeedByKeyset() {
+        // Given
+        Notification reminder = createNotification(hrUser, false);
+        reminder.setNotificationType(NotificationType.REMINDER);
+        notificationRepository.save(reminder);
+        notificationRepository.save(createNotification(hrUser, false));
+        notificationRepository.save(createNotification(hrUser, false));
+        Sort order = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+        // When
+        List<Notification> firstPage = notificationRepository.findBy(
+                NotificationSpecifications.forUser(hrUser.getId()),
+                query -> query.sortBy(order).limit(2).all());
+        Notification last = firstPage.get(1);
+        List<Notification> secondPage = notificationRepository.findBy(
+                NotificationSpecifications.forUser(hrUser.getId())
+                        .and(NotificationSpecifications.after(last.getCreatedAt(), last.getId())),
+                query -> query.sortBy(order).limit(2).all());
+        List<Notification> reminders = notificationRepository.findBy(
+                NotificationSpecifications.forUser(hrUser.getId())
+                        .and(NotificationSpecifications.hasType(NotificationType.REMINDER)),
+                query -> query.sortBy(order).all());
+
+        // Then
+        assertThat(firstPage).hasSize(2);
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getId()).isNotIn(firstPage.get(0).getId(), firstPage.get(1).getId());
+        assertThat(reminders).extracting(Notification::getNotificationType).containsExactly(NotificationType.REMINDER);
+        assertThat(notificationRepository.markReadByType(hrUser.getId(), NotificationType.REMINDER)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMoveTodosToNewerVersionInBulk() {
+        // Given
+        Task removed = createTask("Removed Task", 2);
+        Task completedRemoved = createTask("Completed Removed Task", 3);
+        TemplateVersion first = createVersion(1, task, removed, completedRemoved);
+        Task copy = createTask("Edited Task", 1);
+        copy.setOriginTaskId(task.getId());
+        Task edited = taskRepository.save(copy);
+        Task added = createTask("Added Task", 4);
+        TemplateVersion second = createVersion(2, edited, added);
+
+        Todo kept = createTodo(TodoStatus.PENDING);
+        kept.setTemplateVersion(first);
+        todoRepository.save(kept);
+        Todo dropped = createTodo(TodoStatus.PENDING);
+        dropped.setTask(removed);
+        dropped.setTemplateVersion(first);
+        todoRepository.save(dropped);
+        Todo done = createTodo(TodoStatus.COMPLETED);
+        done.setTask(completedRemoved);
+        done.setTemplateVersion(first);
+        todoRepository.save(done);
+        Progress progress = new Progress();
+        progress.setHire(hire);
+        progress.setTemplate(template);
+        progress.setTotalTasks(3);
+        progress.setCompletedTasks(1);
+        progressRepository.save(progress);
+        LocalDateTime newDueDate = LocalDateTime.now().plusDays(30).withNano(0);
+        List<UUID> hireIds = List.of(hire.getId());
+
+        // When
+        assertThat(todoRepository.countHiresOnOtherVersions(template.getId(), second.getId())).isEqualTo(1);
+        assertThat(todoRepository.findOtherVersionIdsByTemplateId(template.getId(), second.getId()))
+                .containsExactly(first.getId());
+        assertThat(todoRepository.findHireIdsByTemplateVersion(template.getId(), first.getId(), PageRequest.of(0, 10)))
+                .containsExactly(hire.getId());
+        int replaced = todoRepository.replaceTask(template.getId(), hireIds, task.getId(), edited, LocalDateTime.now());
+        int redated = todoRepository.updateOpenDueDates(template.getId(), hireIds, edited.getId(), newDueDate,
+                LocalDateTime.now());
+        int deleted = todoRepository.deleteOpenByTaskIds(template.getId(), hireIds,
+                List.of(removed.getId(), completedRemoved.getId()));
+        Todo addedTodo = createTodo(TodoStatus.PENDING);
+        addedTodo.setTask(added);
+        addedTodo.setTemplateVersion(second);
+        todoRepository.saveAllAndFlush(List.of(addedTodo));
+        int moved = todoRepository.assignVersion(template.getId(), hireIds, second);
+        int recounted = progressRepository.recountFromTodos(template.getId(), hireIds, LocalDateTime.now());
+
+        // Then
+        assertThat(replaced).isEqualTo(1);
+        assertThat(redated).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(moved).isEqualTo(3);
+        assertThat(recounted).isEqualTo(1);
+        assertThat(todoRepository.findById(kept.getId())).get().satisfies(todo -> {
+            assertThat(todo.getTask().getId()).isEqualTo(edited.getId());
+            assertThat(todo.getDueDate()).isEqualTo(newDueDate);
+        });
+        assertThat(todoRepository.findById(dropped.getId())).isEmpty();
+        assertThat(todoRepository.findById(done.getId())).isPresent();
+        assertThat(todoRepository.findHireIdsByTemplateVersion(template.getId(), first.getId(), PageRequest.of(0, 10)))
+                .isEmpty();
+        Progress found = progressRepository.findByHireIdAndTemplateId(hire.getId(), template.getId()).orElseThrow();
+        assertThat(found.getTotalTasks()).isEqualTo(3);
+        assertThat(found.getCompletedTasks()).isEqualTo(1);
+        assertThat(found.getCompletionPercentage()).isCloseTo(33.33, within(0.01));
+        assertThat(progressRepository.findCompanyIdsByTemplateId(template.getId())).containsExactly(company.getId());
+    }
+
+    private Task createTask(String title, int orderIndex) {
+        Task created = new Task();
+        created.setTitle(title);
+        created.setTaskType(TaskType.DOCUMENT);
+        created.setOrderIndex(orderIndex);
+        created.setTemplate(template);
+        return taskRepository.save(created);
+    }
+
+    private TemplateVersion createVersion(int versionNumber, Task... tasks) {
+        TemplateVersion version = new TemplateVersion();
+        version.setTemplateId(template.getId());
+        version.setVersionNumber(versionNumber);
+        version.setTitle(template.getTitle());
+        version.setTasks(new ArrayList<>(List.of(tasks)));
+        return templateVersionRepository.save(version);
+    }
+
+    private Notification createNotification(User recipient, boolean read) {
+        Notification notification = new Notification();
+        notification.setUser(recipient);
+        notification.setMessage("Test notification");
+        notification.setRead(read);
+        notification.setRelatedTask(task);
+        return notification;
+    }
+
     private Todo createTodo(TodoStatus status) {
         Todo todo = new Todo();
         todo.setHire(hire);
@@ -0,0 +1,205 @@
+package com.shaper.server.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.HireSummaryDto;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.dto.TemplateSummaryDto;
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.enums.AnalyticsDimension;
+import com.shaper.server.model.enums.TemplateStatus;
+import com.shaper.server.repository.*;
+import com.shaper.server.service.ProgressAnalyticsService;
+import com.shaper.server.service.ProgressRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DepartmentServiceImplTest {
+
+    @Mock
+    private CompanyDepartmentRepository departmentRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private HrUserRepository hrUserRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private HireRepository hireRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private ProgressAnalyticsService progressAnalyticsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DepartmentServiceImpl departmentService;
+
+    private ObjectMapper objectMapper;
+    private DepartmentDto engineering;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        engineering = new DepartmentDto(7, "Engineering", 1, UUID.randomUUID(), 12L, 3L);
+    }
+
+    @Test
+    void getDepartmentsByCompany_ShouldReturnProjectionsWithoutLoadingEntities() {
+        // Given
+        when(departmentRepository.findDtosByCompanyId(1)).thenReturn(List.of(engineering));
+
+        // When
+        List<DepartmentDto> result = departmentService.getDepartmentsByCompany(1);
+
+        // Then
+        assertEquals(List.of(engineering), result);
+        verify(departmentRepository).findDtosByCompanyId(1);
+        verify(departmentRepository, never()).findByCompany_Id(anyInt());
+    }
+
+    @Test
+    void updateDepartment_ShouldReturnProjectionAfterSave() {
+        // Given
+        Company company = new Company();
+        company.setId(1);
+        CompanyDepartment department = new CompanyDepartment();
+        department.setId(7);
+        department.setName("Engineering");
+        department.setCompany(company);
+        DepartmentDto renamed = new DepartmentDto(7, "Platform", 1, engineering.getCreatedByHrId(), 12L, 3L);
+        when(departmentRepository.findById(7)).thenReturn(Optional.of(department));
+        when(departmentRepository.existsByNameAndCompany_Id("Platform", 1)).thenReturn(false);
+        when(departmentRepository.findDtoById(7)).thenReturn(Optional.of(renamed));
+
+        // When
+        DepartmentDto result = departmentService.updateDepartment(7, "Platform");
+
+        // Then
+        assertEquals(renamed, result);
+        assertEquals("Platform", department.getName());
+        verify(departmentRepository).save(department);
+    }
+
+    @Test
+    void getTemplatesByDepartment_ShouldProjectSummaries() {
+        // Given
+        TemplateSummaryDto summary = new TemplateSummaryDto(3, "Onboarding", "Week one", TemplateStatus.IN_PROGRESS,
+            LocalDateTime.now(), null);
+        when(departmentRepository.existsById(7)).thenReturn(true);
+        when(departmentRepository.findTemplateSummariesByDepartmentId(7)).thenReturn(List.of(summary));
+
+        // When
+        List<TemplateSummaryDto> result = departmentService.getTemplatesByDepartment(7);
+
+        // Then
+        assertEquals(List.of(summary), result);
+        verify(departmentRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void getTemplatesByDepartment_ShouldThrowWhenDepartmentMissing() {
+        // Given
+        when(departmentRepository.existsById(7)).thenReturn(false);
+
+        // When & Then
+        assertThrows(DataNotFoundException.class, () -> departmentService.getTemplatesByDepartment(7));
+        verify(departmentRepository, never()).findTemplateSummariesByDepartmentId(anyInt());
+    }
+
+    @Test
+    void getDepartmentProgressBreakdown_ShouldResolveCompanyIdWithoutLoadingDepartment() {
+        // Given
+        List<ProgressGroupDto> groups = List.of(new ProgressGroupDto("3", 2, 1, 50.0, 4, 8));
+        when(departmentRepository.findCompanyIdById(7)).thenReturn(Optional.of(1));
+        when(progressAnalyticsService.groupBy(eq(1), eq(AnalyticsDimension.TEMPLATE), any(ProgressAnalyticsFilter.class)))
+            .thenReturn(groups);
+
+        // When
+        List<ProgressGroupDto> result = departmentService.getDepartmentProgressBreakdown(7, AnalyticsDimension.TEMPLATE);
+
+        // Then
+        assertEquals(groups, result);
+        ArgumentCaptor<ProgressAnalyticsFilter> filter = ArgumentCaptor.forClass(ProgressAnalyticsFilter.class);
+        verify(progressAnalyticsService).groupBy(eq(1), eq(AnalyticsDimension.TEMPLATE), filter.capture());
+        assertEquals(7, filter.getValue().getDepartmentId());
+        verify(departmentRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void departmentPayload_ShouldCarryCountsInsteadOfCollections() throws Exception {
+        // When
+        JsonNode json = objectMapper.valueToTree(engineering);
+        int payloadSize = objectMapper.writeValueAsBytes(engineering).length;
+
+        // Then
+        assertEquals(Set.of("departmentId", "name", "companyId", "createdByHrId", "hireCount", "templateCount"),
+            fieldNames(json));
+        assertEquals(12, json.get("hireCount").asLong());
+        assertTrue(payloadSize < 256, "Department payload was " + payloadSize + " bytes");
+    }
+
+    @Test
+    void hirePayload_ShouldNotExposeCredentialsOrRelations() throws Exception {
+        // Given
+        List<HireSummaryDto> hires = List.of(
+            new HireSummaryDto(UUID.randomUUID(), "Jane", "Doe", "jane@test.com", "Engineer", null, 7,
+                LocalDateTime.now()),
+            new HireSummaryDto(UUID.randomUUID(), "John", "Roe", "john@test.com", "Designer", null, 7,
+                LocalDateTime.now()));
+        when(hireRepository.findSummariesByDepartmentId(7)).thenReturn(hires);
+
+        // When
+        List<HireSummaryDto> result = departmentService.getHiresByDepartment(7);
+        JsonNode json = objectMapper.valueToTree(result);
+        int payloadSize = objectMapper.writeValueAsBytes(result).length;
+
+        // Then
+        assertEquals(Set.of("hireId", "firstName", "lastName", "email", "title", "pictureUrl", "departmentId",
+            "createdAt"), fieldNames(json.get(0)));
+        assertTrue(json.findValues("password").isEmpty());
+        assertTrue(payloadSize < 2 * 256, "Hire payload was " + payloadSize + " bytes");
+        verify(hireRepository, never()).findByDepartment_Id(anyInt());
+    }
+
+    private static Set<String> fieldNames(JsonNode node) {
+        Set<String> names = new HashSet<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -9,6 +9,7 @@ import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.repository.DocumentRepository;
 import com.shaper.server.repository.TaskRepository;
 import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.TemplateCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
@@ -45,6 +47,12 @@ class DocumentServiceImplTest {
     
     @Mock
     private TodoRepository todoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TemplateCacheService templateCacheService;
     
     @InjectMocks
     private DocumentServiceImpl documentService;
@@ -0,0 +1,156 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.entity.NotificationDigestPreference;
+import com.shaper.server.model.enums.DigestFrequency;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.repository.NotificationDigestPreferenceRepository;
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.service.NotificationFanOutService;
+import com.shaper.server.service.NotificationTemplateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDigestServiceImplTest {
+
+    @Mock
+    private NotificationDigestPreferenceRepository preferenceRepository;
+
+    @Mock
+    private NotificationFanOutService notificationFanOutService;
+
+    @Mock
+    private NotificationTemplateService notificationTemplateService;
+
+    @InjectMocks
+    private NotificationDigestServiceImpl notificationDigestService;
+
+    private final UUID hrId = UUID.randomUUID();
+
+    @Test
+    void absorb_ShouldPassThroughForImmediateUsersAndOtherTypes() {
+        // Given
+        when(preferenceRepository.findById(hrId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertFalse(notificationDigestService.absorb(completed(1)));
+        assertFalse(notificationDigestService.absorb(new NotificationRequestedEvent(hrId, 1, NotificationType.REMINDER, "Remember")));
+        assertEquals(DigestFrequency.IMMEDIATE, notificationDigestService.getPreference(hrId).getFrequency());
+        verify(preferenceRepository, times(1)).findById(hrId);
+    }
+
+    @Test
+    void flushOnShutdown_ShouldWriteOneSummaryWithCountsAndLatestItems() {
+        // Given
+        when(preferenceRepository.findById(hrId)).thenReturn(Optional.of(preference(DigestFrequency.DAILY)));
+        when(notificationTemplateService.render(any(NotificationContent.class)))
+            .thenAnswer(invocation -> invocation.<NotificationContent>getArgument(0).getMessage());
+        for (int task = 1; task <= 5; task++) {
+            assertTrue(notificationDigestService.absorb(completed(task)));
+        }
+        assertTrue(notificationDigestService.absorb(new NotificationRequestedEvent(hrId, 9, NotificationType.DOCUMENT_SIGNED, "Signed 9")));
+
+        // When
+        assertEquals(0, notificationDigestService.flushDue());
+        notificationDigestService.flushOnShutdown();
+
+        // Then
+        ArgumentCaptor<List<NotificationRequestedEvent>> summaries = ArgumentCaptor.forClass(List.class);
+        verify(notificationFanOutService).writeAll(summaries.capture());
+        NotificationRequestedEvent summary = summaries.getValue().get(0);
+        assertEquals(NotificationType.DIGEST, summary.getType());
+        assertNull(summary.getRelatedTaskId());
+        assertTrue(summary.getContent().getMessage().startsWith("6 new notifications: Task Completed (5), Document Signed (1)"));
+        assertTrue(summary.getContent().getMessage().endsWith("Signed 9; Completed 5; Completed 4"));
+        assertEquals(0, notificationDigestService.getBufferedUserCount());
+    }
+
+    @Test
+    void updatePreference_ShouldWriteBufferedItemWhenSwitchingToImmediate() {
+        // Given
+        when(preferenceRepository.findById(hrId)).thenReturn(Optional.of(preference(DigestFrequency.HOURLY)));
+        NotificationRequestedEvent buffered = completed(1);
+        notificationDigestService.absorb(buffered);
+
+        // When
+        notificationDigestService.updatePreference(hrId, DigestFrequency.IMMEDIATE);
+
+        // Then
+        verify(preferenceRepository).save(any(NotificationDigestPreference.class));
+        verify(notificationFanOutService).writeAll(List.of(buffered));
+        assertFalse(notificationDigestService.absorb(completed(2)));
+    }
+
+    @Test
+    void flushOnShutdown_ShouldKeepDigestsWhenWriteFails() {
+        // Given
+        when(preferenceRepository.findById(hrId)).thenReturn(Optional.of(preference(DigestFrequency.DAILY)));
+        when(notificationTemplateService.render(any(NotificationContent.class)))
+            .thenAnswer(invocation -> invocation.<NotificationContent>getArgument(0).getMessage());
+        notificationDigestService.absorb(completed(1));
+        notificationDigestService.absorb(completed(2));
+        when(notificationFanOutService.writeAll(anyList()))
+            .thenThrow(new IllegalStateException("connection refused"))
+            .thenReturn(1);
+
+        // When
+        notificationDigestService.flushOnShutdown();
+        notificationDigestService.absorb(completed(3));
+        notificationDigestService.flushOnShutdown();
+
+        // Then
+        ArgumentCaptor<List<NotificationRequestedEvent>> summaries = ArgumentCaptor.forClass(List.class);
+        verify(notificationFanOutService, times(2)).writeAll(summaries.capture());
+        String message = summaries.getAllValues().get(1).get(0).getContent().getMessage();
+        assertTrue(message.startsWith("3 new notifications: Task Completed (3)"));
+        assertTrue(message.endsWith("Completed 3; Completed 2; Completed 1"));
+        assertEquals(0, notificationDigestService.getBufferedUserCount());
+    }
+
+    @Test
+    void absorb_ShouldBoundCachedPreferences() {
+        // Given
+        ReflectionTestUtils.setField(notificationDigestService, "preferenceCacheSize", 2);
+        when(preferenceRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            notificationDigestService.absorb(new NotificationRequestedEvent(UUID.randomUUID(), 1, NotificationType.TASK_COMPLETED, "Done"));
+        }
+
+        // Then
+        assertEquals(2, notificationDigestService.getCachedPreferenceCount());
+    }
+
+    @Test
+    void updatePreference_ShouldRejectMissingFrequency() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> notificationDigestService.updatePreference(hrId, null));
+        verifyNoInteractions(preferenceRepository);
+    }
+
+    private NotificationRequestedEvent completed(int taskId) {
+        return new NotificationRequestedEvent(hrId, taskId, NotificationType.TASK_COMPLETED, "Completed " + taskId);
+    }
+
+    private NotificationDigestPreference preference(DigestFrequency frequency) {
+        NotificationDigestPreference preference = new NotificationDigestPreference();
+        preference.setUserId(hrId);
+        preference.setFrequency(frequency);
+        return preference;
+    }
+}
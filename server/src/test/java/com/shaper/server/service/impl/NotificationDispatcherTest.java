@@ -0,0 +1,203 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.service.NotificationDigestService;
+import com.shaper.server.service.NotificationFanOutService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private NotificationFanOutService notificationFanOutService;
+
+    @Mock
+    private NotificationDigestService notificationDigestService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @InjectMocks
+    private NotificationDispatcher notificationDispatcher;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void enqueue_ShouldCoalesceDuplicatesWithinWindow() {
+        // When
+        assertTrue(notificationDispatcher.enqueue(reminder(userId, 1)));
+        assertFalse(notificationDispatcher.enqueue(reminder(userId, 1)));
+        assertTrue(notificationDispatcher.enqueue(reminder(userId, 2)));
+        assertTrue(notificationDispatcher.enqueue(new NotificationRequestedEvent(userId, 1, NotificationType.OVERDUE_TASK, "Overdue")));
+
+        // Then
+        assertEquals(3, notificationDispatcher.getPendingCount());
+    }
+
+    @Test
+    void enqueue_ShouldKeepTasklessRequestsWithDifferentMessages() {
+        // When
+        notificationDispatcher.enqueue(new NotificationRequestedEvent(userId, null, NotificationType.ONBOARDING_STARTED, "Onboarding has started for A"));
+        notificationDispatcher.enqueue(new NotificationRequestedEvent(userId, null, NotificationType.ONBOARDING_STARTED, "Onboarding has started for B"));
+
+        // Then
+        assertEquals(2, notificationDispatcher.getPendingCount());
+    }
+
+    @Test
+    void enqueue_ShouldKeepCompletionsOfSameTaskByDifferentHires() {
+        // Given
+        UUID hrId = UUID.randomUUID();
+
+        // When
+        assertTrue(notificationDispatcher.enqueue(new NotificationRequestedEvent(hrId, 1, NotificationType.TASK_COMPLETED, "Alice completed Sign contract")));
+        assertTrue(notificationDispatcher.enqueue(new NotificationRequestedEvent(hrId, 1, NotificationType.TASK_COMPLETED, "Bob completed Sign contract")));
+        assertTrue(notificationDispatcher.enqueue(new NotificationRequestedEvent(hrId, 1, NotificationType.DOCUMENT_SIGNED, "Sign contract")));
+        assertTrue(notificationDispatcher.enqueue(new NotificationRequestedEvent(hrId, 1, NotificationType.DOCUMENT_SIGNED, "Sign contract")));
+
+        // Then
+        assertEquals(4, notificationDispatcher.getPendingCount());
+    }
+
+    @Test
+    void enqueue_ShouldAcceptAgainAfterWindow() {
+        // Given
+        ReflectionTestUtils.setField(notificationDispatcher, "coalesceWindowMs", 0L);
+
+        // When
+        notificationDispatcher.enqueue(reminder(userId, 1));
+        notificationDispatcher.flush();
+
+        // Then
+        assertTrue(notificationDispatcher.enqueue(reminder(userId, 1)));
+    }
+
+    @Test
+    void flush_ShouldWriteInBatches() {
+        // Given
+        ReflectionTestUtils.setField(notificationDispatcher, "batchSize", 2);
+        for (int task = 1; task <= 5; task++) {
+            notificationDispatcher.enqueue(reminder(userId, task));
+        }
+        when(notificationFanOutService.writeAll(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // When
+        int written = notificationDispatcher.flush();
+
+        // Then
+        assertEquals(5, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationRequestedEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(notificationFanOutService, times(3)).writeAll(batches.capture());
+        assertEquals(List.of(2, 2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertEquals(0, notificationDispatcher.getPendingCount());
+    }
+
+    @Test
+    void flush_ShouldRequeueFailedBatchAndKeepCoalescing() {
+        // Given
+        notificationDispatcher.enqueue(reminder(userId, 1));
+        notificationDispatcher.enqueue(reminder(userId, 2));
+        when(notificationFanOutService.writeAll(anyList()))
+            .thenThrow(new IllegalStateException("connection refused"))
+            .thenReturn(2);
+
+        // When
+        int failed = notificationDispatcher.flush();
+
+        // Then
+        assertEquals(0, failed);
+        assertEquals(2, notificationDispatcher.getPendingCount());
+        assertFalse(notificationDispatcher.enqueue(reminder(userId, 1)));
+
+        assertEquals(2, notificationDispatcher.flush());
+        assertEquals(0, notificationDispatcher.getPendingCount());
+        assertFalse(notificationDispatcher.enqueue(reminder(userId, 1)));
+    }
+
+    @Test
+    void flush_ShouldDropBatchAfterMaxAttempts() {
+        // Given
+        ReflectionTestUtils.setField(notificationDispatcher, "maxAttempts", 2);
+        notificationDispatcher.enqueue(reminder(userId, 1));
+        when(notificationFanOutService.writeAll(anyList())).thenThrow(new IllegalStateException("connection refused"));
+
+        // When
+        notificationDispatcher.flush();
+        notificationDispatcher.flush();
+
+        // Then
+        verify(notificationFanOutService, times(2)).writeAll(anyList());
+        assertEquals(0, notificationDispatcher.getPendingCount());
+        assertTrue(notificationDispatcher.enqueue(reminder(userId, 1)));
+    }
+
+    @Test
+    void enqueue_ShouldScheduleEarlyFlushInsteadOfWritingWhenFull() {
+        // Given
+        ReflectionTestUtils.setField(notificationDispatcher, "capacity", 2);
+        notificationDispatcher.enqueue(reminder(userId, 1));
+
+        // When
+        notificationDispatcher.enqueue(reminder(userId, 2));
+        notificationDispatcher.enqueue(reminder(userId, 3));
+
+        // Then - nothing is written on the publishing thread and only one flush is scheduled
+        ArgumentCaptor<Runnable> earlyFlush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(earlyFlush.capture(), any(Instant.class));
+        verify(notificationFanOutService, never()).writeAll(anyList());
+        assertEquals(3, notificationDispatcher.getPendingCount());
+
+        earlyFlush.getValue().run();
+        verify(notificationFanOutService).writeAll(anyList());
+        assertEquals(0, notificationDispatcher.getPendingCount());
+    }
+
+    @Test
+    void flushOnShutdown_ShouldWritePendingRequests() {
+        // Given
+        notificationDispatcher.enqueue(reminder(userId, 1));
+
+        // When
+        notificationDispatcher.flushOnShutdown();
+
+        // Then
+        verify(notificationFanOutService).writeAll(anyList());
+        assertEquals(0, notificationDispatcher.getPendingCount());
+    }
+
+    private NotificationRequestedEvent reminder(UUID recipient, Integer taskId) {
+        return new NotificationRequestedEvent(recipient, taskId, NotificationType.REMINDER, "Reminder " + taskId);
+    }
+
+    @Test
+    void onNotificationRequested_ShouldSkipQueueForDigestedRequests() {
+        // Given
+        NotificationRequestedEvent digested = new NotificationRequestedEvent(userId, 1, NotificationType.TASK_COMPLETED, "Done");
+        when(notificationDigestService.absorb(digested)).thenReturn(true);
+
+        // When
+        notificationDispatcher.onNotificationRequested(digested);
+        notificationDispatcher.onNotificationRequested(reminder(userId, 1));
+
+        // Then
+        assertEquals(1, notificationDispatcher.getPendingCount());
+    }
+}
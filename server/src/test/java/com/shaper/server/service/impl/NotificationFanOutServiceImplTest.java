@@ -0,0 +1,146 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.User;
+import com.shaper.server.model.enums.NotificationType;
+import com.shaper.server.repository.NotificationRepository;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.UserRepository;
+import com.shaper.server.service.NotificationTemplateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationFanOutServiceImplTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private NotificationTemplateService notificationTemplateService;
+
+    @InjectMocks
+    private NotificationFanOutServiceImpl notificationFanOutService;
+
+    @Test
+    void fanOut_ShouldWriteInBatchesReusingTheTask() {
+        // Given
+        ReflectionTestUtils.setField(notificationFanOutService, "batchSize", 2);
+        Task task = new Task();
+        task.setId(1);
+        List<HrUser> recipients = List.of(hrUser(), hrUser(), hrUser(), hrUser(), hrUser());
+
+        // When
+        int written = notificationFanOutService.fanOut(recipients, task, NotificationContent.text("Done"), NotificationType.TASK_COMPLETED);
+
+        // Then
+        assertEquals(5, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> batches = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(3)).saveAllAndFlush(batches.capture());
+        assertEquals(List.of(2, 2, 1), batches.getAllValues().stream().map(List::size).toList());
+        assertTrue(batches.getAllValues().stream().flatMap(List::stream)
+            .allMatch(n -> n.getRelatedTask() == task && "Done".equals(n.getMessage()) && !n.isRead()));
+        verify(eventPublisher, times(5)).publishEvent(any(NotificationCreatedEvent.class));
+        verifyNoInteractions(taskRepository, userRepository);
+    }
+
+    @Test
+    void fanOutToUsers_ShouldLoadRecipientsAndTaskOnce() {
+        // Given
+        HrUser first = hrUser();
+        HrUser second = hrUser();
+        List<UUID> ids = List.of(first.getId(), second.getId(), first.getId());
+        Task task = new Task();
+        task.setId(7);
+        when(userRepository.findAllById(new LinkedHashSet<>(ids))).thenReturn(List.<User>of(first, second));
+        when(taskRepository.findById(7)).thenReturn(Optional.of(task));
+
+        // When
+        int written = notificationFanOutService.fanOutToUsers(ids, 7, NotificationContent.text("Reminder"), NotificationType.REMINDER);
+
+        // Then
+        assertEquals(2, written);
+        verify(userRepository, times(1)).findAllById(any());
+        verify(taskRepository, times(1)).findById(7);
+        verify(notificationRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void fanOutToUsers_ShouldRejectUnknownRecipients() {
+        // Given
+        UUID missing = UUID.randomUUID();
+        when(userRepository.findAllById(Set.of(missing))).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(DataNotFoundException.class,
+            () -> notificationFanOutService.fanOutToUsers(List.of(missing), null, NotificationContent.text("Reminder"), NotificationType.REMINDER));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void writeAll_ShouldLoadUsersAndTasksOnceAndSkipMissing() {
+        // Given
+        HrUser known = hrUser();
+        Task task = new Task();
+        task.setId(3);
+        List<NotificationRequestedEvent> requests = List.of(
+            new NotificationRequestedEvent(known.getId(), 3, NotificationType.REMINDER, "Reminder"),
+            new NotificationRequestedEvent(known.getId(), null, NotificationType.ONBOARDING_STARTED, "Started"),
+            new NotificationRequestedEvent(UUID.randomUUID(), 3, NotificationType.REMINDER, "Reminder"));
+        when(userRepository.findAllById(any())).thenReturn(List.<User>of(known));
+        when(taskRepository.findAllById(Set.of(3))).thenReturn(List.of(task));
+
+        // When
+        int written = notificationFanOutService.writeAll(requests);
+
+        // Then
+        assertEquals(2, written);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> batch = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAllAndFlush(batch.capture());
+        assertEquals(List.of(NotificationType.REMINDER, NotificationType.ONBOARDING_STARTED),
+            batch.getValue().stream().map(Notification::getNotificationType).toList());
+    }
+
+    @Test
+    void shouldRunAsync_ShouldCompareAgainstThreshold() {
+        ReflectionTestUtils.setField(notificationFanOutService, "asyncThreshold", 10);
+
+        assertFalse(notificationFanOutService.shouldRunAsync(10));
+        assertTrue(notificationFanOutService.shouldRunAsync(11));
+    }
+
+    private HrUser hrUser() {
+        HrUser user = new HrUser();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
@@ -0,0 +1,82 @@
+package com.shaper.server.service.impl;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the real migrations and partition statements against PostgreSQL, which H2 cannot stand in for.
+ * Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationPartitionJobPostgresTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String RECIPIENT = "550e8400-e29b-41d4-a716-446655440001";
+
+    private static JdbcTemplate jdbcTemplate;
+    private static NotificationPartitionJob notificationPartitionJob;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+            .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+            .locations("classpath:db/migration")
+            .load()
+            .migrate();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        notificationPartitionJob = new NotificationPartitionJob(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(notificationPartitionJob, "partitioningEnabled", true);
+    }
+
+    @Test
+    void run_ShouldMoveReadRowsOfExpiredMonthIntoArchive() {
+        // Given - a month long past retention with one read and one unread templated notification
+        jdbcTemplate.execute("CREATE TABLE notifications_2020_01 PARTITION OF notifications " +
+            "FOR VALUES FROM ('2020-01-01') TO ('2020-02-01')");
+        jdbcTemplate.update("INSERT INTO notifications (type, title, is_read, recipient_id, template_code, " +
+            "message_params, created_at) VALUES ('REMINDER', 'Read', TRUE, ?::uuid, 'REMINDER', 'Sign contract', " +
+            "'2020-01-10 09:00'), ('REMINDER', 'Unread', FALSE, ?::uuid, 'REMINDER', 'Read handbook', " +
+            "'2020-01-11 09:00')", RECIPIENT, RECIPIENT);
+
+        // When
+        notificationPartitionJob.run();
+
+        // Then
+        List<String> archivePartitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE p.relname = 'notifications_archive'", String.class);
+        assertEquals(List.of("notifications_archive_2020_01"), archivePartitions);
+
+        Map<String, Object> archived = jdbcTemplate.queryForMap(
+            "SELECT title, template_code, message_params FROM notifications_archive");
+        assertEquals("Read", archived.get("title"));
+        assertEquals("REMINDER", archived.get("template_code"));
+        assertEquals("Sign contract", archived.get("message_params"));
+
+        List<String> kept = jdbcTemplate.queryForList(
+            "SELECT title FROM notifications WHERE created_at < '2020-02-01'", String.class);
+        assertEquals(List.of("Unread"), kept);
+        assertTrue(notificationPartitionJob.findExpiredPartitions(LocalDate.now()).stream()
+            .noneMatch(month -> month.getYear() == 2020));
+    }
+}
@@ -0,0 +1,102 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.enums.NotificationRetentionMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPartitionJobTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private NotificationPartitionJob notificationPartitionJob;
+
+    private YearMonth expired;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(notificationPartitionJob, "partitioningEnabled", true);
+        ReflectionTestUtils.setField(notificationPartitionJob, "readAgeDays", 180);
+        expired = YearMonth.from(LocalDate.now().minusDays(400));
+        YearMonth current = YearMonth.now();
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+            "notifications_" + current.toString().replace('-', '_'),
+            "notifications_" + expired.toString().replace('-', '_')));
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void findExpiredPartitions_ShouldOnlyReturnMonthsEndingBeforeCutoff() {
+        // When
+        List<YearMonth> months = notificationPartitionJob.findExpiredPartitions(LocalDate.now().minusDays(180));
+
+        // Then
+        assertEquals(List.of(expired), months);
+    }
+
+    @Test
+    void run_ShouldArchiveReadRowsAndKeepUnreadOnes() {
+        // When
+        notificationPartitionJob.run();
+
+        // Then
+        String partition = "notifications_" + expired.toString().replace('-', '_');
+        verify(jdbcTemplate).execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+        verify(jdbcTemplate).update("INSERT INTO notifications SELECT * FROM " + partition + " WHERE is_read = FALSE");
+        verify(jdbcTemplate).execute(startsWith("ALTER TABLE notifications_archive ATTACH PARTITION"));
+        verify(jdbcTemplate, never()).execute("DROP TABLE " + partition);
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    void run_ShouldDropPartitionInDropMode() {
+        // Given
+        ReflectionTestUtils.setField(notificationPartitionJob, "retentionMode", NotificationRetentionMode.DROP);
+
+        // When
+        notificationPartitionJob.run();
+
+        // Then
+        String partition = "notifications_" + expired.toString().replace('-', '_');
+        verify(jdbcTemplate).execute("DROP TABLE " + partition);
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE notifications_archive"));
+    }
+
+    @Test
+    void run_ShouldDoNothingWhenDisabled() {
+        // Given
+        ReflectionTestUtils.setField(notificationPartitionJob, "partitioningEnabled", false);
+
+        // When
+        notificationPartitionJob.run();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+}
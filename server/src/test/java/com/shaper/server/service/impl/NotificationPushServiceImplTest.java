@@ -0,0 +1,159 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationPushServiceImplTest {
+
+
+    @Mock
+    private NotificationService notificationService;
+
+    @InjectMocks
+    private NotificationPushServiceImpl notificationPushService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        notificationPushService.shutdown();
+    }
+
+    @Test
+    void register_ShouldStartWithSnapshotThenPushDeltas() throws Exception {
+        // Given
+        when(notificationService.getUnreadCount(userId)).thenReturn(3L);
+        when(notificationService.getRecentUnreadNotifications(userId)).thenReturn(List.of());
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        // When
+        notificationPushService.register(userId, emitter, null);
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(10)));
+        notificationPushService.onNotificationsRead(new NotificationsReadEvent(userId, List.of(10), 1));
+
+        // Then
+        assertEquals(List.of("snapshot", "created", "read"), sentEvents(emitter, 3));
+    }
+
+    @Test
+    void register_ShouldReplayMissedDeltasFromLastEventId() throws Exception {
+        // Given
+        when(notificationService.getRecentUnreadNotifications(userId)).thenReturn(List.of());
+        SseEmitter first = mock(SseEmitter.class);
+        notificationPushService.register(userId, first, null);
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(1)));
+        String seenId = sentIds(first, 2).get(1);
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(2)));
+        notificationPushService.onNotificationsRead(new NotificationsReadEvent(userId, List.of(1), 1));
+
+        // When
+        SseEmitter reconnected = mock(SseEmitter.class);
+        notificationPushService.register(userId, reconnected, seenId);
+
+        // Then
+        assertEquals(List.of("created", "read"), sentEvents(reconnected, 2));
+        verify(notificationService, times(1)).getUnreadCount(userId);
+    }
+
+    @Test
+    void register_ShouldFallBackToSnapshotWhenReplayBufferIsExceeded() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(notificationPushService, "replaySize", 1);
+        when(notificationService.getRecentUnreadNotifications(userId)).thenReturn(List.of());
+        SseEmitter first = mock(SseEmitter.class);
+        notificationPushService.register(userId, first, null);
+        String seenId = sentIds(first, 1).get(0);
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(1)));
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(2)));
+
+        // When
+        SseEmitter reconnected = mock(SseEmitter.class);
+        notificationPushService.register(userId, reconnected, seenId);
+
+        // Then
+        assertEquals(List.of("snapshot"), sentEvents(reconnected, 1));
+    }
+
+    @Test
+    void register_ShouldFallBackToSnapshotForForeignEventId() throws Exception {
+        // Given
+        when(notificationService.getRecentUnreadNotifications(userId)).thenReturn(List.of());
+        SseEmitter emitter = mock(SseEmitter.class);
+
+        // When
+        notificationPushService.register(userId, emitter, "1-42");
+
+        // Then
+        assertEquals(List.of("snapshot"), sentEvents(emitter, 1));
+    }
+
+    @Test
+    void onNotificationsRead_ShouldResendSnapshotWhenIdsAreUnknown() throws Exception {
+        // Given
+        when(notificationService.getRecentUnreadNotifications(userId)).thenReturn(List.of());
+        SseEmitter emitter = mock(SseEmitter.class);
+        notificationPushService.register(userId, emitter, null);
+
+        // When
+        notificationPushService.onNotificationsRead(new NotificationsReadEvent(userId, null, 12));
+
+        // Then
+        assertEquals(List.of("snapshot", "snapshot"), sentEvents(emitter, 2));
+    }
+
+    @Test
+    void onNotificationCreated_ShouldIgnoreUsersWithoutStreams() {
+        // When
+        notificationPushService.onNotificationCreated(new NotificationCreatedEvent(notification(1)));
+
+        // Then
+        verifyNoInteractions(notificationService);
+    }
+
+    private NotificationDto notification(int id) {
+        NotificationDto dto = new NotificationDto();
+        dto.setId(id);
+        dto.setUserId(userId);
+        dto.setMessage("Message " + id);
+        return dto;
+    }
+
+    private List<String> sentEvents(SseEmitter emitter, int expected) throws Exception {
+        return sent(emitter, expected).stream().map(line -> line.replaceAll("(?s).*event:(\\w+).*", "$1")).toList();
+    }
+
+    private List<String> sentIds(SseEmitter emitter, int expected) throws Exception {
+        return sent(emitter, expected).stream().map(line -> line.replaceAll("(?s).*id:(\\S+).*", "$1")).toList();
+    }
+
+    private List<String> sent(SseEmitter emitter, int expected) throws Exception {
+        ArgumentCaptor<SseEmitter.SseEventBuilder> events = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+        verify(emitter, timeout(1000).times(expected)).send(events.capture());
+        return events.getAllValues().stream()
+            .map(event -> event.build().stream()
+                .map(SseEmitter.DataWithMediaType::getData)
+                .filter(String.class::isInstance)
+                .map(String.class::cast)
+                .reduce("", String::concat))
+            .toList();
+    }
+}
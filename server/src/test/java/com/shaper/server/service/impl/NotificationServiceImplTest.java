@@ -1,16 +1,27 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.NotificationRequestedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.model.dto.NotificationContent;
 import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.dto.NotificationFeedDto;
+import com.shaper.server.model.dto.NotificationFeedFilter;
 import com.shaper.server.model.entity.*;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
 import com.shaper.server.model.enums.NotificationType;
 import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.repository.*;
+import com.shaper.server.service.NotificationFanOutService;
+import com.shaper.server.service.NotificationTemplateService;
+import com.shaper.server.service.UnreadCountService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -35,6 +46,18 @@ class NotificationServiceImplTest {
     @Mock
     private HrUserRepository hrUserRepository;
     
+    @Mock
+    private NotificationFanOutService notificationFanOutService;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private UnreadCountService unreadCountService;
+    
+    @Mock
+    private NotificationTemplateService notificationTemplateService;
+    
     @InjectMocks
     private NotificationServiceImpl notificationService;
     
@@ -74,6 +97,9 @@ class NotificationServiceImplTest {
         testNotification.setRead(false);
         testNotification.setCreatedAt(LocalDateTime.now());
         testNotification.setRelatedTask(testTask);
+        
+        lenient().when(notificationTemplateService.render(any(Notification.class)))
+            .thenAnswer(invocation -> invocation.<Notification>getArgument(0).getMessage());
     }
     
     @Test
@@ -207,119 +233,183 @@ class NotificationServiceImplTest {
     @Test
     void markAllAsRead_ShouldMarkAllUnreadNotificationsAsRead() {
         // Given
-        Notification notification1 = new Notification();
-        notification1.setRead(false);
-        Notification notification2 = new Notification();
-        notification2.setRead(false);
+        when(notificationRepository.markAllReadByUserId(testUserId)).thenReturn(2);
         
-        List<Notification> unreadNotifications = Arrays.asList(notification1, notification2);
-        when(notificationRepository.findByUser_IdAndIsReadOrderByCreatedAtDesc(testUserId, false))
-            .thenReturn(unreadNotifications);
-        when(notificationRepository.saveAll(any())).thenReturn(unreadNotifications);
+        // When
+        int updated = notificationService.markAllAsRead(testUserId);
+        
+        // Then
+        assertEquals(2, updated);
+        verify(notificationRepository).markAllReadByUserId(testUserId);
+        verify(notificationRepository, never()).findByUser_IdAndIsReadOrderByCreatedAtDesc(testUserId, false);
+        verify(notificationRepository, never()).saveAll(any());
+        verify(eventPublisher).publishEvent(any(NotificationsReadEvent.class));
+    }
+    
+    @Test
+    void markAsReadByType_ShouldUpdateOnlyMatchingNotifications() {
+        // Given
+        when(notificationRepository.markReadByType(testUserId, NotificationType.REMINDER)).thenReturn(2);
         
         // When
-        notificationService.markAllAsRead(testUserId);
+        int updated = notificationService.markAsReadByType(testUserId, NotificationType.REMINDER);
         
         // Then
-        assertTrue(notification1.isRead());
-        assertTrue(notification2.isRead());
+        assertEquals(2, updated);
+        verify(notificationRepository).markReadByType(testUserId, NotificationType.REMINDER);
+        verify(eventPublisher).publishEvent(any(NotificationsReadEvent.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFeed_ShouldReturnCursorWhenMoreRowsExist() {
+        // Given
+        Notification newest = feedRow(3, LocalDateTime.now());
+        Notification older = feedRow(2, LocalDateTime.now().minusMinutes(1));
+        Notification oldest = feedRow(1, LocalDateTime.now().minusMinutes(2));
+        when(notificationRepository.findBy(any(org.springframework.data.jpa.domain.Specification.class), any()))
+            .thenReturn(List.of(newest, older, oldest));
         
-        verify(notificationRepository).findByUser_IdAndIsReadOrderByCreatedAtDesc(testUserId, false);
-        verify(notificationRepository).saveAll(unreadNotifications);
+        // When
+        NotificationFeedDto feed = notificationService.getFeed(testUserId,
+            new NotificationFeedFilter(NotificationType.REMINDER, false, null, null), null, 2);
+        
+        // Then
+        assertThat(feed.getItems()).extracting(NotificationDto::getId).containsExactly(3, 2);
+        assertThat(feed.getItems()).allMatch(item -> "REMINDER".equals(item.getNotificationType()));
+        assertNotNull(feed.getNextCursor());
+        assertDoesNotThrow(() -> notificationService.getFeed(testUserId, null, feed.getNextCursor(), 2));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void getFeed_ShouldOmitCursorOnLastPage() {
+        // Given
+        when(notificationRepository.findBy(any(org.springframework.data.jpa.domain.Specification.class), any()))
+            .thenReturn(List.of(feedRow(1, LocalDateTime.now())));
+        
+        // When
+        NotificationFeedDto feed = notificationService.getFeed(testUserId, null, null, 20);
+        
+        // Then
+        assertEquals(1, feed.getItems().size());
+        assertNull(feed.getNextCursor());
+    }
+    
+    @Test
+    void getFeed_ShouldRejectInvalidCursorAndSize() {
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getFeed(testUserId, null, "not-a-cursor", 20));
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getFeed(testUserId, null, null, 0));
+        assertThrows(IllegalArgumentException.class, () -> notificationService.getFeed(testUserId, null, null, 101));
+    }
+    
+    private Notification feedRow(int id, LocalDateTime createdAt) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUser(testHrUser);
+        notification.setMessage("Reminder " + id);
+        notification.setCreatedAt(createdAt);
+        notification.setNotificationType(NotificationType.REMINDER);
+        return notification;
+    }
+    
+    @Test
+    void markAsRead_WithIds_ShouldSkipEventWhenNothingChanged() {
+        // Given
+        when(notificationRepository.markReadByIds(testUserId, List.of(4, 5))).thenReturn(0);
+        
+        // When
+        int updated = notificationService.markAsRead(testUserId, List.of(4, 5));
+        
+        // Then
+        assertEquals(0, updated);
+        verifyNoInteractions(eventPublisher);
     }
     
     @Test
     void getUnreadCount_ShouldReturnCorrectCount() {
         // Given
-        when(notificationRepository.countByUser_IdAndIsRead(testUserId, false)).thenReturn(5L);
+        when(unreadCountService.getUnreadCount(testUserId)).thenReturn(5L);
         
         // When
         long result = notificationService.getUnreadCount(testUserId);
         
         // Then
         assertEquals(5L, result);
-        verify(notificationRepository).countByUser_IdAndIsRead(testUserId, false);
+        verify(notificationRepository, never()).countByUser_IdAndIsRead(testUserId, false);
     }
     
     @Test
-    void createTaskCompletedNotification_ShouldNotifyHRManagers() {
+    void createTaskCompletedNotification_ShouldQueueNotificationPerHRManager() {
         // Given
         List<HrUser> hrUsers = Arrays.asList(testHrUser);
-        when(hrUserRepository.findAll()).thenReturn(hrUsers);
-        when(userRepository.findById(testHrUser.getId())).thenReturn(Optional.of(testHrUser));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(hrUserRepository.findCompanyHrUsersByTaskId(1)).thenReturn(hrUsers);
+        
+        Hire hire = new Hire();
+        hire.setFirstName("John");
+        hire.setLastName("Doe");
         
         // When
-        notificationService.createTaskCompletedNotification(testUser, testTask);
+        notificationService.createTaskCompletedNotification(hire, testTask);
         
         // Then
-        verify(hrUserRepository).findAll();
-        verify(userRepository).findById(testHrUser.getId());
-        verify(notificationRepository).save(any(Notification.class));
+        verify(hrUserRepository).findCompanyHrUsersByTaskId(1);
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(testHrUser.getId(), request.getValue().getUserId());
+        assertEquals(NotificationType.TASK_COMPLETED, request.getValue().getType());
+        assertEquals(NotificationContent.template(NotificationMessageTemplate.TASK_COMPLETED, "Test Task", "John Doe"),
+            request.getValue().getContent());
+        verifyNoInteractions(notificationFanOutService);
+        verify(hrUserRepository, never()).findAll();
     }
     
     @Test
-    void createDocumentSignedNotification_ShouldCreateNotification() {
-        // Given
-        when(userRepository.findById(testHrUser.getId())).thenReturn(Optional.of(testHrUser));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
-        
+    void createDocumentSignedNotification_ShouldQueueNotification() {
         // When
         notificationService.createDocumentSignedNotification(testHrUser, testTask);
         
         // Then
-        verify(userRepository).findById(testHrUser.getId());
-        verify(taskRepository).findById(1);
-        verify(notificationRepository).save(any(Notification.class));
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.DOCUMENT_SIGNED, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
     }
     
     @Test
-    void createReminderNotification_ShouldCreateNotification() {
-        // Given
-        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
-        
+    void createReminderNotification_ShouldQueueNotification() {
         // When
         notificationService.createReminderNotification(testUser, testTask);
         
         // Then
-        verify(userRepository).findById(testUserId);
-        verify(taskRepository).findById(1);
-        verify(notificationRepository).save(any(Notification.class));
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.REMINDER, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
     }
     
     @Test
-    void createSignatureRequestNotification_ShouldCreateNotification() {
-        // Given
-        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
-        
+    void createSignatureRequestNotification_ShouldQueueNotification() {
         // When
         notificationService.createSignatureRequestNotification(testUser, testTask);
         
         // Then
-        verify(userRepository).findById(testUserId);
-        verify(taskRepository).findById(1);
-        verify(notificationRepository).save(any(Notification.class));
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.SIGNATURE_REQUEST, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
     }
     
     @Test
-    void createOverdueTaskNotification_ShouldCreateNotification() {
-        // Given
-        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
-        
+    void createOverdueTaskNotification_ShouldQueueNotification() {
         // When
         notificationService.createOverdueTaskNotification(testUser, testTask);
         
         // Then
-        verify(userRepository).findById(testUserId);
-        verify(taskRepository).findById(1);
-        verify(notificationRepository).save(any(Notification.class));
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.OVERDUE_TASK, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
     }
     
     @Test
@@ -331,47 +421,103 @@ class NotificationServiceImplTest {
         hrUser2.setId(UUID.randomUUID());
         
         List<HrUser> hrUsers = Arrays.asList(hrUser1, hrUser2);
-        when(hrUserRepository.findAll()).thenReturn(hrUsers);
-        when(userRepository.findById(hrUser1.getId())).thenReturn(Optional.of(hrUser1));
-        when(userRepository.findById(hrUser2.getId())).thenReturn(Optional.of(hrUser2));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(hrUserRepository.findCompanyHrUsersByTaskId(1)).thenReturn(hrUsers);
         
         // When
         notificationService.notifyHRManagersForTask(testTask, "Test message", NotificationType.TASK_COMPLETED);
         
         // Then
-        verify(hrUserRepository).findAll();
-        verify(userRepository, times(2)).findById(any(UUID.class));
-        verify(taskRepository, times(2)).findById(1);
-        verify(notificationRepository, times(2)).save(any(Notification.class));
+        verify(hrUserRepository).findCompanyHrUsersByTaskId(1);
+        verify(notificationFanOutService).fanOut(hrUsers, testTask, NotificationContent.text("Test message"), NotificationType.TASK_COMPLETED);
+        verify(userRepository, never()).findById(any(UUID.class));
+        verify(taskRepository, never()).findById(1);
+    }
+    
+    @Test
+    void createOnboardingStartedNotification_ShouldQueueNotification() {
+        // When
+        notificationService.createOnboardingStartedNotification(testUser, testHrUser);
+        
+        // Then
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.ONBOARDING_STARTED, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
+    }
+    
+    @Test
+    void createOnboardingCompletedNotification_ShouldQueueNotification() {
+        // When
+        notificationService.createOnboardingCompletedNotification(testUser, testHrUser);
+        
+        // Then
+        ArgumentCaptor<NotificationRequestedEvent> request = ArgumentCaptor.forClass(NotificationRequestedEvent.class);
+        verify(eventPublisher).publishEvent(request.capture());
+        assertEquals(NotificationType.ONBOARDING_COMPLETED, request.getValue().getType());
+        verifyNoInteractions(notificationRepository, userRepository);
     }
     
     @Test
-    void createOnboardingStartedNotification_ShouldCreateNotification() {
+    void sendBulkReminders_ShouldWriteSynchronouslyForSmallBatches() {
         // Given
-        when(userRepository.findById(testHrUser.getId())).thenReturn(Optional.of(testHrUser));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        List<UUID> userIds = List.of(testUserId, testHrUser.getId());
+        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+        when(notificationFanOutService.shouldRunAsync(2)).thenReturn(false);
         
         // When
-        notificationService.createOnboardingStartedNotification(testUser, testHrUser);
+        notificationService.sendBulkReminders(userIds, 1, null);
         
         // Then
-        verify(userRepository).findById(testHrUser.getId());
-        verify(notificationRepository).save(any(Notification.class));
+        verify(notificationFanOutService).fanOutToUsers(userIds, 1,
+            NotificationContent.template(NotificationMessageTemplate.REMINDER, "Test Task"), NotificationType.REMINDER);
+        verify(notificationFanOutService, never()).fanOutToUsersAsync(any(), any(), any(), any());
     }
     
     @Test
-    void createOnboardingCompletedNotification_ShouldCreateNotification() {
+    void sendBulkReminders_ShouldQueueLargeBatches() {
         // Given
-        when(userRepository.findById(testHrUser.getId())).thenReturn(Optional.of(testHrUser));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        List<UUID> userIds = List.of(testUserId);
+        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+        when(notificationFanOutService.shouldRunAsync(1)).thenReturn(true);
+        when(notificationFanOutService.fanOutToUsersAsync(userIds, 1, NotificationContent.text("Custom"), NotificationType.REMINDER))
+            .thenReturn(java.util.concurrent.CompletableFuture.completedFuture(1));
         
         // When
-        notificationService.createOnboardingCompletedNotification(testUser, testHrUser);
+        notificationService.sendBulkReminders(userIds, 1, "Custom");
         
         // Then
-        verify(userRepository).findById(testHrUser.getId());
-        verify(notificationRepository).save(any(Notification.class));
+        verify(notificationFanOutService).fanOutToUsersAsync(userIds, 1, NotificationContent.text("Custom"), NotificationType.REMINDER);
+        verify(notificationFanOutService, never()).fanOutToUsers(any(), any(), any(), any());
+    }
+    
+    @Test
+    void markAsRead_ShouldPublishReadEventOnlyForUnreadNotifications() {
+        // Given
+        HrUser owner = testHrUser;
+        testNotification.setUser(owner);
+        when(notificationRepository.findById(1)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.save(testNotification)).thenReturn(testNotification);
+        
+        // When
+        notificationService.markAsRead(1);
+        notificationService.markAsRead(1);
+        
+        // Then
+        verify(eventPublisher, times(1)).publishEvent(any(NotificationsReadEvent.class));
+    }
+    
+    @Test
+    void getRecentUnreadNotifications_ShouldUseLimitedQuery() {
+        // Given
+        testNotification.setUser(testHrUser);
+        when(notificationRepository.findTop5ByUser_IdAndIsReadOrderByCreatedAtDesc(testUserId, false))
+            .thenReturn(List.of(testNotification));
+        
+        // When
+        List<NotificationDto> result = notificationService.getRecentUnreadNotifications(testUserId);
+        
+        // Then
+        assertThat(result).hasSize(1);
+        verify(notificationRepository, never()).findByUser_IdAndIsReadOrderByCreatedAtDesc(any(), anyBoolean());
     }
-}
\ No newline at end of file
+}
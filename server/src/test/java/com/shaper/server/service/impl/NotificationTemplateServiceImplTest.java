@@ -0,0 +1,74 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.NotificationContent;
+import com.shaper.server.model.entity.Notification;
+import com.shaper.server.model.entity.NotificationTemplate;
+import com.shaper.server.model.enums.NotificationMessageTemplate;
+import com.shaper.server.repository.NotificationTemplateRepository;
+import com.shaper.server.mapper.NotificationMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationTemplateServiceImplTest {
+
+    @Mock
+    private NotificationTemplateRepository notificationTemplateRepository;
+
+    @InjectMocks
+    private NotificationTemplateServiceImpl notificationTemplateService;
+
+    @Test
+    void render_ShouldFillBuiltInBodyWhenTableHasNoRow() {
+        // Given
+        when(notificationTemplateRepository.findAll()).thenReturn(List.of());
+
+        // When
+        String text = notificationTemplateService.render(
+            NotificationContent.template(NotificationMessageTemplate.TASK_COMPLETED, "Sign NDA", "John Doe"));
+
+        // Then
+        assertEquals("Task 'Sign NDA' has been completed by John Doe", text);
+    }
+
+    @Test
+    void render_ShouldUseStoredBodyAndLoadItOnce() {
+        // Given
+        NotificationTemplate reworded = new NotificationTemplate();
+        reworded.setCode(NotificationMessageTemplate.ONBOARDING_STARTED);
+        reworded.setBody("{0} started onboarding {1}");
+        when(notificationTemplateRepository.findAll()).thenReturn(List.of(reworded));
+        Notification notification = new Notification();
+        NotificationMapper.applyContent(notification,
+            NotificationContent.template(NotificationMessageTemplate.ONBOARDING_STARTED, "Jane Roe"));
+
+        // When
+        String first = notificationTemplateService.render(notification);
+        String second = notificationTemplateService.render(notification);
+
+        // Then
+        assertNull(notification.getMessage());
+        assertEquals("Jane Roe started onboarding {1}", first);
+        assertEquals(first, second);
+        verify(notificationTemplateRepository, times(1)).findAll();
+    }
+
+    @Test
+    void render_ShouldReturnFreeTextUntouched() {
+        // Given
+        Notification notification = new Notification();
+        NotificationMapper.applyContent(notification, NotificationContent.text("Welcome {0}"));
+
+        // When & Then
+        assertEquals("Welcome {0}", notificationTemplateService.render(notification));
+        verifyNoInteractions(notificationTemplateRepository);
+    }
+}
@@ -0,0 +1,180 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressAnalyticsFilter;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressGroupDto;
+import com.shaper.server.model.enums.AnalyticsDimension;
+import com.shaper.server.repository.ProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressAnalyticsServiceImplTest {
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @InjectMocks
+    private ProgressAnalyticsServiceImpl progressAnalyticsService;
+
+    private UUID hrId;
+    private UUID hireId;
+
+    @BeforeEach
+    void setUp() {
+        hrId = UUID.randomUUID();
+        hireId = UUID.randomUUID();
+    }
+
+    @Test
+    void groupBy_ShouldAggregateByDepartment() {
+        // Given
+        when(progressRepository.findFactsByCompanyIdMatching(eq(1), any(), any(), any(), any())).thenReturn(List.of(
+            fact(1, 10, 100, 100.0, 0),
+            fact(2, 10, 101, 50.0, 0),
+            fact(3, null, 100, 0.0, 0)));
+
+        // When
+        Map<String, ProgressGroupDto> groups = byKey(
+            progressAnalyticsService.groupBy(1, AnalyticsDimension.DEPARTMENT, null));
+
+        // Then
+        assertEquals(2, groups.size());
+        assertEquals(2, groups.get("10").getProgressCount());
+        assertEquals(1, groups.get("10").getCompletedCount());
+        assertEquals(75.0, groups.get("10").getAverageCompletion(), 0.001);
+        assertEquals(1, groups.get(ProgressColumnarPartition.UNASSIGNED).getProgressCount());
+    }
+
+    @Test
+    void groupBy_ShouldApplyFiltersAndAgeBuckets() {
+        // Given
+        when(progressRepository.findFactsByCompanyIdMatching(eq(1), any(), any(), any(), any())).thenReturn(List.of(
+            fact(1, 10, 100, 20.0, 3),
+            fact(2, 10, 100, 40.0, 45),
+            fact(3, 10, 101, 60.0, 45)));
+        ProgressAnalyticsFilter filter = new ProgressAnalyticsFilter(10, 100, null, 7);
+
+        // When
+        List<ProgressGroupDto> groups = progressAnalyticsService.groupBy(1, AnalyticsDimension.AGE, filter);
+
+        // Then
+        assertEquals(1, groups.size());
+        assertEquals("31-90", groups.get(0).getKey());
+        assertEquals(40.0, groups.get(0).getAverageCompletion(), 0.001);
+    }
+
+    @Test
+    void groupBy_ShouldReturnEmpty_WhenFilterValueUnknown() {
+        // Given
+        when(progressRepository.findFactsByCompanyIdMatching(eq(1), any(), any(), any(), any())).thenReturn(List.of(fact(1, 10, 100, 20.0, 3)));
+
+        // When
+        List<ProgressGroupDto> groups = progressAnalyticsService.groupBy(1, AnalyticsDimension.TEMPLATE,
+            new ProgressAnalyticsFilter(99, null, null, null));
+
+        // Then
+        assertTrue(groups.isEmpty());
+    }
+
+    @Test
+    void groupBy_ShouldMatchSequentialTotals_WhenScanningInParallel() {
+        // Given
+        List<ProgressFactDto> facts = new ArrayList<>();
+        for (int i = 0; i < 120_000; i++) {
+            facts.add(fact(i, i % 3, 100 + i % 5, (i % 101), i % 120));
+        }
+        when(progressRepository.findFactsByCompanyIdMatching(eq(1), any(), any(), any(), any())).thenReturn(facts);
+
+        // When
+        List<ProgressGroupDto> groups = progressAnalyticsService.groupBy(1, AnalyticsDimension.TEMPLATE, null);
+
+        // Then
+        assertEquals(5, groups.size());
+        assertEquals(120_000, groups.stream().mapToLong(ProgressGroupDto::getProgressCount).sum());
+        long completed = facts.stream().filter(f -> f.getCompletionPercentage() >= 100.0).count();
+        assertEquals(completed, groups.stream().mapToLong(ProgressGroupDto::getCompletedCount).sum());
+    }
+
+    @Test
+    void groupBy_ShouldPushFilterIntoQuery_WhenSnapshotDisabled() {
+        // Given
+        when(progressRepository.findFactsByCompanyIdMatching(eq(1), eq(10), isNull(), isNull(), any()))
+            .thenReturn(List.of(fact(1, 10, 100, 20.0, 10)));
+
+        // When
+        progressAnalyticsService.groupBy(1, AnalyticsDimension.TEMPLATE, new ProgressAnalyticsFilter(10, null, null, 7));
+
+        // Then
+        verify(progressRepository).findFactsByCompanyIdMatching(1, 10, null, null,
+            LocalDate.now().minusDays(6).atStartOfDay());
+        verify(progressRepository, never()).findFactsByCompanyId(anyInt());
+    }
+
+    @Test
+    void onProgressChanged_ShouldUpdateRetainedSnapshotInPlace() {
+        // Given
+        ReflectionTestUtils.setField(progressAnalyticsService, "snapshotEnabled", true);
+        when(progressRepository.findFactsByCompanyId(1)).thenReturn(List.of(fact(1, 10, 100, 20.0, 0)));
+        progressAnalyticsService.groupBy(1, AnalyticsDimension.DEPARTMENT, null);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(1, 10, 100, 80.0, 0)));
+
+        // When
+        progressAnalyticsService.onProgressChanged(new ProgressChangedEvent(hireId, 100));
+        List<ProgressGroupDto> groups = progressAnalyticsService.groupBy(1, AnalyticsDimension.DEPARTMENT, null);
+
+        // Then
+        assertEquals(1, groups.get(0).getProgressCount());
+        assertEquals(80.0, groups.get(0).getAverageCompletion(), 0.001);
+        verify(progressRepository, times(1)).findFactsByCompanyId(1);
+    }
+
+    @Test
+    void onProgressChanged_ShouldDropRowsOfDeletedProgress() {
+        // Given
+        ReflectionTestUtils.setField(progressAnalyticsService, "snapshotEnabled", true);
+        UUID otherHireId = UUID.randomUUID();
+        ProgressFactDto other = fact(3, 20, 101, 60.0, 0);
+        other.setHireId(otherHireId);
+        when(progressRepository.findFactsByCompanyId(1)).thenReturn(List.of(
+            fact(1, 10, 100, 20.0, 0), fact(2, 10, 101, 40.0, 0), other));
+        progressAnalyticsService.groupBy(1, AnalyticsDimension.DEPARTMENT, null);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(2, 10, 101, 40.0, 0)));
+
+        // When
+        progressAnalyticsService.onProgressChanged(new ProgressChangedEvent(hireId, null));
+        Map<String, ProgressGroupDto> groups = byKey(
+            progressAnalyticsService.groupBy(1, AnalyticsDimension.DEPARTMENT, null));
+
+        // Then
+        assertEquals(1, groups.get("10").getProgressCount());
+        assertEquals(40.0, groups.get("10").getAverageCompletion(), 0.001);
+        assertEquals(60.0, groups.get("20").getAverageCompletion(), 0.001);
+    }
+
+    private ProgressFactDto fact(int progressId, Integer departmentId, int templateId, double completion, int ageDays) {
+        return new ProgressFactDto(progressId, hireId, 1, departmentId, templateId, hrId, completion, 
+            (int) (completion / 10), 10, LocalDateTime.now().minusDays(ageDays));
+    }
+
+    private Map<String, ProgressGroupDto> byKey(List<ProgressGroupDto> groups) {
+        return groups.stream().collect(Collectors.toMap(ProgressGroupDto::getKey, group -> group));
+    }
+}
@@ -0,0 +1,115 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.repository.ProgressRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressBoardServiceImplTest {
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @InjectMocks
+    private ProgressBoardServiceImpl progressBoardService;
+
+    private final UUID hrId = UUID.randomUUID();
+    private final UUID hireId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        progressBoardService.shutdown();
+    }
+
+    @Test
+    void flush_ShouldCoalesceEventsPerHireAndPushToSubscriber() throws Exception {
+        // Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        progressBoardService.register(hrId, emitter);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(hrId)));
+
+        // When
+        progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, 1));
+        progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, 1));
+        progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, null));
+        progressBoardService.flush();
+
+        // Then
+        verify(progressRepository, times(1)).findFactsByHireId(hireId);
+        verify(emitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void flush_ShouldSkipHiresOfOtherHrUsers() throws Exception {
+        // Given
+        SseEmitter emitter = mock(SseEmitter.class);
+        progressBoardService.register(hrId, emitter);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(UUID.randomUUID())));
+
+        // When
+        progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, 1));
+        progressBoardService.flush();
+
+        // Then
+        verify(emitter, after(200).never()).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void flush_ShouldDropSubscriberWhoseBufferOverflows() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(progressBoardService, "subscriberBuffer", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter slow = mock(SseEmitter.class);
+        lenient().doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(slow).send(any(SseEmitter.SseEventBuilder.class));
+        progressBoardService.register(hrId, slow);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(hrId)));
+
+        // When
+        try {
+            for (int i = 0; i < 4; i++) {
+                progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, 1));
+                progressBoardService.flush();
+            }
+
+            // Then
+            assertEquals(0, progressBoardService.getSubscriberCount(hrId));
+            verify(slow).complete();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void onProgressChanged_ShouldIgnoreEventsWithoutSubscribers() {
+        // When
+        progressBoardService.onProgressChanged(new ProgressChangedEvent(hireId, 1));
+        progressBoardService.flush();
+
+        // Then
+        verifyNoInteractions(progressRepository);
+    }
+
+    private ProgressFactDto fact(UUID owner) {
+        return new ProgressFactDto(1, UUID.randomUUID(), 1, 10, 1, owner, 50.0, 2, 4, LocalDateTime.now());
+    }
+}
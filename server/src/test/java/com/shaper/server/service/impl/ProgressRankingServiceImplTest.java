@@ -0,0 +1,112 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.ProgressFactDto;
+import com.shaper.server.model.dto.ProgressRankingDto;
+import com.shaper.server.model.enums.RankingOrder;
+import com.shaper.server.repository.ProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressRankingServiceImplTest {
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @InjectMocks
+    private ProgressRankingServiceImpl progressRankingService;
+
+    private UUID hireId;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        hireId = UUID.randomUUID();
+        now = LocalDateTime.now();
+        lenient().when(progressRepository.findRankingsByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream()
+                .map(id -> new ProgressRankingDto(id, hireId, "Jane", "Doe", null, 1, "Template", null, null))
+                .toList();
+        });
+    }
+
+    @Test
+    void getTopN_ShouldRankSlowestByCompletionThenAge() {
+        // Given
+        when(progressRepository.findFactsByCompanyId(1)).thenReturn(List.of(
+            fact(1, 10, 40.0, 5),
+            fact(2, 10, 10.0, 2),
+            fact(3, 20, 10.0, 9),
+            fact(4, 20, 90.0, 1)));
+
+        // When
+        List<ProgressRankingDto> slowest = progressRankingService.getTopN(1, null, RankingOrder.SLOWEST, 3);
+
+        // Then
+        assertEquals(List.of(3, 2, 1), slowest.stream().map(ProgressRankingDto::getProgressId).toList());
+        assertEquals(1, slowest.get(0).getRank());
+        assertEquals(3, slowest.get(2).getRank());
+    }
+
+    @Test
+    void getTopN_ShouldRankFastestWithinDepartment() {
+        // Given
+        when(progressRepository.findFactsByCompanyId(1)).thenReturn(List.of(
+            fact(1, 10, 40.0, 5),
+            fact(2, 10, 70.0, 2),
+            fact(4, 20, 90.0, 1)));
+
+        // When
+        List<ProgressRankingDto> fastest = progressRankingService.getTopN(1, 10, RankingOrder.FASTEST, 5);
+
+        // Then
+        assertEquals(List.of(2, 1), fastest.stream().map(ProgressRankingDto::getProgressId).toList());
+    }
+
+    @Test
+    void onProgressChanged_ShouldReorderAndMoveBetweenDepartments() {
+        // Given
+        when(progressRepository.findFactsByCompanyId(1)).thenReturn(List.of(
+            fact(1, 10, 10.0, 5),
+            fact(2, 10, 50.0, 5)));
+        progressRankingService.getTopN(1, null, RankingOrder.SLOWEST, 1);
+        when(progressRepository.findFactsByHireId(hireId)).thenReturn(List.of(fact(1, 20, 80.0, 5)));
+
+        // When
+        progressRankingService.onProgressChanged(new ProgressChangedEvent(hireId, null));
+
+        // Then
+        assertEquals(2, progressRankingService.getTopN(1, null, RankingOrder.SLOWEST, 1).get(0).getProgressId());
+        assertEquals(List.of(2), progressRankingService.getTopN(1, 10, RankingOrder.SLOWEST, 5).stream()
+            .map(ProgressRankingDto::getProgressId).toList());
+        assertEquals(1, progressRankingService.getTopN(1, 20, RankingOrder.SLOWEST, 5).size());
+        verify(progressRepository, times(1)).findFactsByCompanyId(1);
+    }
+
+    @Test
+    void getTopN_ShouldRejectLimitOutOfRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            progressRankingService.getTopN(1, null, RankingOrder.SLOWEST, 0));
+    }
+
+    private ProgressFactDto fact(int progressId, Integer departmentId, double completion, int ageDays) {
+        return new ProgressFactDto(progressId, UUID.randomUUID(), 1, departmentId, 1, UUID.randomUUID(), completion,
+            0, 10, now.minusDays(ageDays));
+    }
+}
@@ -0,0 +1,220 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.dto.DepartmentProgressSummaryDto;
+import com.shaper.server.model.dto.ProgressCountsDto;
+import com.shaper.server.model.entity.*;
+import com.shaper.server.repository.CompanyDepartmentRepository;
+import com.shaper.server.repository.CompanyProgressRollupRepository;
+import com.shaper.server.repository.DepartmentProgressRollupRepository;
+import com.shaper.server.repository.ProgressRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressRollupServiceImplTest {
+
+    @Mock
+    private DepartmentProgressRollupRepository departmentRollupRepository;
+
+    @Mock
+    private CompanyProgressRollupRepository companyRollupRepository;
+
+    @Mock
+    private CompanyDepartmentRepository departmentRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @InjectMocks
+    private ProgressRollupServiceImpl progressRollupService;
+
+    private Company company;
+    private CompanyDepartment engineering;
+    private CompanyDepartment marketing;
+    private UUID hireId;
+
+    @BeforeEach
+    void setUp() {
+        hireId = UUID.randomUUID();
+
+        company = new Company();
+        company.setId(1);
+
+        engineering = new CompanyDepartment();
+        engineering.setId(10);
+        engineering.setCompany(company);
+
+        marketing = new CompanyDepartment();
+        marketing.setId(20);
+        marketing.setCompany(company);
+    }
+
+    @Test
+    void onProgressCountsChanged_ShouldMoveProgressBetweenBuckets() {
+        // Given: 2 of 4 tasks completed after completing one, so 25% -> 50%
+        when(progressRepository.findCountsByHireIdAndTemplateId(hireId, 5))
+            .thenReturn(Optional.of(new ProgressCountsDto(2, 4, 10, 1)));
+        when(departmentRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+        when(companyRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        progressRollupService.onProgressCountsChanged(hireId, 5, 1, 0);
+
+        // Then
+        verify(departmentRollupRepository).applyDelta(eq(10), eq(0L), eq(0L), eq(0L), eq(25.0),
+            eq(0L), eq(-1L), eq(1L), eq(0L), any(LocalDateTime.class));
+        verify(companyRollupRepository).applyDelta(eq(1), eq(0L), eq(0L), eq(0L), eq(25.0),
+            eq(0L), eq(-1L), eq(1L), eq(0L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void onProgressCountsChanged_ShouldIgnoreHiresWithoutDepartment() {
+        // Given
+        when(progressRepository.findCountsByHireIdAndTemplateId(hireId, 5))
+            .thenReturn(Optional.of(new ProgressCountsDto(2, 4, null, null)));
+
+        // When
+        progressRollupService.onProgressCountsChanged(hireId, 5, 1, 0);
+
+        // Then
+        verifyNoInteractions(departmentRollupRepository, companyRollupRepository);
+    }
+
+    @Test
+    void onHireDepartmentChanged_ShouldSkipCompanyRollup_WhenMovingWithinCompany() {
+        // Given
+        when(progressRepository.findCompletionPercentagesByHireId(hireId)).thenReturn(List.of(100.0));
+        when(departmentRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        progressRollupService.onHireDepartmentChanged(hireId, engineering, marketing);
+
+        // Then
+        verify(departmentRollupRepository).applyDelta(eq(10), eq(-1L), eq(0L), eq(-1L), eq(-100.0),
+            eq(0L), eq(0L), eq(0L), eq(0L), any(LocalDateTime.class));
+        verify(departmentRollupRepository).applyDelta(eq(20), eq(1L), eq(0L), eq(1L), eq(100.0),
+            eq(0L), eq(0L), eq(0L), eq(0L), any(LocalDateTime.class));
+        verifyNoInteractions(companyRollupRepository);
+    }
+
+    @Test
+    void onHireDepartmentChanged_ShouldRemoveHireFromCompany_WhenUnassigned() {
+        // Given
+        when(progressRepository.findCompletionPercentagesByHireId(hireId)).thenReturn(List.of(10.0));
+        when(departmentRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+        when(companyRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        progressRollupService.onHireDepartmentChanged(hireId, engineering, null);
+
+        // Then
+        verify(companyRollupRepository).applyDelta(eq(1), eq(-1L), eq(-1L), eq(0L), eq(-10.0),
+            eq(-1L), eq(0L), eq(0L), eq(0L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void onProgressCountsChanged_ShouldNotApplyCompanyDelta_WhenDepartmentRowWasRebuilt() {
+        // Given: the department has no rollup row yet, so the company is rebuilt from the progress table
+        when(progressRepository.findCountsByHireIdAndTemplateId(hireId, 5))
+            .thenReturn(Optional.of(new ProgressCountsDto(2, 4, 10, 1)));
+        when(departmentRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(0);
+        when(departmentRepository.summarizeProgressByCompanyId(1)).thenReturn(List.of());
+        when(companyRollupRepository.findById(1)).thenReturn(Optional.empty());
+
+        // When
+        progressRollupService.onProgressCountsChanged(hireId, 5, 1, 0);
+
+        // Then
+        verify(departmentRepository).summarizeProgressByCompanyId(1);
+        verify(companyRollupRepository, never()).applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void onHireDepartmentChanged_ShouldStopAfterRebuild_WhenMovingWithinCompany() {
+        // Given
+        when(progressRepository.findCompletionPercentagesByHireId(hireId)).thenReturn(List.of(100.0));
+        when(departmentRollupRepository.applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(0);
+        when(departmentRepository.summarizeProgressByCompanyId(1)).thenReturn(List.of());
+        when(companyRollupRepository.findById(1)).thenReturn(Optional.empty());
+
+        // When
+        progressRollupService.onHireDepartmentChanged(hireId, engineering, marketing);
+
+        // Then
+        verify(departmentRollupRepository, times(1)).applyDelta(anyInt(), anyLong(), anyLong(), anyLong(), anyDouble(),
+            anyLong(), anyLong(), anyLong(), anyLong(), any(LocalDateTime.class));
+        verify(departmentRepository, times(1)).summarizeProgressByCompanyId(1);
+    }
+
+    @Test
+    void rebuildCompany_ShouldRepairDriftedRollups() {
+        // Given
+        DepartmentProgressSummaryDto actual = new DepartmentProgressSummaryDto(
+            10, "Engineering", 2L, 2L, 50.0, 1L, 0L, 0L, 0L, 1L);
+        when(departmentRepository.summarizeProgressByCompanyId(1)).thenReturn(List.of(actual));
+
+        DepartmentProgressRollup drifted = new DepartmentProgressRollup();
+        drifted.setDepartmentId(10);
+        drifted.setCompanyId(1);
+        drifted.setHireCount(3);
+        when(departmentRollupRepository.findByCompanyId(1)).thenReturn(List.of(drifted));
+        when(companyRollupRepository.findById(1)).thenReturn(Optional.empty());
+
+        // When
+        int repaired = progressRollupService.rebuildCompany(1);
+
+        // Then
+        assertEquals(2, repaired);
+        ArgumentCaptor<DepartmentProgressRollup> saved = ArgumentCaptor.forClass(DepartmentProgressRollup.class);
+        verify(departmentRollupRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getHireCount());
+        assertEquals(1, saved.getValue().getActiveCount());
+        assertEquals(1, saved.getValue().getCompletedCount());
+        assertEquals(100.0, saved.getValue().getCompletionSum(), 0.001);
+
+        ArgumentCaptor<CompanyProgressRollup> company = ArgumentCaptor.forClass(CompanyProgressRollup.class);
+        verify(companyRollupRepository).save(company.capture());
+        assertEquals(2, company.getValue().getHireCount());
+    }
+
+    @Test
+    void rebuildCompany_ShouldDeleteAllDepartmentRollups_WhenCompanyHasNoDepartments() {
+        // Given
+        when(departmentRepository.summarizeProgressByCompanyId(1)).thenReturn(List.of());
+        when(departmentRollupRepository.findByCompanyId(1)).thenReturn(List.of());
+        when(departmentRollupRepository.deleteByCompanyId(1)).thenReturn(2);
+        CompanyProgressRollup empty = new CompanyProgressRollup();
+        empty.setCompanyId(1);
+        when(companyRollupRepository.findById(1)).thenReturn(Optional.of(empty));
+
+        // When
+        int repaired = progressRollupService.rebuildCompany(1);
+
+        // Then
+        assertEquals(2, repaired);
+        verify(departmentRollupRepository).deleteByCompanyId(1);
+        verify(departmentRollupRepository, never()).deleteStaleRollups(any(), any());
+    }
+}
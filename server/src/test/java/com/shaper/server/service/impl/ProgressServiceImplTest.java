@@ -1,24 +1,37 @@
 package com.shaper.server.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.AtRiskProgressDto;
+import com.shaper.server.model.dto.ProgressDto;
 import com.shaper.server.model.entity.*;
 import com.shaper.server.model.enums.TodoStatus;
 import com.shaper.server.repository.HireRepository;
 import com.shaper.server.repository.ProgressRepository;
 import com.shaper.server.repository.TemplateRepository;
 import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.ProgressRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +49,12 @@ class ProgressServiceImplTest {
     @Mock
     private TemplateRepository templateRepository;
 
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ProgressServiceImpl progressService;
 
@@ -149,63 +168,74 @@ class ProgressServiceImplTest {
     }
 
     @Test
-    void updateProgressOnTodoCompletion_ShouldRecalculateProgress() {
+    void updateProgressOnTodoStatusChange_ShouldIncrementCompletedTasks_WhenTodoCompleted() {
         // Given
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
-        when(progressRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.of(testProgress));
-        
-        List<Todo> allTodos = Arrays.asList(
-            createTodo(1, TodoStatus.COMPLETED),
-            createTodo(2, TodoStatus.COMPLETED),
-            createTodo(3, TodoStatus.PENDING)
-        );
-        when(todoRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(allTodos);
-        when(progressRepository.save(any(Progress.class))).thenReturn(testProgress);
+        when(progressRepository.applyTaskCountDelta(eq(hireId), eq(1), eq(1), eq(0), any(LocalDateTime.class)))
+            .thenReturn(1);
 
         // When
-        Progress result = progressService.updateProgressOnTodoCompletion(1);
+        progressService.updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.PENDING, TodoStatus.COMPLETED);
 
         // Then
-        assertNotNull(result);
-        verify(todoRepository).findById(1);
-        verify(progressRepository).findByHireIdAndTemplateId(hireId, 1);
-        verify(todoRepository).findByHireIdAndTemplateId(hireId, 1);
-        verify(progressRepository).save(any(Progress.class));
+        verify(progressRepository).applyTaskCountDelta(eq(hireId), eq(1), eq(1), eq(0), any(LocalDateTime.class));
+        verify(progressRollupService).onProgressCountsChanged(hireId, 1, 1, 0);
+        verify(todoRepository, never()).findByHireIdAndTemplateId(any(UUID.class), anyInt());
+        verify(progressRepository, never()).save(any(Progress.class));
+    }
+
+    @Test
+    void updateProgressOnTodoStatusChange_ShouldDecrementCompletedTasks_WhenTodoReopened() {
+        // Given
+        when(progressRepository.applyTaskCountDelta(eq(hireId), eq(1), eq(-1), eq(0), any(LocalDateTime.class)))
+            .thenReturn(1);
+
+        // When
+        progressService.updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.COMPLETED, TodoStatus.IN_PROGRESS);
+
+        // Then
+        verify(progressRepository).applyTaskCountDelta(eq(hireId), eq(1), eq(-1), eq(0), any(LocalDateTime.class));
     }
 
     @Test
-    void updateProgressOnTodoCompletion_ShouldThrowException_WhenTodoNotFound() {
+    void updateProgressOnTodoStatusChange_ShouldSkipUpdate_WhenCompletionUnchanged() {
+        // When
+        progressService.updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.PENDING, TodoStatus.OVERDUE);
+
+        // Then
+        verifyNoInteractions(progressRepository);
+    }
+
+    @Test
+    void updateProgressOnTodoStatusChange_ShouldThrowException_WhenProgressNotFound() {
         // Given
-        when(todoRepository.findById(1)).thenReturn(Optional.empty());
+        when(progressRepository.applyTaskCountDelta(eq(hireId), eq(1), eq(1), eq(0), any(LocalDateTime.class)))
+            .thenReturn(0);
 
         // When & Then
         assertThrows(DataNotFoundException.class, () -> 
-            progressService.updateProgressOnTodoCompletion(1));
-
-        verify(todoRepository).findById(1);
-        verify(progressRepository, never()).save(any(Progress.class));
+            progressService.updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.PENDING, TodoStatus.COMPLETED));
     }
 
     @Test
     void recalculateProgress_ShouldUpdateCompletionPercentage() {
         // Given
+        ProgressDto projected = progressDto(66.666);
         when(progressRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.of(testProgress));
-        
-        List<Todo> allTodos = Arrays.asList(
-            createTodo(1, TodoStatus.COMPLETED),
-            createTodo(2, TodoStatus.COMPLETED),
-            createTodo(3, TodoStatus.PENDING)
-        );
-        when(todoRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(allTodos);
+        when(todoRepository.countByHireIdAndTemplateId(hireId, 1)).thenReturn(3L);
+        when(todoRepository.countByHireIdAndTemplateIdAndStatus(hireId, 1, TodoStatus.COMPLETED)).thenReturn(2L);
         when(progressRepository.save(any(Progress.class))).thenReturn(testProgress);
+        when(progressRepository.findDtoByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.of(projected));
 
         // When
-        Progress result = progressService.recalculateProgress(hireId, 1);
+        ProgressDto result = progressService.recalculateProgress(hireId, 1);
 
         // Then
-        assertNotNull(result);
+        assertEquals(projected, result);
+        assertEquals(3, testProgress.getTotalTasks());
+        assertEquals(2, testProgress.getCompletedTasks());
+        assertEquals(66.666, testProgress.getCompletionPercentage(), 0.001);
         verify(progressRepository).findByHireIdAndTemplateId(hireId, 1);
-        verify(todoRepository).findByHireIdAndTemplateId(hireId, 1);
+        verify(todoRepository, never()).countByHireIdAndStatus(any(UUID.class), any(TodoStatus.class));
         verify(progressRepository).save(testProgress);
     }
 
@@ -223,119 +253,131 @@ class ProgressServiceImplTest {
     }
 
     @Test
-    void getProgress_ShouldReturnProgress_WhenExists() {
+    void getProgress_ShouldReturnProjection_WhenExists() {
         // Given
-        when(progressRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.of(testProgress));
+        ProgressDto projected = progressDto(33.33);
+        when(progressRepository.findDtoByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.of(projected));
 
         // When
-        Progress result = progressService.getProgress(hireId, 1);
+        ProgressDto result = progressService.getProgress(hireId, 1);
 
         // Then
-        assertNotNull(result);
-        assertEquals(testProgress, result);
-        verify(progressRepository).findByHireIdAndTemplateId(hireId, 1);
+        assertEquals(projected, result);
+        verify(progressRepository).findDtoByHireIdAndTemplateId(hireId, 1);
+        verify(progressRepository, never()).findByHireIdAndTemplateId(any(UUID.class), anyInt());
     }
 
     @Test
     void getProgress_ShouldThrowException_WhenNotFound() {
         // Given
-        when(progressRepository.findByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.empty());
+        when(progressRepository.findDtoByHireIdAndTemplateId(hireId, 1)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(DataNotFoundException.class, () -> 
             progressService.getProgress(hireId, 1));
 
-        verify(progressRepository).findByHireIdAndTemplateId(hireId, 1);
+        verify(progressRepository).findDtoByHireIdAndTemplateId(hireId, 1);
     }
 
     @Test
     void getProgressByHire_ShouldReturnAllProgressForHire() {
         // Given
-        List<Progress> progressList = Arrays.asList(testProgress);
-        when(progressRepository.findByHire_Id(hireId)).thenReturn(progressList);
+        ProgressDto projected = progressDto(33.33);
+        when(progressRepository.findDtosByHireId(hireId)).thenReturn(List.of(projected));
 
         // When
-        List<Progress> result = progressService.getProgressByHire(hireId);
+        List<ProgressDto> result = progressService.getProgressByHire(hireId);
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(testProgress, result.get(0));
-        verify(progressRepository).findByHire_Id(hireId);
+        assertEquals(List.of(projected), result);
+        verify(progressRepository).findDtosByHireId(hireId);
     }
 
     @Test
     void getProgressByHrUser_ShouldReturnProgressForHrUser() {
         // Given
         UUID hrId = UUID.randomUUID();
-        List<Progress> progressList = Arrays.asList(testProgress);
-        when(progressRepository.findByHrId(hrId)).thenReturn(progressList);
+        when(progressRepository.findDtosByHrId(hrId)).thenReturn(List.of(progressDto(33.33)));
 
         // When
-        List<Progress> result = progressService.getProgressByHrUser(hrId);
+        List<ProgressDto> result = progressService.getProgressByHrUser(hrId);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.size());
-        verify(progressRepository).findByHrId(hrId);
+        verify(progressRepository).findDtosByHrId(hrId);
     }
 
     @Test
     void getProgressByCompany_ShouldReturnProgressForCompany() {
         // Given
-        List<Progress> progressList = Arrays.asList(testProgress);
-        when(progressRepository.findByCompanyId(1)).thenReturn(progressList);
+        when(progressRepository.findDtosByCompanyId(1)).thenReturn(List.of(progressDto(33.33)));
 
         // When
-        List<Progress> result = progressService.getProgressByCompany(1);
+        List<ProgressDto> result = progressService.getProgressByCompany(1);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.size());
-        verify(progressRepository).findByCompanyId(1);
+        verify(progressRepository).findDtosByCompanyId(1);
     }
 
     @Test
     void getProgressByDepartment_ShouldReturnProgressForDepartment() {
         // Given
-        List<Progress> progressList = Arrays.asList(testProgress);
-        when(progressRepository.findByDepartmentId(1)).thenReturn(progressList);
+        when(progressRepository.findDtosByDepartmentId(1)).thenReturn(List.of(progressDto(33.33)));
 
         // When
-        List<Progress> result = progressService.getProgressByDepartment(1);
+        List<ProgressDto> result = progressService.getProgressByDepartment(1);
 
         // Then
-        assertNotNull(result);
         assertEquals(1, result.size());
-        verify(progressRepository).findByDepartmentId(1);
+        verify(progressRepository).findDtosByDepartmentId(1);
+    }
+
+    @Test
+    void progressDto_ShouldSerializeWithoutEntityGraph() throws Exception {
+        // Given
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        ProgressDto projected = progressDto(33.33);
+
+        // When
+        JsonNode json = objectMapper.valueToTree(projected);
+        int payloadSize = objectMapper.writeValueAsBytes(projected).length;
+
+        // Then
+        Set<String> fields = new HashSet<>();
+        json.fieldNames().forEachRemaining(fields::add);
+        assertEquals(Set.of("progressId", "hireId", "hireFirstName", "hireLastName", "departmentId", "templateId",
+            "templateTitle", "completedTasks", "totalTasks", "completionPercentage", "atRisk", "createdAt",
+            "lastUpdated"), fields);
+        assertTrue(json.findValues("password").isEmpty());
+        assertTrue(payloadSize < 512, "Progress payload was " + payloadSize + " bytes");
     }
 
     @Test
     void calculateOverallCompletionPercentage_ShouldReturnZero_WhenNoProgress() {
         // Given
-        when(progressRepository.findByHire_Id(hireId)).thenReturn(Collections.emptyList());
+        when(progressRepository.findDtosByHireId(hireId)).thenReturn(Collections.emptyList());
 
         // When
         Double result = progressService.calculateOverallCompletionPercentage(hireId);
 
         // Then
         assertEquals(0.0, result);
-        verify(progressRepository).findByHire_Id(hireId);
+        verify(progressRepository).findDtosByHireId(hireId);
     }
 
     @Test
     void calculateOverallCompletionPercentage_ShouldCalculateWeightedAverage() {
         // Given
-        Progress progress1 = new Progress();
+        ProgressDto progress1 = new ProgressDto();
         progress1.setTotalTasks(4);
         progress1.setCompletionPercentage(50.0);
 
-        Progress progress2 = new Progress();
+        ProgressDto progress2 = new ProgressDto();
         progress2.setTotalTasks(2);
         progress2.setCompletionPercentage(100.0);
 
-        List<Progress> progressList = Arrays.asList(progress1, progress2);
-        when(progressRepository.findByHire_Id(hireId)).thenReturn(progressList);
+        when(progressRepository.findDtosByHireId(hireId)).thenReturn(Arrays.asList(progress1, progress2));
 
         // When
         Double result = progressService.calculateOverallCompletionPercentage(hireId);
@@ -343,7 +385,7 @@ class ProgressServiceImplTest {
         // Then
         // Expected: (50.0 * 4 + 100.0 * 2) / (4 + 2) = 400 / 6 = 66.67
         assertEquals(66.66666666666667, result, 0.001);
-        verify(progressRepository).findByHire_Id(hireId);
+        verify(progressRepository).findDtosByHireId(hireId);
     }
 
     @Test
@@ -375,41 +417,49 @@ class ProgressServiceImplTest {
     }
 
     @Test
-    void getAtRiskProgress_ShouldReturnProgressBelowThreshold() {
+    void getAtRiskProgress_ShouldQueryWithDefaultThresholds() {
         // Given
         UUID hrId = UUID.randomUUID();
-        
-        Progress atRiskProgress = new Progress();
-        atRiskProgress.setCompletionPercentage(30.0);
-        atRiskProgress.setCreatedAt(LocalDateTime.now().minusDays(10));
+        Pageable pageable = PageRequest.of(0, 20);
+        AtRiskProgressDto atRisk = new AtRiskProgressDto();
+        atRisk.setCompletionPercentage(30.0);
+        when(progressRepository.findAtRiskByHrId(eq(hrId), eq(50.0), any(LocalDateTime.class), eq(pageable)))
+            .thenReturn(new PageImpl<>(List.of(atRisk), pageable, 1));
 
-        Progress onTrackProgress = new Progress();
-        onTrackProgress.setCompletionPercentage(80.0);
-        onTrackProgress.setCreatedAt(LocalDateTime.now().minusDays(10));
+        // When
+        Page<AtRiskProgressDto> result = progressService.getAtRiskProgress(hrId, null, null, pageable);
 
-        Progress recentProgress = new Progress();
-        recentProgress.setCompletionPercentage(20.0);
-        recentProgress.setCreatedAt(LocalDateTime.now().minusDays(3));
+        // Then
+        assertEquals(1, result.getTotalElements());
+        assertEquals(atRisk, result.getContent().get(0));
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(progressRepository).findAtRiskByHrId(eq(hrId), eq(50.0), cutoff.capture(), eq(pageable));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(6)));
+        verify(progressRepository, never()).findDtosByHrId(any(UUID.class));
+    }
 
-        List<Progress> allProgress = Arrays.asList(atRiskProgress, onTrackProgress, recentProgress);
-        when(progressRepository.findByHrId(hrId)).thenReturn(allProgress);
+    @Test
+    void getAtRiskProgress_ShouldRejectInvalidThreshold() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            progressService.getAtRiskProgress(UUID.randomUUID(), 150.0, null, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void refreshAtRiskFlags_ShouldMarkAndClearFlags() {
+        // Given
+        when(progressRepository.markAtRisk(eq(50.0), any(LocalDateTime.class))).thenReturn(3);
+        when(progressRepository.clearAtRisk(eq(50.0), any(LocalDateTime.class))).thenReturn(1);
 
         // When
-        List<Progress> result = progressService.getAtRiskProgress(hrId);
+        int changed = progressService.refreshAtRiskFlags();
 
         // Then
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals(atRiskProgress, result.get(0));
-        verify(progressRepository).findByHrId(hrId);
+        assertEquals(4, changed);
     }
 
-    private Todo createTodo(Integer id, TodoStatus status) {
-        Todo todo = new Todo();
-        todo.setId(id);
-        todo.setHire(testHire);
-        todo.setTemplate(testTemplate);
-        todo.setStatus(status);
-        return todo;
+    private ProgressDto progressDto(double completionPercentage) {
+        return new ProgressDto(1, hireId, "John", "Doe", 7, 1, "Test Template", 1, 3, completionPercentage,
+            false, LocalDateTime.now().minusDays(3), LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
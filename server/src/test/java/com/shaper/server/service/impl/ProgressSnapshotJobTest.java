@@ -0,0 +1,90 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.repository.CompanyRepository;
+import com.shaper.server.service.ProgressSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressSnapshotJobTest {
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private ProgressSnapshotService progressSnapshotService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ProgressSnapshotJob progressSnapshotJob;
+
+    private YearMonth expired;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(progressSnapshotJob, "partitioningEnabled", true);
+        ReflectionTestUtils.setField(progressSnapshotJob, "hireRetentionDays", 1095);
+        expired = YearMonth.from(LocalDate.now().minusDays(1200));
+        YearMonth current = YearMonth.now();
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+            "progress_snapshots_" + current.toString().replace('-', '_'),
+            "progress_snapshots_" + expired.toString().replace('-', '_')));
+    }
+
+    @Test
+    void findExpiredPartitions_ShouldOnlyReturnMonthsEndingBeforeCutoff() {
+        // When
+        List<YearMonth> months = progressSnapshotJob.findExpiredPartitions(LocalDate.now().minusDays(1095));
+
+        // Then
+        assertEquals(List.of(expired), months);
+    }
+
+    @Test
+    void run_ShouldDropExpiredPartitionsBeforeRowRetention() {
+        // Given
+        Company company = new Company();
+        company.setId(1);
+        when(companyRepository.findAll()).thenReturn(List.of(company));
+
+        // When
+        progressSnapshotJob.run();
+
+        // Then
+        String partition = "progress_snapshots_" + expired.toString().replace('-', '_');
+        var order = inOrder(jdbcTemplate, progressSnapshotService);
+        order.verify(jdbcTemplate).execute("ALTER TABLE progress_snapshots DETACH PARTITION " + partition);
+        order.verify(jdbcTemplate).execute("DROP TABLE " + partition);
+        order.verify(progressSnapshotService).applyRetention(any(LocalDate.class));
+    }
+
+    @Test
+    void run_ShouldOnlyDeleteRows_WhenPartitioningDisabled() {
+        // Given
+        ReflectionTestUtils.setField(progressSnapshotJob, "partitioningEnabled", false);
+
+        // When
+        progressSnapshotJob.run();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+        verify(progressSnapshotService).applyRetention(any(LocalDate.class));
+    }
+}
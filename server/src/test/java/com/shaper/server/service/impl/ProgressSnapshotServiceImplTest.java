@@ -0,0 +1,78 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.enums.SnapshotResolution;
+import com.shaper.server.repository.DepartmentProgressSnapshotRepository;
+import com.shaper.server.repository.ProgressSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProgressSnapshotServiceImplTest {
+
+    @Mock
+    private ProgressSnapshotRepository progressSnapshotRepository;
+
+    @Mock
+    private DepartmentProgressSnapshotRepository departmentSnapshotRepository;
+
+    @InjectMocks
+    private ProgressSnapshotServiceImpl progressSnapshotService;
+
+    @Test
+    void captureCompany_ShouldReplaceDayAndMarkDownsamplingPoints() {
+        // Given
+        LocalDate firstOfMonth = LocalDate.of(2026, 6, 1);
+        when(progressSnapshotRepository.captureCompany(1, firstOfMonth, true, true)).thenReturn(5);
+        when(departmentSnapshotRepository.captureCompany(1, firstOfMonth, true, true)).thenReturn(2);
+
+        // When
+        int written = progressSnapshotService.captureCompany(1, firstOfMonth);
+
+        // Then
+        assertEquals(7, written);
+        verify(progressSnapshotRepository).deleteByCompanyIdAndDate(1, firstOfMonth);
+        verify(departmentSnapshotRepository).deleteByCompanyIdAndDate(1, firstOfMonth);
+    }
+
+    @Test
+    void applyRetention_ShouldDownsampleThenExpire() {
+        // Given
+        LocalDate today = LocalDate.of(2026, 10, 19);
+
+        // When
+        progressSnapshotService.applyRetention(today);
+
+        // Then
+        verify(departmentSnapshotRepository).deleteDailyBefore(today.minusDays(90));
+        verify(departmentSnapshotRepository).deleteWeeklyBefore(today.minusDays(730));
+        verify(progressSnapshotRepository).deleteAllBefore(today.minusDays(1095));
+    }
+
+    @Test
+    void getCompanyTrend_ShouldFilterWeeklyPoints() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 6, 30);
+
+        // When
+        progressSnapshotService.getCompanyTrend(1, from, to, SnapshotResolution.WEEKLY);
+
+        // Then
+        verify(departmentSnapshotRepository).findCompanyTrend(1, from, to, true, false);
+    }
+
+    @Test
+    void getCompanyTrend_ShouldRejectInvertedRange() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> progressSnapshotService.getCompanyTrend(
+            1, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 1, 1), SnapshotResolution.DAILY));
+    }
+}
@@ -0,0 +1,111 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TodoStatusChangedEvent;
+import com.shaper.server.model.dto.CompletionTimeStatsDto;
+import com.shaper.server.model.dto.TodoCompletionSampleDto;
+import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.repository.TodoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCompletionStatsServiceImplTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @InjectMocks
+    private TaskCompletionStatsServiceImpl taskCompletionStatsService;
+
+    @Test
+    void quantileSketch_ShouldStayWithinRelativeAccuracy() {
+        // Given
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int value = 1; value <= 10_000; value++) {
+            sketch.add(value);
+        }
+
+        // Then
+        assertEquals(10_000, sketch.getCount());
+        assertEquals(5_000, sketch.quantile(0.5), 5_000 * 0.01);
+        assertEquals(9_000, sketch.quantile(0.9), 9_000 * 0.01);
+        assertEquals(9_900, sketch.quantile(0.99), 9_900 * 0.01);
+    }
+
+    @Test
+    void quantileSketch_ShouldMergeByAddingBuckets() {
+        // Given
+        QuantileSketch low = new QuantileSketch(0.01);
+        QuantileSketch high = new QuantileSketch(0.01);
+        for (int value = 1; value <= 500; value++) {
+            low.add(value);
+            high.add(value + 500);
+        }
+
+        // When
+        low.merge(high);
+
+        // Then
+        assertEquals(1_000, low.getCount());
+        assertEquals(500, low.quantile(0.5), 500 * 0.01);
+        assertThrows(IllegalArgumentException.class, () -> low.merge(new QuantileSketch(0.05)));
+    }
+
+    @Test
+    void rebuild_ShouldServeTaskAndTemplatePercentiles() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+        List<TodoCompletionSampleDto> samples = new ArrayList<>();
+        for (int hours = 1; hours <= 100; hours++) {
+            samples.add(new TodoCompletionSampleDto(1, 7, start, start.plusHours(hours)));
+            samples.add(new TodoCompletionSampleDto(2, 7, start, start.plusHours(hours * 2L)));
+        }
+        when(todoRepository.findCompletionSamplesSince(any(LocalDateTime.class))).thenReturn(samples);
+
+        // When
+        taskCompletionStatsService.rebuild();
+
+        // Then
+        CompletionTimeStatsDto task = taskCompletionStatsService.getTaskCompletionTime(1);
+        assertEquals(100, task.getSampleCount());
+        assertEquals(50, task.getP50Hours(), 1.0);
+        assertEquals(90, task.getP90Hours(), 1.0);
+
+        CompletionTimeStatsDto template = taskCompletionStatsService.getTemplateCompletionTime(7);
+        assertEquals(200, template.getSampleCount());
+
+        List<CompletionTimeStatsDto> slowest = taskCompletionStatsService.getSlowestTasks(7, 1);
+        assertEquals(1, slowest.size());
+        assertEquals(2, slowest.get(0).getTaskId());
+    }
+
+    @Test
+    void onTodoStatusChanged_ShouldOnlyCountFirstCompletion() {
+        // Given
+        LocalDateTime created = LocalDateTime.now().minusHours(10);
+        UUID hireId = UUID.randomUUID();
+
+        // When
+        taskCompletionStatsService.onTodoStatusChanged(new TodoStatusChangedEvent(1, 3, 7, hireId,
+            TodoStatus.PENDING, TodoStatus.COMPLETED, created, created.plusHours(4)));
+        taskCompletionStatsService.onTodoStatusChanged(new TodoStatusChangedEvent(1, 3, 7, hireId,
+            TodoStatus.PENDING, TodoStatus.IN_PROGRESS, created, created.plusHours(5)));
+
+        // Then
+        CompletionTimeStatsDto stats = taskCompletionStatsService.getTaskCompletionTime(3);
+        assertEquals(1, stats.getSampleCount());
+        assertEquals(4, stats.getP50Hours(), 0.1);
+        assertNull(taskCompletionStatsService.getTaskCompletionTime(99).getP50Hours());
+    }
+}
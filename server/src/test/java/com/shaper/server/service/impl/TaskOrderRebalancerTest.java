@@ -0,0 +1,148 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.system.RankKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskOrderRebalancerTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TaskOrderRebalancer taskOrderRebalancer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskOrderRebalancer, "maxKeyLength", 8);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().when(templateRepository.findByIdForUpdate(any())).thenReturn(Optional.of(new Template()));
+    }
+
+    @Test
+    void rebalance_ShouldRenumberOnlyTasksWhosePositionChanged() {
+        // Given - task 3 was moved between 1 and 2
+        Task first = task(1, "0000011", 1);
+        Task moved = task(3, "0000011i", 3);
+        Task second = task(2, "0000021", 2);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7)).thenReturn(List.of(first, moved, second));
+
+        // When
+        int changed = taskOrderRebalancer.rebalance(7);
+
+        // Then
+        assertEquals(2, changed);
+        assertEquals(2, moved.getOrderIndex());
+        assertEquals(3, second.getOrderIndex());
+        assertEquals("0000011i", moved.getRankKey());
+    }
+
+    @Test
+    void rebalance_ShouldRekeyTemplate_WhenAnyKeyIsTooLong() {
+        // Given
+        Task first = task(1, "0000011", 1);
+        Task deep = task(2, "00000111z", 2);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7)).thenReturn(List.of(first, deep));
+
+        // When
+        taskOrderRebalancer.rebalance(7);
+
+        // Then
+        assertEquals(RankKeys.forIndex(1), first.getRankKey());
+        assertEquals(RankKeys.forIndex(2), deep.getRankKey());
+    }
+
+    @Test
+    void rebalance_ShouldRekeyTemplate_WhenTwoTasksShareAKey() {
+        // Given - two concurrent moves picked the same key
+        Task first = task(1, "0000011", 1);
+        Task moved = task(2, "0000011i", 2);
+        Task racer = task(3, "0000011i", 3);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7)).thenReturn(List.of(first, moved, racer));
+
+        // When
+        taskOrderRebalancer.rebalance(7);
+
+        // Then
+        assertEquals(RankKeys.forIndex(2), moved.getRankKey());
+        assertEquals(RankKeys.forIndex(3), racer.getRankKey());
+    }
+
+    @Test
+    void rebalance_ShouldSkipDeletedTemplate() {
+        // Given
+        when(templateRepository.findByIdForUpdate(7)).thenReturn(Optional.empty());
+
+        // When
+        int changed = taskOrderRebalancer.rebalance(7);
+
+        // Then
+        assertEquals(0, changed);
+        verify(taskRepository, never()).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7);
+    }
+
+    @Test
+    void rebalanceDirty_ShouldProcessEachMarkedTemplateOnce() {
+        // Given
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7)).thenReturn(List.of());
+        taskOrderRebalancer.markDirty(7);
+        taskOrderRebalancer.markDirty(7);
+
+        // When
+        taskOrderRebalancer.rebalanceDirty();
+        taskOrderRebalancer.rebalanceDirty();
+
+        // Then
+        verify(taskRepository, times(1)).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(7);
+    }
+
+    @Test
+    void sweepLongKeys_ShouldRebalanceTemplatesWithLongKeys() {
+        // Given
+        when(taskRepository.findTemplateIdsWithRankKeysLongerThan(8)).thenReturn(List.of(4, 5));
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(any())).thenReturn(List.of());
+
+        // When
+        taskOrderRebalancer.sweepLongKeys();
+
+        // Then
+        verify(taskRepository).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(4);
+        verify(taskRepository).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(5);
+    }
+
+    private Task task(int id, String rankKey, int orderIndex) {
+        Task task = new Task();
+        task.setId(id);
+        task.setRankKey(rankKey);
+        task.setOrderIndex(orderIndex);
+        return task;
+    }
+}
@@ -1,23 +1,32 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TemplateChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TaskDTO;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.entity.HrUser;
 import com.shaper.server.model.entity.Task;
 import com.shaper.server.model.entity.Template;
 import com.shaper.server.model.enums.TaskStatus;
 import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.repository.TaskRepository;
 import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.service.TemplateCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +42,15 @@ class TaskServiceImplTest {
     @Mock
     private TemplateRepository templateRepository;
 
+    @Mock
+    private TaskOrderRebalancer taskOrderRebalancer;
+
+    @Mock
+    private TemplateCacheService templateCacheService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -54,12 +72,14 @@ class TaskServiceImplTest {
         testTask.setTemplate(testTemplate);
         testTask.setOrderIndex(1);
         testTask.setStatus(TaskStatus.PENDING);
+
+        lenient().when(templateRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTemplate));
+        lenient().when(taskRepository.findTemplateIdById(anyInt())).thenReturn(Optional.of(1));
     }
 
     @Test
     void createTask_ShouldCreateTaskSuccessfully() {
         // Given
-        when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
         when(taskRepository.findMaxOrderIndexByTemplateId(1)).thenReturn(0);
         when(taskRepository.save(any(Task.class))).thenReturn(testTask);
 
@@ -76,22 +96,23 @@ class TaskServiceImplTest {
         assertEquals(testTemplate, result.getTemplate());
         assertEquals(TaskStatus.PENDING, result.getStatus());
 
-        verify(templateRepository).findById(1);
+        verify(templateRepository).findByIdForUpdate(1);
         verify(taskRepository).findMaxOrderIndexByTemplateId(1);
+        verify(taskRepository).findMaxRankKeyByTemplateId(1);
         verify(taskRepository).save(any(Task.class));
     }
 
     @Test
     void createTask_ShouldThrowException_WhenTemplateNotFound() {
         // Given
-        when(templateRepository.findById(1)).thenReturn(Optional.empty());
+        when(templateRepository.findByIdForUpdate(1)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(DataNotFoundException.class, () -> 
             taskService.createTask(1, "Test Task", "Test Description", 
                                  TaskType.DOCUMENT, true, null, null));
 
-        verify(templateRepository).findById(1);
+        verify(templateRepository).findByIdForUpdate(1);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
@@ -113,6 +134,57 @@ class TaskServiceImplTest {
         verify(taskRepository).save(testTask);
     }
 
+    @Test
+    void updateTask_ShouldCopyFrozenTaskAndRetireOriginal() {
+        // Given
+        testTask.setFrozen(true);
+        testTask.setRankKey("0000011");
+        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Task result = taskService.updateTask(1, "Updated Task", "Updated Description",
+                                           TaskType.DOCUMENT, true, null, null);
+
+        // Then
+        assertNotSame(testTask, result);
+        assertTrue(testTask.isRetired());
+        assertEquals("Test Task", testTask.getTitle());
+        assertEquals("Updated Task", result.getTitle());
+        assertEquals("0000011", result.getRankKey());
+        assertFalse(result.isFrozen());
+        assertEquals(testTemplate, result.getTemplate());
+        assertEquals(testTask.getId(), result.getOriginTaskId());
+        assertEquals(testTask.getLineageId(), result.getLineageId());
+    }
+
+    @Test
+    void updateTask_ShouldRejectRetiredTask() {
+        // Given
+        testTask.setRetired(true);
+        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () ->
+            taskService.updateTask(1, "Updated Task", null, TaskType.DOCUMENT, true, null, null));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void deleteTask_ShouldRetireFrozenTaskInsteadOfDeleting() {
+        // Given
+        testTask.setFrozen(true);
+        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+
+        // When
+        taskService.deleteTask(1);
+
+        // Then
+        assertTrue(testTask.isRetired());
+        verify(taskRepository).save(testTask);
+        verify(taskRepository, never()).delete(any(Task.class));
+    }
+
     @Test
     void updateTask_ShouldThrowException_WhenTaskNotFound() {
         // Given
@@ -154,45 +226,31 @@ class TaskServiceImplTest {
     @Test
     void getTasksByTemplateId_ShouldReturnOrderedTasks() {
         // Given
-        Task task1 = new Task();
-        task1.setId(1);
-        task1.setOrderIndex(1);
-        
-        Task task2 = new Task();
-        task2.setId(2);
-        task2.setOrderIndex(2);
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        testTemplate.setCreatedByHr(new HrUser());
+        testTemplate.getCreatedByHr().setId(UUID.randomUUID());
 
-        List<Task> tasks = Arrays.asList(task1, task2);
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(tasks);
+        TemplateSnapshot snapshot = new TemplateSnapshot(testTemplate, Arrays.asList(task1, task2), null);
+        when(templateCacheService.getTemplate(1)).thenReturn(snapshot);
 
         // When
-        List<Task> result = taskService.getTasksByTemplateId(1);
+        List<TaskDTO> result = taskService.getTasksByTemplateId(1);
 
         // Then
         assertNotNull(result);
         assertEquals(2, result.size());
-        assertEquals(1, result.get(0).getOrderIndex());
+        assertEquals(1, result.get(0).getId());
+        assertEquals(2, result.get(1).getId());
         assertEquals(2, result.get(1).getOrderIndex());
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
+        assertEquals(1, result.get(0).getTemplateId());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
-    void deleteTask_ShouldDeleteTaskAndReorderRemaining() {
+    void deleteTask_ShouldDeleteOnlyTheTaskAndDeferRenumbering() {
         // Given
-        testTask.setOrderIndex(2);
-        
-        Task task1 = new Task();
-        task1.setId(2);
-        task1.setOrderIndex(1);
-        
-        Task task3 = new Task();
-        task3.setId(3);
-        task3.setOrderIndex(3);
-
-        List<Task> remainingTasks = Arrays.asList(task1, task3);
-
         when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(remainingTasks);
 
         // When
         taskService.deleteTask(1);
@@ -200,8 +258,9 @@ class TaskServiceImplTest {
         // Then
         verify(taskRepository).findById(1);
         verify(taskRepository).delete(testTask);
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
-        verify(taskRepository).save(task3); // Should be reordered from 3 to 2
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskOrderRebalancer).markDirty(1);
+        verify(eventPublisher).publishEvent(any(TemplateChangedEvent.class));
     }
 
     @Test
@@ -216,79 +275,125 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void reorderTasks_ShouldUpdateOrderIndices() {
+    @SuppressWarnings("unchecked")
+    void reorderTasks_ShouldRewriteOnlyTasksOutOfPlace() {
         // Given
-        Task task1 = new Task();
-        task1.setId(1);
-        task1.setOrderIndex(1);
-        task1.setTemplate(testTemplate);
-        
-        Task task2 = new Task();
-        task2.setId(2);
-        task2.setOrderIndex(2);
-        task2.setTemplate(testTemplate);
-
-        List<Task> templateTasks = Arrays.asList(task1, task2);
-        List<Integer> newOrder = Arrays.asList(2, 1); // Reverse order
-
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(templateTasks);
-        when(taskRepository.findById(2)).thenReturn(Optional.of(task2));
-        when(taskRepository.findById(1)).thenReturn(Optional.of(task1));
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        Task task3 = task(3, "000003");
+        Task task4 = task(4, "000004");
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1))
+            .thenReturn(Arrays.asList(task1, task2, task3, task4));
+
+        // When - move task 4 to the front
+        taskService.reorderTasks(1, Arrays.asList(4, 1, 2, 3));
+
+        // Then
+        ArgumentCaptor<List<Task>> saved = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).saveAll(saved.capture());
+        assertEquals(List.of(task4), saved.getValue());
+        assertTrue(task4.getRankKey().compareTo(task1.getRankKey()) < 0);
+        assertEquals("000001", task1.getRankKey());
+        verify(taskRepository, never()).findById(anyInt());
+        verify(taskOrderRebalancer).markDirty(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reorderTasks_ShouldProduceRequestedOrder_WhenReversed() {
+        // Given
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        Task task3 = task(3, "000003");
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1))
+            .thenReturn(Arrays.asList(task1, task2, task3));
 
         // When
-        taskService.reorderTasks(1, newOrder);
+        taskService.reorderTasks(1, Arrays.asList(3, 2, 1));
 
         // Then
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
-        verify(taskRepository).findById(2);
-        verify(taskRepository).findById(1);
-        verify(taskRepository, times(2)).save(any(Task.class));
+        ArgumentCaptor<List<Task>> saved = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertTrue(task3.getRankKey().compareTo(task2.getRankKey()) < 0);
+        assertTrue(task2.getRankKey().compareTo(task1.getRankKey()) < 0);
+    }
+
+    @Test
+    void reorderTasks_ShouldNotWrite_WhenOrderUnchanged() {
+        // Given
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(Arrays.asList(task1, task2));
+
+        // When
+        taskService.reorderTasks(1, Arrays.asList(1, 2));
+
+        // Then
+        verify(taskRepository, never()).saveAll(any());
+        verify(taskOrderRebalancer, never()).markDirty(anyInt());
     }
 
     @Test
     void reorderTasks_ShouldThrowException_WhenTaskCountMismatch() {
         // Given
-        List<Task> templateTasks = Arrays.asList(testTask);
+        List<Task> templateTasks = Arrays.asList(task(1, "000001"));
         List<Integer> newOrder = Arrays.asList(1, 2); // More tasks than exist
 
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(templateTasks);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(templateTasks);
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> 
             taskService.reorderTasks(1, newOrder));
 
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1);
+        verify(taskRepository, never()).saveAll(any());
     }
 
     @Test
-    void moveTaskUp_ShouldSwapWithTaskAbove() {
+    void reorderTasks_ShouldThrowException_WhenTaskBelongsToAnotherTemplate() {
         // Given
-        Task task1 = new Task();
-        task1.setId(1);
-        task1.setOrderIndex(1);
-        
-        testTask.setOrderIndex(2);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1))
+            .thenReturn(Arrays.asList(task(1, "000001"), task(2, "000002")));
+        when(taskRepository.findById(9)).thenReturn(Optional.of(task(9, "000001")));
 
-        List<Task> templateTasks = Arrays.asList(task1, testTask);
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.reorderTasks(1, Arrays.asList(1, 9)));
+        verify(taskRepository, never()).saveAll(any());
+    }
 
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(templateTasks);
+    @Test
+    void moveTaskUp_ShouldRekeyBetweenTheTwoTasksAbove() {
+        // Given
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        Task task3 = task(3, "000003");
+        when(taskRepository.findById(3)).thenReturn(Optional.of(task3));
+        when(taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyLessThanOrderByRankKeyDesc(1, "000003"))
+            .thenReturn(Arrays.asList(task2, task1));
 
         // When
-        taskService.moveTaskUp(1);
+        taskService.moveTaskUp(3);
 
         // Then
-        verify(taskRepository).findById(1);
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
-        verify(taskRepository, times(2)).save(any(Task.class));
+        assertTrue(task3.getRankKey().compareTo("000001") > 0);
+        assertTrue(task3.getRankKey().compareTo("000002") < 0);
+        verify(taskRepository).save(task3);
+        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskOrderRebalancer).markDirty(1);
+        InOrder order = inOrder(templateRepository, taskRepository);
+        order.verify(templateRepository).findByIdForUpdate(1);
+        order.verify(taskRepository).findById(3);
     }
 
     @Test
     void moveTaskUp_ShouldDoNothing_WhenTaskIsAtTop() {
         // Given
-        testTask.setOrderIndex(1);
+        testTask.setRankKey("000001");
         when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
+        when(taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyLessThanOrderByRankKeyDesc(1, "000001"))
+            .thenReturn(List.of());
 
         // When
         taskService.moveTaskUp(1);
@@ -299,43 +404,36 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void moveTaskDown_ShouldSwapWithTaskBelow() {
+    void moveTaskDown_ShouldRekeyAfterTheLastTask() {
         // Given
-        testTask.setOrderIndex(1);
-        
-        Task task2 = new Task();
-        task2.setId(2);
-        task2.setOrderIndex(2);
-
-        List<Task> templateTasks = Arrays.asList(testTask, task2);
-
-        when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(taskRepository.countByTemplateId(1)).thenReturn(2L);
-        when(taskRepository.findByTemplate_IdOrderByOrderIndexAsc(1)).thenReturn(templateTasks);
+        Task task1 = task(1, "000001");
+        Task task2 = task(2, "000002");
+        when(taskRepository.findById(1)).thenReturn(Optional.of(task1));
+        when(taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyGreaterThanOrderByRankKeyAsc(1, "000001"))
+            .thenReturn(List.of(task2));
 
         // When
         taskService.moveTaskDown(1);
 
         // Then
-        verify(taskRepository).findById(1);
-        verify(taskRepository).countByTemplateId(1);
-        verify(taskRepository).findByTemplate_IdOrderByOrderIndexAsc(1);
-        verify(taskRepository, times(2)).save(any(Task.class));
+        assertTrue(task1.getRankKey().compareTo("000002") > 0);
+        verify(taskRepository, times(1)).save(task1);
+        verify(taskOrderRebalancer).markDirty(1);
     }
 
     @Test
     void moveTaskDown_ShouldDoNothing_WhenTaskIsAtBottom() {
         // Given
-        testTask.setOrderIndex(2);
+        testTask.setRankKey("000002");
         when(taskRepository.findById(1)).thenReturn(Optional.of(testTask));
-        when(taskRepository.countByTemplateId(1)).thenReturn(2L);
+        when(taskRepository.findTop2ByTemplate_IdAndRetiredFalseAndRankKeyGreaterThanOrderByRankKeyAsc(1, "000002"))
+            .thenReturn(List.of());
 
         // When
         taskService.moveTaskDown(1);
 
         // Then
         verify(taskRepository).findById(1);
-        verify(taskRepository).countByTemplateId(1);
         verify(taskRepository, never()).save(any(Task.class));
     }
 
@@ -377,4 +475,12 @@ class TaskServiceImplTest {
         assertEquals(5L, result);
         verify(taskRepository).countByTemplateId(1);
     }
-}
\ No newline at end of file
+
+    private Task task(int id, String rankKey) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTemplate(testTemplate);
+        task.setRankKey(rankKey);
+        return task;
+    }
+}
@@ -0,0 +1,162 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TemplateChangedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplateCacheStatsDto;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.enums.TemplateStatus;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.service.TemplateInvalidationBroadcaster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateCacheServiceImplTest {
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ObjectProvider<TemplateInvalidationBroadcaster> broadcasters;
+
+    @InjectMocks
+    private TemplateCacheServiceImpl templateCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(templateCacheService, "maxEntries", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        lenient().when(templateRepository.findById(any())).thenAnswer(invocation ->
+            Optional.of(template(invocation.getArgument(0))));
+        lenient().when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(any())).thenReturn(List.of(task()));
+    }
+
+    @Test
+    void getTemplate_ShouldServeRepeatedReadsWithoutQueries() {
+        // When
+        TemplateSnapshot first = templateCacheService.getTemplate(1);
+        TemplateSnapshot second = templateCacheService.getTemplate(1);
+
+        // Then
+        assertSame(first, second);
+        assertEquals(List.of(10), second.getTaskIds());
+        verify(templateRepository, times(1)).findById(1);
+        verify(taskRepository, times(1)).findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1);
+        TemplateCacheStatsDto stats = templateCacheService.getStats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void getTemplate_ShouldEvictLeastRecentlyUsed_WhenFull() {
+        // Given
+        templateCacheService.getTemplate(1);
+        templateCacheService.getTemplate(2);
+        templateCacheService.getTemplate(1);
+
+        // When
+        templateCacheService.getTemplate(3);
+        templateCacheService.getTemplate(1);
+        templateCacheService.getTemplate(2);
+
+        // Then
+        verify(templateRepository, times(1)).findById(1);
+        verify(templateRepository, times(2)).findById(2);
+        assertEquals(2, templateCacheService.getStats().getSize());
+        assertEquals(2, templateCacheService.getStats().getEvictions());
+    }
+
+    @Test
+    void onTemplateChanged_ShouldDropSnapshotAndBroadcast() {
+        // Given
+        TemplateInvalidationBroadcaster broadcaster = mock(TemplateInvalidationBroadcaster.class);
+        when(broadcasters.orderedStream()).thenReturn(Stream.of(broadcaster));
+        templateCacheService.getTemplate(1);
+
+        // When
+        templateCacheService.onTemplateChanged(new TemplateChangedEvent(1));
+        templateCacheService.getTemplate(1);
+
+        // Then
+        verify(templateRepository, times(2)).findById(1);
+        verify(broadcaster).broadcast(1);
+    }
+
+    @Test
+    void getTemplate_ShouldNotStoreLoadThatOverlappedAnInvalidation() {
+        // Given - another transaction commits a change while the snapshot is being read
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenAnswer(invocation -> {
+            templateCacheService.evict(1);
+            return List.of(task());
+        });
+
+        // When
+        templateCacheService.getTemplate(1);
+        templateCacheService.getTemplate(1);
+
+        // Then
+        verify(templateRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void getTemplate_ShouldThrowException_WhenTemplateMissing() {
+        // Given
+        when(templateRepository.findById(9)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(DataNotFoundException.class, () -> templateCacheService.getTemplate(9));
+        assertEquals(0, templateCacheService.getStats().getSize());
+    }
+
+    private Template template(Integer id) {
+        HrUser hrUser = new HrUser();
+        hrUser.setId(UUID.randomUUID());
+        hrUser.setFirstName("HR");
+        hrUser.setLastName("Manager");
+        Template template = new Template();
+        template.setId(id);
+        template.setTitle("Template " + id);
+        template.setStatus(TemplateStatus.PENDING);
+        template.setCreatedByHr(hrUser);
+        return template;
+    }
+
+    private Task task() {
+        Task task = new Task();
+        task.setId(10);
+        task.setTitle("Sign contract");
+        task.setRankKey("0000011");
+        return task;
+    }
+}
@@ -0,0 +1,191 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.ProgressChangedEvent;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.TemplateVersion;
+import com.shaper.server.model.entity.Todo;
+import com.shaper.server.model.enums.PropagationState;
+import com.shaper.server.model.enums.TaskType;
+import com.shaper.server.repository.*;
+import com.shaper.server.service.ProgressRollupService;
+import com.shaper.server.service.TemplateVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplatePropagationJobTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private HireRepository hireRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TemplateVersionRepository templateVersionRepository;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private ProgressRollupService progressRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private TemplatePropagationJob templatePropagationJob;
+
+    private final LocalDateTime oldDate = LocalDateTime.of(2026, 3, 1, 9, 0);
+    private final LocalDateTime newDate = LocalDateTime.of(2026, 3, 8, 9, 0);
+    private TemplateVersionSnapshot first;
+    private TemplateVersionSnapshot second;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(templatePropagationJob, "chunkSize", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+
+        // Version 1 has tasks 10, 11 and 12; version 2 keeps 10, replaces 11 by 21 with a later date,
+        // drops 12 and adds 22
+        first = version(1, task(10, null, null), task(11, null, oldDate), task(12, null, null));
+        second = version(2, task(10, null, null), task(21, 11, newDate), task(22, null, null));
+        lenient().when(templateVersionService.getVersion(1)).thenReturn(first);
+        lenient().when(templateVersionService.getVersion(2)).thenReturn(second);
+    }
+
+    @Test
+    void versionDiff_ShouldMatchTasksByLineage() {
+        // When
+        TemplatePropagationJob.VersionDiff diff = TemplatePropagationJob.VersionDiff.between(first, second);
+
+        // Then
+        assertEquals(List.of(11), List.copyOf(diff.replaced().keySet()));
+        assertEquals(21, diff.replaced().get(11).getId());
+        assertEquals(newDate, diff.dueDates().get(21));
+        assertEquals(List.of(12), diff.removedTaskIds());
+        assertEquals(List.of(22), diff.added().stream().map(task -> task.getId()).toList());
+    }
+
+    @Test
+    void propagate_ShouldApplyDiffChunkByChunkAndRebuildRollups() {
+        // Given
+        List<UUID> firstChunk = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> secondChunk = List.of(UUID.randomUUID());
+        when(todoRepository.findOtherVersionIdsByTemplateId(5, 2)).thenReturn(List.of(1));
+        when(todoRepository.findHireIdsByTemplateVersion(eq(5), eq(1), any(Pageable.class)))
+            .thenReturn(firstChunk, secondChunk, List.of());
+        when(todoRepository.replaceTask(eq(5), anyList(), eq(11), any(), any())).thenReturn(2, 1);
+        when(todoRepository.deleteOpenByTaskIds(eq(5), anyList(), eq(List.of(12)))).thenReturn(1, 0);
+        when(progressRepository.findCompanyIdsByTemplateId(5)).thenReturn(List.of(3));
+        List<Todo> saved = new ArrayList<>();
+        when(todoRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Todo> todos = invocation.getArgument(0);
+            saved.addAll(todos);
+            return todos;
+        });
+        TemplatePropagationRun run = new TemplatePropagationRun(5, 2, 3);
+
+        // When
+        templatePropagationJob.run(run);
+
+        // Then
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(todoRepository).updateOpenDueDates(eq(5), eq(firstChunk), eq(21), eq(newDate), any());
+        verify(todoRepository).assignVersion(eq(5), eq(secondChunk), any());
+        verify(progressRepository).recountFromTodos(eq(5), eq(firstChunk), any());
+        verify(progressRepository).updateAtRiskFlags(eq(5), eq(secondChunk), anyDouble(), any());
+        verify(progressRollupService).rebuildCompany(3);
+        assertEquals(3, saved.size());
+        assertNotNull(saved.get(0).getDueDate());
+        ArgumentCaptor<ProgressChangedEvent> events = ArgumentCaptor.forClass(ProgressChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(secondChunk.get(0), events.getAllValues().get(2).getHireId());
+
+        var status = run.toDto();
+        assertEquals(PropagationState.COMPLETED, status.getState());
+        assertEquals(3, status.getProcessedHires());
+        assertEquals(3, status.getTodosAdded());
+        assertEquals(1, status.getTodosRemoved());
+        assertEquals(3, status.getTodosUpdated());
+    }
+
+    @Test
+    void run_ShouldReportFailureAndKeepCommittedChunks() {
+        // Given
+        List<UUID> chunk = List.of(UUID.randomUUID());
+        when(todoRepository.findOtherVersionIdsByTemplateId(5, 2)).thenReturn(List.of(1));
+        when(todoRepository.findHireIdsByTemplateVersion(eq(5), eq(1), any(Pageable.class))).thenReturn(chunk);
+        when(todoRepository.assignVersion(eq(5), eq(chunk), any()))
+            .thenReturn(3)
+            .thenThrow(new IllegalStateException("lock timeout"));
+        TemplatePropagationRun run = new TemplatePropagationRun(5, 2, 2);
+
+        // When
+        templatePropagationJob.run(run);
+
+        // Then
+        var status = run.toDto();
+        assertEquals(PropagationState.FAILED, status.getState());
+        assertEquals("lock timeout", status.getError());
+        assertEquals(1, status.getProcessedHires());
+        assertNotNull(status.getFinishedAt());
+        verify(progressRollupService, never()).rebuildCompany(anyInt());
+    }
+
+    private static Task task(int id, Integer originTaskId, LocalDateTime dueDate) {
+        Task task = new Task();
+        task.setId(id);
+        task.setOriginTaskId(originTaskId);
+        task.setTitle("Task " + id);
+        task.setTaskType(TaskType.EVENT);
+        task.setDueDate(dueDate);
+        return task;
+    }
+
+    private static TemplateVersionSnapshot version(int id, Task... tasks) {
+        TemplateVersion version = new TemplateVersion();
+        version.setId(id);
+        version.setTemplateId(5);
+        version.setVersionNumber(id);
+        version.setTitle("Onboarding");
+        version.setTasks(new ArrayList<>(Arrays.asList(tasks)));
+        return new TemplateVersionSnapshot(version);
+    }
+}
@@ -0,0 +1,98 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplatePropagationDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.model.entity.TemplateVersion;
+import com.shaper.server.model.enums.PropagationState;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.TodoRepository;
+import com.shaper.server.service.TemplateVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplatePropagationServiceImplTest {
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private TemplatePropagationJob templatePropagationJob;
+
+    @InjectMocks
+    private TemplatePropagationServiceImpl templatePropagationService;
+
+    @BeforeEach
+    void setUp() {
+        TemplateVersion version = new TemplateVersion();
+        version.setId(2);
+        version.setTemplateId(5);
+        lenient().when(templateRepository.existsById(5)).thenReturn(true);
+        lenient().when(templateVersionService.getCurrentVersion(5)).thenReturn(new TemplateVersionSnapshot(version));
+    }
+
+    @Test
+    void startPropagation_ShouldHandRunToJobAndReportIt() {
+        // Given
+        when(todoRepository.countHiresOnOtherVersions(5, 2)).thenReturn(40L);
+
+        // When
+        TemplatePropagationDto started = templatePropagationService.startPropagation(5);
+
+        // Then
+        assertEquals(PropagationState.RUNNING, started.getState());
+        assertEquals(2, started.getTargetVersionId());
+        assertEquals(40, started.getTotalHires());
+        verify(templatePropagationJob).run(any(TemplatePropagationRun.class));
+        assertEquals(started, templatePropagationService.getStatus(5));
+    }
+
+    @Test
+    void startPropagation_ShouldRejectSecondRunWhileFirstIsRunning() {
+        // Given
+        when(todoRepository.countHiresOnOtherVersions(5, 2)).thenReturn(40L);
+        templatePropagationService.startPropagation(5);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> templatePropagationService.startPropagation(5));
+        verify(templatePropagationJob, times(1)).run(any(TemplatePropagationRun.class));
+    }
+
+    @Test
+    void startPropagation_ShouldCompleteImmediatelyWhenEveryHireIsCurrent() {
+        // Given
+        when(todoRepository.countHiresOnOtherVersions(5, 2)).thenReturn(0L);
+
+        // When
+        TemplatePropagationDto started = templatePropagationService.startPropagation(5);
+
+        // Then
+        assertEquals(PropagationState.COMPLETED, started.getState());
+        verify(templatePropagationJob, never()).run(any(TemplatePropagationRun.class));
+    }
+
+    @Test
+    void startPropagation_ShouldThrowWhenTemplateMissing() {
+        // Given
+        when(templateRepository.existsById(9)).thenReturn(false);
+
+        // When & Then
+        assertThrows(DataNotFoundException.class, () -> templatePropagationService.startPropagation(9));
+        assertThrows(DataNotFoundException.class, () -> templatePropagationService.getStatus(9));
+    }
+}
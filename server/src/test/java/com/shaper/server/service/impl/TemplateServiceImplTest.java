@@ -1,12 +1,18 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TemplateAssignedEvent;
 import com.shaper.server.exception.DataNotFoundException;
 import com.shaper.server.model.dto.TemplateDTO;
+import com.shaper.server.model.dto.TemplateSnapshot;
+import com.shaper.server.model.dto.TemplateVersionDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.entity.*;
 import com.shaper.server.model.enums.TemplateStatus;
 import com.shaper.server.repository.*;
 import com.shaper.server.service.ProgressService;
+import com.shaper.server.service.TemplateCacheService;
+import com.shaper.server.service.TemplateVersionService;
 import com.shaper.server.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -47,6 +54,21 @@ class TemplateServiceImplTest {
     @Mock
     private ProgressService progressService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TemplateCacheService templateCacheService;
+
+    @Mock
+    private TemplateVersionService templateVersionService;
+
+    @Mock
+    private TemplateVersionRepository templateVersionRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
     @InjectMocks
     private TemplateServiceImpl templateService;
 
@@ -100,6 +122,14 @@ class TemplateServiceImplTest {
         testTemplateDTO.setDescription("Test Description");
         testTemplateDTO.setHrId(hrId.toString());
         testTemplateDTO.setDepartmentIds(Arrays.asList(1));
+
+        TemplateVersion version = new TemplateVersion();
+        version.setId(5);
+        version.setTemplateId(1);
+        version.setVersionNumber(1);
+        version.setTitle("Test Template");
+        version.setTasks(List.copyOf(testTemplate.getTasks()));
+        lenient().when(templateVersionService.getCurrentVersion(1)).thenReturn(new TemplateVersionSnapshot(version));
     }
 
     @Test
@@ -186,7 +216,8 @@ class TemplateServiceImplTest {
     @Test
     void getTemplateById_ShouldReturnTemplate_WhenExists() {
         // Given
-        when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
+        when(templateCacheService.getTemplate(1)).thenReturn(
+            new TemplateSnapshot(testTemplate, List.copyOf(testTemplate.getTasks()), Set.of(testDepartment)));
 
         // When
         TemplateDTO result = templateService.getTemplateById(1);
@@ -194,19 +225,19 @@ class TemplateServiceImplTest {
         // Then
         assertNotNull(result);
         assertEquals("Test Template", result.getTitle());
-        verify(templateRepository).findById(1);
+        assertEquals("HR Manager", result.getHrName());
+        assertEquals(List.of(1), result.getDepartmentIds());
+        verify(templateRepository, never()).findById(any());
     }
 
     @Test
     void getTemplateById_ShouldThrowException_WhenNotFound() {
         // Given
-        when(templateRepository.findById(1)).thenReturn(Optional.empty());
+        when(templateCacheService.getTemplate(1)).thenThrow(new DataNotFoundException("Template not found with ID: 1"));
 
         // When & Then
         assertThrows(DataNotFoundException.class, () -> 
             templateService.getTemplateById(1));
-
-        verify(templateRepository).findById(1);
     }
 
     @Test
@@ -282,6 +313,7 @@ class TemplateServiceImplTest {
         // Then
         verify(templateRepository).findById(1);
         verify(todoRepository).findByTemplate_Id(1);
+        verify(templateVersionRepository).deleteByTemplateId(1);
         verify(templateRepository).deleteById(1);
     }
 
@@ -299,7 +331,7 @@ class TemplateServiceImplTest {
     }
 
     @Test
-    void deleteTemplate_ShouldThrowException_WhenHasActiveTodos() {
+    void deleteTemplate_ShouldArchiveTemplate_WhenHasActiveTodos() {
         // Given
         Todo activeTodo = new Todo();
         activeTodo.setId(1);
@@ -307,13 +339,56 @@ class TemplateServiceImplTest {
         when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
         when(todoRepository.findByTemplate_Id(1)).thenReturn(Arrays.asList(activeTodo));
 
-        // When & Then
-        assertThrows(IllegalStateException.class, () -> 
-            templateService.deleteTemplate(1));
+        // When
+        templateService.deleteTemplate(1);
 
-        verify(templateRepository).findById(1);
-        verify(todoRepository).findByTemplate_Id(1);
+        // Then
+        assertEquals(TemplateStatus.ARCHIVED, testTemplate.getStatus());
+        verify(templateRepository).save(testTemplate);
         verify(templateRepository, never()).deleteById(anyInt());
+        verify(templateVersionRepository, never()).deleteByTemplateId(anyInt());
+    }
+
+    @Test
+    void getAllTemplates_ShouldHideArchivedTemplates() {
+        // Given
+        Template archived = new Template();
+        archived.setId(2);
+        archived.setStatus(TemplateStatus.ARCHIVED);
+        when(templateRepository.findAll()).thenReturn(Arrays.asList(testTemplate, archived));
+
+        // When
+        List<TemplateDTO> result = templateService.getAllTemplates();
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getId());
+    }
+
+    @Test
+    void assignTemplateToHire_ShouldRejectArchivedTemplate() {
+        // Given
+        testTemplate.setStatus(TemplateStatus.ARCHIVED);
+        when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
+        when(hireRepository.findById(hireId)).thenReturn(Optional.of(testHire));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> templateService.assignTemplateToHire(1, hireId));
+        verify(templateVersionService, never()).getCurrentVersion(anyInt());
+        verify(todoService, never()).createTodosFromTemplate(anyInt(), any(UUID.class));
+    }
+
+    @Test
+    void publishTemplate_ShouldDelegateToVersionService() {
+        // Given
+        TemplateVersionDto version = new TemplateVersionDto(7, 1, 2, "Test Template", null, List.of(1), LocalDateTime.now());
+        when(templateVersionService.publish(1)).thenReturn(version);
+
+        // When
+        TemplateVersionDto result = templateService.publishTemplate(1);
+
+        // Then
+        assertEquals(2, result.getVersionNumber());
     }
 
     @Test
@@ -336,9 +411,11 @@ class TemplateServiceImplTest {
         verify(templateRepository).findById(1);
         verify(hireRepository).findById(hireId);
         verify(todoRepository).findByHireIdAndTemplateId(hireId, 1);
+        verify(templateVersionService).getCurrentVersion(1);
         verify(todoService).createTodosFromTemplate(1, hireId);
         verify(progressService).initializeProgress(hireId, 1);
         verify(templateRepository).save(testTemplate);
+        verify(eventPublisher).publishEvent(any(TemplateAssignedEvent.class));
     }
 
     @Test
@@ -375,6 +452,8 @@ class TemplateServiceImplTest {
         testTemplate.setTasks(null);
         when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
         when(hireRepository.findById(hireId)).thenReturn(Optional.of(testHire));
+        when(templateVersionService.getCurrentVersion(1))
+            .thenThrow(new IllegalStateException("Cannot publish template without tasks. Template ID: 1"));
 
         // When & Then
         assertThrows(IllegalStateException.class, () -> 
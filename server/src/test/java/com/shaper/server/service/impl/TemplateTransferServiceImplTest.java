@@ -0,0 +1,271 @@
+package com.shaper.server.service.impl;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.DepartmentDto;
+import com.shaper.server.model.dto.TaskTransferDto;
+import com.shaper.server.model.dto.TemplateImportResultDto;
+import com.shaper.server.model.dto.TemplateTransferDto;
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.enums.TaskPriority;
+import com.shaper.server.model.enums.TaskType;
+import com.shaper.server.model.enums.TemplateStatus;
+import com.shaper.server.repository.CompanyDepartmentRepository;
+import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.system.RankKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateTransferServiceImplTest {
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private CompanyDepartmentRepository departmentRepository;
+
+    @Mock
+    private HrUserRepository hrUserRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+    private TemplateTransferServiceImpl templateTransferService;
+    private HrUser hrUser;
+    private UUID hrId;
+
+    @BeforeEach
+    void setUp() {
+        // Same settings as the ObjectMapper Spring Boot configures
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        templateTransferService = new TemplateTransferServiceImpl(templateRepository, taskRepository,
+            departmentRepository, hrUserRepository, objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate, entityManager);
+        ReflectionTestUtils.setField(templateTransferService, "batchSize", 100);
+        ReflectionTestUtils.setField(templateTransferService, "exportPageSize", 2);
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+
+        Company company = new Company();
+        company.setId(1);
+        hrId = UUID.randomUUID();
+        hrUser = new HrUser();
+        hrUser.setId(hrId);
+        hrUser.setCompany(company);
+    }
+
+    @Test
+    void exportTemplates_ShouldWriteTemplatesWithDepartmentsAndTasksInOrder() throws Exception {
+        // Given
+        LocalDateTime dueDate = LocalDateTime.of(2026, 3, 2, 9, 0);
+        when(templateRepository.findTransferPageByCompanyId(eq(1), eq(0), any(Pageable.class)))
+            .thenReturn(List.of(new TemplateTransferDto(5, "Onboarding", null)));
+        when(departmentRepository.findNamesByTemplateId(5)).thenReturn(List.of("Engineering"));
+        when(taskRepository.streamTransferRowsByTemplateId(5)).thenReturn(List.of(
+            new TaskTransferDto("Sign contract", null, TaskType.DOCUMENT, true, null, null, dueDate,
+                TaskPriority.HIGH, 1.5),
+            new TaskTransferDto("Read handbook", "Chapters 1-3", TaskType.RESOURCE, false, "https://wiki",
+                null, null, null, null)).stream());
+
+        // When
+        JsonNode document = objectMapper.readTree(export(1, null));
+
+        // Then
+        assertEquals("shaper-templates", document.get("format").asText());
+        assertEquals(1, document.get("version").asInt());
+        JsonNode template = document.get("templates").get(0);
+        assertEquals("Onboarding", template.get("title").asText());
+        assertFalse(template.has("description"));
+        assertEquals("Engineering", template.get("departments").get(0).asText());
+        JsonNode tasks = template.get("tasks");
+        assertEquals(2, tasks.size());
+        assertEquals("Sign contract", tasks.get(0).get("title").asText());
+        assertEquals("2026-03-02T09:00", tasks.get(0).get("dueDate").asText());
+        assertEquals("HIGH", tasks.get(0).get("priority").asText());
+        assertEquals(1.5, tasks.get(0).get("estimatedHours").asDouble());
+        assertEquals("https://wiki", tasks.get(1).get("resourceUrl").asText());
+        assertFalse(tasks.get(1).has("eventDate"));
+    }
+
+    @Test
+    void exportTemplates_ShouldPageTemplatesByLastId() throws Exception {
+        // Given
+        when(templateRepository.findTransferPageByCompanyId(eq(1), eq(0), any(Pageable.class)))
+            .thenReturn(List.of(new TemplateTransferDto(3, "First", null), new TemplateTransferDto(8, "Second", null)));
+        when(templateRepository.findTransferPageByCompanyId(eq(1), eq(8), any(Pageable.class)))
+            .thenReturn(List.of(new TemplateTransferDto(11, "Third", null)));
+        when(taskRepository.streamTransferRowsByTemplateId(anyInt())).thenAnswer(invocation -> List.<TaskTransferDto>of().stream());
+
+        // When
+        JsonNode document = objectMapper.readTree(export(1, null));
+
+        // Then
+        assertEquals(3, document.get("templates").size());
+        assertEquals("Third", document.get("templates").get(2).get("title").asText());
+        verify(templateRepository, times(2)).findTransferPageByCompanyId(eq(1), anyInt(), any(Pageable.class));
+    }
+
+    @Test
+    void exportTemplates_ShouldRejectTemplatesOutsideCompanyBeforeWriting() {
+        // Given
+        when(templateRepository.findTransferRowsByIds(1, Set.of(5, 6)))
+            .thenReturn(List.of(new TemplateTransferDto(5, "Onboarding", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When & Then
+        assertThrows(DataNotFoundException.class, () ->
+            templateTransferService.exportTemplates(1, List.of(5, 6), out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void importTemplates_ShouldRoundTripLargeTemplateInBatches() throws Exception {
+        // Given
+        List<TaskTransferDto> source = IntStream.rangeClosed(1, 500)
+            .mapToObj(i -> new TaskTransferDto("Task " + i, null, TaskType.EVENT, i % 2 == 0, null,
+                LocalDateTime.of(2026, 1, 1, 9, 0).plusDays(i), null, null, null))
+            .toList();
+        when(templateRepository.findTransferPageByCompanyId(eq(1), eq(0), any(Pageable.class)))
+            .thenReturn(List.of(new TemplateTransferDto(5, "Onboarding", "Week one")));
+        when(departmentRepository.findNamesByTemplateId(5)).thenReturn(List.of("Engineering", "Legal"));
+        when(taskRepository.streamTransferRowsByTemplateId(5)).thenReturn(source.stream());
+        String exported = export(1, null);
+
+        CompanyDepartment engineering = new CompanyDepartment();
+        engineering.setId(7);
+        engineering.setAssignedTemplates(new HashSet<>());
+        when(hrUserRepository.findById(hrId)).thenReturn(Optional.of(hrUser));
+        when(departmentRepository.findDtosByCompanyId(1))
+            .thenReturn(List.of(new DepartmentDto(7, "Engineering", 1, hrId, 0L, 0L)));
+        when(departmentRepository.findAllById(List.of(7))).thenReturn(List.of(engineering));
+        when(templateRepository.save(any(Template.class))).thenAnswer(invocation -> {
+            Template template = invocation.getArgument(0);
+            template.setId(42);
+            return template;
+        });
+        List<Task> saved = new ArrayList<>();
+        when(taskRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Task> chunk = invocation.getArgument(0);
+            saved.addAll(chunk);
+            return chunk;
+        });
+        Template reference = new Template();
+        reference.setId(42);
+        when(templateRepository.getReferenceById(42)).thenReturn(reference);
+
+        // When
+        TemplateImportResultDto result = templateTransferService.importTemplates(hrId, stream(exported));
+
+        // Then
+        assertEquals(List.of(42), result.getTemplateIds());
+        assertEquals(500, result.getTaskCount());
+        assertEquals(List.of("Legal"), result.getUnmatchedDepartments());
+        verify(taskRepository, times(5)).saveAllAndFlush(anyList());
+        verify(entityManager, times(5)).clear();
+        verify(transactionTemplate, times(1)).execute(any());
+        assertEquals(500, saved.size());
+        assertEquals("Task 1", saved.get(0).getTitle());
+        assertEquals(RankKeys.forIndex(500), saved.get(499).getRankKey());
+        assertEquals(500, saved.get(499).getOrderIndex());
+        assertEquals(source.get(9).getEventDate(), saved.get(9).getEventDate());
+        assertTrue(saved.get(1).isRequiresSignature());
+        Template template = saved.get(0).getTemplate();
+        assertEquals(TemplateStatus.PENDING, template.getStatus());
+        assertEquals(hrUser, template.getCreatedByHr());
+        assertTrue(engineering.getAssignedTemplates().contains(template));
+        assertSame(reference, saved.get(100).getTemplate());
+    }
+
+    @Test
+    void importTemplates_ShouldRejectInvalidTask() {
+        // Given
+        when(hrUserRepository.findById(hrId)).thenReturn(Optional.of(hrUser));
+        when(templateRepository.save(any(Template.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String document = """
+            {"version": 1, "templates": [{"title": "Onboarding", "tasks": [{"title": "No type"}]}]}
+            """;
+
+        // When & Then
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () ->
+            templateTransferService.importTemplates(hrId, stream(document)));
+        assertTrue(error.getMessage().contains("Task type is required"));
+        verify(taskRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void importTemplates_ShouldRejectTemplateFieldsAfterTasks() {
+        // Given
+        when(hrUserRepository.findById(hrId)).thenReturn(Optional.of(hrUser));
+        when(templateRepository.save(any(Template.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        String document = """
+            {"templates": [{"title": "Onboarding", "tasks": [], "departments": ["Engineering"]}]}
+            """;
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            templateTransferService.importTemplates(hrId, stream(document)));
+    }
+
+    @Test
+    void importTemplates_ShouldRejectUnsupportedVersion() {
+        // Given
+        when(hrUserRepository.findById(hrId)).thenReturn(Optional.of(hrUser));
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            templateTransferService.importTemplates(hrId, stream("{\"version\": 2, \"templates\": []}")));
+        verify(templateRepository, never()).save(any(Template.class));
+    }
+
+    private String export(Integer companyId, List<Integer> templateIds) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templateTransferService.exportTemplates(companyId, templateIds, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,193 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TemplatePublishedEvent;
+import com.shaper.server.model.dto.TemplateVersionDto;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
+import com.shaper.server.model.entity.Task;
+import com.shaper.server.model.entity.Template;
+import com.shaper.server.model.entity.TemplateVersion;
+import com.shaper.server.repository.TaskRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.TemplateVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateVersionServiceImplTest {
+
+    @Mock
+    private TemplateVersionRepository templateVersionRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private TemplateVersionServiceImpl templateVersionService;
+
+    private Template template;
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    void setUp() {
+        template = new Template();
+        template.setId(1);
+        template.setTitle("Onboarding");
+        task1 = task(11);
+        task2 = task(12);
+        lenient().when(templateRepository.findByIdForUpdate(1)).thenReturn(Optional.of(template));
+        lenient().when(templateVersionRepository.save(any(TemplateVersion.class))).thenAnswer(invocation -> {
+            TemplateVersion version = invocation.getArgument(0);
+            version.setId(100 + version.getVersionNumber());
+            return version;
+        });
+    }
+
+    @Test
+    void publish_ShouldFreezeDraftTasksIntoNextVersion() {
+        // Given
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(List.of(task1, task2));
+        when(templateVersionRepository.findLatestIdByTemplateId(1)).thenReturn(Optional.empty());
+        when(templateVersionRepository.findMaxVersionNumberByTemplateId(1)).thenReturn(0);
+
+        // When
+        TemplateVersionDto result = templateVersionService.publish(1);
+
+        // Then
+        assertEquals(1, result.getVersionNumber());
+        assertEquals(List.of(11, 12), result.getTaskIds());
+        assertEquals("Onboarding", result.getTitle());
+        verify(taskRepository).freezeAll(List.of(11, 12));
+        verify(eventPublisher).publishEvent(any(TemplatePublishedEvent.class));
+    }
+
+    @Test
+    void publish_ShouldShareUnchangedTasksWithPreviousVersion() {
+        // Given - task 12 was edited after version 1 and replaced by task 13
+        TemplateVersion previous = version(101, 1, List.of(task1, task2));
+        Task edited = task(13);
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(List.of(task1, edited));
+        when(templateVersionRepository.findLatestIdByTemplateId(1)).thenReturn(Optional.of(101));
+        when(templateVersionRepository.findWithTasksById(101)).thenReturn(Optional.of(previous));
+        when(templateVersionRepository.findMaxVersionNumberByTemplateId(1)).thenReturn(1);
+
+        // When
+        templateVersionService.publish(1);
+
+        // Then
+        ArgumentCaptor<TemplateVersion> saved = ArgumentCaptor.forClass(TemplateVersion.class);
+        verify(templateVersionRepository).save(saved.capture());
+        assertEquals(2, saved.getValue().getVersionNumber());
+        assertSame(task1, saved.getValue().getTasks().get(0));
+        assertSame(edited, saved.getValue().getTasks().get(1));
+    }
+
+    @Test
+    void publish_ShouldReturnLatestVersion_WhenDraftUnchanged() {
+        // Given
+        TemplateVersion previous = version(101, 1, List.of(task1, task2));
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(List.of(task1, task2));
+        when(templateVersionRepository.findLatestIdByTemplateId(1)).thenReturn(Optional.of(101));
+        when(templateVersionRepository.findWithTasksById(101)).thenReturn(Optional.of(previous));
+
+        // When
+        TemplateVersionDto result = templateVersionService.publish(1);
+
+        // Then
+        assertEquals(101, result.getId());
+        verify(templateVersionRepository, never()).save(any());
+        verify(taskRepository, never()).freezeAll(any());
+    }
+
+    @Test
+    void publish_ShouldRejectTemplateWithoutTasks() {
+        // Given
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> templateVersionService.publish(1));
+        verify(templateVersionRepository, never()).save(any());
+    }
+
+    @Test
+    void getCurrentVersion_ShouldServeCachedVersionWithoutQueries() {
+        // Given
+        when(templateVersionRepository.findLatestIdByTemplateId(1)).thenReturn(Optional.of(101));
+        when(templateVersionRepository.findWithTasksById(101)).thenReturn(Optional.of(version(101, 1, List.of(task1))));
+
+        // When
+        TemplateVersionSnapshot first = templateVersionService.getCurrentVersion(1);
+        TemplateVersionSnapshot second = templateVersionService.getCurrentVersion(1);
+
+        // Then
+        assertSame(first, second);
+        verify(templateVersionRepository, times(1)).findLatestIdByTemplateId(1);
+        verify(templateVersionRepository, times(1)).findWithTasksById(101);
+        verifyNoInteractions(templateRepository);
+    }
+
+    @Test
+    void onTemplatePublished_ShouldNeverMoveBackToAnOlderVersion() {
+        // Given
+        when(templateVersionRepository.findWithTasksById(102)).thenReturn(Optional.of(version(102, 2, List.of(task2))));
+        templateVersionService.onTemplatePublished(new TemplatePublishedEvent(1, 102));
+
+        // When
+        templateVersionService.onTemplatePublished(new TemplatePublishedEvent(1, 101));
+
+        // Then
+        assertEquals(2, templateVersionService.getCurrentVersion(1).getVersionNumber());
+    }
+
+    @Test
+    void getCurrentVersion_ShouldPublishDraft_WhenNeverPublished() {
+        // Given
+        when(templateVersionRepository.findLatestIdByTemplateId(1)).thenReturn(Optional.empty());
+        when(taskRepository.findByTemplate_IdAndRetiredFalseOrderByRankKeyAsc(1)).thenReturn(List.of(task1));
+        when(templateVersionRepository.findMaxVersionNumberByTemplateId(1)).thenReturn(0);
+
+        // When
+        TemplateVersionSnapshot result = templateVersionService.getCurrentVersion(1);
+
+        // Then
+        assertEquals(1, result.getVersionNumber());
+        assertEquals(List.of(11), result.getTaskIds());
+    }
+
+    private Task task(int id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setTemplate(template);
+        return task;
+    }
+
+    private TemplateVersion version(int id, int number, List<Task> tasks) {
+        TemplateVersion version = new TemplateVersion();
+        version.setId(id);
+        version.setTemplateId(1);
+        version.setVersionNumber(number);
+        version.setTitle("Onboarding");
+        version.setTasks(tasks);
+        return version;
+    }
+}
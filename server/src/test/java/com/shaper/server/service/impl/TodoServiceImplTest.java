@@ -1,6 +1,8 @@
 package com.shaper.server.service.impl;
 
+import com.shaper.server.event.TodoStatusChangedEvent;
 import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.TemplateVersionSnapshot;
 import com.shaper.server.model.dto.TodoDto;
 import com.shaper.server.model.entity.*;
 import com.shaper.server.model.enums.TodoStatus;
@@ -8,12 +10,14 @@ import com.shaper.server.model.enums.TaskType;
 import com.shaper.server.repository.*;
 import com.shaper.server.service.NotificationService;
 import com.shaper.server.service.ProgressService;
+import com.shaper.server.service.TemplateVersionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,6 +35,9 @@ class TodoServiceImplTest {
     @Mock
     private TemplateRepository templateRepository;
     
+    @Mock
+    private TaskRepository taskRepository;
+    
     @Mock
     private HireRepository hireRepository;
     
@@ -40,6 +47,15 @@ class TodoServiceImplTest {
     @Mock
     private ProgressService progressService;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private TemplateVersionService templateVersionService;
+    
+    @Mock
+    private TemplateVersionRepository templateVersionRepository;
+    
     @InjectMocks
     private TodoServiceImpl todoService;
     
@@ -127,18 +143,19 @@ class TodoServiceImplTest {
     @Test
     void completeTodo_ShouldMarkTodoAsCompleted() {
         // Given
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
+        when(todoRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTodo));
         when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
-        when(progressService.updateProgressOnTodoCompletion(1)).thenReturn(new Progress());
         
         // When
         TodoDto result = todoService.completeTodo(1);
         
         // Then
         assertThat(result).isNotNull();
-        verify(todoRepository).findById(1);
+        verify(todoRepository).findByIdForUpdate(1);
         verify(todoRepository).save(testTodo);
-        verify(progressService).updateProgressOnTodoCompletion(1);
+        verify(progressService).updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.PENDING, TodoStatus.COMPLETED);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TodoStatusChangedEvent changed
+            && changed.getPreviousStatus() == TodoStatus.PENDING && changed.getNewStatus() == TodoStatus.COMPLETED));
         assertThat(testTodo.getStatus()).isEqualTo(TodoStatus.COMPLETED);
         assertThat(testTodo.getCompletedAt()).isNotNull();
     }
@@ -150,9 +167,8 @@ class TodoServiceImplTest {
         HrUser hrUser = new HrUser();
         testHire.setRegisteredByHr(hrUser);
         
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
+        when(todoRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTodo));
         when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
-        when(progressService.updateProgressOnTodoCompletion(1)).thenReturn(new Progress());
         
         // When
         todoService.completeTodo(1);
@@ -166,16 +182,47 @@ class TodoServiceImplTest {
         // Given
         testTodo.setStatus(TodoStatus.COMPLETED);
         testTodo.setCompletedAt(LocalDateTime.now());
-        when(todoRepository.findById(1)).thenReturn(Optional.of(testTodo));
+        when(todoRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTodo));
         
         // When
         TodoDto result = todoService.completeTodo(1);
         
         // Then
         assertThat(result).isNotNull();
-        verify(todoRepository).findById(1);
+        verify(todoRepository).findByIdForUpdate(1);
         verify(todoRepository, never()).save(any(Todo.class));
-        verify(progressService, never()).updateProgressOnTodoCompletion(anyInt());
+        verify(progressService, never()).updateProgressOnTodoStatusChange(any(), anyInt(), any(), any());
+    }
+    
+    @Test
+    void markTodoInProgress_ShouldSkipProgressUpdate_WhenAlreadyInProgress() {
+        // Given
+        testTodo.setStatus(TodoStatus.IN_PROGRESS);
+        when(todoRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTodo));
+        
+        // When
+        TodoDto result = todoService.markTodoInProgress(1);
+        
+        // Then
+        assertThat(result.getStatus()).isEqualTo(TodoStatus.IN_PROGRESS);
+        verify(todoRepository, never()).findById(anyInt());
+        verify(todoRepository, never()).save(any(Todo.class));
+        verify(progressService, never()).updateProgressOnTodoStatusChange(any(), anyInt(), any(), any());
+    }
+    
+    @Test
+    void markTodoOverdue_ShouldReadStatusUnderRowLock() {
+        // Given
+        testTodo.setStatus(TodoStatus.COMPLETED);
+        when(todoRepository.findByIdForUpdate(1)).thenReturn(Optional.of(testTodo));
+        when(todoRepository.save(any(Todo.class))).thenReturn(testTodo);
+        
+        // When
+        todoService.markTodoOverdue(1);
+        
+        // Then
+        verify(todoRepository, never()).findById(anyInt());
+        verify(progressService).updateProgressOnTodoStatusChange(hireId, 1, TodoStatus.COMPLETED, TodoStatus.OVERDUE);
     }
     
     @Test
@@ -212,9 +259,13 @@ class TodoServiceImplTest {
         task2.setTemplate(testTemplate);
         tasks.add(task2);
         
-        testTemplate.setTasks(tasks);
-        
-        when(templateRepository.findById(1)).thenReturn(Optional.of(testTemplate));
+        TemplateVersion version = new TemplateVersion();
+        version.setId(5);
+        version.setTemplateId(1);
+        version.setVersionNumber(1);
+        version.setTitle("Test Template");
+        version.setTasks(List.of(task1, task2));
+        when(templateVersionService.getCurrentVersion(1)).thenReturn(new TemplateVersionSnapshot(version));
         when(hireRepository.findById(hireId)).thenReturn(Optional.of(testHire));
         when(todoRepository.saveAll(anyList())).thenReturn(Arrays.asList(testTodo, testTodo));
         
@@ -223,7 +274,10 @@ class TodoServiceImplTest {
         
         // Then
         assertThat(result).hasSize(2);
-        verify(templateRepository).findById(1);
+        assertThat(result.get(1).getTaskTitle()).isEqualTo("Task 2");
+        verify(templateRepository, never()).findById(any());
+        verify(taskRepository).getReferenceById(2);
+        verify(templateVersionRepository).getReferenceById(5);
         verify(hireRepository).findById(hireId);
         verify(todoRepository).saveAll(anyList());
     }
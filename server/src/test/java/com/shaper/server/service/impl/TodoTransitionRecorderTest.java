@@ -0,0 +1,66 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.TodoStatusChangedEvent;
+import com.shaper.server.model.enums.TodoStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoTransitionRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @InjectMocks
+    private TodoTransitionRecorder todoTransitionRecorder;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(todoTransitionRecorder, "batchSize", 2);
+    }
+
+    @Test
+    void onTodoStatusChanged_ShouldHandFullBatchToSchedulerOnce() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            todoTransitionRecorder.onTodoStatusChanged(transition(i));
+        }
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(flush.capture(), any(Instant.class));
+
+        flush.getValue().run();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+
+        todoTransitionRecorder.onTodoStatusChanged(transition(3));
+        todoTransitionRecorder.onTodoStatusChanged(transition(4));
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    private static TodoStatusChangedEvent transition(int todoId) {
+        return new TodoStatusChangedEvent(todoId, 3, 7, UUID.randomUUID(), TodoStatus.PENDING,
+            TodoStatus.COMPLETED, LocalDateTime.now().minusHours(1), LocalDateTime.now());
+    }
+}
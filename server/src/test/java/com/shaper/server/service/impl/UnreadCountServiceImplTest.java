@@ -0,0 +1,124 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.NotificationCreatedEvent;
+import com.shaper.server.event.NotificationsReadEvent;
+import com.shaper.server.model.dto.NotificationDto;
+import com.shaper.server.model.dto.UserUnreadCountDto;
+import com.shaper.server.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadCountServiceImplTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @InjectMocks
+    private UnreadCountServiceImpl unreadCountService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void getUnreadCount_ShouldLoadOnceThenServeFromMemory() {
+        // Given
+        when(notificationRepository.countByUser_IdAndIsRead(userId, false)).thenReturn(4L);
+
+        // When
+        unreadCountService.getUnreadCount(userId);
+        unreadCountService.onNotificationCreated(new NotificationCreatedEvent(notification(false)));
+        unreadCountService.onNotificationsRead(new NotificationsReadEvent(userId, List.of(1, 2), 2));
+        long count = unreadCountService.getUnreadCount(userId);
+
+        // Then
+        assertEquals(3L, count);
+        verify(notificationRepository, times(1)).countByUser_IdAndIsRead(userId, false);
+    }
+
+    @Test
+    void onNotificationCreated_ShouldIgnoreUsersNotYetLoaded() {
+        // When
+        unreadCountService.onNotificationCreated(new NotificationCreatedEvent(notification(false)));
+
+        // Then
+        verifyNoInteractions(notificationRepository);
+        when(notificationRepository.countByUser_IdAndIsRead(userId, false)).thenReturn(1L);
+        assertEquals(1L, unreadCountService.getUnreadCount(userId));
+    }
+
+    @Test
+    void getUnreadCount_ShouldNeverGoNegative() {
+        // Given
+        when(notificationRepository.countByUser_IdAndIsRead(userId, false)).thenReturn(0L);
+        unreadCountService.getUnreadCount(userId);
+
+        // When
+        unreadCountService.onNotificationsRead(new NotificationsReadEvent(userId, List.of(1), 1));
+
+        // Then
+        assertEquals(0L, unreadCountService.getUnreadCount(userId));
+    }
+
+    @Test
+    void reconcile_ShouldCorrectDriftedCounters() {
+        // Given
+        UUID otherUser = UUID.randomUUID();
+        when(notificationRepository.countByUser_IdAndIsRead(userId, false)).thenReturn(2L);
+        when(notificationRepository.countByUser_IdAndIsRead(otherUser, false)).thenReturn(3L);
+        unreadCountService.getUnreadCount(userId);
+        unreadCountService.getUnreadCount(otherUser);
+        when(notificationRepository.countUnreadByUserIds(anyCollection()))
+            .thenReturn(List.of(new UserUnreadCountDto(userId, 7L)));
+
+        // When
+        int corrected = unreadCountService.reconcile();
+
+        // Then
+        assertEquals(2, corrected);
+        assertEquals(7L, unreadCountService.getUnreadCount(userId));
+        assertEquals(0L, unreadCountService.getUnreadCount(otherUser));
+    }
+
+    @Test
+    void getUnreadCount_ShouldEvictLeastRecentlyUsedCounter_WhenCacheIsFull() {
+        // Given
+        ReflectionTestUtils.setField(unreadCountService, "cacheSize", 2);
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(notificationRepository.countByUser_IdAndIsRead(any(UUID.class), eq(false))).thenReturn(1L);
+        unreadCountService.getUnreadCount(userId);
+        unreadCountService.getUnreadCount(second);
+        unreadCountService.getUnreadCount(userId);
+
+        // When
+        unreadCountService.getUnreadCount(third);
+        unreadCountService.getUnreadCount(userId);
+        unreadCountService.getUnreadCount(second);
+
+        // Then - the idle second user was dropped and had to be loaded again
+        verify(notificationRepository, times(1)).countByUser_IdAndIsRead(userId, false);
+        verify(notificationRepository, times(2)).countByUser_IdAndIsRead(second, false);
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of());
+        unreadCountService.reconcile();
+        verify(notificationRepository).countUnreadByUserIds(argThat(ids -> ids.size() == 2));
+    }
+
+    private NotificationDto notification(boolean read) {
+        NotificationDto dto = new NotificationDto();
+        dto.setId(9);
+        dto.setUserId(userId);
+        dto.setRead(read);
+        return dto;
+    }
+}
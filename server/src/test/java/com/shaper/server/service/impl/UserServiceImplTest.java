@@ -7,10 +7,13 @@ import com.shaper.server.model.dto.RegisterRequestDTO;
 import com.shaper.server.model.dto.UserDTO;
 import com.shaper.server.model.dto.UserTokenDTO;
 import com.shaper.server.model.entity.Company;
+import com.shaper.server.model.entity.CompanyDepartment;
+import com.shaper.server.model.entity.Hire;
 import com.shaper.server.model.entity.HrUser;
 import com.shaper.server.model.entity.User;
 import com.shaper.server.model.enums.UserRole;
 import com.shaper.server.repository.*;
+import com.shaper.server.service.ProgressRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -51,6 +55,9 @@ class UserServiceImplTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private ProgressRollupService progressRollupService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -251,4 +258,36 @@ class UserServiceImplTest {
         verify(companyRepository).findById(1);
         verify(userRepository).save(any(HrUser.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAddRegisteredHireToDepartmentRollup() {
+        // Given
+        CompanyDepartment department = new CompanyDepartment();
+        department.setId(10);
+        department.setCompany(testCompany);
+        RegisterRequestDTO hireRequest = new RegisterRequestDTO();
+        hireRequest.setEmail("hire@example.com");
+        hireRequest.setPassword("password123");
+        hireRequest.setFirstName("Jane");
+        hireRequest.setLastName("Roe");
+        hireRequest.setRole("NEW_HIRE");
+        hireRequest.setDepartmentId("10");
+        when(userRepository.existsByEmail(hireRequest.getEmail())).thenReturn(false);
+        when(companyDepartmentRepository.findById(10)).thenReturn(Optional.of(department));
+        when(hrUserRepository.findByCompany_Id(1)).thenReturn(List.of(testHrUser));
+        when(passwordEncoder.encode(hireRequest.getPassword())).thenReturn("encodedPassword");
+        when(userRepository.save(any(Hire.class))).thenAnswer(invocation -> {
+            Hire hire = invocation.getArgument(0);
+            hire.setId(UUID.randomUUID());
+            hire.setRole(UserRole.NEW_HIRE);
+            hire.setCreatedAt(LocalDateTime.now());
+            return hire;
+        });
+
+        // When
+        UserDTO result = userService.register(hireRequest);
+
+        // Then
+        verify(progressRollupService).onHireDepartmentChanged(UUID.fromString(result.getId()), null, department);
+    }
+}
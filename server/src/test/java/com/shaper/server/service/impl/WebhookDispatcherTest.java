@@ -0,0 +1,280 @@
+package com.shaper.server.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shaper.server.event.TemplateAssignedEvent;
+import com.shaper.server.event.TodoStatusChangedEvent;
+import com.shaper.server.event.WebhookEndpointsChangedEvent;
+import com.shaper.server.model.entity.Progress;
+import com.shaper.server.model.entity.WebhookDeadLetter;
+import com.shaper.server.model.entity.WebhookEndpoint;
+import com.shaper.server.model.enums.TodoStatus;
+import com.shaper.server.repository.ProgressRepository;
+import com.shaper.server.repository.TemplateRepository;
+import com.shaper.server.repository.WebhookDeadLetterRepository;
+import com.shaper.server.repository.WebhookEndpointRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDispatcherTest {
+
+    @Mock
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Mock
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Mock
+    private TemplateRepository templateRepository;
+
+    @Mock
+    private ProgressRepository progressRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private WebhookDispatcher webhookDispatcher;
+
+    private HttpServer server;
+    private final List<Delivery> deliveries = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final UUID hireId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hooks", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            deliveries.add(new Delivery(body,
+                exchange.getRequestHeaders().getFirst(WebhookDispatcher.TIMESTAMP_HEADER),
+                exchange.getRequestHeaders().getFirst(WebhookDispatcher.SIGNATURE_HEADER)));
+            int status = failuresLeft.getAndDecrement() > 0 ? 503 : 204;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        WebhookEndpoint endpoint = new WebhookEndpoint();
+        endpoint.setId(7);
+        endpoint.setCompanyId(1);
+        endpoint.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/hooks");
+        endpoint.setSecret("s3cret");
+        endpoint.setEventTypes("ONBOARDING_COMPLETED,TEMPLATE_ASSIGNED,TODO_COMPLETED");
+        lenient().when(webhookEndpointRepository.findByCompanyIdAndActiveTrue(1)).thenReturn(List.of(endpoint));
+        lenient().when(templateRepository.findCompanyIdById(5)).thenReturn(Optional.of(1));
+        ReflectionTestUtils.setField(webhookDispatcher, "initialBackoffMs", 0L);
+        ReflectionTestUtils.setField(webhookDispatcher, "allowPrivateHosts", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        webhookDispatcher.drainOnShutdown();
+    }
+
+    @Test
+    void flush_ShouldSendQueuedEventsAsOneSignedBatch() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+        }
+
+        // When
+        webhookDispatcher.flush().join();
+
+        // Then
+        assertEquals(1, deliveries.size());
+        Delivery delivery = deliveries.get(0);
+        JsonNode events = objectMapper.readTree(delivery.body()).get("events");
+        assertEquals(3, events.size());
+        assertEquals("TEMPLATE_ASSIGNED", events.get(0).get("type").asText());
+        assertEquals("sha256=" + WebhookDispatcher.sign("s3cret", delivery.timestamp(), delivery.body()),
+            delivery.signature());
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+        verify(templateRepository, times(1)).findCompanyIdById(5);
+    }
+
+    @Test
+    void flush_ShouldRetryFailedBatchInOrder() {
+        // Given
+        failuresLeft.set(1);
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+
+        // When
+        webhookDispatcher.flush().join();
+        assertEquals(1, webhookDispatcher.getPendingCount(7));
+        webhookDispatcher.flush().join();
+
+        // Then
+        assertEquals(2, deliveries.size());
+        assertEquals(deliveries.get(0).body(), deliveries.get(1).body());
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+        verifyNoInteractions(webhookDeadLetterRepository);
+    }
+
+    @Test
+    void flush_ShouldDeadLetterBatchAfterMaxAttempts() {
+        // Given
+        ReflectionTestUtils.setField(webhookDispatcher, "maxAttempts", 2);
+        failuresLeft.set(Integer.MAX_VALUE);
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+
+        // When
+        webhookDispatcher.flush().join();
+        webhookDispatcher.flush().join();
+        webhookDispatcher.flush().join();
+
+        // Then
+        assertEquals(2, deliveries.size());
+        ArgumentCaptor<WebhookDeadLetter> deadLetter = ArgumentCaptor.forClass(WebhookDeadLetter.class);
+        verify(webhookDeadLetterRepository).save(deadLetter.capture());
+        assertEquals(7, deadLetter.getValue().getEndpointId());
+        assertEquals(2, deadLetter.getValue().getAttempts());
+        assertEquals("HTTP 503", deadLetter.getValue().getLastError());
+        assertEquals(deliveries.get(1).body(), deadLetter.getValue().getPayload());
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+    }
+
+    @Test
+    void onTodoStatusChanged_ShouldAlsoReportOnboardingCompletionOnLastTodo() throws Exception {
+        // Given
+        Progress progress = new Progress();
+        progress.setTotalTasks(4);
+        progress.setCompletedTasks(4);
+        when(progressRepository.findByHireIdAndTemplateId(hireId, 5)).thenReturn(Optional.of(progress));
+
+        // When
+        webhookDispatcher.onTodoStatusChanged(new TodoStatusChangedEvent(11, 3, 5, hireId,
+            TodoStatus.IN_PROGRESS, TodoStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now()));
+        webhookDispatcher.onTodoStatusChanged(new TodoStatusChangedEvent(12, 3, 5, hireId,
+            TodoStatus.PENDING, TodoStatus.IN_PROGRESS, LocalDateTime.now(), LocalDateTime.now()));
+        webhookDispatcher.flush().join();
+
+        // Then
+        JsonNode events = objectMapper.readTree(deliveries.get(0).body()).get("events");
+        assertEquals(2, events.size());
+        assertEquals("TODO_COMPLETED", events.get(0).get("type").asText());
+        assertEquals("ONBOARDING_COMPLETED", events.get(1).get("type").asText());
+        verify(progressRepository, times(1)).findByHireIdAndTemplateId(any(), any());
+    }
+
+    @Test
+    void evictEndpoints_ShouldSignQueuedEventsWithRotatedSecret() {
+        // Given
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+        WebhookEndpoint rotated = new WebhookEndpoint();
+        rotated.setId(7);
+        rotated.setCompanyId(1);
+        rotated.setUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/hooks");
+        rotated.setSecret("rotated");
+        rotated.setEventTypes("TEMPLATE_ASSIGNED");
+        when(webhookEndpointRepository.findByCompanyIdAndActiveTrue(1)).thenReturn(List.of(rotated));
+
+        // When
+        webhookDispatcher.evictEndpoints(1);
+        webhookDispatcher.flush().join();
+
+        // Then
+        Delivery delivery = deliveries.get(0);
+        assertEquals("sha256=" + WebhookDispatcher.sign("rotated", delivery.timestamp(), delivery.body()),
+            delivery.signature());
+    }
+
+    @Test
+    void evictEndpoints_ShouldDropQueuesOfDeactivatedEndpoints() {
+        // Given
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+        when(webhookEndpointRepository.findByCompanyIdAndActiveTrue(1)).thenReturn(List.of());
+
+        // When
+        webhookDispatcher.evictEndpoints(1);
+        webhookDispatcher.flush().join();
+
+        // Then
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+        assertTrue(deliveries.isEmpty());
+    }
+
+    @Test
+    void flush_ShouldRefuseHostResolvingToInternalAddress() {
+        // Given - the endpoint passed validation but its host now points at loopback
+        ReflectionTestUtils.setField(webhookDispatcher, "allowPrivateHosts", false);
+        ReflectionTestUtils.setField(webhookDispatcher, "maxAttempts", 1);
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+
+        // When
+        webhookDispatcher.flush().join();
+
+        // Then
+        assertTrue(deliveries.isEmpty());
+        ArgumentCaptor<WebhookDeadLetter> deadLetter = ArgumentCaptor.forClass(WebhookDeadLetter.class);
+        verify(webhookDeadLetterRepository).save(deadLetter.capture());
+        assertTrue(deadLetter.getValue().getLastError().contains("internal address"));
+    }
+
+    @Test
+    void onEndpointsChanged_ShouldDropQueueOfDeletedEndpoint() {
+        // Given
+        webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+        when(webhookEndpointRepository.findByCompanyIdAndActiveTrue(1)).thenReturn(List.of());
+
+        // When
+        webhookDispatcher.onEndpointsChanged(new WebhookEndpointsChangedEvent(1));
+
+        // Then
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+    }
+
+    @Test
+    void drainOnShutdown_ShouldDeadLetterPendingEvents() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(webhookDispatcher, "batchSize", 2);
+        for (int i = 0; i < 3; i++) {
+            webhookDispatcher.onTemplateAssigned(new TemplateAssignedEvent(5, hireId));
+        }
+
+        // When
+        webhookDispatcher.drainOnShutdown();
+        webhookDispatcher.flush().join();
+
+        // Then
+        ArgumentCaptor<WebhookDeadLetter> deadLetters = ArgumentCaptor.forClass(WebhookDeadLetter.class);
+        verify(webhookDeadLetterRepository, times(2)).save(deadLetters.capture());
+        int events = 0;
+        for (WebhookDeadLetter deadLetter : deadLetters.getAllValues()) {
+            assertEquals("Pending at shutdown", deadLetter.getLastError());
+            events += objectMapper.readTree(deadLetter.getPayload()).get("events").size();
+        }
+        assertEquals(3, events);
+        assertEquals(0, webhookDispatcher.getPendingCount(7));
+        assertTrue(deliveries.isEmpty());
+    }
+
+    private record Delivery(String body, String timestamp, String signature) {
+    }
+}
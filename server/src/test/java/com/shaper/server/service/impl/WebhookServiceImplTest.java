@@ -0,0 +1,117 @@
+package com.shaper.server.service.impl;
+
+import com.shaper.server.event.WebhookEndpointsChangedEvent;
+import com.shaper.server.exception.DataNotFoundException;
+import com.shaper.server.model.dto.WebhookEndpointDto;
+import com.shaper.server.model.dto.WebhookEndpointRequest;
+import com.shaper.server.model.entity.Company;
+import com.shaper.server.model.entity.HrUser;
+import com.shaper.server.model.entity.WebhookEndpoint;
+import com.shaper.server.model.enums.WebhookEventType;
+import com.shaper.server.repository.HrUserRepository;
+import com.shaper.server.repository.WebhookDeadLetterRepository;
+import com.shaper.server.repository.WebhookEndpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookServiceImplTest {
+
+    @Mock
+    private WebhookEndpointRepository webhookEndpointRepository;
+
+    @Mock
+    private WebhookDeadLetterRepository webhookDeadLetterRepository;
+
+    @Mock
+    private HrUserRepository hrUserRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private WebhookServiceImpl webhookService;
+
+    private final UUID hrId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setId(1);
+        HrUser hrUser = new HrUser();
+        hrUser.setId(hrId);
+        hrUser.setCompany(company);
+        lenient().when(hrUserRepository.findById(hrId)).thenReturn(Optional.of(hrUser));
+    }
+
+    @Test
+    void createEndpoint_ShouldRegisterForCompanyOfCaller() {
+        // Given
+        when(webhookEndpointRepository.save(any(WebhookEndpoint.class))).thenAnswer(invocation -> {
+            WebhookEndpoint endpoint = invocation.getArgument(0);
+            endpoint.setId(7);
+            return endpoint;
+        });
+
+        // When
+        WebhookEndpointDto created = webhookService.createEndpoint(hrId,
+            new WebhookEndpointRequest(null, "https://93.184.216.34/hooks", Set.of(WebhookEventType.TODO_COMPLETED)));
+
+        // Then
+        assertEquals(1, created.getCompanyId());
+        assertNotNull(created.getSecret());
+        ArgumentCaptor<WebhookEndpointsChangedEvent> changed = ArgumentCaptor.forClass(WebhookEndpointsChangedEvent.class);
+        verify(eventPublisher).publishEvent(changed.capture());
+        assertEquals(1, changed.getValue().getCompanyId());
+    }
+
+    @Test
+    void createEndpoint_ShouldRejectOtherCompany() {
+        // When & Then
+        assertThrows(DataNotFoundException.class, () -> webhookService.createEndpoint(hrId,
+            new WebhookEndpointRequest(2, "https://93.184.216.34/hooks", Set.of(WebhookEventType.TODO_COMPLETED))));
+        verify(webhookEndpointRepository, never()).save(any(WebhookEndpoint.class));
+    }
+
+    @Test
+    void validateUrl_ShouldRejectInternalHosts() {
+        // When & Then
+        for (String url : new String[] {"http://localhost:8080/hooks", "http://127.0.0.1/hooks", "http://10.0.0.5/hooks",
+                "http://192.168.1.10/hooks", "http://172.16.0.1/hooks", "http://169.254.169.254/latest/meta-data",
+                "http://100.64.0.1/hooks", "http://[::1]/hooks", "http://[fd00::1]/hooks", "http://0.0.0.0/hooks"}) {
+            assertThrows(IllegalArgumentException.class, () -> webhookService.validateUrl(url), url);
+        }
+        assertThrows(IllegalArgumentException.class, () -> webhookService.validateUrl("ftp://93.184.216.34/hooks"));
+        assertDoesNotThrow(() -> webhookService.validateUrl("https://93.184.216.34/hooks"));
+    }
+
+    @Test
+    void deleteEndpoint_ShouldHideEndpointsOfOtherCompanies() {
+        // Given
+        WebhookEndpoint foreign = new WebhookEndpoint();
+        foreign.setId(9);
+        foreign.setCompanyId(2);
+        when(webhookEndpointRepository.findById(9)).thenReturn(Optional.of(foreign));
+
+        // When & Then
+        assertThrows(DataNotFoundException.class, () -> webhookService.deleteEndpoint(hrId, 9));
+        assertThrows(DataNotFoundException.class, () -> webhookService.getDeadLetters(hrId, 9));
+        assertThrows(DataNotFoundException.class, () -> webhookService.getEndpointsByCompany(hrId, 2));
+        verify(webhookEndpointRepository, never()).delete(any(WebhookEndpoint.class));
+        verifyNoInteractions(webhookDeadLetterRepository, eventPublisher);
+    }
+}
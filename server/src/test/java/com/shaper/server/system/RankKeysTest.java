@@ -0,0 +1,66 @@
+package com.shaper.server.system;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankKeysTest {
+
+    @Test
+    void forIndex_ShouldSortInPositionOrder() {
+        assertTrue(RankKeys.forIndex(9).compareTo(RankKeys.forIndex(10)) < 0);
+        assertTrue(RankKeys.forIndex(99).compareTo(RankKeys.forIndex(100)) < 0);
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.forIndex(0));
+    }
+
+    @Test
+    void between_ShouldReturnKeyStrictlyBetweenBounds() {
+        assertBetween(null, null);
+        assertBetween(null, RankKeys.forIndex(1));
+        assertBetween(RankKeys.forIndex(1), null);
+        assertBetween(RankKeys.forIndex(1), RankKeys.forIndex(2));
+        assertBetween(RankKeys.forIndex(9), RankKeys.forIndex(10));
+        assertBetween("a", "b");
+        assertBetween("az", "b");
+    }
+
+    @Test
+    void between_ShouldKeepFindingRoomWhenRepeatedlyInsertingAtTheSameSpot() {
+        // Given
+        String low = RankKeys.forIndex(1);
+        String high = RankKeys.forIndex(2);
+        List<String> keys = new ArrayList<>();
+
+        // When - always insert directly after the first task
+        for (int i = 0; i < 200; i++) {
+            high = RankKeys.between(low, high);
+            keys.add(high);
+        }
+
+        // Then
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i).compareTo(keys.get(i - 1)) < 0);
+            assertTrue(keys.get(i).compareTo(low) > 0);
+        }
+    }
+
+    @Test
+    void between_ShouldRejectBoundsOutOfOrder() {
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("a", "a"));
+    }
+
+    private void assertBetween(String before, String after) {
+        String key = RankKeys.between(before, after);
+        assertFalse(key.endsWith("0"), key);
+        if (before != null) {
+            assertTrue(key.compareTo(before) > 0, key + " <= " + before);
+        }
+        if (after != null) {
+            assertTrue(key.compareTo(after) < 0, key + " >= " + after);
+        }
+    }
+}